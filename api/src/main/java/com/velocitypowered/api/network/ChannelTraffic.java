@@ -0,0 +1,32 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.network;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * The plugin messages received on one plugin message channel. Sizes are those of the
+ * uncompressed plugin message packet.
+ *
+ * @param channel the channel identifier, as sent by the client or server
+ * @param direction the direction the plugin messages travelled in
+ * @param messages the number of plugin messages received
+ * @param bytes the number of bytes received
+ * @since 3.4.0
+ */
+public record ChannelTraffic(String channel, PacketDirection direction, long messages,
+                             long bytes) {
+
+  /**
+   * Constructs a new {@link ChannelTraffic}.
+   */
+  public ChannelTraffic {
+    Preconditions.checkNotNull(channel, "channel");
+    Preconditions.checkNotNull(direction, "direction");
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.network;
+
+/**
+ * The traffic counted for a single connection, either between a player and the proxy or between
+ * the proxy and a backend server.
+ *
+ * <p>Wire sizes are the bytes that went over the network, after compression and encryption.
+ * Packet sizes are those of the uncompressed packets, so comparing the two shows how well the
+ * traffic of a connection compresses.</p>
+ *
+ * @param packetsReceived the number of packets read from the connection
+ * @param bytesReceived the uncompressed size of the packets read from the connection
+ * @param wireBytesReceived the number of bytes read from the network
+ * @param packetsSent the number of packets written to the connection
+ * @param bytesSent the uncompressed size of the packets written to the connection
+ * @param wireBytesSent the number of bytes written to the network
+ * @param flushes the number of times the connection was flushed
+ * @since 3.4.0
+ */
+public record ConnectionTraffic(long packetsReceived, long bytesReceived, long wireBytesReceived,
+                                long packetsSent, long bytesSent, long wireBytesSent,
+                                long flushes) {
+
+  /**
+   * A connection without any traffic.
+   */
+  public static final ConnectionTraffic EMPTY = new ConnectionTraffic(0, 0, 0, 0, 0, 0, 0);
+
+  /**
+   * Adds the traffic of two connections together.
+   *
+   * @param other the traffic to add
+   * @return the combined traffic
+   */
+  public ConnectionTraffic plus(ConnectionTraffic other) {
+    return new ConnectionTraffic(packetsReceived + other.packetsReceived,
+        bytesReceived + other.bytesReceived, wireBytesReceived + other.wireBytesReceived,
+        packetsSent + other.packetsSent, bytesSent + other.bytesSent,
+        wireBytesSent + other.wireBytesSent, flushes + other.flushes);
+  }
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.network;
+
+/**
+ * A summary of latencies measured by the proxy, such as the round trip times of keep-alive
+ * packets. The percentiles are approximate: they are read from a histogram whose buckets are
+ * about 12% wide.
+ *
+ * @param samples the number of latencies measured
+ * @param p50Micros the median latency, in microseconds
+ * @param p99Micros the 99th percentile latency, in microseconds
+ * @param maxMicros the highest latency, in microseconds
+ * @since 3.4.0
+ */
+public record LatencyStatistics(long samples, long p50Micros, long p99Micros, long maxMicros) {
+
+  /**
+   * Statistics without any samples.
+   */
+  public static final LatencyStatistics EMPTY = new LatencyStatistics(0, 0, 0, 0);
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.network;
+
+/**
+ * The direction in which a packet travels.
+ *
+ * @since 3.4.0
+ */
+public enum PacketDirection {
+  /**
+   * Packets sent by the client, towards the server.
+   */
+  SERVERBOUND,
+  /**
+   * Packets sent by the server, towards the client.
+   */
+  CLIENTBOUND
+}
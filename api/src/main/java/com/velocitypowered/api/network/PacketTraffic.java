@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.network;
+
+import com.google.common.base.Preconditions;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The traffic counted for one packet type. Packet IDs differ between protocol versions, so a
+ * packet type is identified by the protocol version, state, direction and packet ID together.
+ *
+ * <p>A packet is <em>received</em> when it is read from the connection it was sent on, and
+ * <em>sent</em> when it is written to the connection on the other side of the proxy. Sizes are
+ * those of the uncompressed packet, packet ID included.</p>
+ *
+ * @param version the protocol version the packet ID belongs to
+ * @param state the protocol state the packet ID belongs to
+ * @param direction the direction the packet travels in
+ * @param packetId the packet ID
+ * @param packetName the name of the packet if the proxy knows it, otherwise {@code null}
+ * @param packetsReceived the number of packets received
+ * @param bytesReceived the number of bytes received
+ * @param packetsSent the number of packets sent
+ * @param bytesSent the number of bytes sent
+ * @param packetsDecoded the number of received packets the proxy decoded
+ * @param decodeNanos the total time spent decoding packets, in nanoseconds
+ * @param packetsEncoded the number of sent packets the proxy encoded
+ * @param encodeNanos the total time spent encoding packets, in nanoseconds
+ * @since 3.4.0
+ */
+public record PacketTraffic(ProtocolVersion version, ProtocolState state,
+                            PacketDirection direction, int packetId,
+                            @Nullable String packetName,
+                            long packetsReceived, long bytesReceived,
+                            long packetsSent, long bytesSent,
+                            long packetsDecoded, long decodeNanos,
+                            long packetsEncoded, long encodeNanos) {
+
+  /**
+   * Constructs a new {@link PacketTraffic}.
+   */
+  public PacketTraffic {
+    Preconditions.checkNotNull(version, "version");
+    Preconditions.checkNotNull(state, "state");
+    Preconditions.checkNotNull(direction, "direction");
+  }
+
+  /**
+   * Returns the total number of bytes received and sent.
+   *
+   * @return the total number of bytes
+   */
+  public long totalBytes() {
+    return bytesReceived + bytesSent;
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.network;
+
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.proxy.ServerConnection;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Provides the traffic counted by the proxy, per packet type, per plugin message channel and per
+ * connection. Counting is disabled by default and is turned on with the {@code traffic-metrics}
+ * option of the proxy configuration; only connections opened while it is enabled are counted.
+ *
+ * <p>All counts are taken while the proxy is handling traffic, so a result may be slightly
+ * behind the packets that are being handled at the same time.</p>
+ *
+ * @since 3.4.0
+ */
+public interface TrafficMetrics {
+
+  /**
+   * Returns whether new connections are counted.
+   *
+   * @return {@code true} if traffic metrics are enabled
+   */
+  boolean isEnabled();
+
+  /**
+   * Returns the traffic of every packet type seen since the proxy started or the metrics were
+   * last reset, with the packet types that moved the most bytes first.
+   *
+   * @return the traffic per packet type
+   */
+  List<PacketTraffic> getPacketTraffic();
+
+  /**
+   * Returns the plugin messages received on every plugin message channel since the proxy started
+   * or the metrics were last reset, with the channels that moved the most bytes first.
+   *
+   * @return the traffic per plugin message channel
+   */
+  List<ChannelTraffic> getChannelTraffic();
+
+  /**
+   * Returns the traffic between the specified player and the proxy.
+   *
+   * @param player the player
+   * @return the traffic of the connection, or empty if the connection is not counted
+   */
+  Optional<ConnectionTraffic> getConnectionTraffic(Player player);
+
+  /**
+   * Returns the traffic between the proxy and a backend server, on behalf of a player.
+   *
+   * @param connection the connection to the backend server
+   * @return the traffic of the connection, or empty if the connection is not counted
+   */
+  Optional<ConnectionTraffic> getConnectionTraffic(ServerConnection connection);
+
+  /**
+   * Returns the traffic of all counted connections between the proxy and the specified backend
+   * server since the proxy started, including connections that have been closed since.
+   *
+   * @param server the backend server
+   * @return the combined traffic of the connections
+   */
+  ConnectionTraffic getConnectionTraffic(RegisteredServer server);
+
+  /**
+   * Resets the packet type and plugin message channel counters. The counters of open connections
+   * are kept.
+   */
+  void reset();
+}
@@ -10,6 +10,7 @@ package com.velocitypowered.api.proxy;
 import com.velocitypowered.api.command.CommandSource;
 import com.velocitypowered.api.event.player.CookieReceiveEvent;
 import com.velocitypowered.api.event.player.PlayerResourcePackStatusEvent;
+import com.velocitypowered.api.network.LatencyStatistics;
 import com.velocitypowered.api.proxy.crypto.KeyIdentifiable;
 import com.velocitypowered.api.proxy.messages.ChannelIdentifier;
 import com.velocitypowered.api.proxy.messages.ChannelMessageSink;
@@ -119,6 +120,15 @@ public interface Player extends
    */
   long getPing();
 
+  /**
+   * Returns the round trip times measured for the player since they connected, which reflect
+   * the network between the player and the proxy.
+   *
+   * @return the player's round trip times
+   * @since 3.4.0
+   */
+  LatencyStatistics getPingStatistics();
+
   /**
    * Returns the player's connection status.
    *
@@ -10,10 +10,12 @@ package com.velocitypowered.api.proxy;
 import com.velocitypowered.api.command.CommandManager;
 import com.velocitypowered.api.command.CommandSource;
 import com.velocitypowered.api.event.EventManager;
+import com.velocitypowered.api.network.TrafficMetrics;
 import com.velocitypowered.api.plugin.PluginManager;
 import com.velocitypowered.api.proxy.config.ProxyConfig;
 import com.velocitypowered.api.proxy.messages.ChannelRegistrar;
 import com.velocitypowered.api.proxy.player.ResourcePackInfo;
+import com.velocitypowered.api.proxy.player.SharedTabList;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import com.velocitypowered.api.proxy.server.ServerInfo;
 import com.velocitypowered.api.scheduler.Scheduler;
@@ -110,6 +112,19 @@ public interface ProxyServer extends Audience {
    */
   Collection<Player> matchPlayer(String partialName);
 
+  /**
+   * Matches at most {@code limit} {@link Player}s whose names start with the provided partial
+   * name. This is meant for tab completion, which does not need every match on a large proxy.
+   *
+   * @param partialName the partial name to check for
+   * @param limit the maximum number of players to return
+   * @return a collection of matched {@link Player}s
+   * @since 3.4.0
+   */
+  default Collection<Player> matchPlayer(String partialName, int limit) {
+    return matchPlayer(partialName).stream().limit(limit).toList();
+  }
+
   /**
    * Matches all {@link RegisteredServer}s whose names start with the provided partial name.
    *
@@ -118,6 +133,19 @@ public interface ProxyServer extends Audience {
    */
   Collection<RegisteredServer> matchServer(String partialName);
 
+  /**
+   * Matches at most {@code limit} {@link RegisteredServer}s whose names start with the provided
+   * partial name.
+   *
+   * @param partialName the partial name to check for
+   * @param limit the maximum number of servers to return
+   * @return a collection of matched {@link RegisteredServer}s
+   * @since 3.4.0
+   */
+  default Collection<RegisteredServer> matchServer(String partialName, int limit) {
+    return matchServer(partialName).stream().limit(limit).toList();
+  }
+
   /**
    * Creates a raw {@link RegisteredServer} without tying it into the internal server map.
    *
@@ -208,6 +236,22 @@ public interface ProxyServer extends Audience {
    */
   ProxyVersion getVersion();
 
+  /**
+   * Returns the traffic counted by the proxy.
+   *
+   * @return the traffic metrics
+   * @since 3.4.0
+   */
+  TrafficMetrics getTrafficMetrics();
+
+  /**
+   * Returns the tab list shared by the whole proxy, which can be shown to any number of players.
+   *
+   * @return the shared tab list
+   * @since 3.4.0
+   */
+  SharedTabList getSharedTabList();
+
   /**
    * Creates a builder to build a {@link ResourcePackInfo} instance for use with
    * {@link com.velocitypowered.api.proxy.Player#sendResourcePackOffer(ResourcePackInfo)}.
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.proxy.player;
+
+import com.velocitypowered.api.proxy.Player;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * A tab list shown to many players at once, such as a tab list listing every player on the
+ * network.
+ *
+ * <p>Adding the same entries to the {@link TabList} of every player means the proxy builds and
+ * encodes the same packets once for every player. A shared tab list keeps a single set of
+ * entries instead, and when it changes, the packets describing the change are encoded once per
+ * protocol version and the same bytes are sent to every viewer.</p>
+ *
+ * <p>The entries of the shared tab list are shown in addition to the entries of each viewer's
+ * own {@link TabList}, and are not part of it. Players on Minecraft 1.7 can't view a shared tab
+ * list.</p>
+ *
+ * @since 3.4.0
+ */
+public interface SharedTabList {
+
+  /**
+   * Adds an entry to the tab list, or updates the entry with the same ID. Only what changed is
+   * sent to the viewers.
+   *
+   * @param entry the entry
+   */
+  void putEntry(SharedTabListEntry entry);
+
+  /**
+   * Adds or updates several entries at once, which sends fewer packets than putting them one by
+   * one.
+   *
+   * @param entries the entries
+   */
+  void putEntries(Collection<SharedTabListEntry> entries);
+
+  /**
+   * Removes the entry with the specified ID.
+   *
+   * @param id the ID of the entry
+   * @return the removed entry, if there was one
+   */
+  Optional<SharedTabListEntry> removeEntry(UUID id);
+
+  /**
+   * Returns the entry with the specified ID.
+   *
+   * @param id the ID of the entry
+   * @return the entry, if there is one
+   */
+  Optional<SharedTabListEntry> getEntry(UUID id);
+
+  /**
+   * Returns a snapshot of the entries in the tab list.
+   *
+   * @return the entries
+   */
+  Collection<SharedTabListEntry> getEntries();
+
+  /**
+   * Shows the tab list to a player, who keeps seeing it until they are removed as a viewer or
+   * disconnect.
+   *
+   * @param player the player
+   */
+  void addViewer(Player player);
+
+  /**
+   * Stops showing the tab list to a player.
+   *
+   * @param player the player
+   * @return whether the player was viewing the tab list
+   */
+  boolean removeViewer(Player player);
+
+  /**
+   * Returns the players the tab list is shown to.
+   *
+   * @return the viewers
+   */
+  Collection<Player> getViewers();
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.proxy.player;
+
+import com.google.common.base.Preconditions;
+import com.velocitypowered.api.util.GameProfile;
+import java.util.UUID;
+import net.kyori.adventure.text.Component;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An entry of the {@link SharedTabList}. Entries are immutable, use the {@code with} methods to
+ * derive an updated entry and put it in the tab list again.
+ *
+ * @param profile the profile of the entry, whose ID identifies it in the tab list
+ * @param displayName the name shown instead of the profile's name, if any
+ * @param latency the latency in milliseconds
+ * @param gameMode the game mode, from {@code 0} (survival) to {@code 3} (spectator)
+ * @param listed whether the entry is shown in the tab list
+ * @param listOrder where the entry is shown in the tab list on Minecraft 1.21.2 and above
+ * @param showHat whether the hat layer of the skin is shown on Minecraft 1.21.4 and above
+ * @since 3.4.0
+ */
+public record SharedTabListEntry(GameProfile profile, @Nullable Component displayName,
+                                 int latency, int gameMode, boolean listed, int listOrder,
+                                 boolean showHat) {
+
+  /**
+   * Creates an entry.
+   */
+  public SharedTabListEntry {
+    Preconditions.checkNotNull(profile, "profile");
+    Preconditions.checkNotNull(profile.getId(), "Profile ID cannot be null");
+  }
+
+  /**
+   * Creates a listed entry for the specified profile in survival mode, without a display name.
+   *
+   * @param profile the profile of the entry
+   * @return the entry
+   */
+  public static SharedTabListEntry of(GameProfile profile) {
+    return new SharedTabListEntry(profile, null, 0, 0, true, 0, true);
+  }
+
+  /**
+   * Returns the ID of the entry, which is the ID of its profile.
+   *
+   * @return the ID of the entry
+   */
+  public UUID id() {
+    return profile.getId();
+  }
+
+  public SharedTabListEntry withDisplayName(@Nullable Component displayName) {
+    return new SharedTabListEntry(profile, displayName, latency, gameMode, listed, listOrder,
+        showHat);
+  }
+
+  public SharedTabListEntry withLatency(int latency) {
+    return new SharedTabListEntry(profile, displayName, latency, gameMode, listed, listOrder,
+        showHat);
+  }
+
+  public SharedTabListEntry withGameMode(int gameMode) {
+    return new SharedTabListEntry(profile, displayName, latency, gameMode, listed, listOrder,
+        showHat);
+  }
+
+  public SharedTabListEntry withListed(boolean listed) {
+    return new SharedTabListEntry(profile, displayName, latency, gameMode, listed, listOrder,
+        showHat);
+  }
+
+  public SharedTabListEntry withListOrder(int listOrder) {
+    return new SharedTabListEntry(profile, displayName, latency, gameMode, listed, listOrder,
+        showHat);
+  }
+
+  public SharedTabListEntry withShowHat(boolean showHat) {
+    return new SharedTabListEntry(profile, displayName, latency, gameMode, listed, listOrder,
+        showHat);
+  }
+}
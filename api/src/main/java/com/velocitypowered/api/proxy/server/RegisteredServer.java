@@ -7,6 +7,7 @@
 
 package com.velocitypowered.api.proxy.server;
 
+import com.velocitypowered.api.network.LatencyStatistics;
 import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.messages.ChannelMessageSink;
 import java.util.Collection;
@@ -34,6 +35,27 @@ public interface RegisteredServer extends ChannelMessageSink, Audience {
    */
   Collection<Player> getPlayersConnected();
 
+  /**
+   * Returns the round trip times measured for all players while they were connected to this
+   * server. A sample covers the network between a player and the proxy, so comparing these with
+   * the statistics of a single player tells whether that player's own network is at fault.
+   *
+   * @return the round trip times of the players on this server
+   * @since 3.4.0
+   */
+  LatencyStatistics getPingStatistics();
+
+  /**
+   * Returns how late this server sent its keep-alive packets. A sample is the time between two
+   * keep-alives sent over the same connection, minus the shortest such time seen on that
+   * connection. A server sends keep-alives from its main thread at a fixed interval, so high
+   * values mean the server itself is lagging rather than the network of its players.
+   *
+   * @return the keep-alive delays of this server
+   * @since 3.4.0
+   */
+  LatencyStatistics getKeepAliveDelayStatistics();
+
   /**
    * Attempts to ping the remote server and return the server list ping result.
    *
@@ -0,0 +1,31 @@
+plugins {
+    alias(libs.plugins.jmh)
+}
+
+dependencies {
+    jmh(project(":velocity-api"))
+    jmh(project(":velocity-native"))
+    jmh(project(":velocity-proxy"))
+
+    jmh(libs.netty.codec)
+    jmh(libs.netty.handler)
+    jmh(libs.fastutil)
+    jmh(libs.caffeine)
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+
+    // Allow benchmarks to replay a real capture, see PlayTrafficCorpus
+    providers.gradleProperty("capture").orNull?.let {
+        jvmArgsAppend.add("-Dvelocity.benchmark.capture=${file(it).absolutePath}")
+    }
+    providers.gradleProperty("includes").orNull?.let {
+        includes.add(it)
+    }
+}
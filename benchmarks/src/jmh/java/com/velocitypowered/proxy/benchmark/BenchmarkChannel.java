@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.benchmark;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Hosts a single handler in an {@link EmbeddedChannel} so benchmarks can drive it with a real
+ * {@link ChannelHandlerContext}. Anything the handler passes down the pipeline is consumed by a
+ * {@link Blackhole} and released.
+ */
+public final class BenchmarkChannel {
+
+  private final EmbeddedChannel channel;
+  private final ChannelHandlerContext context;
+  private Blackhole blackhole;
+
+  /**
+   * Creates a channel hosting {@code handler}.
+   *
+   * @param handler the handler under test
+   */
+  public BenchmarkChannel(ChannelHandler handler) {
+    this.channel = new EmbeddedChannel();
+    this.channel.pipeline().addLast("handler", handler);
+    this.channel.pipeline().addLast("sink", new ChannelInboundHandlerAdapter() {
+      @Override
+      public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (blackhole != null) {
+          blackhole.consume(msg);
+        }
+        ReferenceCountUtil.release(msg);
+      }
+    });
+    this.context = this.channel.pipeline().context("handler");
+  }
+
+  public ChannelHandlerContext context() {
+    return context;
+  }
+
+  public void sinkInto(Blackhole blackhole) {
+    this.blackhole = blackhole;
+  }
+
+  public void close() {
+    channel.finishAndReleaseAll();
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.benchmark;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * The kind of buffer a benchmark feeds into the pipeline.
+ */
+public enum BufferType {
+  HEAP {
+    @Override
+    public ByteBuf allocate(int capacity) {
+      return Unpooled.buffer(capacity);
+    }
+  },
+  DIRECT {
+    @Override
+    public ByteBuf allocate(int capacity) {
+      return Unpooled.directBuffer(capacity);
+    }
+  };
+
+  public abstract ByteBuf allocate(int capacity);
+
+  /**
+   * Copies the readable bytes of {@code source} into a new buffer of this type.
+   *
+   * @param source the buffer to copy
+   * @return the copy
+   */
+  public ByteBuf copyOf(ByteBuf source) {
+    ByteBuf copy = allocate(source.readableBytes());
+    copy.writeBytes(source, source.readerIndex(), source.readableBytes());
+    return copy;
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.benchmark;
+
+import com.velocitypowered.natives.compression.JavaVelocityCompressor;
+import com.velocitypowered.natives.compression.VelocityCompressor;
+import com.velocitypowered.natives.util.Natives;
+
+/**
+ * The compressor implementations a benchmark can be run against.
+ */
+public enum CompressorType {
+  JAVA {
+    @Override
+    public VelocityCompressor create(int level) {
+      return JavaVelocityCompressor.FACTORY.create(level);
+    }
+  },
+  LIBDEFLATE {
+    @Override
+    public VelocityCompressor create(int level) {
+      String loaded = Natives.compress.getLoadedVariant();
+      if (!loaded.startsWith("libdeflate")) {
+        throw new IllegalStateException("libdeflate is not available on this platform (loaded "
+            + loaded + ")");
+      }
+      return Natives.compress.get().create(level);
+    }
+  };
+
+  /**
+   * The compression level used by the proxy unless configured otherwise.
+   */
+  public static final int DEFAULT_LEVEL = -1;
+
+  /**
+   * The compression threshold vanilla servers use by default.
+   */
+  public static final int DEFAULT_THRESHOLD = 256;
+
+  public abstract VelocityCompressor create(int level);
+}
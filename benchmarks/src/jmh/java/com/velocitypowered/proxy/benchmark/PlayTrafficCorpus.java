@@ -0,0 +1,280 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.benchmark;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.packet.KeepAlivePacket;
+import com.velocitypowered.proxy.protocol.packet.PluginMessagePacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * A corpus of clientbound play-state packets that benchmarks replay through the pipeline.
+ *
+ * <p>If the {@code velocity.benchmark.capture} system property points to a file, the corpus is
+ * read from it. The file is a plain concatenation of uncompressed frames exactly as they appear
+ * on the wire ({@code VarInt length, VarInt packet ID, payload}), so a capture taken from a
+ * proxy with compression disabled can be used as-is. Otherwise a deterministic synthetic mix
+ * modelled on a vanilla survival session is generated: mostly small entity updates, a steady
+ * trickle of chat, keep-alives and plugin messages, and a few large, compressible chunk and
+ * light packets.</p>
+ */
+public final class PlayTrafficCorpus {
+
+  public static final String CAPTURE_PROPERTY = "velocity.benchmark.capture";
+
+  private static final int SYNTHETIC_PACKETS = 4096;
+  private static final long SEED = 0x5EED_CAFEL;
+
+  private final ProtocolVersion version;
+  private final List<ByteBuf> packets;
+  private final List<MinecraftPacket> decoded;
+
+  private PlayTrafficCorpus(ProtocolVersion version, List<ByteBuf> packets,
+      List<MinecraftPacket> decoded) {
+    this.version = version;
+    this.packets = packets;
+    this.decoded = decoded;
+  }
+
+  /**
+   * Loads the corpus for the specified protocol version.
+   *
+   * @param version the protocol version the packets are encoded for
+   * @return the corpus
+   */
+  public static PlayTrafficCorpus load(ProtocolVersion version) {
+    String capture = System.getProperty(CAPTURE_PROPERTY);
+    List<ByteBuf> packets = capture == null ? synthesize(version) : readCapture(Path.of(capture));
+    return new PlayTrafficCorpus(version, packets, decodeKnown(version, packets));
+  }
+
+  public ProtocolVersion getVersion() {
+    return version;
+  }
+
+  /**
+   * Returns the uncompressed packets of the corpus (packet ID followed by the payload). The
+   * returned buffers must not be modified; use {@link ByteBuf#duplicate()} to read them.
+   *
+   * @return the packets
+   */
+  public List<ByteBuf> getPackets() {
+    return packets;
+  }
+
+  /**
+   * Returns every packet of the corpus that the proxy registers a decoder for, already decoded.
+   *
+   * @return the decoded packets
+   */
+  public List<MinecraftPacket> getDecodedPackets() {
+    return decoded;
+  }
+
+  /**
+   * Concatenates all packets into a single length-prefixed stream, as the frame decoder would
+   * see them coming off the socket.
+   *
+   * @param type the type of buffer to return
+   * @return the framed stream
+   */
+  public ByteBuf framedStream(BufferType type) {
+    int size = 0;
+    for (ByteBuf packet : packets) {
+      size += ProtocolUtils.varIntBytes(packet.readableBytes()) + packet.readableBytes();
+    }
+    ByteBuf stream = type.allocate(size);
+    for (ByteBuf packet : packets) {
+      ProtocolUtils.writeVarInt(stream, packet.readableBytes());
+      stream.writeBytes(packet, packet.readerIndex(), packet.readableBytes());
+    }
+    return stream;
+  }
+
+  /**
+   * Copies every packet of the corpus into a buffer of the specified type.
+   *
+   * @param type the type of buffer to copy into
+   * @return the copied packets
+   */
+  public ByteBuf[] copyPackets(BufferType type) {
+    ByteBuf[] copies = new ByteBuf[packets.size()];
+    for (int i = 0; i < copies.length; i++) {
+      copies[i] = type.copyOf(packets.get(i));
+    }
+    return copies;
+  }
+
+  private static List<ByteBuf> readCapture(Path path) {
+    ByteBuf capture;
+    try {
+      capture = Unpooled.wrappedBuffer(Files.readAllBytes(path));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to read capture " + path, e);
+    }
+
+    List<ByteBuf> packets = new ArrayList<>();
+    while (capture.isReadable()) {
+      int length = ProtocolUtils.readVarInt(capture);
+      if (length > 0) {
+        packets.add(Unpooled.copiedBuffer(capture.readSlice(length)));
+      }
+    }
+    if (packets.isEmpty()) {
+      throw new IllegalStateException("Capture " + path + " does not contain any packets");
+    }
+    return packets;
+  }
+
+  private static List<ByteBuf> synthesize(ProtocolVersion version) {
+    StateRegistry.PacketRegistry.ProtocolRegistry registry = StateRegistry.PLAY
+        .getProtocolRegistry(ProtocolUtils.Direction.CLIENTBOUND, version);
+    SplittableRandom random = new SplittableRandom(SEED);
+    int[] unknownIds = unknownPacketIds(registry, 8);
+
+    List<ByteBuf> packets = new ArrayList<>(SYNTHETIC_PACKETS);
+    for (int i = 0; i < SYNTHETIC_PACKETS; i++) {
+      int roll = random.nextInt(100);
+      ByteBuf packet = Unpooled.buffer();
+      if (roll < 45) {
+        // Entity movement and rotation: tiny, high entropy
+        ProtocolUtils.writeVarInt(packet, unknownIds[0]);
+        writeRandom(packet, random, 8 + random.nextInt(12));
+      } else if (roll < 65) {
+        // Entity metadata, velocity and equipment
+        ProtocolUtils.writeVarInt(packet, unknownIds[1]);
+        writeRandom(packet, random, 12 + random.nextInt(48));
+      } else if (roll < 75) {
+        // Block updates
+        ProtocolUtils.writeVarInt(packet, unknownIds[2]);
+        writeRandom(packet, random, 8 + random.nextInt(8));
+      } else if (roll < 80) {
+        // Sounds and particles
+        ProtocolUtils.writeVarInt(packet, unknownIds[3]);
+        writeRandom(packet, random, 24 + random.nextInt(40));
+      } else if (roll < 84) {
+        // Multi-block changes, compressible
+        ProtocolUtils.writeVarInt(packet, unknownIds[4]);
+        writePalette(packet, random, 64 + random.nextInt(448));
+      } else if (roll < 89) {
+        // Light updates
+        ProtocolUtils.writeVarInt(packet, unknownIds[5]);
+        writePalette(packet, random, 2048 + random.nextInt(2048));
+      } else if (roll < 93) {
+        // Chunk data, the bulk of the bytes
+        ProtocolUtils.writeVarInt(packet, unknownIds[6]);
+        writePalette(packet, random, 8192 + random.nextInt(16384));
+      } else if (roll < 96) {
+        // System chat messages
+        ProtocolUtils.writeVarInt(packet, unknownIds[7]);
+        writeChat(packet, random);
+      } else if (roll < 98) {
+        encode(registry, packet, pluginMessage(random), version);
+      } else {
+        KeepAlivePacket keepAlive = new KeepAlivePacket();
+        keepAlive.setRandomId(random.nextLong());
+        encode(registry, packet, keepAlive, version);
+      }
+      packets.add(packet);
+    }
+    return packets;
+  }
+
+  private static List<MinecraftPacket> decodeKnown(ProtocolVersion version,
+      List<ByteBuf> packets) {
+    StateRegistry.PacketRegistry.ProtocolRegistry registry = StateRegistry.PLAY
+        .getProtocolRegistry(ProtocolUtils.Direction.CLIENTBOUND, version);
+    List<MinecraftPacket> decoded = new ArrayList<>();
+    for (ByteBuf packet : packets) {
+      ByteBuf buf = packet.duplicate();
+      MinecraftPacket instance = registry.createPacket(ProtocolUtils.readVarInt(buf));
+      if (instance != null) {
+        instance.decode(buf, ProtocolUtils.Direction.CLIENTBOUND, version);
+        decoded.add(instance);
+      }
+    }
+    return decoded;
+  }
+
+  private static int[] unknownPacketIds(StateRegistry.PacketRegistry.ProtocolRegistry registry,
+      int count) {
+    int[] ids = new int[count];
+    int found = 0;
+    for (int id = 0; found < count; id++) {
+      if (registry.createPacket(id) == null) {
+        ids[found++] = id;
+      }
+    }
+    return ids;
+  }
+
+  private static void encode(StateRegistry.PacketRegistry.ProtocolRegistry registry,
+      ByteBuf buf, MinecraftPacket packet, ProtocolVersion version) {
+    ProtocolUtils.writeVarInt(buf, registry.getPacketId(packet));
+    packet.encode(buf, ProtocolUtils.Direction.CLIENTBOUND, version);
+  }
+
+  private static PluginMessagePacket pluginMessage(SplittableRandom random) {
+    ByteBuf data = Unpooled.buffer();
+    writeRandom(data, random, 16 + random.nextInt(112));
+    return new PluginMessagePacket("bungeecord:main", data);
+  }
+
+  private static void writeRandom(ByteBuf buf, SplittableRandom random, int length) {
+    for (int i = 0; i < length; i++) {
+      buf.writeByte(random.nextInt(256));
+    }
+  }
+
+  private static void writePalette(ByteBuf buf, SplittableRandom random, int length) {
+    // Paletted sections are long runs of a handful of values, which is what makes chunk data
+    // compress as well as it does.
+    int paletteSize = 1 + random.nextInt(8);
+    int written = 0;
+    while (written < length) {
+      int run = Math.min(length - written, 1 + random.nextInt(64));
+      int value = random.nextInt(paletteSize);
+      for (int i = 0; i < run; i++) {
+        buf.writeByte(value);
+      }
+      written += run;
+    }
+  }
+
+  private static void writeChat(ByteBuf buf, SplittableRandom random) {
+    StringBuilder text = new StringBuilder("{\"text\":\"");
+    int words = 4 + random.nextInt(24);
+    for (int i = 0; i < words; i++) {
+      text.append(i == 0 ? "" : " ").append(Integer.toString(random.nextInt(1 << 20), 36));
+    }
+    text.append("\",\"color\":\"gray\"}");
+    ProtocolUtils.writeString(buf, text.toString());
+    buf.writeBoolean(false);
+  }
+}
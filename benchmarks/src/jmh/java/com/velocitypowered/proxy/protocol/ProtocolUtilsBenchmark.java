@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol;
+
+import com.velocitypowered.proxy.benchmark.BufferType;
+import io.netty.buffer.ByteBuf;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the VarInt and string primitives in {@link ProtocolUtils}. Values are drawn from a
+ * distribution that mirrors play traffic: packet IDs, entity IDs and lengths are overwhelmingly
+ * one or two byte VarInts, with the occasional large value.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProtocolUtilsBenchmark {
+
+  private static final int VALUES = 1024;
+  private static final String[] STRINGS = {
+      "minecraft:brand",
+      "bungeecord:main",
+      "Notch",
+      "{\"text\":\"Welcome to the server!\",\"color\":\"gold\"}",
+      "{\"translate\":\"chat.type.text\",\"with\":[{\"text\":\"jeb_\"},{\"text\":\"hello there, how "
+          + "is everyone doing today? éèê\"}]}"
+  };
+
+  @Param({"HEAP", "DIRECT"})
+  public BufferType bufferType;
+
+  private int[] values;
+  private ByteBuf varInts;
+  private ByteBuf strings;
+  private ByteBuf scratch;
+
+  @Setup
+  public void setup() {
+    SplittableRandom random = new SplittableRandom(0x5EED);
+    values = new int[VALUES];
+    for (int i = 0; i < VALUES; i++) {
+      int roll = random.nextInt(100);
+      if (roll < 70) {
+        values[i] = random.nextInt(1 << 7);
+      } else if (roll < 90) {
+        values[i] = random.nextInt(1 << 14);
+      } else if (roll < 97) {
+        values[i] = random.nextInt(1 << 21);
+      } else if (roll < 99) {
+        values[i] = random.nextInt(1 << 28);
+      } else {
+        values[i] = random.nextInt();
+      }
+    }
+
+    varInts = bufferType.allocate(VALUES * 5);
+    for (int value : values) {
+      ProtocolUtils.writeVarInt(varInts, value);
+    }
+    strings = bufferType.allocate(4096);
+    for (String string : STRINGS) {
+      ProtocolUtils.writeString(strings, string);
+    }
+    scratch = bufferType.allocate(VALUES * 5);
+  }
+
+  @TearDown
+  public void tearDown() {
+    varInts.release();
+    strings.release();
+    scratch.release();
+  }
+
+  @Benchmark
+  public void readVarInt(Blackhole blackhole) {
+    ByteBuf buf = varInts;
+    buf.readerIndex(0);
+    while (buf.isReadable()) {
+      blackhole.consume(ProtocolUtils.readVarInt(buf));
+    }
+  }
+
+  @Benchmark
+  public ByteBuf writeVarInt() {
+    ByteBuf buf = scratch;
+    buf.clear();
+    for (int value : values) {
+      ProtocolUtils.writeVarInt(buf, value);
+    }
+    return buf;
+  }
+
+  @Benchmark
+  public void readString(Blackhole blackhole) {
+    ByteBuf buf = strings;
+    buf.readerIndex(0);
+    while (buf.isReadable()) {
+      blackhole.consume(ProtocolUtils.readString(buf));
+    }
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.velocitypowered.proxy.protocol;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.benchmark.PlayTrafficCorpus;
+import io.netty.util.collection.IntObjectHashMap;
+import io.netty.util.collection.IntObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the array-indexed lookups of {@link StateRegistry.PacketRegistry.ProtocolRegistry}
+ * with the hash map lookups it used before, which are rebuilt here from the same registrations.
+ * Each operation looks up one packet of the play traffic corpus, or one protocol version for
+ * the version table.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StateRegistryBenchmark {
+
+  private static final int MAXIMUM_PACKET_ID = 0xFF;
+
+  private StateRegistry.PacketRegistry.ProtocolRegistry registry;
+  private IntObjectMap<Supplier<? extends MinecraftPacket>> mapSuppliers;
+  private Object2IntMap<Class<? extends MinecraftPacket>> mapIds;
+  private Map<ProtocolVersion, StateRegistry.PacketRegistry.ProtocolRegistry> mapVersions;
+  private ProtocolVersion[] versions;
+  private int[] ids;
+  private MinecraftPacket[] packets;
+  private int index;
+
+  @Setup
+  public void setup() {
+    PlayTrafficCorpus corpus = PlayTrafficCorpus.load(ProtocolVersion.MAXIMUM_VERSION);
+    registry = StateRegistry.PLAY.getProtocolRegistry(ProtocolUtils.Direction.CLIENTBOUND,
+        corpus.getVersion());
+    packets = corpus.getDecodedPackets().toArray(new MinecraftPacket[0]);
+    if (packets.length == 0) {
+      throw new IllegalStateException("The corpus does not contain any packets the proxy decodes");
+    }
+    ids = corpus.getPackets().stream()
+        .mapToInt(packet -> ProtocolUtils.readVarInt(packet.duplicate()))
+        .toArray();
+
+    mapSuppliers = new IntObjectHashMap<>(16, 0.5f);
+    mapIds = new Object2IntOpenHashMap<>(16, 0.5f);
+    mapIds.defaultReturnValue(Integer.MIN_VALUE);
+    for (int id = 0; id <= MAXIMUM_PACKET_ID; id++) {
+      MinecraftPacket packet = registry.createPacket(id);
+      if (packet != null) {
+        Class<? extends MinecraftPacket> type = packet.getClass();
+        // Only the lookup is compared, so any supplier will do.
+        mapSuppliers.put(id, () -> packet);
+        mapIds.put(type, id);
+      }
+    }
+
+    mapVersions = new EnumMap<>(ProtocolVersion.class);
+    for (ProtocolVersion version : ProtocolVersion.SUPPORTED_VERSIONS) {
+      mapVersions.put(version, StateRegistry.PLAY.getProtocolRegistry(
+          ProtocolUtils.Direction.CLIENTBOUND, version));
+    }
+    versions = ProtocolVersion.SUPPORTED_VERSIONS.toArray(new ProtocolVersion[0]);
+  }
+
+  @Benchmark
+  public MinecraftPacket createPacket() {
+    return registry.createPacket(nextId());
+  }
+
+  @Benchmark
+  public boolean containsPacketId() {
+    return registry.containsPacketId(nextId());
+  }
+
+  @Benchmark
+  public boolean containsPacketIdMap() {
+    return mapSuppliers.containsKey(nextId());
+  }
+
+  @Benchmark
+  public int getPacketId() {
+    return registry.getPacketId(nextPacket());
+  }
+
+  @Benchmark
+  public int getPacketIdMap() {
+    return mapIds.getInt(nextPacket().getClass());
+  }
+
+  @Benchmark
+  public boolean containsPacket() {
+    return registry.containsPacket(nextPacket());
+  }
+
+  @Benchmark
+  public boolean containsPacketMap() {
+    return mapIds.containsKey(nextPacket().getClass());
+  }
+
+  @Benchmark
+  public StateRegistry.PacketRegistry.ProtocolRegistry getProtocolRegistry() {
+    return StateRegistry.PLAY.getProtocolRegistry(ProtocolUtils.Direction.CLIENTBOUND,
+        nextVersion());
+  }
+
+  @Benchmark
+  public StateRegistry.PacketRegistry.ProtocolRegistry getProtocolRegistryMap() {
+    return mapVersions.get(nextVersion());
+  }
+
+  private int nextId() {
+    int id = ids[index % ids.length];
+    index++;
+    return id;
+  }
+
+  private MinecraftPacket nextPacket() {
+    MinecraftPacket packet = packets[index % packets.length];
+    index++;
+    return packet;
+  }
+
+  private ProtocolVersion nextVersion() {
+    ProtocolVersion version = versions[index % versions.length];
+    index++;
+    return version;
+  }
+}
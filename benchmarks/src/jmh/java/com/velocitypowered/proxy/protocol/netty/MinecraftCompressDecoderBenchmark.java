@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.natives.compression.VelocityCompressor;
+import com.velocitypowered.proxy.benchmark.BenchmarkChannel;
+import com.velocitypowered.proxy.benchmark.BufferType;
+import com.velocitypowered.proxy.benchmark.CompressorType;
+import com.velocitypowered.proxy.benchmark.PlayTrafficCorpus;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.ReferenceCountUtil;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures inflating play-state frames with {@link MinecraftCompressDecoder}. The corpus is
+ * compressed up front with the same threshold a vanilla server uses. Each operation handles one
+ * frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MinecraftCompressDecoderBenchmark {
+
+  @Param({"HEAP", "DIRECT"})
+  public BufferType bufferType;
+
+  @Param({"JAVA", "LIBDEFLATE"})
+  public CompressorType compressorType;
+
+  private MinecraftCompressDecoder decoder;
+  private BenchmarkChannel channel;
+  private ByteBuf[] frames;
+  private int index;
+  private final List<Object> out = new ArrayList<>();
+
+  @Setup
+  public void setup() throws Exception {
+    List<ByteBuf> packets = PlayTrafficCorpus.load(ProtocolVersion.MAXIMUM_VERSION).getPackets();
+    frames = new ByteBuf[packets.size()];
+    try (VelocityCompressor compressor = CompressorType.JAVA.create(
+        CompressorType.DEFAULT_LEVEL)) {
+      for (int i = 0; i < frames.length; i++) {
+        ByteBuf frame = compress(compressor, packets.get(i));
+        frames[i] = bufferType.copyOf(frame);
+        frame.release();
+      }
+    }
+
+    decoder = new MinecraftCompressDecoder(CompressorType.DEFAULT_THRESHOLD,
+        compressorType.create(CompressorType.DEFAULT_LEVEL));
+    channel = new BenchmarkChannel(decoder);
+  }
+
+  @TearDown
+  public void tearDown() {
+    channel.close();
+    for (ByteBuf frame : frames) {
+      frame.release();
+    }
+  }
+
+  @Benchmark
+  public void decode(Blackhole blackhole) throws Exception {
+    ByteBuf frame = frames[index];
+    if (++index == frames.length) {
+      index = 0;
+    }
+
+    decoder.decode(channel.context(), frame.duplicate(), out);
+    for (int i = 0; i < out.size(); i++) {
+      Object packet = out.get(i);
+      blackhole.consume(packet);
+      ReferenceCountUtil.release(packet);
+    }
+    out.clear();
+  }
+
+  private static ByteBuf compress(VelocityCompressor compressor, ByteBuf packet)
+      throws Exception {
+    ByteBuf source = packet.duplicate();
+    ByteBuf frame = Unpooled.buffer();
+    if (source.readableBytes() < CompressorType.DEFAULT_THRESHOLD) {
+      ProtocolUtils.writeVarInt(frame, 0);
+      frame.writeBytes(source);
+    } else {
+      ProtocolUtils.writeVarInt(frame, source.readableBytes());
+      compressor.deflate(source, frame);
+    }
+    return frame;
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.benchmark.BenchmarkChannel;
+import com.velocitypowered.proxy.benchmark.BufferType;
+import com.velocitypowered.proxy.benchmark.CompressorType;
+import com.velocitypowered.proxy.benchmark.PlayTrafficCorpus;
+import io.netty.buffer.ByteBuf;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures compressing and framing play-state packets with
+ * {@link MinecraftCompressorAndLengthEncoder}. Each operation handles one packet; packets under
+ * the threshold take the uncompressed path, like they do on a live connection.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MinecraftCompressorAndLengthEncoderBenchmark {
+
+  @Param({"HEAP", "DIRECT"})
+  public BufferType bufferType;
+
+  @Param({"JAVA", "LIBDEFLATE"})
+  public CompressorType compressorType;
+
+  private MinecraftCompressorAndLengthEncoder encoder;
+  private BenchmarkChannel channel;
+  private ByteBuf[] packets;
+  private int index;
+
+  @Setup
+  public void setup() {
+    packets = PlayTrafficCorpus.load(ProtocolVersion.MAXIMUM_VERSION).copyPackets(bufferType);
+    encoder = new MinecraftCompressorAndLengthEncoder(CompressorType.DEFAULT_THRESHOLD,
+        compressorType.create(CompressorType.DEFAULT_LEVEL));
+    channel = new BenchmarkChannel(encoder);
+  }
+
+  @TearDown
+  public void tearDown() {
+    channel.close();
+    for (ByteBuf packet : packets) {
+      packet.release();
+    }
+  }
+
+  @Benchmark
+  public ByteBuf encode() throws Exception {
+    ByteBuf packet = packets[index];
+    if (++index == packets.length) {
+      index = 0;
+    }
+
+    ByteBuf msg = packet.duplicate();
+    ByteBuf out = encoder.allocateBuffer(channel.context(), msg, true);
+    try {
+      encoder.encode(channel.context(), msg, out);
+      return out;
+    } finally {
+      out.release();
+    }
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.benchmark.BenchmarkChannel;
+import com.velocitypowered.proxy.benchmark.BufferType;
+import com.velocitypowered.proxy.benchmark.PlayTrafficCorpus;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import io.netty.buffer.ByteBuf;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link MinecraftDecoder} over play-state traffic: registered packets are decoded into
+ * objects, everything else is passed through untouched. Each operation handles one packet.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MinecraftDecoderBenchmark {
+
+  @Param({"HEAP", "DIRECT"})
+  public BufferType bufferType;
+
+  private MinecraftDecoder decoder;
+  private BenchmarkChannel channel;
+  private ByteBuf[] packets;
+  private int index;
+
+  @Setup
+  public void setup(Blackhole blackhole) {
+    ProtocolVersion version = ProtocolVersion.MAXIMUM_VERSION;
+    packets = PlayTrafficCorpus.load(version).copyPackets(bufferType);
+    decoder = new MinecraftDecoder(ProtocolUtils.Direction.CLIENTBOUND);
+    decoder.setState(StateRegistry.PLAY);
+    decoder.setProtocolVersion(version);
+    channel = new BenchmarkChannel(decoder);
+    channel.sinkInto(blackhole);
+  }
+
+  @TearDown
+  public void tearDown() {
+    channel.close();
+    for (ByteBuf packet : packets) {
+      packet.release();
+    }
+  }
+
+  @Benchmark
+  public void tryDecode() throws Exception {
+    ByteBuf packet = packets[index];
+    if (++index == packets.length) {
+      index = 0;
+    }
+    decoder.channelRead(channel.context(), packet.retainedDuplicate());
+  }
+}
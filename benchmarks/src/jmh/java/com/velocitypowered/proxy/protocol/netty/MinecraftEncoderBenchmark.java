@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.benchmark.BenchmarkChannel;
+import com.velocitypowered.proxy.benchmark.BufferType;
+import com.velocitypowered.proxy.benchmark.PlayTrafficCorpus;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures {@link MinecraftEncoder} on the play-state packets the proxy itself decodes and
+ * re-encodes. Each operation handles one packet.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MinecraftEncoderBenchmark {
+
+  @Param({"HEAP", "DIRECT"})
+  public BufferType bufferType;
+
+  private MinecraftEncoder encoder;
+  private BenchmarkChannel channel;
+  private MinecraftPacket[] packets;
+  private int index;
+
+  @Setup
+  public void setup() {
+    PlayTrafficCorpus corpus = PlayTrafficCorpus.load(ProtocolVersion.MAXIMUM_VERSION);
+    packets = corpus.getDecodedPackets().toArray(new MinecraftPacket[0]);
+    if (packets.length == 0) {
+      throw new IllegalStateException("The corpus does not contain any packets the proxy decodes");
+    }
+    encoder = new MinecraftEncoder(ProtocolUtils.Direction.CLIENTBOUND);
+    encoder.setState(StateRegistry.PLAY);
+    encoder.setProtocolVersion(corpus.getVersion());
+    channel = new BenchmarkChannel(encoder);
+  }
+
+  @TearDown
+  public void tearDown() {
+    channel.close();
+  }
+
+  @Benchmark
+  public ByteBuf allocateBuffer() throws Exception {
+    ByteBuf buf = encoder.allocateBuffer(channel.context(), nextPacket(),
+        bufferType == BufferType.DIRECT);
+    buf.release();
+    return buf;
+  }
+
+  @Benchmark
+  public ByteBuf encode() throws Exception {
+    MinecraftPacket packet = nextPacket();
+    ByteBuf buf = encoder.allocateBuffer(channel.context(), packet,
+        bufferType == BufferType.DIRECT);
+    try {
+      encoder.encode(channel.context(), packet, buf);
+      return buf;
+    } finally {
+      buf.release();
+    }
+  }
+
+  private MinecraftPacket nextPacket() {
+    MinecraftPacket packet = packets[index];
+    if (++index == packets.length) {
+      index = 0;
+    }
+    // Encoding consumes the contents of buffer-backed packets, so give it a fresh view each time
+    if (packet instanceof ByteBufHolder holder) {
+      return (MinecraftPacket) holder.duplicate();
+    }
+    return packet;
+  }
+}
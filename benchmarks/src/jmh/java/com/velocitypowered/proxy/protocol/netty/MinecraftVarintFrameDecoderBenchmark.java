@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.benchmark.BenchmarkChannel;
+import com.velocitypowered.proxy.benchmark.BufferType;
+import com.velocitypowered.proxy.benchmark.PlayTrafficCorpus;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCountUtil;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures splitting a stream of play-state frames with {@link MinecraftVarintFrameDecoder}. Each
+ * operation decodes a single frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MinecraftVarintFrameDecoderBenchmark {
+
+  @Param({"HEAP", "DIRECT"})
+  public BufferType bufferType;
+
+  private MinecraftVarintFrameDecoder decoder;
+  private BenchmarkChannel channel;
+  private ByteBuf stream;
+  private final List<Object> out = new ArrayList<>();
+
+  @Setup
+  public void setup() {
+    PlayTrafficCorpus corpus = PlayTrafficCorpus.load(ProtocolVersion.MAXIMUM_VERSION);
+    stream = corpus.framedStream(bufferType);
+    decoder = new MinecraftVarintFrameDecoder(ProtocolUtils.Direction.CLIENTBOUND);
+    decoder.setState(StateRegistry.PLAY);
+    channel = new BenchmarkChannel(decoder);
+  }
+
+  @TearDown
+  public void tearDown() {
+    channel.close();
+    stream.release();
+  }
+
+  @Benchmark
+  public void decode(Blackhole blackhole) throws Exception {
+    if (!stream.isReadable()) {
+      stream.readerIndex(0);
+    }
+    decoder.decode(channel.context(), stream, out);
+    for (int i = 0; i < out.size(); i++) {
+      Object frame = out.get(i);
+      blackhole.consume(frame);
+      ReferenceCountUtil.release(frame);
+    }
+    out.clear();
+  }
+}
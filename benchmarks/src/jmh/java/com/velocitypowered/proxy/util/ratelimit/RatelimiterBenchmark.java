@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util.ratelimit;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares {@link CaffeineCacheRatelimiter} with {@link TokenBucketRatelimiter}, keyed by IP
+ * address as the login rate limiter is. A small key space models a handful of clients hammering
+ * the proxy; the largest one models a flood of handshakes from spoofed addresses, where nearly
+ * every attempt is for a key that has never been seen before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class RatelimiterBenchmark {
+
+  /**
+   * The rate limiter implementation to measure.
+   */
+  public enum Implementation {
+    CAFFEINE {
+      @Override
+      Ratelimiter<InetAddress> create() {
+        return new CaffeineCacheRatelimiter<>(3000, TimeUnit.MILLISECONDS);
+      }
+    },
+    TOKEN_BUCKET {
+      @Override
+      Ratelimiter<InetAddress> create() {
+        return new TokenBucketRatelimiter<>(3000, TimeUnit.MILLISECONDS, 1);
+      }
+    };
+
+    abstract Ratelimiter<InetAddress> create();
+  }
+
+  @Param({"CAFFEINE", "TOKEN_BUCKET"})
+  public Implementation implementation;
+
+  @Param({"16", "4096", "1048576"})
+  public int keys;
+
+  private Ratelimiter<InetAddress> ratelimiter;
+  private InetAddress[] addresses;
+
+  @Setup
+  public void setup() throws UnknownHostException {
+    ratelimiter = implementation.create();
+    addresses = new InetAddress[keys];
+    SplittableRandom random = new SplittableRandom(0x5EED);
+    for (int i = 0; i < keys; i++) {
+      addresses[i] = InetAddress.getByAddress(new byte[] {
+          (byte) random.nextInt(256), (byte) random.nextInt(256),
+          (byte) random.nextInt(256), (byte) random.nextInt(256)});
+    }
+  }
+
+  /**
+   * Per-thread position in the key space, so threads do not contend on a shared counter.
+   */
+  @State(Scope.Thread)
+  public static class Cursor {
+
+    private SplittableRandom random;
+
+    @Setup
+    public void setup() {
+      random = new SplittableRandom(Thread.currentThread().getId());
+    }
+  }
+
+  @Benchmark
+  public boolean attempt(Cursor cursor) {
+    return ratelimiter.attempt(addresses[cursor.random.nextInt(addresses.length)]);
+  }
+}
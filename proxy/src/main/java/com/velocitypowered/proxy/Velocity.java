@@ -17,6 +17,7 @@
 
 package com.velocitypowered.proxy;
 
+import com.velocitypowered.proxy.network.buffer.BufferLeakAccounting;
 import com.velocitypowered.proxy.util.VelocityProperties;
 import io.netty.util.ResourceLeakDetector;
 import io.netty.util.ResourceLeakDetector.Level;
@@ -52,6 +53,13 @@ public class Velocity {
     if (!VelocityProperties.hasProperty("io.netty.leakDetection.level")) {
       ResourceLeakDetector.setLevel(Level.DISABLED);
     }
+
+    // Attributing leaked buffers to session handlers has to be set up before the first buffer is
+    // allocated, which is why it is a system property.
+    final int leakAccounting = Integer.getInteger(BufferLeakAccounting.PROPERTY, 0);
+    if (leakAccounting > 0) {
+      BufferLeakAccounting.install(leakAccounting);
+    }
   }
 
   /**
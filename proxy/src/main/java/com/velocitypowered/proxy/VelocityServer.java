@@ -39,6 +39,10 @@ import com.velocitypowered.api.proxy.server.ServerInfo;
 import com.velocitypowered.api.util.Favicon;
 import com.velocitypowered.api.util.GameProfile;
 import com.velocitypowered.api.util.ProxyVersion;
+import com.velocitypowered.proxy.auth.CachingSessionAuthenticator;
+import com.velocitypowered.proxy.auth.HttpSessionAuthenticator;
+import com.velocitypowered.proxy.auth.LocalSessionServer;
+import com.velocitypowered.proxy.auth.SessionAuthenticator;
 import com.velocitypowered.proxy.command.VelocityCommandManager;
 import com.velocitypowered.proxy.command.builtin.CallbackCommand;
 import com.velocitypowered.proxy.command.builtin.GlistCommand;
@@ -46,15 +50,21 @@ import com.velocitypowered.proxy.command.builtin.SendCommand;
 import com.velocitypowered.proxy.command.builtin.ServerCommand;
 import com.velocitypowered.proxy.command.builtin.ShutdownCommand;
 import com.velocitypowered.proxy.command.builtin.VelocityCommand;
+import com.velocitypowered.proxy.config.PluginExecutorMode;
 import com.velocitypowered.proxy.config.VelocityConfiguration;
 import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import com.velocitypowered.proxy.connection.client.PlayerBroadcaster;
 import com.velocitypowered.proxy.connection.player.resourcepack.VelocityResourcePackInfo;
 import com.velocitypowered.proxy.connection.util.ServerListPingHandler;
 import com.velocitypowered.proxy.console.VelocityConsole;
 import com.velocitypowered.proxy.crypto.EncryptionUtils;
 import com.velocitypowered.proxy.event.VelocityEventManager;
 import com.velocitypowered.proxy.network.ConnectionManager;
+import com.velocitypowered.proxy.network.SessionServerClient;
+import com.velocitypowered.proxy.network.buffer.ConnectionAllocators;
+import com.velocitypowered.proxy.network.metrics.VelocityTrafficMetrics;
 import com.velocitypowered.proxy.plugin.VelocityPluginManager;
+import com.velocitypowered.proxy.plugin.loader.PluginExecutorService;
 import com.velocitypowered.proxy.plugin.loader.VelocityPluginContainer;
 import com.velocitypowered.proxy.plugin.loader.VelocityPluginDescription;
 import com.velocitypowered.proxy.plugin.virtual.VelocityVirtualPlugin;
@@ -62,11 +72,15 @@ import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import com.velocitypowered.proxy.protocol.util.FaviconSerializer;
 import com.velocitypowered.proxy.protocol.util.GameProfileSerializer;
 import com.velocitypowered.proxy.scheduler.VelocityScheduler;
+import com.velocitypowered.proxy.server.BackendPrewarmer;
 import com.velocitypowered.proxy.server.ServerMap;
+import com.velocitypowered.proxy.tablist.VelocitySharedTabList;
 import com.velocitypowered.proxy.util.AddressUtil;
 import com.velocitypowered.proxy.util.ClosestLocaleMatcher;
 import com.velocitypowered.proxy.util.ResourceUtils;
 import com.velocitypowered.proxy.util.VelocityChannelRegistrar;
+import com.velocitypowered.proxy.util.collect.PrefixIndex;
+import com.velocitypowered.proxy.util.collect.SnapshotMap;
 import com.velocitypowered.proxy.util.ratelimit.Ratelimiter;
 import com.velocitypowered.proxy.util.ratelimit.Ratelimiters;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -78,10 +92,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
-import java.net.http.HttpClient;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.KeyPair;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -98,13 +112,15 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.IntFunction;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.audience.ForwardingAudience;
+import net.kyori.adventure.audience.MessageType;
+import net.kyori.adventure.identity.Identity;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.translation.MiniMessageTranslationStore;
+import net.kyori.adventure.title.Title;
 import net.kyori.adventure.translation.GlobalTranslator;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -163,26 +179,34 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
   private boolean shutdown = false;
   private final VelocityPluginManager pluginManager;
 
-  private final Map<UUID, ConnectedPlayer> connectionsByUuid = new ConcurrentHashMap<>();
+  private final SnapshotMap<UUID, ConnectedPlayer> connectionsByUuid = new SnapshotMap<>();
   private final Map<String, ConnectedPlayer> connectionsByName = new ConcurrentHashMap<>();
+  private final PrefixIndex<Player> playerNames = new PrefixIndex<>();
   private final VelocityConsole console;
   private @MonotonicNonNull Ratelimiter<InetAddress> ipAttemptLimiter;
   private @MonotonicNonNull Ratelimiter<UUID> commandRateLimiter;
   private @MonotonicNonNull Ratelimiter<UUID> tabCompleteRateLimiter;
   private final VelocityEventManager eventManager;
-  private final VelocityScheduler scheduler;
+  private @MonotonicNonNull VelocityScheduler scheduler;
   private final VelocityChannelRegistrar channelRegistrar = new VelocityChannelRegistrar();
   private final ServerListPingHandler serverListPingHandler;
+  private final VelocityTrafficMetrics trafficMetrics;
+  private final VelocitySharedTabList sharedTabList = new VelocitySharedTabList();
+  private final BackendPrewarmer backendPrewarmer;
+  private final ConnectionAllocators connectionAllocators = new ConnectionAllocators();
+  private @MonotonicNonNull SessionAuthenticator sessionAuthenticator;
+  private @Nullable LocalSessionServer localSessionServer;
 
   VelocityServer(final ProxyOptions options) {
     pluginManager = new VelocityPluginManager(this);
     eventManager = new VelocityEventManager(pluginManager);
     commandManager = new VelocityCommandManager(eventManager, pluginManager);
-    scheduler = new VelocityScheduler(pluginManager);
     console = new VelocityConsole(this);
     cm = new ConnectionManager(this);
     servers = new ServerMap(this);
     serverListPingHandler = new ServerListPingHandler(this);
+    trafficMetrics = new VelocityTrafficMetrics(this);
+    backendPrewarmer = new BackendPrewarmer(this, cm.getWorkerGroup());
     this.options = options;
   }
 
@@ -220,11 +244,31 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
         "NovaCore", version.getName(), version.getVersion(), "The NovaCore proxy",
             version.getName().equals("NovaCore") ? VELOCITY_URL : null,
             ImmutableList.of(version.getVendor()), Collections.emptyList(), null);
-    VelocityPluginContainer container = new VelocityPluginContainer(description);
+    VelocityPluginContainer container = new VelocityPluginContainer(description,
+        this::createPluginExecutor);
     container.setInstance(VelocityVirtualPlugin.INSTANCE);
     return container;
   }
 
+  /**
+   * Creates the executor service of a plugin, as configured in the {@code plugin-executors}
+   * section of the configuration.
+   *
+   * @param description the description of the plugin
+   * @return the executor service
+   */
+  public PluginExecutorService createPluginExecutor(PluginDescription description) {
+    String name = description.getName().orElse(description.getId());
+    if (configuration == null) {
+      // The proxy itself may need its executor before the configuration is loaded.
+      return PluginExecutorService.create(name, PluginExecutorMode.CACHED, 0, 0);
+    }
+    return PluginExecutorService.create(name,
+        configuration.getPluginExecutorMode(description.getId()),
+        configuration.getPluginExecutorBoundedThreads(),
+        configuration.getPluginExecutorBoundedQueueSize());
+  }
+
   @Override
   public VelocityCommandManager getCommandManager() {
     return commandManager;
@@ -288,6 +332,10 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
     new SendCommand(this).register();
 
     this.doStartupConfigLoad();
+    this.configureSessionAuthenticator(configuration);
+    // The scheduler backend can't be changed on reload, so it is only created once the
+    // configuration has been read.
+    scheduler = new VelocityScheduler(pluginManager, configuration.getSchedulerBackend());
 
     registerTranslations();
 
@@ -301,9 +349,12 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
       }
     }
 
-    ipAttemptLimiter = Ratelimiters.createWithMilliseconds(configuration.getLoginRatelimit());
-    commandRateLimiter = Ratelimiters.createWithMilliseconds(configuration.getCommandRatelimit());
-    tabCompleteRateLimiter = Ratelimiters.createWithMilliseconds(configuration.getTabCompleteRatelimit());
+    ipAttemptLimiter = Ratelimiters.createWithMilliseconds(configuration.getLoginRatelimit(),
+        configuration.getLoginRatelimitBurst());
+    commandRateLimiter = Ratelimiters.createWithMilliseconds(configuration.getCommandRatelimit(),
+        configuration.getCommandRateLimitBurst());
+    tabCompleteRateLimiter = Ratelimiters.createWithMilliseconds(
+        configuration.getTabCompleteRatelimit(), configuration.getTabCompleteRateLimitBurst());
     loadPlugins();
 
     // Go ahead and fire the proxy initialization event. We block since plugins should have a chance
@@ -331,6 +382,8 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
       this.cm.queryBind(configuration.getBind().getHostString(), configuration.getQueryPort());
     }
 
+    backendPrewarmer.configure(configuration);
+
     final String defaultPackage = new String(
         new byte[] { 'o', 'r', 'g', '.', 'b', 's', 't', 'a', 't', 's' });
     if (!MetricsBase.class.getPackage().getName().startsWith(defaultPackage)) {
@@ -467,6 +520,20 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
     return serverListPingHandler;
   }
 
+  @Override
+  public VelocityTrafficMetrics getTrafficMetrics() {
+    return trafficMetrics;
+  }
+
+  @Override
+  public VelocitySharedTabList getSharedTabList() {
+    return sharedTabList;
+  }
+
+  public ConnectionAllocators getConnectionAllocators() {
+    return connectionAllocators;
+  }
+
   public boolean isShutdown() {
     return shutdown;
   }
@@ -553,8 +620,13 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
     }
 
     commandManager.setAnnounceProxyCommands(newConfiguration.isAnnounceProxyCommands());
-    ipAttemptLimiter = Ratelimiters.createWithMilliseconds(newConfiguration.getLoginRatelimit());
+    ipAttemptLimiter = Ratelimiters.createWithMilliseconds(newConfiguration.getLoginRatelimit(),
+        newConfiguration.getLoginRatelimitBurst());
+    configureSessionAuthenticator(newConfiguration);
     this.configuration = newConfiguration;
+    backendPrewarmer.configure(newConfiguration);
+    serverListPingHandler.invalidatePassthroughCache();
+    serverListPingHandler.invalidateLocalPing();
     eventManager.fireAndForget(new ProxyReloadEvent());
     return true;
   }
@@ -580,6 +652,10 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
       // Shutdown the connection manager, this should be
       // done first to refuse new connections
       cm.shutdown();
+      backendPrewarmer.stop();
+      if (localSessionServer != null) {
+        localSessionServer.stop();
+      }
 
       try {
         eventManager.fire(new ProxyPreShutdownEvent())
@@ -595,8 +671,7 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
         logger.warn("Interrupted while waiting for ProxyPreShutdownEvent; continuing shutdown.");
       }
 
-      ImmutableList<ConnectedPlayer> players = ImmutableList.copyOf(connectionsByUuid.values());
-      for (ConnectedPlayer player : players) {
+      for (ConnectedPlayer player : connectionsByUuid.values()) {
         player.disconnect(reason);
       }
 
@@ -673,8 +748,42 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
     this.cm.closeEndpoints(false);
   }
 
-  public HttpClient createHttpClient() {
-    return cm.createHttpClient();
+  public SessionServerClient getSessionServerClient() {
+    return cm.getSessionServerClient();
+  }
+
+  public SessionAuthenticator getSessionAuthenticator() {
+    return sessionAuthenticator;
+  }
+
+  private void configureSessionAuthenticator(VelocityConfiguration configuration) {
+    if (localSessionServer != null) {
+      localSessionServer.stop();
+      localSessionServer = null;
+    }
+
+    String hasJoinedUrl = System.getProperty("mojang.sessionserver",
+        configuration.getSessionServerUrl());
+    if (configuration.isLocalSessionServer()) {
+      try {
+        localSessionServer = LocalSessionServer.start();
+        hasJoinedUrl = localSessionServer.getHasJoinedUrl();
+        logger.warn("Players are authenticated by a local stand-in session server at {}. It "
+            + "accepts EVERY player and is only meant for load testing!", hasJoinedUrl);
+      } catch (IOException e) {
+        logger.error("Unable to start the local session server, using {} instead",
+            hasJoinedUrl, e);
+      }
+    }
+
+    SessionAuthenticator authenticator = new HttpSessionAuthenticator(
+        cm.getSessionServerClient(), hasJoinedUrl,
+        getVersion().getName() + "/" + getVersion().getVersion());
+    if (configuration.getSessionServerCacheTtl() > 0) {
+      authenticator = new CachingSessionAuthenticator(authenticator,
+          Duration.ofMillis(configuration.getSessionServerCacheTtl()));
+    }
+    this.sessionAuthenticator = authenticator;
   }
 
   public @MonotonicNonNull Ratelimiter<InetAddress> getIpAttemptLimiter() {
@@ -721,6 +830,7 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
         connectionsByName.remove(lowerName, connection);
         return false;
       }
+      playerNames.put(lowerName, connection);
     } else {
       ConnectedPlayer existing = connectionsByUuid.get(connection.getUniqueId());
       if (existing != null) {
@@ -730,7 +840,9 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
       // We can now replace the entries as needed.
       connectionsByName.put(lowerName, connection);
       connectionsByUuid.put(connection.getUniqueId(), connection);
+      playerNames.put(lowerName, connection);
     }
+    serverListPingHandler.invalidateLocalPing();
     return true;
   }
 
@@ -742,6 +854,9 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
   public void unregisterConnection(ConnectedPlayer connection) {
     connectionsByName.remove(connection.getUsername().toLowerCase(Locale.US), connection);
     connectionsByUuid.remove(connection.getUniqueId(), connection);
+    playerNames.remove(connection.getUsername(), connection);
+    sharedTabList.disconnected(connection);
+    serverListPingHandler.invalidateLocalPing();
     connection.disconnected();
   }
 
@@ -759,25 +874,33 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
 
   @Override
   public Collection<Player> matchPlayer(String partialName) {
+    return matchPlayer(partialName, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public Collection<Player> matchPlayer(String partialName, int limit) {
     Objects.requireNonNull(partialName);
 
-    return getAllPlayers().stream().filter(p -> p.getUsername()
-            .regionMatches(true, 0, partialName, 0, partialName.length()))
-        .collect(Collectors.toList());
+    return playerNames.find(partialName, limit);
   }
 
   @Override
   public Collection<RegisteredServer> matchServer(String partialName) {
+    return matchServer(partialName, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public Collection<RegisteredServer> matchServer(String partialName, int limit) {
     Objects.requireNonNull(partialName);
 
-    return getAllServers().stream().filter(s -> s.getServerInfo().getName()
-            .regionMatches(true, 0, partialName, 0, partialName.length()))
-        .collect(Collectors.toList());
+    return servers.matchServer(partialName, limit);
   }
 
   @Override
+  @SuppressWarnings("unchecked")
   public Collection<Player> getAllPlayers() {
-    return ImmutableList.copyOf(connectionsByUuid.values());
+    // The snapshot is immutable, so it can safely be viewed as a list of the supertype.
+    return (Collection<Player>) (Collection<? extends Player>) connectionsByUuid.values();
   }
 
   @Override
@@ -857,6 +980,36 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
     return audiences;
   }
 
+  @Override
+  public void sendMessage(@NonNull Component message) {
+    this.sendMessage(Identity.nil(), message);
+  }
+
+  @Override
+  public void sendMessage(@NonNull Identity source, @NonNull Component message) {
+    this.console.sendMessage(source, message);
+    PlayerBroadcaster.sendMessage(this.connectionsByUuid.values(), source, message, null);
+  }
+
+  @Override
+  public void sendMessage(@NonNull Identity source, @NonNull Component message,
+                          @NonNull MessageType type) {
+    this.console.sendMessage(source, message, type);
+    PlayerBroadcaster.sendMessage(this.connectionsByUuid.values(), source, message, type);
+  }
+
+  @Override
+  public void sendActionBar(@NonNull Component message) {
+    this.console.sendActionBar(message);
+    PlayerBroadcaster.sendActionBar(this.connectionsByUuid.values(), message);
+  }
+
+  @Override
+  public void showTitle(@NonNull Title title) {
+    this.console.showTitle(title);
+    PlayerBroadcaster.showTitle(this.connectionsByUuid.values(), title);
+  }
+
   /**
    * Returns a Gson instance for use in serializing server ping instances.
    *
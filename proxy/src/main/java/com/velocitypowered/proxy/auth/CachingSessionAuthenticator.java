@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.auth;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Remembers successful authentications for a short while, keyed by username, server ID and IP
+ * address. Concurrent lookups for the same key share a single request to the session server, so
+ * a client that retries while the session server is slow does not add to its load. Failed and
+ * unsuccessful lookups are never cached.
+ */
+public final class CachingSessionAuthenticator implements SessionAuthenticator {
+
+  @VisibleForTesting
+  static final int MAXIMUM_ENTRIES = 10_000;
+
+  private final SessionAuthenticator delegate;
+  private final AsyncCache<Key, Result> cache;
+
+  /**
+   * Creates a new caching authenticator.
+   *
+   * @param delegate the authenticator to ask on a cache miss
+   * @param ttl how long a successful authentication is remembered
+   */
+  public CachingSessionAuthenticator(SessionAuthenticator delegate, Duration ttl) {
+    this(delegate, ttl, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  CachingSessionAuthenticator(SessionAuthenticator delegate, Duration ttl, Ticker ticker) {
+    this.delegate = Preconditions.checkNotNull(delegate, "delegate");
+    this.cache = Caffeine.newBuilder()
+        .expireAfterWrite(ttl)
+        .maximumSize(MAXIMUM_ENTRIES)
+        .ticker(ticker)
+        .executor(Runnable::run)
+        .buildAsync();
+  }
+
+  @Override
+  public CompletableFuture<Result> hasJoined(String username, String serverId,
+      @Nullable String ip) {
+    Key key = new Key(username, serverId, ip);
+    CompletableFuture<Result> result = cache.get(key,
+        (k, executor) -> delegate.hasJoined(username, serverId, ip));
+    result.thenAccept(response -> {
+      if (!response.isAuthenticated()) {
+        cache.asMap().remove(key, result);
+      }
+    });
+    return result;
+  }
+
+  @VisibleForTesting
+  long size() {
+    return cache.synchronous().estimatedSize();
+  }
+
+  @Override
+  public String toString() {
+    return "CachingSessionAuthenticator{"
+        + "delegate=" + delegate
+        + '}';
+  }
+
+  private record Key(String username, String serverId, @Nullable String ip) {
+
+  }
+}
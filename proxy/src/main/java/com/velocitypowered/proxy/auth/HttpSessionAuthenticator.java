@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.auth;
+
+import static com.google.common.net.UrlEscapers.urlFormParameterEscaper;
+import static com.velocitypowered.proxy.VelocityServer.GENERAL_GSON;
+
+import com.google.common.base.Preconditions;
+import com.velocitypowered.api.util.GameProfile;
+import com.velocitypowered.proxy.network.SessionServerClient;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Authenticates players against a session server that implements Mojang's {@code hasJoined}
+ * endpoint.
+ */
+public final class HttpSessionAuthenticator implements SessionAuthenticator {
+
+  private final SessionServerClient client;
+  private final String hasJoinedUrl;
+  private final String userAgent;
+
+  /**
+   * Creates a new authenticator.
+   *
+   * @param client the client to send requests with
+   * @param hasJoinedUrl the URL of the {@code hasJoined} endpoint, without any query parameters
+   * @param userAgent the user agent to send
+   */
+  public HttpSessionAuthenticator(SessionServerClient client, String hasJoinedUrl,
+      String userAgent) {
+    this.client = Preconditions.checkNotNull(client, "client");
+    this.hasJoinedUrl = Preconditions.checkNotNull(hasJoinedUrl, "hasJoinedUrl");
+    this.userAgent = Preconditions.checkNotNull(userAgent, "userAgent");
+  }
+
+  @Override
+  public CompletableFuture<Result> hasJoined(String username, String serverId,
+      @Nullable String ip) {
+    String url = hasJoinedUrl + "?username=" + urlFormParameterEscaper().escape(username)
+        + "&serverId=" + serverId;
+    if (ip != null) {
+      url += "&ip=" + urlFormParameterEscaper().escape(ip);
+    }
+
+    final HttpRequest httpRequest = HttpRequest.newBuilder()
+        .setHeader("User-Agent", userAgent)
+        .uri(URI.create(url))
+        .build();
+    return client.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString())
+        .thenApply(response -> {
+          if (response.statusCode() == 200) {
+            return new Result(200, GENERAL_GSON.fromJson(response.body(), GameProfile.class));
+          }
+          return new Result(response.statusCode(), null);
+        });
+  }
+
+  @Override
+  public String toString() {
+    return "HttpSessionAuthenticator{"
+        + "hasJoinedUrl='" + hasJoinedUrl + '\''
+        + '}';
+  }
+}
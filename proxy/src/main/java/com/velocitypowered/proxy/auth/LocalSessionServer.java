@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.auth;
+
+import static com.velocitypowered.proxy.VelocityServer.GENERAL_GSON;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.velocitypowered.api.util.GameProfile;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A stand-in for the Mojang session server that runs inside the proxy, intended for load tests.
+ * Its {@code hasJoined} endpoint accepts every player and answers with their offline-mode
+ * profile, so the whole online-mode login path, including the HTTP round trip, can be exercised
+ * at high rates without contacting Mojang.
+ *
+ * <p><strong>This server does not authenticate anybody.</strong> It must never be enabled on a
+ * proxy that real players connect to.</p>
+ */
+public final class LocalSessionServer {
+
+  private static final String HAS_JOINED_PATH = "/session/minecraft/hasJoined";
+
+  private final HttpServer server;
+
+  private LocalSessionServer(HttpServer server) {
+    this.server = server;
+  }
+
+  /**
+   * Starts a new local session server on a random port of the loopback interface.
+   *
+   * @return the started server
+   * @throws IOException if the server could not be bound
+   */
+  public static LocalSessionServer start() throws IOException {
+    HttpServer server = HttpServer.create(
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext(HAS_JOINED_PATH, LocalSessionServer::handleHasJoined);
+    server.start();
+    return new LocalSessionServer(server);
+  }
+
+  /**
+   * Returns the URL of the {@code hasJoined} endpoint of this server.
+   *
+   * @return the URL
+   */
+  public String getHasJoinedUrl() {
+    InetSocketAddress address = server.getAddress();
+    return "http://" + address.getHostString() + ":" + address.getPort() + HAS_JOINED_PATH;
+  }
+
+  /**
+   * Stops the server.
+   */
+  public void stop() {
+    server.stop(0);
+  }
+
+  private static void handleHasJoined(HttpExchange exchange) throws IOException {
+    try {
+      String username = queryParameter(exchange.getRequestURI().getRawQuery(), "username");
+      if (username == null) {
+        exchange.sendResponseHeaders(400, -1);
+        return;
+      }
+
+      byte[] body = GENERAL_GSON.toJson(GameProfile.forOfflinePlayer(username))
+          .getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().set("Content-Type", "application/json");
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private static @Nullable String queryParameter(@Nullable String query, String name) {
+    if (query == null) {
+      return null;
+    }
+    for (String parameter : query.split("&")) {
+      int separator = parameter.indexOf('=');
+      if (separator != -1 && parameter.substring(0, separator).equals(name)) {
+        return URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8);
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.auth;
+
+import com.velocitypowered.api.util.GameProfile;
+import java.util.concurrent.CompletableFuture;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Asks a session server whether a player has joined the proxy, which is the final step of
+ * online-mode authentication.
+ */
+public interface SessionAuthenticator {
+
+  /**
+   * Checks whether {@code username} has joined the server identified by {@code serverId}.
+   *
+   * @param username the username the player logged in with
+   * @param serverId the server ID hash derived from the shared secret of the connection
+   * @param ip the IP address the player has to be connecting from, or {@code null} to accept any
+   * @return a future completed with the answer of the session server, or completed exceptionally
+   *         if the session server could not be reached
+   */
+  CompletableFuture<Result> hasJoined(String username, String serverId, @Nullable String ip);
+
+  /**
+   * The answer of the session server.
+   *
+   * @param statusCode the HTTP status code of the response: 200 if the player is authenticated,
+   *                   204 if they are not
+   * @param profile the profile of the player if they are authenticated
+   */
+  record Result(int statusCode, @Nullable GameProfile profile) {
+
+    /**
+     * Returns whether the player is authenticated.
+     *
+     * @return whether the player is authenticated
+     */
+    public boolean isAuthenticated() {
+      return statusCode == 200 && profile != null;
+    }
+  }
+}
@@ -26,6 +26,11 @@ import java.util.List;
 
 class BuiltinCommandUtil {
 
+  /**
+   * The maximum number of player or server names suggested for a single argument.
+   */
+  static final int MAX_NAME_SUGGESTIONS = 100;
+
   private BuiltinCommandUtil() {
     throw new AssertionError();
   }
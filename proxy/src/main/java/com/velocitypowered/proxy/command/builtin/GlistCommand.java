@@ -68,11 +68,9 @@ public class GlistCommand {
           final String argument = context.getArguments().containsKey(SERVER_ARG)
               ? context.getArgument(SERVER_ARG, String.class)
               : "";
-          for (RegisteredServer server : server.getAllServers()) {
-            final String serverName = server.getServerInfo().getName();
-            if (serverName.regionMatches(true, 0, argument, 0, argument.length())) {
-              builder.suggest(serverName);
-            }
+          for (RegisteredServer server : server.matchServer(argument,
+              BuiltinCommandUtil.MAX_NAME_SUGGESTIONS)) {
+            builder.suggest(server.getServerInfo().getName());
           }
           if ("all".regionMatches(true, 0, argument, 0, argument.length())) {
             builder.suggest("all");
@@ -62,11 +62,9 @@ public final class ServerCommand {
               final String argument = ctx.getArguments().containsKey(SERVER_ARG)
                       ? StringArgumentType.getString(ctx, SERVER_ARG)
                       : "";
-              for (final RegisteredServer sv : server.getAllServers()) {
-                final String serverName = sv.getServerInfo().getName();
-                if (serverName.regionMatches(true, 0, argument, 0, argument.length())) {
-                  builder.suggest(serverName);
-                }
+              for (final RegisteredServer sv : server.matchServer(argument,
+                  BuiltinCommandUtil.MAX_NAME_SUGGESTIONS)) {
+                builder.suggest(sv.getServerInfo().getName());
               }
               return builder.buildFuture();
             })
@@ -20,6 +20,7 @@ package com.velocitypowered.proxy.command.builtin;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.mojang.brigadier.Command;
+import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.builder.ArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
@@ -27,13 +28,28 @@ import com.mojang.brigadier.tree.CommandNode;
 import com.mojang.brigadier.tree.LiteralCommandNode;
 import com.velocitypowered.api.command.BrigadierCommand;
 import com.velocitypowered.api.command.CommandSource;
+import com.velocitypowered.api.network.ChannelTraffic;
+import com.velocitypowered.api.network.ConnectionTraffic;
+import com.velocitypowered.api.network.LatencyStatistics;
+import com.velocitypowered.api.network.PacketTraffic;
+import com.velocitypowered.api.network.TrafficMetrics;
 import com.velocitypowered.api.permission.Tristate;
 import com.velocitypowered.api.plugin.PluginContainer;
 import com.velocitypowered.api.plugin.PluginDescription;
+import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.ProxyServer;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import com.velocitypowered.api.util.ProxyVersion;
 import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.connection.AdaptiveFlusher;
+import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import com.velocitypowered.proxy.network.SessionServerClient;
+import com.velocitypowered.proxy.network.buffer.BufferLeakAccounting;
+import com.velocitypowered.proxy.network.buffer.ConnectionAllocators;
+import com.velocitypowered.proxy.network.buffer.ConnectionAllocators.AllocatorUsage;
+import com.velocitypowered.proxy.plugin.loader.PluginExecutorService;
+import com.velocitypowered.proxy.plugin.loader.VelocityPluginContainer;
+import com.velocitypowered.proxy.protocol.netty.PlayPacketQueueOutboundHandler;
 import com.velocitypowered.proxy.util.InformationUtils;
 import java.io.BufferedWriter;
 import java.io.IOException;
@@ -50,11 +66,15 @@ import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
 import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.TranslatableComponent;
 import net.kyori.adventure.text.event.ClickEvent;
@@ -86,6 +106,32 @@ public final class VelocityCommand {
         .requires(source -> source.getPermissionValue("velocity.command.info") == Tristate.TRUE)
         .executes(new Info(server))
         .build();
+    final LiteralCommandNode<CommandSource> latency = BrigadierCommand
+        .literalArgumentBuilder("latency")
+        .requires(source -> source.getPermissionValue("velocity.command.latency") == Tristate.TRUE)
+        .executes(new Latency(server))
+        .then(BrigadierCommand.requiredArgumentBuilder("player", StringArgumentType.word())
+            .suggests((context, builder) -> {
+              for (final Player player : server.matchPlayer(builder.getRemaining(),
+                  BuiltinCommandUtil.MAX_NAME_SUGGESTIONS)) {
+                builder.suggest(player.getUsername());
+              }
+              return builder.buildFuture();
+            })
+            .executes(new PlayerLatency(server)))
+        .build();
+    final LiteralCommandNode<CommandSource> memory = BrigadierCommand
+        .literalArgumentBuilder("memory")
+        .requires(source -> source.getPermissionValue("velocity.command.memory") == Tristate.TRUE)
+        .executes(new Memory(server))
+        .build();
+    final LiteralCommandNode<CommandSource> metrics = BrigadierCommand
+        .literalArgumentBuilder("metrics")
+        .requires(source -> source.getPermissionValue("velocity.command.metrics") == Tristate.TRUE)
+        .executes(new Metrics(server))
+        .then(BrigadierCommand.literalArgumentBuilder("reset")
+            .executes(new ResetMetrics(server)))
+        .build();
     final LiteralCommandNode<CommandSource> plugins = BrigadierCommand
         .literalArgumentBuilder("plugins")
         .requires(source -> source.getPermissionValue("velocity.command.plugins") == Tristate.TRUE)
@@ -98,7 +144,7 @@ public final class VelocityCommand {
         .build();
 
     final List<LiteralCommandNode<CommandSource>> commands = List
-            .of(dump, heap, info, plugins, reload);
+            .of(dump, heap, info, latency, memory, metrics, plugins, reload);
     return new BrigadierCommand(
       commands.stream()
         .reduce(
@@ -266,6 +312,273 @@ public final class VelocityCommand {
     }
   }
 
+  private record Metrics(VelocityServer server) implements Command<CommandSource> {
+
+    private static final int TOP_ENTRIES = 10;
+
+    @Override
+    public int run(final CommandContext<CommandSource> context) {
+      final CommandSource source = context.getSource();
+      final TrafficMetrics metrics = server.getTrafficMetrics();
+      if (!metrics.isEnabled()) {
+        source.sendMessage(Component.translatable("velocity.command.metrics-disabled",
+            NamedTextColor.RED));
+      }
+
+      ConnectionTraffic players = ConnectionTraffic.EMPTY;
+      AdaptiveFlusher.Stats flushes = AdaptiveFlusher.Stats.EMPTY;
+      for (final Player player : server.getAllPlayers()) {
+        players = players.plus(metrics.getConnectionTraffic(player)
+            .orElse(ConnectionTraffic.EMPTY));
+        flushes = flushes.plus(((ConnectedPlayer) player).getConnection().getFlushStats());
+      }
+      source.sendMessage(Component.translatable("velocity.command.metrics-players",
+          NamedTextColor.YELLOW));
+      source.sendMessage(describe(Component.translatable("velocity.command.metrics-all-players"),
+          players));
+
+      source.sendMessage(Component.translatable("velocity.command.metrics-servers",
+          NamedTextColor.YELLOW));
+      for (final RegisteredServer registered : server.getAllServers()) {
+        final ConnectionTraffic traffic = metrics.getConnectionTraffic(registered);
+        if (!traffic.equals(ConnectionTraffic.EMPTY)) {
+          source.sendMessage(describe(
+              Argument.string("server", registered.getServerInfo().getName()), traffic));
+        }
+      }
+
+      final PlayPacketQueueOutboundHandler.Metrics queues =
+          PlayPacketQueueOutboundHandler.getMetrics();
+      source.sendMessage(Component.translatable("velocity.command.metrics-play-packet-queues",
+          NamedTextColor.YELLOW, value(queues.getQueuedPackets()),
+          bytes(queues.getQueuedBytes()), value(queues.getOverflows()),
+          value(queues.getDroppedPackets()), value(queues.getSpilledPackets())));
+      final SessionServerClient.Metrics sessionServer = server.getSessionServerClient()
+          .getMetrics();
+      source.sendMessage(Component.translatable("velocity.command.metrics-session-server",
+          NamedTextColor.YELLOW, value(sessionServer.requests()),
+          value(sessionServer.failures()), value(sessionServer.rejected()),
+          value(sessionServer.inFlight()), value(sessionServer.queued()),
+          decimal(sessionServer.averageLatencyMillis()),
+          decimal(sessionServer.maxLatencyMillis())));
+      source.sendMessage(Component.translatable("velocity.command.metrics-flushes",
+          NamedTextColor.YELLOW, value(flushes.flushes()),
+          decimal(flushes.averagePacketsPerFlush()), decimal(flushes.averageLatencyNanos() / 1e6),
+          decimal(flushes.maxLatencyNanos() / 1e6), value(flushes.packetLimitFlushes()),
+          value(flushes.byteLimitFlushes())));
+
+      boolean anyExecutor = false;
+      for (final PluginContainer plugin : server.getPluginManager().getPlugins()) {
+        if (!(plugin instanceof VelocityPluginContainer container)) {
+          continue;
+        }
+        final Optional<PluginExecutorService.Metrics> executor = container.getExecutorMetrics();
+        if (executor.isEmpty()) {
+          continue;
+        }
+        if (!anyExecutor) {
+          source.sendMessage(Component.translatable("velocity.command.metrics-plugin-executors",
+              NamedTextColor.YELLOW));
+          anyExecutor = true;
+        }
+        final PluginExecutorService.Metrics tasks = executor.get();
+        source.sendMessage(Component.translatable("velocity.command.metrics-plugin-executor",
+            NamedTextColor.GRAY, Argument.string("plugin", plugin.getDescription().getId()),
+            Argument.string("mode", tasks.mode().name().toLowerCase(Locale.ROOT)),
+            value(tasks.queued()),
+            value(tasks.active()), value(tasks.completed()), value(tasks.rejected()),
+            decimal(tasks.averageWaitMillis()), decimal(tasks.maxWaitMillis()),
+            decimal(tasks.averageRunMillis())));
+      }
+
+      source.sendMessage(Component.translatable("velocity.command.metrics-packet-types",
+          NamedTextColor.YELLOW));
+      for (final PacketTraffic traffic : limit(metrics.getPacketTraffic())) {
+        final Component decode = traffic.packetsDecoded() == 0 ? Component.empty()
+            : Component.translatable("velocity.command.metrics-packet-type-decode",
+                value(traffic.decodeNanos() / traffic.packetsDecoded()));
+        final Component encode = traffic.packetsEncoded() == 0 ? Component.empty()
+            : Component.translatable("velocity.command.metrics-packet-type-encode",
+                value(traffic.encodeNanos() / traffic.packetsEncoded()));
+        final Component packetId = traffic.packetId() < 0
+            ? Component.translatable("velocity.command.metrics-packet-type-other")
+            : Component.text("0x%02X".formatted(traffic.packetId()));
+        final Component name = Component.text()
+            .content(traffic.version().getMostRecentSupportedVersion() + " "
+                + traffic.state().name().toLowerCase(Locale.ROOT) + " "
+                + traffic.direction().name().toLowerCase(Locale.ROOT) + " ")
+            .append(packetId)
+            .append(Component.text(traffic.packetName() == null ? ""
+                : " (" + traffic.packetName() + ")"))
+            .build();
+        source.sendMessage(Component.translatable("velocity.command.metrics-packet-type",
+            NamedTextColor.GRAY, name, value(traffic.packetsReceived()),
+            bytes(traffic.bytesReceived()), value(traffic.packetsSent()),
+            bytes(traffic.bytesSent()), decode, encode));
+      }
+
+      source.sendMessage(Component.translatable("velocity.command.metrics-channels",
+          NamedTextColor.YELLOW));
+      for (final ChannelTraffic traffic : limit(metrics.getChannelTraffic())) {
+        source.sendMessage(Component.translatable("velocity.command.metrics-channel",
+            NamedTextColor.GRAY, Argument.string("channel", traffic.channel()),
+            Argument.string("direction", traffic.direction().name().toLowerCase(Locale.ROOT)),
+            value(traffic.messages()), bytes(traffic.bytes())));
+      }
+      return Command.SINGLE_SUCCESS;
+    }
+
+    private static <T> List<T> limit(final List<T> list) {
+      return list.size() > TOP_ENTRIES ? list.subList(0, TOP_ENTRIES) : list;
+    }
+
+    private static Component describe(final ComponentLike name, final ConnectionTraffic traffic) {
+      return Component.translatable("velocity.command.metrics-connection", NamedTextColor.GRAY,
+          name, value(traffic.packetsReceived()), bytes(traffic.bytesReceived()),
+          bytes(traffic.wireBytesReceived()), value(traffic.packetsSent()),
+          bytes(traffic.bytesSent()), bytes(traffic.wireBytesSent()), value(traffic.flushes()));
+    }
+
+    // The numbers stand out from the translated text around them.
+    static Component value(final Object value) {
+      return Component.text(String.valueOf(value), NamedTextColor.WHITE);
+    }
+
+    static Component decimal(final double value) {
+      return value(String.format(Locale.ROOT, "%.1f", value));
+    }
+
+    static Component bytes(final long bytes) {
+      return value(formatBytes(bytes));
+    }
+
+    static String formatBytes(final long bytes) {
+      if (bytes < 1024) {
+        return bytes + " B";
+      }
+      final int unit = (63 - Long.numberOfLeadingZeros(bytes)) / 10;
+      return "%.1f %siB".formatted(bytes / (double) (1L << (unit * 10)), "KMGTPE".charAt(unit - 1));
+    }
+  }
+
+  private record Memory(VelocityServer server) implements Command<CommandSource> {
+
+    @Override
+    public int run(final CommandContext<CommandSource> context) {
+      final CommandSource source = context.getSource();
+      final long maxDirect = ConnectionAllocators.getMaxDirectMemory();
+      final long usedDirect = ConnectionAllocators.getUsedDirectMemory();
+      source.sendMessage(Component.translatable("velocity.command.memory-direct",
+          NamedTextColor.YELLOW, usedDirect < 0
+              ? Component.translatable("velocity.command.memory-not-tracked", NamedTextColor.WHITE)
+              : Metrics.bytes(usedDirect), Metrics.bytes(maxDirect)));
+
+      source.sendMessage(Component.translatable("velocity.command.memory-allocators",
+          NamedTextColor.YELLOW));
+      for (final AllocatorUsage usage : server.getConnectionAllocators().getUsage()) {
+        final Component arenas = usage.directArenas() < 0 ? Component.empty()
+            : Component.translatable("velocity.command.memory-allocator-arenas",
+                Metrics.value(usage.directArenas()), Metrics.bytes(usage.chunkSize()),
+                Metrics.value(usage.activeAllocations()));
+        source.sendMessage(Component.translatable("velocity.command.memory-allocator",
+            NamedTextColor.GRAY, Argument.string("allocator", usage.name()),
+            Metrics.bytes(usage.usedDirectMemory()), Metrics.bytes(usage.usedHeapMemory()),
+            arenas));
+      }
+
+      if (!BufferLeakAccounting.isEnabled()) {
+        source.sendMessage(Component.translatable(
+            "velocity.command.memory-leak-accounting-disabled", NamedTextColor.GRAY,
+            Argument.string("property", BufferLeakAccounting.PROPERTY)));
+        return Command.SINGLE_SUCCESS;
+      }
+      source.sendMessage(Component.translatable("velocity.command.memory-tracked-buffers",
+          NamedTextColor.YELLOW));
+      final Map<String, Long> leaked = BufferLeakAccounting.getLeaked();
+      BufferLeakAccounting.getSampled().forEach((handler, sampled) -> source.sendMessage(
+          Component.translatable("velocity.command.memory-tracked-buffer", NamedTextColor.GRAY,
+              Argument.string("handler", handler), Metrics.value(sampled),
+              Metrics.value(leaked.getOrDefault(handler, 0L)))));
+      return Command.SINGLE_SUCCESS;
+    }
+  }
+
+  private record Latency(ProxyServer server) implements Command<CommandSource> {
+
+    @Override
+    public int run(final CommandContext<CommandSource> context) {
+      final CommandSource source = context.getSource();
+      source.sendMessage(Component.translatable("velocity.command.latency-servers",
+          NamedTextColor.YELLOW));
+      boolean any = false;
+      for (final RegisteredServer registered : server.getAllServers()) {
+        final LatencyStatistics pings = registered.getPingStatistics();
+        final LatencyStatistics delays = registered.getKeepAliveDelayStatistics();
+        if (pings.samples() == 0 && delays.samples() == 0) {
+          continue;
+        }
+        any = true;
+        source.sendMessage(describeServer(registered));
+      }
+      if (!any) {
+        source.sendMessage(Component.translatable("velocity.command.latency-none",
+            NamedTextColor.GRAY));
+      }
+      return Command.SINGLE_SUCCESS;
+    }
+
+    static Component describeServer(final RegisteredServer registered) {
+      return Component.translatable("velocity.command.latency-server", NamedTextColor.GRAY,
+          Argument.string("server", registered.getServerInfo().getName()),
+          formatLatency(registered.getPingStatistics()),
+          formatLatency(registered.getKeepAliveDelayStatistics()));
+    }
+
+    static Component formatLatency(final LatencyStatistics statistics) {
+      if (statistics.samples() == 0) {
+        return Component.translatable("velocity.command.latency-no-samples",
+            NamedTextColor.WHITE);
+      }
+      return Component.translatable("velocity.command.latency-statistics", NamedTextColor.WHITE,
+          Metrics.decimal(statistics.p50Micros() / 1000.0),
+          Metrics.decimal(statistics.p99Micros() / 1000.0),
+          Metrics.decimal(statistics.maxMicros() / 1000.0), Metrics.value(statistics.samples()));
+    }
+  }
+
+  private record PlayerLatency(ProxyServer server) implements Command<CommandSource> {
+
+    @Override
+    public int run(final CommandContext<CommandSource> context) {
+      final CommandSource source = context.getSource();
+      final String name = context.getArgument("player", String.class);
+      final Player player = server.getPlayer(name).orElse(null);
+      if (player == null) {
+        source.sendMessage(
+            CommandMessages.PLAYER_NOT_FOUND.arguments(Argument.string("player", name)));
+        return 0;
+      }
+
+      source.sendMessage(Component.translatable("velocity.command.latency-player",
+          NamedTextColor.YELLOW, Argument.string("player", player.getUsername()),
+          Latency.formatLatency(player.getPingStatistics())));
+      player.getCurrentServer().ifPresent(connection ->
+          source.sendMessage(Latency.describeServer(connection.getServer())));
+      return Command.SINGLE_SUCCESS;
+    }
+  }
+
+  private record ResetMetrics(ProxyServer server) implements Command<CommandSource> {
+
+    @Override
+    public int run(final CommandContext<CommandSource> context) {
+      server.getTrafficMetrics().reset();
+      context.getSource().sendMessage(Component.translatable("velocity.command.metrics-reset",
+          NamedTextColor.GREEN));
+      return Command.SINGLE_SUCCESS;
+    }
+  }
+
   private record Dump(ProxyServer server) implements Command<CommandSource> {
     private static final Logger logger = LogManager.getLogger(Dump.class);
 
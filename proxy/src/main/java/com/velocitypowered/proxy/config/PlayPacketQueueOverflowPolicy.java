@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.velocitypowered.proxy.config;
+
+/**
+ * What happens when the play packets queued for a connection in the configuration phase exceed
+ * the configured limits.
+ */
+public enum PlayPacketQueueOverflowPolicy {
+  /**
+   * Disconnects the connection.
+   */
+  DISCONNECT,
+  /**
+   * Drops queued packets that a newer queued packet of the same kind replaces anyway, such as
+   * titles and the tab list header and footer. Disconnects if that doesn't free enough space.
+   */
+  DROP_COALESCIBLE,
+  /**
+   * Encodes the queued packets, so only their bytes are held instead of the decoded packets, and
+   * keeps queueing packets encoded. Disconnects if the encoded packets still exceed the limits.
+   */
+  SPILL
+}
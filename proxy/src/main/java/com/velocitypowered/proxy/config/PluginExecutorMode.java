@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.config;
+
+/**
+ * How a plugin's executor service runs tasks.
+ */
+public enum PluginExecutorMode {
+  /**
+   * Runs every task on an idle thread, creating a new thread if there is none. The number of
+   * threads is unbounded.
+   */
+  CACHED,
+  /**
+   * Runs tasks on a fixed maximum number of threads with a bounded queue, rejecting tasks once the
+   * queue is full.
+   */
+  BOUNDED,
+  /**
+   * Runs every task on a new virtual thread.
+   */
+  VIRTUAL
+}
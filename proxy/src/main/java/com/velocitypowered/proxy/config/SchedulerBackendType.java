@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.config;
+
+/**
+ * How the scheduler keeps track of when plugin tasks are due.
+ */
+public enum SchedulerBackendType {
+  /**
+   * Uses a single-threaded {@link java.util.concurrent.ScheduledExecutorService}, which keeps the
+   * tasks in a priority queue.
+   */
+  EXECUTOR,
+  /**
+   * Uses a hierarchical timing wheel, which schedules and cancels tasks in constant time but runs
+   * them up to 10 milliseconds late.
+   */
+  TIMING_WHEEL
+}
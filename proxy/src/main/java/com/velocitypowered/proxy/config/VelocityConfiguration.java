@@ -89,6 +89,8 @@ public class VelocityConfiguration implements ProxyConfig {
   private final Query query;
   private final Metrics metrics;
   @Expose
+  private final PluginExecutors pluginExecutors;
+  @Expose
   private boolean enablePlayerAddressLogging = true;
   private net.kyori.adventure.text.@MonotonicNonNull Component motdAsComponent;
   private @Nullable Favicon favicon;
@@ -96,12 +98,13 @@ public class VelocityConfiguration implements ProxyConfig {
   private boolean forceKeyAuthentication = true; // Added in 1.19
 
   private VelocityConfiguration(Servers servers, ForcedHosts forcedHosts, Advanced advanced,
-      Query query, Metrics metrics) {
+      Query query, Metrics metrics, PluginExecutors pluginExecutors) {
     this.servers = servers;
     this.forcedHosts = forcedHosts;
     this.advanced = advanced;
     this.query = query;
     this.metrics = metrics;
+    this.pluginExecutors = pluginExecutors;
   }
 
   private VelocityConfiguration(String bind, String motd, int showMaxPlayers, boolean onlineMode,
@@ -110,7 +113,7 @@ public class VelocityConfiguration implements ProxyConfig {
       boolean onlineModeKickExistingPlayers, PingPassthroughMode pingPassthrough,
       boolean samplePlayersInPing, boolean enablePlayerAddressLogging, Servers servers,
       ForcedHosts forcedHosts, Advanced advanced, Query query, Metrics metrics,
-      boolean forceKeyAuthentication) {
+      PluginExecutors pluginExecutors, boolean forceKeyAuthentication) {
     this.bind = bind;
     this.motd = motd;
     this.showMaxPlayers = showMaxPlayers;
@@ -128,6 +131,7 @@ public class VelocityConfiguration implements ProxyConfig {
     this.advanced = advanced;
     this.query = query;
     this.metrics = metrics;
+    this.pluginExecutors = pluginExecutors;
     this.forceKeyAuthentication = forceKeyAuthentication;
   }
 
@@ -237,6 +241,93 @@ public class VelocityConfiguration implements ProxyConfig {
       valid = false;
     }
 
+    if (advanced.pingPassthroughCacheTtl < 0) {
+      logger.error("Invalid ping passthrough cache TTL {}ms", advanced.pingPassthroughCacheTtl);
+      valid = false;
+    }
+
+    if (advanced.pingPassthroughStaleTtl < 0) {
+      logger.error("Invalid ping passthrough stale TTL {}ms", advanced.pingPassthroughStaleTtl);
+      valid = false;
+    }
+
+    if (advanced.sessionServerMaxConcurrentRequests < 1) {
+      logger.error("Invalid session server max concurrent requests {}",
+          advanced.sessionServerMaxConcurrentRequests);
+      valid = false;
+    }
+
+    if (advanced.sessionServerMaxQueuedRequests < 0) {
+      logger.error("Invalid session server max queued requests {}",
+          advanced.sessionServerMaxQueuedRequests);
+      valid = false;
+    }
+
+    if (advanced.sessionServerTimeout < 1) {
+      logger.error("Invalid session server timeout {}ms", advanced.sessionServerTimeout);
+      valid = false;
+    }
+
+    if (advanced.sessionServerCacheTtl < 0) {
+      logger.error("Invalid session server cache TTL {}ms", advanced.sessionServerCacheTtl);
+      valid = false;
+    }
+
+    if (advanced.loginRatelimitBurst < 1) {
+      logger.error("Invalid login ratelimit burst {}", advanced.loginRatelimitBurst);
+      valid = false;
+    }
+
+    if (advanced.commandRateLimitBurst < 1) {
+      logger.error("Invalid command rate limit burst {}", advanced.commandRateLimitBurst);
+      valid = false;
+    }
+
+    if (advanced.tabCompleteRateLimitBurst < 1) {
+      logger.error("Invalid tab complete rate limit burst {}", advanced.tabCompleteRateLimitBurst);
+      valid = false;
+    }
+
+    if (pluginExecutors.boundedThreads < 1) {
+      logger.error("Invalid plugin executor thread count {}", pluginExecutors.boundedThreads);
+      valid = false;
+    }
+
+    if (pluginExecutors.boundedQueueSize < 0) {
+      logger.error("Invalid plugin executor queue size {}", pluginExecutors.boundedQueueSize);
+      valid = false;
+    }
+
+    if (advanced.flushConsolidationDelay < -1) {
+      logger.error("Invalid flush consolidation delay {}", advanced.flushConsolidationDelay);
+      valid = false;
+    }
+
+    if (advanced.flushMaxPendingBytes < 0) {
+      logger.error("Invalid flush max pending bytes {}", advanced.flushMaxPendingBytes);
+      valid = false;
+    }
+
+    if (advanced.playPacketQueueMaxBytes < 0) {
+      logger.error("Invalid play packet queue max bytes {}", advanced.playPacketQueueMaxBytes);
+      valid = false;
+    }
+
+    if (advanced.playPacketQueueMaxPackets < 0) {
+      logger.error("Invalid play packet queue max packets {}", advanced.playPacketQueueMaxPackets);
+      valid = false;
+    }
+
+    if (advanced.backendPrewarmConnections < 0) {
+      logger.error("Invalid backend prewarm connections {}", advanced.backendPrewarmConnections);
+      valid = false;
+    }
+
+    if (advanced.backendPrewarmTtl < 1) {
+      logger.error("Invalid backend prewarm ttl {}", advanced.backendPrewarmTtl);
+      valid = false;
+    }
+
     loadFavicon();
 
     return valid;
@@ -395,6 +486,24 @@ public class VelocityConfiguration implements ProxyConfig {
     return advanced.isTcpFastOpen();
   }
 
+  /**
+   * Returns the executor mode for the plugin with the specified ID.
+   *
+   * @param pluginId the ID of the plugin
+   * @return the executor mode
+   */
+  public PluginExecutorMode getPluginExecutorMode(String pluginId) {
+    return pluginExecutors.getMode(pluginId);
+  }
+
+  public int getPluginExecutorBoundedThreads() {
+    return pluginExecutors.getBoundedThreads();
+  }
+
+  public int getPluginExecutorBoundedQueueSize() {
+    return pluginExecutors.getBoundedQueueSize();
+  }
+
   public Metrics getMetrics() {
     return metrics;
   }
@@ -403,6 +512,14 @@ public class VelocityConfiguration implements ProxyConfig {
     return pingPassthrough;
   }
 
+  public int getPingPassthroughCacheTtl() {
+    return advanced.getPingPassthroughCacheTtl();
+  }
+
+  public int getPingPassthroughStaleTtl() {
+    return advanced.getPingPassthroughStaleTtl();
+  }
+
   public boolean getSamplePlayersInPing() {
     return samplePlayersInPing;
   }
@@ -447,6 +564,94 @@ public class VelocityConfiguration implements ProxyConfig {
     return advanced.isEnableReusePort();
   }
 
+  public int getSessionServerMaxConcurrentRequests() {
+    return advanced.getSessionServerMaxConcurrentRequests();
+  }
+
+  public int getSessionServerMaxQueuedRequests() {
+    return advanced.getSessionServerMaxQueuedRequests();
+  }
+
+  public int getSessionServerTimeout() {
+    return advanced.getSessionServerTimeout();
+  }
+
+  public String getSessionServerUrl() {
+    return advanced.getSessionServerUrl();
+  }
+
+  public int getSessionServerCacheTtl() {
+    return advanced.getSessionServerCacheTtl();
+  }
+
+  public boolean isLocalSessionServer() {
+    return advanced.isLocalSessionServer();
+  }
+
+  public int getLoginRatelimitBurst() {
+    return advanced.getLoginRatelimitBurst();
+  }
+
+  public int getCommandRateLimitBurst() {
+    return advanced.getCommandRateLimitBurst();
+  }
+
+  public int getTabCompleteRateLimitBurst() {
+    return advanced.getTabCompleteRateLimitBurst();
+  }
+
+  public SchedulerBackendType getSchedulerBackend() {
+    return advanced.getSchedulerBackend();
+  }
+
+  public boolean isCompressedFramePassthrough() {
+    return advanced.isCompressedFramePassthrough();
+  }
+
+  public int getFlushConsolidationDelay() {
+    return advanced.getFlushConsolidationDelay();
+  }
+
+  public int getFlushMaxPendingBytes() {
+    return advanced.getFlushMaxPendingBytes();
+  }
+
+  public boolean isLazyPacketDecoding() {
+    return advanced.isLazyPacketDecoding();
+  }
+
+  public int getPlayPacketQueueMaxBytes() {
+    return advanced.getPlayPacketQueueMaxBytes();
+  }
+
+  public int getPlayPacketQueueMaxPackets() {
+    return advanced.getPlayPacketQueueMaxPackets();
+  }
+
+  public PlayPacketQueueOverflowPolicy getPlayPacketQueueOverflow() {
+    return advanced.getPlayPacketQueueOverflow();
+  }
+
+  public boolean isTrafficMetrics() {
+    return advanced.isTrafficMetrics();
+  }
+
+  public boolean isFusedInboundDecoding() {
+    return advanced.isFusedInboundDecoding();
+  }
+
+  public int getBackendPrewarmConnections() {
+    return advanced.getBackendPrewarmConnections();
+  }
+
+  public int getBackendPrewarmTtl() {
+    return advanced.getBackendPrewarmTtl();
+  }
+
+  public boolean isSeparateHandshakeAllocator() {
+    return advanced.isSeparateHandshakeAllocator();
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
@@ -461,6 +666,7 @@ public class VelocityConfiguration implements ProxyConfig {
         .add("forcedHosts", forcedHosts)
         .add("advanced", advanced)
         .add("query", query)
+        .add("pluginExecutors", pluginExecutors)
         .add("favicon", favicon)
         .add("enablePlayerAddressLogging", enablePlayerAddressLogging)
         .add("forceKeyAuthentication", forceKeyAuthentication)
@@ -543,6 +749,7 @@ public class VelocityConfiguration implements ProxyConfig {
       final CommentedConfig advancedConfig = config.get("advanced");
       final CommentedConfig queryConfig = config.get("query");
       final CommentedConfig metricsConfig = config.get("metrics");
+      final CommentedConfig pluginExecutorsConfig = config.get("plugin-executors");
       final PlayerInfoForwarding forwardingMode = config.getEnumOrElse(
               "player-info-forwarding-mode", PlayerInfoForwarding.NONE);
       final PingPassthroughMode pingPassthroughMode = config.getEnumOrElse("ping-passthrough",
@@ -587,6 +794,7 @@ public class VelocityConfiguration implements ProxyConfig {
               new Advanced(advancedConfig),
               new Query(queryConfig),
               new Metrics(metricsConfig),
+              new PluginExecutors(pluginExecutorsConfig),
               forceKeyAuthentication
       );
     }
@@ -776,7 +984,57 @@ public class VelocityConfiguration implements ProxyConfig {
     private int tabCompleteRateLimit = 50;
     @Expose
     private int kickAfterRateLimitedTabCompletes = 10;
+    @Expose
+    private int pingPassthroughCacheTtl = 3000;
+    @Expose
+    private int pingPassthroughStaleTtl = 30000;
 
+    @Expose
+    private int sessionServerMaxConcurrentRequests = 64;
+    @Expose
+    private int sessionServerMaxQueuedRequests = 1024;
+    @Expose
+    private int sessionServerTimeout = 10000;
+    @Expose
+    private String sessionServerUrl =
+        "https://sessionserver.mojang.com/session/minecraft/hasJoined";
+    @Expose
+    private int sessionServerCacheTtl = 10000;
+    @Expose
+    private boolean localSessionServer = false;
+    @Expose
+    private int loginRatelimitBurst = 1;
+    @Expose
+    private int commandRateLimitBurst = 1;
+    @Expose
+    private int tabCompleteRateLimitBurst = 1;
+    @Expose
+    private SchedulerBackendType schedulerBackend = SchedulerBackendType.EXECUTOR;
+    @Expose
+    private boolean compressedFramePassthrough = false;
+    @Expose
+    private int flushConsolidationDelay = 0;
+    @Expose
+    private int flushMaxPendingBytes = 65536;
+    @Expose
+    private boolean lazyPacketDecoding = false;
+    @Expose
+    private int playPacketQueueMaxBytes = 16777216;
+    @Expose
+    private int playPacketQueueMaxPackets = 0;
+    @Expose
+    private PlayPacketQueueOverflowPolicy playPacketQueueOverflow =
+        PlayPacketQueueOverflowPolicy.DISCONNECT;
+    @Expose
+    private boolean trafficMetrics = false;
+    @Expose
+    private boolean fusedInboundDecoding = false;
+    @Expose
+    private int backendPrewarmConnections = 0;
+    @Expose
+    private int backendPrewarmTtl = 10000;
+    @Expose
+    private boolean separateHandshakeAllocator = false;
     private Advanced() {
     }
 
@@ -807,6 +1065,35 @@ public class VelocityConfiguration implements ProxyConfig {
         this.kickAfterRateLimitedCommands = config.getIntOrElse("kick-after-rate-limited-commands", 0);
         this.tabCompleteRateLimit = config.getIntOrElse("tab-complete-rate-limit", 10); // very lenient
         this.kickAfterRateLimitedTabCompletes = config.getIntOrElse("kick-after-rate-limited-tab-completes", 0);
+        this.pingPassthroughCacheTtl = config.getIntOrElse("ping-passthrough-cache-ttl", 3000);
+        this.pingPassthroughStaleTtl = config.getIntOrElse("ping-passthrough-stale-ttl", 30000);
+        this.sessionServerMaxConcurrentRequests = config.getIntOrElse(
+            "session-server-max-concurrent-requests", 64);
+        this.sessionServerMaxQueuedRequests = config.getIntOrElse(
+            "session-server-max-queued-requests", 1024);
+        this.sessionServerTimeout = config.getIntOrElse("session-server-timeout", 10000);
+        this.sessionServerUrl = config.getOrElse(
+            "session-server-url", "https://sessionserver.mojang.com/session/minecraft/hasJoined");
+        this.sessionServerCacheTtl = config.getIntOrElse("session-server-cache-ttl", 10000);
+        this.localSessionServer = config.getOrElse("local-session-server", false);
+        this.loginRatelimitBurst = config.getIntOrElse("login-ratelimit-burst", 1);
+        this.commandRateLimitBurst = config.getIntOrElse("command-rate-limit-burst", 1);
+        this.tabCompleteRateLimitBurst = config.getIntOrElse("tab-complete-rate-limit-burst", 1);
+        this.schedulerBackend = config.getEnumOrElse("scheduler-backend",
+            SchedulerBackendType.EXECUTOR);
+        this.compressedFramePassthrough = config.getOrElse("compressed-frame-passthrough", false);
+        this.flushConsolidationDelay = config.getIntOrElse("flush-consolidation-delay", 0);
+        this.flushMaxPendingBytes = config.getIntOrElse("flush-max-pending-bytes", 65536);
+        this.lazyPacketDecoding = config.getOrElse("lazy-packet-decoding", false);
+        this.playPacketQueueMaxBytes = config.getIntOrElse("play-packet-queue-max-bytes", 16777216);
+        this.playPacketQueueMaxPackets = config.getIntOrElse("play-packet-queue-max-packets", 0);
+        this.playPacketQueueOverflow = config.getEnumOrElse("play-packet-queue-overflow",
+            PlayPacketQueueOverflowPolicy.DISCONNECT);
+        this.trafficMetrics = config.getOrElse("traffic-metrics", false);
+        this.fusedInboundDecoding = config.getOrElse("fused-inbound-decoding", false);
+        this.backendPrewarmConnections = config.getIntOrElse("backend-prewarm-connections", 0);
+        this.backendPrewarmTtl = config.getIntOrElse("backend-prewarm-ttl", 10000);
+        this.separateHandshakeAllocator = config.getOrElse("separate-handshake-allocator", false);
       }
     }
 
@@ -894,6 +1181,102 @@ public class VelocityConfiguration implements ProxyConfig {
       return kickAfterRateLimitedTabCompletes;
     }
 
+    public int getPingPassthroughCacheTtl() {
+      return pingPassthroughCacheTtl;
+    }
+
+    public int getPingPassthroughStaleTtl() {
+      return pingPassthroughStaleTtl;
+    }
+
+    public int getSessionServerMaxConcurrentRequests() {
+      return sessionServerMaxConcurrentRequests;
+    }
+
+    public int getSessionServerMaxQueuedRequests() {
+      return sessionServerMaxQueuedRequests;
+    }
+
+    public int getSessionServerTimeout() {
+      return sessionServerTimeout;
+    }
+
+    public String getSessionServerUrl() {
+      return sessionServerUrl;
+    }
+
+    public int getSessionServerCacheTtl() {
+      return sessionServerCacheTtl;
+    }
+
+    public boolean isLocalSessionServer() {
+      return localSessionServer;
+    }
+
+    public int getLoginRatelimitBurst() {
+      return loginRatelimitBurst;
+    }
+
+    public int getCommandRateLimitBurst() {
+      return commandRateLimitBurst;
+    }
+
+    public int getTabCompleteRateLimitBurst() {
+      return tabCompleteRateLimitBurst;
+    }
+
+    public SchedulerBackendType getSchedulerBackend() {
+      return schedulerBackend;
+    }
+
+    public boolean isCompressedFramePassthrough() {
+      return compressedFramePassthrough;
+    }
+
+    public int getFlushConsolidationDelay() {
+      return flushConsolidationDelay;
+    }
+
+    public int getFlushMaxPendingBytes() {
+      return flushMaxPendingBytes;
+    }
+
+    public boolean isLazyPacketDecoding() {
+      return lazyPacketDecoding;
+    }
+
+    public int getPlayPacketQueueMaxBytes() {
+      return playPacketQueueMaxBytes;
+    }
+
+    public int getPlayPacketQueueMaxPackets() {
+      return playPacketQueueMaxPackets;
+    }
+
+    public PlayPacketQueueOverflowPolicy getPlayPacketQueueOverflow() {
+      return playPacketQueueOverflow;
+    }
+
+    public boolean isTrafficMetrics() {
+      return trafficMetrics;
+    }
+
+    public boolean isFusedInboundDecoding() {
+      return fusedInboundDecoding;
+    }
+
+    public int getBackendPrewarmConnections() {
+      return backendPrewarmConnections;
+    }
+
+    public int getBackendPrewarmTtl() {
+      return backendPrewarmTtl;
+    }
+
+    public boolean isSeparateHandshakeAllocator() {
+      return separateHandshakeAllocator;
+    }
+
     @Override
     public String toString() {
       return "Advanced{"
@@ -912,6 +1295,30 @@ public class VelocityConfiguration implements ProxyConfig {
           + ", logPlayerConnections=" + logPlayerConnections
           + ", acceptTransfers=" + acceptTransfers
           + ", enableReusePort=" + enableReusePort
+          + ", pingPassthroughCacheTtl=" + pingPassthroughCacheTtl
+          + ", pingPassthroughStaleTtl=" + pingPassthroughStaleTtl
+          + ", sessionServerMaxConcurrentRequests=" + sessionServerMaxConcurrentRequests
+          + ", sessionServerMaxQueuedRequests=" + sessionServerMaxQueuedRequests
+          + ", sessionServerTimeout=" + sessionServerTimeout
+          + ", sessionServerUrl=" + sessionServerUrl
+          + ", sessionServerCacheTtl=" + sessionServerCacheTtl
+          + ", localSessionServer=" + localSessionServer
+          + ", loginRatelimitBurst=" + loginRatelimitBurst
+          + ", commandRateLimitBurst=" + commandRateLimitBurst
+          + ", tabCompleteRateLimitBurst=" + tabCompleteRateLimitBurst
+          + ", schedulerBackend=" + schedulerBackend
+          + ", compressedFramePassthrough=" + compressedFramePassthrough
+          + ", flushConsolidationDelay=" + flushConsolidationDelay
+          + ", flushMaxPendingBytes=" + flushMaxPendingBytes
+          + ", lazyPacketDecoding=" + lazyPacketDecoding
+          + ", playPacketQueueMaxBytes=" + playPacketQueueMaxBytes
+          + ", playPacketQueueMaxPackets=" + playPacketQueueMaxPackets
+          + ", playPacketQueueOverflow=" + playPacketQueueOverflow
+          + ", trafficMetrics=" + trafficMetrics
+          + ", fusedInboundDecoding=" + fusedInboundDecoding
+          + ", backendPrewarmConnections=" + backendPrewarmConnections
+          + ", backendPrewarmTtl=" + backendPrewarmTtl
+          + ", separateHandshakeAllocator=" + separateHandshakeAllocator
           + '}';
     }
   }
@@ -973,6 +1380,61 @@ public class VelocityConfiguration implements ProxyConfig {
     }
   }
 
+  private static class PluginExecutors {
+
+    @Expose
+    private PluginExecutorMode mode = PluginExecutorMode.CACHED;
+    @Expose
+    private int boundedThreads = 16;
+    @Expose
+    private int boundedQueueSize = 1024;
+    @Expose
+    private Map<String, PluginExecutorMode> overrides = ImmutableMap.of();
+
+    private PluginExecutors(CommentedConfig config) {
+      if (config != null) {
+        this.mode = config.getEnumOrElse("mode", PluginExecutorMode.CACHED);
+        this.boundedThreads = config.getIntOrElse("bounded-threads", 16);
+        this.boundedQueueSize = config.getIntOrElse("bounded-queue-size", 1024);
+        CommentedConfig overridesConfig = config.get("overrides");
+        if (overridesConfig != null) {
+          Map<String, PluginExecutorMode> overrides = new HashMap<>();
+          for (UnmodifiableConfig.Entry entry : overridesConfig.entrySet()) {
+            if (!(entry.getValue() instanceof String value)) {
+              throw new IllegalStateException("Invalid value of type "
+                  + entry.getValue().getClass() + " in plugin executor overrides!");
+            }
+            overrides.put(entry.getKey(),
+                PluginExecutorMode.valueOf(value.toUpperCase(Locale.ROOT)));
+          }
+          this.overrides = ImmutableMap.copyOf(overrides);
+        }
+      }
+    }
+
+    private PluginExecutorMode getMode(String pluginId) {
+      return overrides.getOrDefault(pluginId, mode);
+    }
+
+    private int getBoundedThreads() {
+      return boundedThreads;
+    }
+
+    private int getBoundedQueueSize() {
+      return boundedQueueSize;
+    }
+
+    @Override
+    public String toString() {
+      return "PluginExecutors{"
+          + "mode=" + mode
+          + ", boundedThreads=" + boundedThreads
+          + ", boundedQueueSize=" + boundedQueueSize
+          + ", overrides=" + overrides
+          + '}';
+    }
+  }
+
   /**
    * Configuration for metrics.
    */
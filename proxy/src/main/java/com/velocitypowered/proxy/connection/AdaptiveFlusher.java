@@ -0,0 +1,239 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.velocitypowered.proxy.connection;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.channel.Channel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consolidates the flushes of packets relayed to a connection. Instead of flushing every time a
+ * read from the other side completes, the flush is deferred to the end of the current event loop
+ * iteration or, if a delay is configured, until the oldest pending packet has waited that long.
+ * A flush happens early once too many packets or bytes are pending, so bursts such as chunk
+ * loading are not held back. Other writes to the channel are flushed right away, and
+ * {@link #flushed()} tells the flusher that the pending packets went out with them.
+ *
+ * <p>All methods except {@link #getStats()} must be called from the event loop of the channel.
+ * </p>
+ */
+public final class AdaptiveFlusher {
+
+  static final int MAXIMUM_PACKETS_TO_FLUSH =
+      Integer.getInteger("velocity.max-packets-per-flush", 8192);
+
+  private final Channel channel;
+  private final long maxDelayNanos;
+  private final int maxPendingBytes;
+  private final int maxPendingPackets;
+  private final Runnable flushTask = this::scheduledFlush;
+  private int pendingPackets;
+  private long pendingBytes;
+  private long firstPendingNanos;
+  private boolean flushScheduled;
+
+  // Only ever written from the event loop, but read by whoever asks for the stats.
+  private volatile long flushes;
+  private volatile long packets;
+  private volatile long packetLimitFlushes;
+  private volatile long byteLimitFlushes;
+  private volatile long totalLatencyNanos;
+  private volatile long maxLatencyNanos;
+
+  /**
+   * Creates a flusher for the specified channel.
+   *
+   * @param channel the channel to flush
+   * @param maxDelay how long a packet may wait to be flushed; {@code 0} flushes at the end of the
+   *                 current event loop iteration, a negative value flushes as soon as the read
+   *                 that produced the packets completes
+   * @param unit the unit of {@code maxDelay}
+   * @param maxPendingBytes how many relayed bytes may be pending before flushing, or {@code 0}
+   *                        for no limit
+   */
+  AdaptiveFlusher(Channel channel, long maxDelay, TimeUnit unit, int maxPendingBytes) {
+    this(channel, maxDelay, unit, maxPendingBytes, MAXIMUM_PACKETS_TO_FLUSH);
+  }
+
+  @VisibleForTesting
+  AdaptiveFlusher(Channel channel, long maxDelay, TimeUnit unit, int maxPendingBytes,
+      int maxPendingPackets) {
+    this.channel = channel;
+    this.maxDelayNanos = maxDelay < 0 ? -1 : unit.toNanos(maxDelay);
+    this.maxPendingBytes = maxPendingBytes;
+    this.maxPendingPackets = maxPendingPackets;
+  }
+
+  /**
+   * Writes, but does not flush, a message to the channel. The channel is flushed right away if
+   * this pushes it over the packet or byte limit.
+   *
+   * @param msg the message to write
+   */
+  void write(Object msg) {
+    if (pendingPackets++ == 0) {
+      firstPendingNanos = System.nanoTime();
+    }
+    // Size the message before writing it, the encoders release relayed buffers.
+    pendingBytes += sizeOf(msg);
+    channel.write(msg, channel.voidPromise());
+
+    if (pendingPackets >= maxPendingPackets) {
+      packetLimitFlushes++;
+      flush();
+    } else if (maxPendingBytes > 0 && pendingBytes >= maxPendingBytes) {
+      byteLimitFlushes++;
+      flush();
+    }
+  }
+
+  /**
+   * Signals that the read producing the pending packets has completed, so they should be
+   * flushed according to the configured delay.
+   */
+  void readCompleted() {
+    if (pendingPackets == 0) {
+      return;
+    }
+    if (maxDelayNanos < 0) {
+      flush();
+      return;
+    }
+    if (flushScheduled) {
+      return;
+    }
+
+    flushScheduled = true;
+    if (maxDelayNanos == 0) {
+      // Tasks submitted from the event loop itself run once it is done processing I/O, so every
+      // read completing in this iteration ends up in the same flush.
+      channel.eventLoop().execute(flushTask);
+    } else {
+      long remaining = firstPendingNanos + maxDelayNanos - System.nanoTime();
+      channel.eventLoop().schedule(flushTask, Math.max(0, remaining), TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private void scheduledFlush() {
+    flushScheduled = false;
+    if (pendingPackets > 0) {
+      flush();
+    }
+  }
+
+  private void flush() {
+    long latency = System.nanoTime() - firstPendingNanos;
+    flushes++;
+    packets += pendingPackets;
+    totalLatencyNanos += latency;
+    if (latency > maxLatencyNanos) {
+      maxLatencyNanos = latency;
+    }
+    pendingPackets = 0;
+    pendingBytes = 0;
+
+    if (channel.isActive()) {
+      channel.flush();
+    }
+  }
+
+  /**
+   * Signals that the channel was flushed by something else, such as a packet the proxy sent on
+   * its own, so the pending packets went out with it. They are not counted as a flush of their
+   * own.
+   */
+  void flushed() {
+    pendingPackets = 0;
+    pendingBytes = 0;
+  }
+
+  // Only the bytes relayed as they are can be counted before they are written: packets the proxy
+  // handled itself are encoded further down the pipeline. These are few and small, so they are
+  // only counted towards the packet limit. The channel's outbound buffer is not used instead,
+  // as it also holds whatever else was written and not yet flushed or written to the socket.
+  private static int sizeOf(Object msg) {
+    if (msg instanceof ByteBuf buf) {
+      return buf.readableBytes();
+    } else if (msg instanceof ByteBufHolder holder) {
+      return holder.content().readableBytes();
+    }
+    return 0;
+  }
+
+  /**
+   * Returns the flush statistics of the connection.
+   *
+   * @return the statistics
+   */
+  public Stats getStats() {
+    return new Stats(flushes, packets, packetLimitFlushes, byteLimitFlushes, totalLatencyNanos,
+        maxLatencyNanos);
+  }
+
+  /**
+   * Flush statistics of a connection.
+   *
+   * @param flushes how many times relayed packets were flushed
+   * @param packets how many packets were flushed
+   * @param packetLimitFlushes how many flushes happened because too many packets were pending
+   * @param byteLimitFlushes how many flushes happened because too many relayed bytes were
+   *                         pending
+   * @param totalLatencyNanos how long the first packet of each flush waited, summed up
+   * @param maxLatencyNanos the longest the first packet of a flush waited
+   */
+  public record Stats(long flushes, long packets, long packetLimitFlushes, long byteLimitFlushes,
+                      long totalLatencyNanos, long maxLatencyNanos) {
+
+    public static final Stats EMPTY = new Stats(0, 0, 0, 0, 0, 0);
+
+    /**
+     * Combines these statistics with the {@code other} statistics.
+     *
+     * @param other the statistics to add
+     * @return the combined statistics
+     */
+    public Stats plus(Stats other) {
+      return new Stats(flushes + other.flushes, packets + other.packets,
+          packetLimitFlushes + other.packetLimitFlushes,
+          byteLimitFlushes + other.byteLimitFlushes,
+          totalLatencyNanos + other.totalLatencyNanos,
+          Math.max(maxLatencyNanos, other.maxLatencyNanos));
+    }
+
+    /**
+     * Returns the average number of packets sent per flush.
+     *
+     * @return the average number of packets per flush
+     */
+    public double averagePacketsPerFlush() {
+      return flushes == 0 ? 0 : (double) packets / flushes;
+    }
+
+    /**
+     * Returns the average time the first packet of a flush waited.
+     *
+     * @return the average latency in nanoseconds
+     */
+    public long averageLatencyNanos() {
+      return flushes == 0 ? 0 : totalLatencyNanos / flushes;
+    }
+  }
+}
@@ -25,6 +25,7 @@ import static com.velocitypowered.proxy.network.Connections.FRAME_DECODER;
 import static com.velocitypowered.proxy.network.Connections.FRAME_ENCODER;
 import static com.velocitypowered.proxy.network.Connections.MINECRAFT_DECODER;
 import static com.velocitypowered.proxy.network.Connections.MINECRAFT_ENCODER;
+import static com.velocitypowered.proxy.network.Connections.PACKET_TRAFFIC;
 
 import com.google.common.base.Preconditions;
 import com.velocitypowered.api.network.ProtocolVersion;
@@ -33,19 +34,23 @@ import com.velocitypowered.natives.encryption.VelocityCipher;
 import com.velocitypowered.natives.encryption.VelocityCipherFactory;
 import com.velocitypowered.natives.util.Natives;
 import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.config.VelocityConfiguration;
 import com.velocitypowered.proxy.connection.client.HandshakeSessionHandler;
 import com.velocitypowered.proxy.connection.client.InitialLoginSessionHandler;
 import com.velocitypowered.proxy.connection.client.StatusSessionHandler;
 import com.velocitypowered.proxy.network.Connections;
+import com.velocitypowered.proxy.network.buffer.BufferLeakAccounting;
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
 import com.velocitypowered.proxy.protocol.StateRegistry;
 import com.velocitypowered.proxy.protocol.VelocityConnectionEvent;
+import com.velocitypowered.proxy.protocol.netty.CompressedFrame;
 import com.velocitypowered.proxy.protocol.netty.MinecraftCipherDecoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftCipherEncoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftCompressDecoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftCompressorAndLengthEncoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftDecoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftEncoder;
+import com.velocitypowered.proxy.protocol.netty.MinecraftFusedInboundDecoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftVarintFrameDecoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftVarintLengthEncoder;
 import com.velocitypowered.proxy.protocol.netty.PlayPacketQueueInboundHandler;
@@ -59,6 +64,7 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
 import io.netty.channel.EventLoop;
 import io.netty.handler.codec.haproxy.HAProxyMessage;
 import io.netty.handler.timeout.ReadTimeoutException;
@@ -67,8 +73,10 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.security.GeneralSecurityException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
@@ -95,6 +103,8 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
   public final VelocityServer server;
   private ConnectionType connectionType = ConnectionTypes.UNDETERMINED;
   private boolean knownDisconnect = false;
+  private int compressionThreshold = -1;
+  private volatile @Nullable AdaptiveFlusher flusher;
 
   /**
    * Initializes a new {@link MinecraftConnection} instance.
@@ -151,21 +161,32 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
         return;
       }
 
-      if (msg instanceof MinecraftPacket pkt) {
-        if (!pkt.handle(activeSessionHandler)) {
-          activeSessionHandler.handleGeneric(pkt);
-        }
-      } else if (msg instanceof HAProxyMessage proxyMessage) {
-        this.remoteAddress = new InetSocketAddress(proxyMessage.sourceAddress(),
-            proxyMessage.sourcePort());
-      } else if (msg instanceof ByteBuf buf) {
-        activeSessionHandler.handleUnknown(buf);
+      if (BufferLeakAccounting.isEnabled()) {
+        BufferLeakAccounting.handle(activeSessionHandler, msg, this::handleMessage);
+      } else {
+        handleMessage(msg);
       }
     } finally {
       ReferenceCountUtil.release(msg);
     }
   }
 
+  private void handleMessage(Object msg) {
+    final MinecraftSessionHandler activeSessionHandler = this.activeSessionHandler;
+    if (msg instanceof MinecraftPacket pkt) {
+      if (!pkt.handle(activeSessionHandler)) {
+        activeSessionHandler.handleGeneric(pkt);
+      }
+    } else if (msg instanceof HAProxyMessage proxyMessage) {
+      this.remoteAddress = new InetSocketAddress(proxyMessage.sourceAddress(),
+          proxyMessage.sourcePort());
+    } else if (msg instanceof ByteBuf buf) {
+      activeSessionHandler.handleUnknown(buf);
+    } else if (msg instanceof CompressedFrame frame) {
+      activeSessionHandler.handleCompressedFrame(frame);
+    }
+  }
+
   @Override
   public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
     if (activeSessionHandler != null) {
@@ -233,13 +254,29 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
   @Nullable
   public ChannelFuture write(Object msg) {
     if (channel.isActive()) {
-      return channel.writeAndFlush(msg, channel.newPromise());
+      ChannelPromise promise = channel.newPromise();
+      if (channel.eventLoop().inEventLoop()) {
+        write0(msg, promise);
+      } else {
+        try {
+          channel.eventLoop().execute(() -> write0(msg, promise));
+        } catch (RejectedExecutionException e) {
+          ReferenceCountUtil.release(msg);
+          promise.setFailure(e);
+        }
+      }
+      return promise;
     } else {
       ReferenceCountUtil.release(msg);
       return null;
     }
   }
 
+  private void write0(Object msg, ChannelPromise promise) {
+    channel.writeAndFlush(msg, promise);
+    relayFlushed();
+  }
+
   /**
    * Writes, but does not flush, a message to the connection.
    *
@@ -258,10 +295,141 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
    */
   public void flush() {
     if (channel.isActive()) {
-      channel.flush();
+      if (channel.eventLoop().inEventLoop()) {
+        flush0();
+      } else {
+        try {
+          channel.eventLoop().execute(this::flush0);
+        } catch (RejectedExecutionException e) {
+          // The event loop is shutting down, so nothing is flushed anymore.
+        }
+      }
+    }
+  }
+
+  private void flush0() {
+    channel.flush();
+    relayFlushed();
+  }
+
+  // Relayed packets that were pending go out with any other flush, so the flusher must not
+  // count them anymore. This must run in the same event loop task as the flush: relayed packets
+  // written in between would otherwise be forgotten by the flusher and never flushed.
+  private void relayFlushed() {
+    AdaptiveFlusher flusher = this.flusher;
+    if (flusher != null) {
+      flusher.flushed();
+    }
+  }
+
+  /**
+   * Writes and flushes packets that were already encoded for the specified state and protocol
+   * version, typically because the same packets are sent to many connections. If the connection
+   * is not in that state, is about to be reconfigured or no longer uses that protocol version by
+   * the time the packets are written, the {@code packets} are written instead so they get encoded
+   * (or queued) for the current state and version. This takes ownership of the {@code encoded}
+   * buffers.
+   *
+   * @param state the state the packets were encoded for
+   * @param version the protocol version the packets were encoded for
+   * @param packets the packets that were encoded
+   * @param encoded the encoded packets, including their packet ID
+   */
+  public void writeEncoded(StateRegistry state, ProtocolVersion version,
+      List<? extends MinecraftPacket> packets, ByteBuf[] encoded) {
+    if (channel.eventLoop().inEventLoop()) {
+      writeEncoded0(state, version, packets, encoded);
+    } else {
+      try {
+        channel.eventLoop().execute(() -> writeEncoded0(state, version, packets, encoded));
+      } catch (RejectedExecutionException e) {
+        // The event loop is shutting down, so the connection is going away anyway.
+        for (ByteBuf buf : encoded) {
+          buf.release();
+        }
+      }
+    }
+  }
+
+  private void writeEncoded0(StateRegistry state, ProtocolVersion version,
+      List<? extends MinecraftPacket> packets, ByteBuf[] encoded) {
+    if (!channel.isActive() || !canWriteEncoded(state, version)) {
+      for (ByteBuf buf : encoded) {
+        buf.release();
+      }
+      if (channel.isActive()) {
+        for (MinecraftPacket packet : packets) {
+          channel.write(packet, channel.voidPromise());
+        }
+        channel.flush();
+        relayFlushed();
+      }
+      return;
+    }
+
+    for (ByteBuf buf : encoded) {
+      channel.write(buf, channel.voidPromise());
+    }
+    channel.flush();
+    relayFlushed();
+  }
+
+  // Encoded packets skip the encoder and the play packet queue, so they can only be written while
+  // the encoder would have encoded them the same way. When a reconfiguration starts, the encoder
+  // switches to CONFIG and play packets get queued before the state of the connection changes.
+  private boolean canWriteEncoded(StateRegistry state, ProtocolVersion version) {
+    if (this.state != state || this.protocolVersion != version || pendingConfigurationSwitch) {
+      return false;
+    }
+    MinecraftEncoder encoder = channel.pipeline().get(MinecraftEncoder.class);
+    return encoder != null && encoder.getState() == state
+        && channel.pipeline().get(Connections.PLAY_PACKET_QUEUE_OUTBOUND) == null;
+  }
+
+  /**
+   * Writes a message relayed from the other side of the proxy to the connection. The message is
+   * flushed according to the flush consolidation settings, once {@link #scheduleFlush()} is
+   * called or too many messages are pending. This must be called from the event loop.
+   *
+   * @param msg the message to write
+   */
+  public void relayWrite(Object msg) {
+    if (channel.isActive()) {
+      AdaptiveFlusher flusher = this.flusher;
+      if (flusher == null) {
+        VelocityConfiguration configuration = server.getConfiguration();
+        flusher = new AdaptiveFlusher(channel, configuration.getFlushConsolidationDelay(),
+            TimeUnit.MILLISECONDS, configuration.getFlushMaxPendingBytes());
+        this.flusher = flusher;
+      }
+      flusher.write(msg);
+    } else {
+      ReferenceCountUtil.release(msg);
+    }
+  }
+
+  /**
+   * Flushes the messages written with {@link #relayWrite(Object)}, either right away or after
+   * the configured flush consolidation delay. This must be called from the event loop.
+   */
+  public void scheduleFlush() {
+    AdaptiveFlusher flusher = this.flusher;
+    if (flusher != null) {
+      flusher.readCompleted();
     }
   }
 
+  /**
+   * Returns the statistics about flushing the messages written with
+   * {@link #relayWrite(Object)}.
+   *
+   * @return the flush statistics
+   */
+  public AdaptiveFlusher.Stats getFlushStats() {
+    AdaptiveFlusher flusher = this.flusher;
+    return flusher == null ? AdaptiveFlusher.Stats.EMPTY : flusher.getStats();
+  }
+
   /**
    * Closes the connection after writing the {@code msg}.
    *
@@ -386,6 +554,11 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
       minecraftDecoder.setState(state);
     }
 
+    if (state == StateRegistry.CONFIG || state == StateRegistry.PLAY) {
+      // The connection belongs to a player now, so it no longer counts as a handshake.
+      server.getConnectionAllocators().promote(channel);
+    }
+
     if (state == StateRegistry.CONFIG) {
       // Activate the play packet queue
       addPlayPacketQueueHandler();
@@ -405,8 +578,13 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
    */
   public void addPlayPacketQueueHandler() {
     if (this.channel.pipeline().get(Connections.PLAY_PACKET_QUEUE_OUTBOUND) == null) {
-      this.channel.pipeline().addAfter(Connections.MINECRAFT_ENCODER, Connections.PLAY_PACKET_QUEUE_OUTBOUND,
-           new PlayPacketQueueOutboundHandler(this.protocolVersion, channel.pipeline().get(MinecraftEncoder.class).getDirection()));
+      VelocityConfiguration configuration = server.getConfiguration();
+      PlayPacketQueueOutboundHandler queue = new PlayPacketQueueOutboundHandler(
+          this.protocolVersion, channel.pipeline().get(MinecraftEncoder.class).getDirection(),
+          configuration.getPlayPacketQueueMaxBytes(), configuration.getPlayPacketQueueMaxPackets(),
+          configuration.getPlayPacketQueueOverflow());
+      this.channel.pipeline().addAfter(Connections.MINECRAFT_ENCODER,
+          Connections.PLAY_PACKET_QUEUE_OUTBOUND, queue);
     }
     if (this.channel.pipeline().get(Connections.PLAY_PACKET_QUEUE_INBOUND) == null) {
       this.channel.pipeline().addAfter(Connections.MINECRAFT_DECODER, Connections.PLAY_PACKET_QUEUE_INBOUND,
@@ -524,18 +702,28 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
     ensureOpen();
     ensureInEventLoop();
 
+    this.compressionThreshold = threshold;
+    final MinecraftFusedInboundDecoder fusedDecoder = channel.pipeline()
+        .get(MinecraftFusedInboundDecoder.class);
     if (threshold == -1) {
-      final ChannelHandler removedDecoder = channel.pipeline().remove(COMPRESSION_DECODER);
+      final ChannelHandler removedDecoder;
+      if (fusedDecoder != null) {
+        removedDecoder = fusedDecoder.getCompressDecoder();
+        fusedDecoder.setCompressDecoder(null);
+      } else {
+        removedDecoder = channel.pipeline().remove(COMPRESSION_DECODER);
+      }
       final ChannelHandler removedEncoder = channel.pipeline().remove(COMPRESSION_ENCODER);
 
       if (removedDecoder != null && removedEncoder != null) {
-        channel.pipeline().addBefore(MINECRAFT_DECODER, FRAME_ENCODER,
+        channel.pipeline().addBefore(packetCodec(MINECRAFT_DECODER), FRAME_ENCODER,
             MinecraftVarintLengthEncoder.INSTANCE);
         channel.pipeline().fireUserEventTriggered(VelocityConnectionEvent.COMPRESSION_DISABLED);
       }
     } else {
-      MinecraftCompressDecoder decoder = (MinecraftCompressDecoder) channel.pipeline()
-          .get(COMPRESSION_DECODER);
+      MinecraftCompressDecoder decoder = fusedDecoder != null
+          ? fusedDecoder.getCompressDecoder()
+          : (MinecraftCompressDecoder) channel.pipeline().get(COMPRESSION_DECODER);
       MinecraftCompressorAndLengthEncoder encoder =
           (MinecraftCompressorAndLengthEncoder) channel.pipeline().get(COMPRESSION_ENCODER);
       if (decoder != null && encoder != null) {
@@ -549,14 +737,34 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
         decoder = new MinecraftCompressDecoder(threshold, compressor);
 
         channel.pipeline().remove(FRAME_ENCODER);
-        channel.pipeline().addBefore(MINECRAFT_DECODER, COMPRESSION_DECODER, decoder);
-        channel.pipeline().addBefore(MINECRAFT_ENCODER, COMPRESSION_ENCODER, encoder);
+        if (fusedDecoder != null) {
+          fusedDecoder.setCompressDecoder(decoder);
+        } else {
+          channel.pipeline().addBefore(packetCodec(MINECRAFT_DECODER), COMPRESSION_DECODER,
+              decoder);
+        }
+        channel.pipeline().addBefore(packetCodec(MINECRAFT_ENCODER), COMPRESSION_ENCODER, encoder);
 
         channel.pipeline().fireUserEventTriggered(VelocityConnectionEvent.COMPRESSION_ENABLED);
       }
     }
   }
 
+  private String packetCodec(String codec) {
+    // Traffic metrics count packets right in front of the Minecraft codecs, and must keep seeing
+    // them uncompressed and unframed.
+    return channel.pipeline().get(PACKET_TRAFFIC) != null ? PACKET_TRAFFIC : codec;
+  }
+
+  /**
+   * Returns the compression threshold of the connection.
+   *
+   * @return the compression threshold, or {@code -1} if compression is disabled
+   */
+  public int getCompressionThreshold() {
+    return compressionThreshold;
+  }
+
   /**
    * Enables encryption on the connection.
    *
@@ -572,8 +780,14 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
     VelocityCipherFactory factory = Natives.cipher.get();
     VelocityCipher decryptionCipher = factory.forDecryption(key);
     VelocityCipher encryptionCipher = factory.forEncryption(key);
-    channel.pipeline()
-        .addBefore(FRAME_DECODER, CIPHER_DECODER, new MinecraftCipherDecoder(decryptionCipher));
+    final MinecraftFusedInboundDecoder fusedDecoder = channel.pipeline()
+        .get(MinecraftFusedInboundDecoder.class);
+    if (fusedDecoder != null) {
+      fusedDecoder.setCipher(decryptionCipher);
+    } else {
+      channel.pipeline()
+          .addBefore(FRAME_DECODER, CIPHER_DECODER, new MinecraftCipherDecoder(decryptionCipher));
+    }
     channel.pipeline()
         .addBefore(FRAME_ENCODER, CIPHER_ENCODER, new MinecraftCipherEncoder(encryptionCipher));
 
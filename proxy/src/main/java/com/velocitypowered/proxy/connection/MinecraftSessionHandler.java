@@ -18,6 +18,7 @@
 package com.velocitypowered.proxy.connection;
 
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import com.velocitypowered.proxy.protocol.netty.CompressedFrame;
 import com.velocitypowered.proxy.protocol.packet.AvailableCommandsPacket;
 import com.velocitypowered.proxy.protocol.packet.BossBarPacket;
 import com.velocitypowered.proxy.protocol.packet.BundleDelimiterPacket;
@@ -104,6 +105,10 @@ public interface MinecraftSessionHandler {
 
   }
 
+  default void handleCompressedFrame(CompressedFrame frame) {
+
+  }
+
   default void connected() {
 
   }
@@ -46,6 +46,8 @@ import com.velocitypowered.proxy.connection.player.resourcepack.handler.Resource
 import com.velocitypowered.proxy.connection.util.ConnectionMessages;
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
 import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.netty.CompressedFrame;
+import com.velocitypowered.proxy.protocol.netty.MinecraftCompressDecoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftDecoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftVarintFrameDecoder;
 import com.velocitypowered.proxy.protocol.packet.AvailableCommandsPacket;
@@ -53,8 +55,11 @@ import com.velocitypowered.proxy.protocol.packet.BossBarPacket;
 import com.velocitypowered.proxy.protocol.packet.BundleDelimiterPacket;
 import com.velocitypowered.proxy.protocol.packet.ClientSettingsPacket;
 import com.velocitypowered.proxy.protocol.packet.ClientboundCookieRequestPacket;
+import com.velocitypowered.proxy.protocol.packet.ClientboundSoundEntityPacket;
+import com.velocitypowered.proxy.protocol.packet.ClientboundStopSoundPacket;
 import com.velocitypowered.proxy.protocol.packet.ClientboundStoreCookiePacket;
 import com.velocitypowered.proxy.protocol.packet.DisconnectPacket;
+import com.velocitypowered.proxy.protocol.packet.HeaderAndFooterPacket;
 import com.velocitypowered.proxy.protocol.packet.KeepAlivePacket;
 import com.velocitypowered.proxy.protocol.packet.LegacyPlayerListItemPacket;
 import com.velocitypowered.proxy.protocol.packet.PluginMessagePacket;
@@ -67,7 +72,16 @@ import com.velocitypowered.proxy.protocol.packet.TabCompleteResponsePacket;
 import com.velocitypowered.proxy.protocol.packet.TransferPacket;
 import com.velocitypowered.proxy.protocol.packet.UpsertPlayerInfoPacket;
 import com.velocitypowered.proxy.protocol.packet.chat.ComponentHolder;
+import com.velocitypowered.proxy.protocol.packet.chat.PlayerChatCompletionPacket;
+import com.velocitypowered.proxy.protocol.packet.chat.SystemChatPacket;
+import com.velocitypowered.proxy.protocol.packet.chat.legacy.LegacyChatPacket;
 import com.velocitypowered.proxy.protocol.packet.config.StartUpdatePacket;
+import com.velocitypowered.proxy.protocol.packet.title.LegacyTitlePacket;
+import com.velocitypowered.proxy.protocol.packet.title.TitleActionbarPacket;
+import com.velocitypowered.proxy.protocol.packet.title.TitleClearPacket;
+import com.velocitypowered.proxy.protocol.packet.title.TitleSubtitlePacket;
+import com.velocitypowered.proxy.protocol.packet.title.TitleTextPacket;
+import com.velocitypowered.proxy.protocol.packet.title.TitleTimesPacket;
 import com.velocitypowered.proxy.protocol.util.PluginMessageUtil;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
@@ -75,6 +89,8 @@ import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.handler.timeout.ReadTimeoutException;
 import java.net.InetSocketAddress;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Pattern;
 import net.kyori.adventure.key.Key;
 import org.apache.logging.log4j.LogManager;
@@ -89,8 +105,14 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
   private static final Logger logger = LogManager.getLogger(BackendPlaySessionHandler.class);
   private static final boolean BACKPRESSURE_LOG =
       Boolean.getBoolean("velocity.log-server-backpressure");
-  private static final int MAXIMUM_PACKETS_TO_FLUSH =
-      Integer.getInteger("velocity.max-packets-per-flush", 8192);
+  // Packets this handler forwards without looking at them. With lazy packet decoding enabled,
+  // these are not decoded at all, so keep this in sync with the handle methods below.
+  private static final Set<Class<? extends MinecraftPacket>> FORWARDED_UNREAD = Set.of(
+      SystemChatPacket.class, LegacyChatPacket.class, PlayerChatCompletionPacket.class,
+      HeaderAndFooterPacket.class, LegacyTitlePacket.class, TitleTextPacket.class,
+      TitleSubtitlePacket.class, TitleActionbarPacket.class, TitleTimesPacket.class,
+      TitleClearPacket.class, ClientboundSoundEntityPacket.class,
+      ClientboundStopSoundPacket.class);
 
   private final VelocityServer server;
   private final VelocityServerConnection serverConn;
@@ -98,7 +120,6 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
   private final MinecraftConnection playerConnection;
   private final BungeeCordMessageResponder bungeecordMessageResponder;
   private boolean exceptionTriggered = false;
-  private int packetsFlushed;
 
   BackendPlaySessionHandler(VelocityServer server, VelocityServerConnection serverConn) {
     this.server = server;
@@ -127,6 +148,47 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
       ));
     }
 
+    MinecraftDecoder decoder = serverMc.getChannel().pipeline().get(MinecraftDecoder.class);
+    if (server.getConfiguration().isLazyPacketDecoding() && decoder != null) {
+      decoder.setUndecodedPackets(FORWARDED_UNREAD);
+    }
+    if (server.getConfiguration().isCompressedFramePassthrough()) {
+      MinecraftCompressDecoder compressDecoder = serverMc.getChannel().pipeline()
+          .get(MinecraftCompressDecoder.class);
+      if (compressDecoder != null && decoder != null) {
+        compressDecoder.setPassthrough(packetId -> canPassThrough(serverMc, decoder, packetId));
+      }
+    }
+  }
+
+  @Override
+  public void deactivated() {
+    MinecraftConnection serverMc = serverConn.getConnection();
+    if (serverMc != null) {
+      MinecraftCompressDecoder compressDecoder = serverMc.getChannel().pipeline()
+          .get(MinecraftCompressDecoder.class);
+      if (compressDecoder != null) {
+        compressDecoder.setPassthrough(null);
+      }
+      MinecraftDecoder decoder = serverMc.getChannel().pipeline().get(MinecraftDecoder.class);
+      if (decoder != null) {
+        decoder.setUndecodedPackets(null);
+      }
+    }
+  }
+
+  /**
+   * Determines whether a compressed packet can be forwarded to the player without decompressing
+   * it. This is the case for packets the proxy doesn't read anyway, as long as the player would
+   * accept the packet compressed as it is. This is decided on the backend's event loop, so the
+   * player's encoders decompress the frame again if the player's compression changes before it
+   * is written.
+   */
+  private boolean canPassThrough(MinecraftConnection serverMc, MinecraftDecoder decoder,
+      int packetId) {
+    int playerThreshold = playerConnection.getCompressionThreshold();
+    return playerThreshold != -1 && playerThreshold <= serverMc.getCompressionThreshold()
+        && !decoder.canDecode(packetId);
   }
 
   @Override
@@ -158,7 +220,7 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
 
   @Override
   public boolean handle(KeepAlivePacket packet) {
-    serverConn.getPendingPings().put(packet.getRandomId(), System.nanoTime());
+    serverConn.keepAliveSent(packet.getRandomId());
     return false; // forwards on
   }
 
@@ -317,19 +379,28 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
 
     byte[] copy = ByteBufUtil.getBytes(packet.content());
     PluginMessageEvent event = new PluginMessageEvent(serverConn, serverConn.getPlayer(), id, copy);
-    server.getEventManager().fire(event).thenAcceptAsync(pme -> {
-      if (pme.getResult().isAllowed() && !playerConnection.isClosed()) {
-        PluginMessagePacket copied = new PluginMessagePacket(
-                packet.getChannel(), Unpooled.wrappedBuffer(copy));
-        playerConnection.write(copied);
-      }
-    }, playerConnection.eventLoop()).exceptionally((ex) -> {
-      logger.error("Exception while handling plugin message {}", packet, ex);
-      return null;
-    });
+    CompletableFuture<PluginMessageEvent> pending = server.getEventManager().fireInline(event);
+    if (pending == null && playerConnection.eventLoop().inEventLoop()) {
+      // Every handler is done already, so there is no need to go through the event loop again.
+      forwardPluginMessage(event, packet.getChannel(), copy);
+      return true;
+    }
+    (pending != null ? pending : CompletableFuture.completedFuture(event))
+        .thenAcceptAsync(pme -> forwardPluginMessage(pme, packet.getChannel(), copy),
+            playerConnection.eventLoop())
+        .exceptionally((ex) -> {
+          logger.error("Exception while handling plugin message {}", packet, ex);
+          return null;
+        });
     return true;
   }
 
+  private void forwardPluginMessage(PluginMessageEvent event, String channel, byte[] data) {
+    if (event.getResult().isAllowed() && !playerConnection.isClosed()) {
+      playerConnection.write(new PluginMessagePacket(channel, Unpooled.wrappedBuffer(data)));
+    }
+  }
+
   @Override
   public boolean handle(TabCompleteResponsePacket packet) {
     playerSessionHandler.handleTabCompleteResponse(packet);
@@ -455,26 +526,22 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
     if (packet instanceof PluginMessagePacket pluginMessage) {
       pluginMessage.retain();
     }
-    playerConnection.delayedWrite(packet);
-    if (++packetsFlushed >= MAXIMUM_PACKETS_TO_FLUSH) {
-      playerConnection.flush();
-      packetsFlushed = 0;
-    }
+    playerConnection.relayWrite(packet);
   }
 
   @Override
   public void handleUnknown(ByteBuf buf) {
-    playerConnection.delayedWrite(buf.retain());
-    if (++packetsFlushed >= MAXIMUM_PACKETS_TO_FLUSH) {
-      playerConnection.flush();
-      packetsFlushed = 0;
-    }
+    playerConnection.relayWrite(buf.retain());
+  }
+
+  @Override
+  public void handleCompressedFrame(CompressedFrame frame) {
+    playerConnection.relayWrite(frame.retain());
   }
 
   @Override
   public void readCompleted() {
-    playerConnection.flush();
-    packetsFlushed = 0;
+    playerConnection.scheduleFlush();
   }
 
   @Override
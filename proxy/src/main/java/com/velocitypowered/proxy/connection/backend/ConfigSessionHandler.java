@@ -141,7 +141,7 @@ public class ConfigSessionHandler implements MinecraftSessionHandler {
 
   @Override
   public boolean handle(KeepAlivePacket packet) {
-    serverConn.getPendingPings().put(packet.getRandomId(), System.nanoTime());
+    serverConn.keepAliveSent(packet.getRandomId());
     serverConn.getPlayer().getConnection().write(packet);
     return true;
   }
@@ -247,6 +247,8 @@ public class ConfigSessionHandler implements MinecraftSessionHandler {
       } else {
         smc.setActiveSessionHandler(StateRegistry.PLAY, new TransitionSessionHandler(server, serverConn, resultFuture));
       }
+      // The shared tab list is not tied to the backend, so restore it on the new one.
+      server.getSharedTabList().resendIfViewing(player);
       if (player.resourcePackHandler().getFirstAppliedPack() == null && resourcePackToApply != null) {
         player.resourcePackHandler().queueResourcePack(resourcePackToApply);
       }
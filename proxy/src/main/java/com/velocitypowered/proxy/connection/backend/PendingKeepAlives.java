@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.backend;
+
+/**
+ * The keep-alives a backend server sent that the player has not answered yet, kept in a small
+ * ring of primitive arrays. Clients answer keep-alives in order, so once one is answered the
+ * older ones never will be and are dropped; if the ring fills up the oldest keep-alive is
+ * overwritten. This is only accessed from the event loop of the connection.
+ */
+public final class PendingKeepAlives {
+
+  /**
+   * Returned by {@link #remove(long)} for a keep-alive that is not pending.
+   */
+  public static final long NOT_PENDING = Long.MIN_VALUE;
+
+  static final int CAPACITY = 8;
+
+  private final long[] ids = new long[CAPACITY];
+  private final long[] sentAt = new long[CAPACITY];
+  private int oldest;
+  private int size;
+  private boolean sentBefore;
+  private long lastSentAt;
+  private long shortestInterval = Long.MAX_VALUE;
+
+  /**
+   * Remembers a keep-alive sent by the backend server.
+   *
+   * @param id the ID of the keep-alive
+   * @param now the current {@link System#nanoTime()}
+   * @return how much longer it has been since the previous keep-alive than the shortest time
+   *     seen between two keep-alives, in nanoseconds, or -1 if this is the first keep-alive
+   */
+  public long add(long id, long now) {
+    int index = (oldest + size) % CAPACITY;
+    if (size == CAPACITY) {
+      oldest = (oldest + 1) % CAPACITY;
+    } else {
+      size++;
+    }
+    ids[index] = id;
+    sentAt[index] = now;
+
+    long interval = now - lastSentAt;
+    lastSentAt = now;
+    if (!sentBefore) {
+      sentBefore = true;
+      return -1;
+    }
+    shortestInterval = Math.min(shortestInterval, interval);
+    return interval - shortestInterval;
+  }
+
+  /**
+   * Forgets a keep-alive the player answered, along with any keep-alive sent before it.
+   *
+   * @param id the ID of the keep-alive
+   * @return the {@link System#nanoTime()} at which the keep-alive was sent, or
+   *     {@link #NOT_PENDING} if it is not pending
+   */
+  public long remove(long id) {
+    for (int i = 0; i < size; i++) {
+      int index = (oldest + i) % CAPACITY;
+      if (ids[index] == id) {
+        oldest = (index + 1) % CAPACITY;
+        size -= i + 1;
+        return sentAt[index];
+      }
+    }
+    return NOT_PENDING;
+  }
+
+  int size() {
+    return size;
+  }
+}
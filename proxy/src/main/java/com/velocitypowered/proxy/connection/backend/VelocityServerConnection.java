@@ -48,9 +48,9 @@ import com.velocitypowered.proxy.protocol.util.ByteBufDataOutput;
 import com.velocitypowered.proxy.server.VelocityRegisteredServer;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
-import java.util.HashMap;
-import java.util.Map;
+import io.netty.channel.EventLoop;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
@@ -70,7 +70,7 @@ public class VelocityServerConnection implements MinecraftConnectionAssociation,
   private boolean hasCompletedJoin = false;
   private boolean gracefulDisconnect = false;
   private BackendConnectionPhase connectionPhase = BackendConnectionPhases.UNKNOWN;
-  private final Map<Long, Long> pendingPings = new HashMap<>();
+  private final PendingKeepAlives pendingKeepAlives = new PendingKeepAlives();
   private @MonotonicNonNull Integer entityId;
 
   /**
@@ -98,36 +98,49 @@ public class VelocityServerConnection implements MinecraftConnectionAssociation,
    */
   public CompletableFuture<Impl> connect() {
     CompletableFuture<Impl> result = new CompletableFuture<>();
+    ChannelFutureListener onConnected = future -> {
+      if (future.isSuccess()) {
+        connection = new MinecraftConnection(future.channel(), server);
+        connection.setAssociation(VelocityServerConnection.this);
+        future.channel().pipeline().addLast(HANDLER, connection);
+        server.getTrafficMetrics().track(registeredServer, future.channel());
+
+        // Kick off the connection process
+        if (!connection.setActiveSessionHandler(StateRegistry.HANDSHAKE)) {
+          MinecraftSessionHandler handler =
+              new LoginSessionHandler(server, VelocityServerConnection.this, result);
+          connection.setActiveSessionHandler(StateRegistry.HANDSHAKE, handler);
+          connection.addSessionHandler(StateRegistry.LOGIN, handler);
+        }
+
+        // Set the connection phase, which may, for future forge (or whatever), be
+        // determined
+        // at this point already
+        connectionPhase = connection.getType().getInitialBackendPhase();
+        startHandshake();
+      } else {
+        // Complete the result immediately. ConnectedPlayer will reset the in-flight
+        // connection.
+        result.completeExceptionally(future.cause());
+      }
+    };
+
     // Note: we use the event loop for the connection the player is on. This reduces context
     // switches.
-    server.createBootstrap(proxyPlayer.getConnection().eventLoop())
-        .handler(server.getBackendChannelInitializer())
-        .connect(registeredServer.getServerInfo().getAddress())
-        .addListener((ChannelFutureListener) future -> {
-          if (future.isSuccess()) {
-            connection = new MinecraftConnection(future.channel(), server);
-            connection.setAssociation(VelocityServerConnection.this);
-            future.channel().pipeline().addLast(HANDLER, connection);
-
-            // Kick off the connection process
-            if (!connection.setActiveSessionHandler(StateRegistry.HANDSHAKE)) {
-              MinecraftSessionHandler handler =
-                  new LoginSessionHandler(server, VelocityServerConnection.this, result);
-              connection.setActiveSessionHandler(StateRegistry.HANDSHAKE, handler);
-              connection.addSessionHandler(StateRegistry.LOGIN, handler);
-            }
-
-            // Set the connection phase, which may, for future forge (or whatever), be
-            // determined
-            // at this point already
-            connectionPhase = connection.getType().getInitialBackendPhase();
-            startHandshake();
-          } else {
-            // Complete the result immediately. ConnectedPlayer will reset the in-flight
-            // connection.
-            result.completeExceptionally(future.cause());
-          }
-        });
+    EventLoop loop = proxyPlayer.getConnection().eventLoop();
+    Channel prewarmed = server.getConfiguration().getBackendPrewarmConnections() > 0
+        ? registeredServer.getConnectionPool().poll(loop) : null;
+    if (prewarmed != null) {
+      // The channel became active in the pool, where the handlers set up by the backend channel
+      // initializer saw it. Like a fresh connection, the handshake doesn't wait for channelActive,
+      // so the connection is taken over exactly as if it had just connected.
+      prewarmed.newSucceededFuture().addListener(onConnected);
+    } else {
+      server.createBootstrap(loop)
+          .handler(server.getBackendChannelInitializer())
+          .connect(registeredServer.getServerInfo().getAddress())
+          .addListener(onConnected);
+    }
     return result;
   }
 
@@ -321,8 +334,21 @@ public class VelocityServerConnection implements MinecraftConnectionAssociation,
     return gracefulDisconnect;
   }
 
-  public Map<Long, Long> getPendingPings() {
-    return pendingPings;
+  public PendingKeepAlives getPendingKeepAlives() {
+    return pendingKeepAlives;
+  }
+
+  /**
+   * Remembers a keep-alive the server is sending to the player, so its round trip can be
+   * measured once the player answers it.
+   *
+   * @param id the ID of the keep-alive
+   */
+  void keepAliveSent(long id) {
+    long delay = pendingKeepAlives.add(id, System.nanoTime());
+    if (delay >= 0) {
+      registeredServer.recordKeepAliveDelay(delay);
+    }
   }
 
   public Integer getEntityId() {
@@ -364,22 +364,21 @@ public class ClientPlaySessionHandler implements MinecraftSessionHandler {
           } else {
             byte[] copy = ByteBufUtil.getBytes(packet.content());
             PluginMessageEvent event = new PluginMessageEvent(player, serverConn, id, copy);
-            server.getEventManager().fire(event).thenAcceptAsync(pme -> {
-              if (pme.getResult().isAllowed()) {
-                PluginMessagePacket message = new PluginMessagePacket(packet.getChannel(),
-                    Unpooled.wrappedBuffer(copy));
-                if (!player.getPhase().consideredComplete() || !serverConn.getPhase()
-                    .consideredComplete()) {
-                  // We're still processing the connection (see above), enqueue the packet for now.
-                  loginPluginMessages.add(message.retain());
-                } else {
-                  backendConn.write(message);
-                }
-              }
-            }, backendConn.eventLoop()).exceptionally((ex) -> {
-              logger.error("Exception while handling plugin message packet for {}", player, ex);
-              return null;
-            });
+            CompletableFuture<PluginMessageEvent> pending =
+                server.getEventManager().fireInline(event);
+            if (pending == null && backendConn.eventLoop().inEventLoop()) {
+              // Every handler is done already, so forward the message in this event loop turn.
+              forwardPluginMessage(event, serverConn, backendConn, packet.getChannel(), copy);
+            } else {
+              (pending != null ? pending : CompletableFuture.completedFuture(event))
+                  .thenAcceptAsync(pme -> forwardPluginMessage(pme, serverConn, backendConn,
+                      packet.getChannel(), copy), backendConn.eventLoop())
+                  .exceptionally((ex) -> {
+                    logger.error("Exception while handling plugin message packet for {}",
+                        player, ex);
+                    return null;
+                  });
+            }
           }
         }
       }
@@ -388,6 +387,20 @@ public class ClientPlaySessionHandler implements MinecraftSessionHandler {
     return true;
   }
 
+  private void forwardPluginMessage(PluginMessageEvent event, VelocityServerConnection serverConn,
+      MinecraftConnection backendConn, String channel, byte[] data) {
+    if (event.getResult().isAllowed()) {
+      PluginMessagePacket message = new PluginMessagePacket(channel, Unpooled.wrappedBuffer(data));
+      if (!player.getPhase().consideredComplete() || !serverConn.getPhase()
+          .consideredComplete()) {
+        // We're still processing the connection (see above), enqueue the packet for now.
+        loginPluginMessages.add(message.retain());
+      } else {
+        backendConn.write(message);
+      }
+    }
+  }
+
   @Override
   public boolean handle(ResourcePackResponsePacket packet) {
     return player.resourcePackHandler().onResourcePackResponse(
@@ -401,6 +414,7 @@ public class ClientPlaySessionHandler implements MinecraftSessionHandler {
     if (!player.getConnection().pendingConfigurationSwitch) {
       throw new QuietRuntimeException("Not expecting reconfiguration");
     }
+    player.getConnection().pendingConfigurationSwitch = false;
     // Complete client switch
     player.getConnection().setActiveSessionHandler(StateRegistry.CONFIG);
     VelocityServerConnection serverConnection = player.getConnectedServer();
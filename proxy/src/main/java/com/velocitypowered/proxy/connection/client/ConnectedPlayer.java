@@ -39,6 +39,7 @@ import com.velocitypowered.api.event.player.PlayerSettingsChangedEvent;
 import com.velocitypowered.api.event.player.ServerPreConnectEvent;
 import com.velocitypowered.api.event.player.configuration.PlayerEnterConfigurationEvent;
 import com.velocitypowered.api.network.HandshakeIntent;
+import com.velocitypowered.api.network.LatencyStatistics;
 import com.velocitypowered.api.network.ProtocolState;
 import com.velocitypowered.api.network.ProtocolVersion;
 import com.velocitypowered.api.permission.PermissionFunction;
@@ -61,6 +62,7 @@ import com.velocitypowered.proxy.VelocityServer;
 import com.velocitypowered.proxy.adventure.VelocityBossBarImplementation;
 import com.velocitypowered.proxy.connection.MinecraftConnection;
 import com.velocitypowered.proxy.connection.MinecraftConnectionAssociation;
+import com.velocitypowered.proxy.connection.backend.PendingKeepAlives;
 import com.velocitypowered.proxy.connection.backend.VelocityServerConnection;
 import com.velocitypowered.proxy.connection.player.bossbar.BossBarManager;
 import com.velocitypowered.proxy.connection.player.bundle.BundleDelimiterHandler;
@@ -69,6 +71,7 @@ import com.velocitypowered.proxy.connection.player.resourcepack.handler.Resource
 import com.velocitypowered.proxy.connection.util.ConnectionMessages;
 import com.velocitypowered.proxy.connection.util.ConnectionRequestResults.Impl;
 import com.velocitypowered.proxy.connection.util.VelocityInboundConnection;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
 import com.velocitypowered.proxy.protocol.StateRegistry;
 import com.velocitypowered.proxy.protocol.netty.MinecraftEncoder;
 import com.velocitypowered.proxy.protocol.packet.BundleDelimiterPacket;
@@ -101,6 +104,7 @@ import com.velocitypowered.proxy.tablist.VelocityTabList;
 import com.velocitypowered.proxy.tablist.VelocityTabListLegacy;
 import com.velocitypowered.proxy.util.ClosestLocaleMatcher;
 import com.velocitypowered.proxy.util.DurationUtils;
+import com.velocitypowered.proxy.util.LatencyHistogram;
 import com.velocitypowered.proxy.util.TranslatableMapper;
 import com.velocitypowered.proxy.util.collect.CappedSet;
 import io.netty.buffer.ByteBuf;
@@ -180,6 +184,7 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
   private PermissionFunction permissionFunction;
   private int tryIndex = 0;
   private long ping = -1;
+  private final LatencyHistogram pingHistogram = new LatencyHistogram();
   private final boolean onlineMode;
   private @Nullable VelocityServerConnection connectedServer;
   private @Nullable VelocityServerConnection connectionInFlight;
@@ -325,6 +330,11 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
     return this.ping;
   }
 
+  @Override
+  public LatencyStatistics getPingStatistics() {
+    return pingHistogram.toStatistics();
+  }
+
   void setPing(long ping) {
     this.ping = ping;
   }
@@ -412,6 +422,15 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
    * @return the translated message
    */
   public Component translateMessage(Component message) {
+    return GlobalTranslator.render(message, getTranslationLocale());
+  }
+
+  /**
+   * Returns the locale messages are translated into for this player.
+   *
+   * @return the closest known locale to the user's locale
+   */
+  Locale getTranslationLocale() {
     Locale locale = this.getEffectiveLocale();
     if (locale == null && settings != null) {
       locale = settings.getLocale();
@@ -419,16 +438,12 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
     if (locale == null) {
       locale = Locale.getDefault();
     }
-    locale = ClosestLocaleMatcher.INSTANCE.lookupClosest(locale);
-    return GlobalTranslator.render(message, locale);
+    return ClosestLocaleMatcher.INSTANCE.lookupClosest(locale);
   }
 
   @Override
   public void sendMessage(@NonNull Identity identity, @NonNull Component message) {
-    final Component translated = translateMessage(message);
-
-    connection.write(getChatBuilderFactory().builder()
-        .component(translated).forIdentity(identity).toClient());
+    connection.write(createMessagePacket(identity, translateMessage(message), null));
   }
 
   @Override
@@ -437,25 +452,46 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
     Preconditions.checkNotNull(message, "message");
     Preconditions.checkNotNull(type, "type");
 
-    Component translated = translateMessage(message);
+    connection.write(createMessagePacket(identity, translateMessage(message), type));
+  }
 
-    connection.write(getChatBuilderFactory().builder()
-        .component(translated).forIdentity(identity)
-        .setType(type == MessageType.CHAT ? ChatType.CHAT : ChatType.SYSTEM)
-        .toClient());
+  /**
+   * Creates the packet sending a message to this player.
+   *
+   * @param identity the identity of the sender
+   * @param translated the message, already translated for this player
+   * @param type the type of the message, or {@code null} to not specify one
+   * @return the packet
+   */
+  MinecraftPacket createMessagePacket(Identity identity, Component translated,
+      @Nullable MessageType type) {
+    ChatBuilderV2 builder = getChatBuilderFactory().builder()
+        .component(translated).forIdentity(identity);
+    if (type != null) {
+      builder.setType(type == MessageType.CHAT ? ChatType.CHAT : ChatType.SYSTEM);
+    }
+    return builder.toClient();
   }
 
   @Override
   public void sendActionBar(net.kyori.adventure.text.@NonNull Component message) {
-    Component translated = translateMessage(message);
+    connection.write(createActionBarPacket(translateMessage(message)));
+  }
 
+  /**
+   * Creates the packet showing an action bar to this player.
+   *
+   * @param translated the action bar, already translated for this player
+   * @return the packet
+   */
+  MinecraftPacket createActionBarPacket(Component translated) {
     ProtocolVersion playerVersion = getProtocolVersion();
     if (playerVersion.noLessThan(ProtocolVersion.MINECRAFT_1_11)) {
       // Use the title packet instead.
       GenericTitlePacket pkt = GenericTitlePacket.constructTitlePacket(
           GenericTitlePacket.ActionType.SET_ACTION_BAR, playerVersion);
       pkt.setComponent(new ComponentHolder(playerVersion, translated));
-      connection.write(pkt);
+      return pkt;
     } else {
       // Due to issues with action bar packets, we'll need to convert the text message into a
       // legacy message and then inject the legacy text into a component... yuck!
@@ -465,7 +501,7 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
       LegacyChatPacket legacyChat = new LegacyChatPacket();
       legacyChat.setMessage(object.toString());
       legacyChat.setType(LegacyChatPacket.GAME_INFO_TYPE);
-      connection.write(legacyChat);
+      return legacyChat;
     }
   }
 
@@ -505,30 +541,40 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
   @Override
   public void showTitle(net.kyori.adventure.title.@NonNull Title title) {
     if (this.getProtocolVersion().noLessThan(ProtocolVersion.MINECRAFT_1_8)) {
-      GenericTitlePacket timesPkt = GenericTitlePacket.constructTitlePacket(
-          GenericTitlePacket.ActionType.SET_TIMES, this.getProtocolVersion());
-      net.kyori.adventure.title.Title.Times times = title.times();
-      if (times != null) {
-        timesPkt.setFadeIn((int) DurationUtils.toTicks(times.fadeIn()));
-        timesPkt.setStay((int) DurationUtils.toTicks(times.stay()));
-        timesPkt.setFadeOut((int) DurationUtils.toTicks(times.fadeOut()));
+      for (MinecraftPacket packet : createTitlePackets(title.times(),
+          translateMessage(title.title()), translateMessage(title.subtitle()))) {
+        connection.delayedWrite(packet);
       }
-      connection.delayedWrite(timesPkt);
+      connection.flush();
+    }
+  }
 
-      GenericTitlePacket subtitlePkt = GenericTitlePacket.constructTitlePacket(
-          GenericTitlePacket.ActionType.SET_SUBTITLE, this.getProtocolVersion());
-      subtitlePkt.setComponent(new ComponentHolder(
-          this.getProtocolVersion(), translateMessage(title.subtitle())));
-      connection.delayedWrite(subtitlePkt);
+  /**
+   * Creates the packets showing a title to this player. The player must be on 1.8 or newer.
+   *
+   * @param times the times of the title, or {@code null} to reset them
+   * @param translatedTitle the title, already translated for this player
+   * @param translatedSubtitle the subtitle, already translated for this player
+   * @return the packets, in the order they need to be sent
+   */
+  List<MinecraftPacket> createTitlePackets(net.kyori.adventure.title.Title.@Nullable Times times,
+      Component translatedTitle, Component translatedSubtitle) {
+    GenericTitlePacket timesPkt = GenericTitlePacket.constructTitlePacket(
+        GenericTitlePacket.ActionType.SET_TIMES, this.getProtocolVersion());
+    if (times != null) {
+      timesPkt.setFadeIn((int) DurationUtils.toTicks(times.fadeIn()));
+      timesPkt.setStay((int) DurationUtils.toTicks(times.stay()));
+      timesPkt.setFadeOut((int) DurationUtils.toTicks(times.fadeOut()));
+    }
 
-      GenericTitlePacket titlePkt = GenericTitlePacket.constructTitlePacket(
-          GenericTitlePacket.ActionType.SET_TITLE, this.getProtocolVersion());
-      titlePkt.setComponent(new ComponentHolder(
-          this.getProtocolVersion(), translateMessage(title.title())));
-      connection.delayedWrite(titlePkt);
+    GenericTitlePacket subtitlePkt = GenericTitlePacket.constructTitlePacket(
+        GenericTitlePacket.ActionType.SET_SUBTITLE, this.getProtocolVersion());
+    subtitlePkt.setComponent(new ComponentHolder(this.getProtocolVersion(), translatedSubtitle));
 
-      connection.flush();
-    }
+    GenericTitlePacket titlePkt = GenericTitlePacket.constructTitlePacket(
+        GenericTitlePacket.ActionType.SET_TITLE, this.getProtocolVersion());
+    titlePkt.setComponent(new ComponentHolder(this.getProtocolVersion(), translatedTitle));
+    return List.of(timesPkt, subtitlePkt, titlePkt);
   }
 
   @SuppressWarnings("ConstantValue")
@@ -1346,11 +1392,14 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
 
   private boolean sendKeepAliveToBackend(final @Nullable VelocityServerConnection serverConnection, final @NotNull KeepAlivePacket packet) {
     if (serverConnection != null) {
-      final Long sentTime = serverConnection.getPendingPings().remove(packet.getRandomId());
-      if (sentTime != null) {
+      final long sentTime = serverConnection.getPendingKeepAlives().remove(packet.getRandomId());
+      if (sentTime != PendingKeepAlives.NOT_PENDING) {
         final MinecraftConnection smc = serverConnection.getConnection();
         if (smc != null) {
-          setPing(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sentTime));
+          final long rtt = System.nanoTime() - sentTime;
+          setPing(TimeUnit.NANOSECONDS.toMillis(rtt));
+          pingHistogram.recordNanos(rtt);
+          serverConnection.getServer().recordPing(rtt);
           smc.write(packet);
           return true;
         }
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.velocitypowered.proxy.connection.client;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import net.kyori.adventure.audience.MessageType;
+import net.kyori.adventure.identity.Identity;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.title.Title;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Sends the same message to many players at once. Players are grouped by protocol version and
+ * by what the message translates to in their locale, and the packets of each group are encoded
+ * only once and shared by all of its players, instead of translating, serializing and encoding
+ * the message again for every single player.
+ */
+public final class PlayerBroadcaster {
+
+  private PlayerBroadcaster() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Sends a chat message to the {@code players}.
+   *
+   * @param players the players to send the message to
+   * @param identity the identity of the sender
+   * @param message the message to send
+   * @param type the type of the message, or {@code null} to not specify one
+   */
+  public static void sendMessage(Iterable<ConnectedPlayer> players, Identity identity,
+      Component message, @Nullable MessageType type) {
+    broadcast(players, List.of(message), ProtocolVersion.MINIMUM_VERSION,
+        (player, translated) -> List.of(
+            player.createMessagePacket(identity, translated.get(0), type)));
+  }
+
+  /**
+   * Shows an action bar to the {@code players}.
+   *
+   * @param players the players to show the action bar to
+   * @param message the action bar to show
+   */
+  public static void sendActionBar(Iterable<ConnectedPlayer> players, Component message) {
+    broadcast(players, List.of(message), ProtocolVersion.MINIMUM_VERSION,
+        (player, translated) -> List.of(player.createActionBarPacket(translated.get(0))));
+  }
+
+  /**
+   * Shows a title to the {@code players}.
+   *
+   * @param players the players to show the title to
+   * @param title the title to show
+   */
+  public static void showTitle(Iterable<ConnectedPlayer> players, Title title) {
+    broadcast(players, List.of(title.title(), title.subtitle()), ProtocolVersion.MINECRAFT_1_8,
+        (player, translated) -> player.createTitlePackets(title.times(), translated.get(0),
+            translated.get(1)));
+  }
+
+  private static void broadcast(Iterable<ConnectedPlayer> players, List<Component> components,
+      ProtocolVersion minimumVersion, PacketFactory factory) {
+    // Translations don't depend on the protocol version, so render the components once per
+    // locale. Locales that end up with the same text (most messages aren't translatable at all)
+    // share a single list, which lets the groups below be keyed by identity.
+    Map<Locale, List<Component>> byLocale = new HashMap<>();
+    Map<List<Component>, List<Component>> distinct = new HashMap<>();
+    Map<List<Component>, Map<ProtocolVersion, List<ConnectedPlayer>>> groups =
+        new IdentityHashMap<>();
+    for (ConnectedPlayer player : players) {
+      ProtocolVersion version = player.getProtocolVersion();
+      if (version.lessThan(minimumVersion)) {
+        continue;
+      }
+      List<Component> translated = byLocale.computeIfAbsent(player.getTranslationLocale(),
+          locale -> distinct.computeIfAbsent(translate(components, locale), k -> k));
+      groups.computeIfAbsent(translated, k -> new EnumMap<>(ProtocolVersion.class))
+          .computeIfAbsent(version, k -> new ArrayList<>())
+          .add(player);
+    }
+
+    for (Map.Entry<List<Component>, Map<ProtocolVersion, List<ConnectedPlayer>>> group
+        : groups.entrySet()) {
+      for (Map.Entry<ProtocolVersion, List<ConnectedPlayer>> recipients
+          : group.getValue().entrySet()) {
+        List<ConnectedPlayer> groupPlayers = recipients.getValue();
+        send(groupPlayers, recipients.getKey(),
+            factory.create(groupPlayers.get(0), group.getKey()));
+      }
+    }
+  }
+
+  /**
+   * Sends packets that only depend on the protocol version to the {@code players}. The packets
+   * are created and encoded once for each protocol version.
+   *
+   * @param players the players to send the packets to
+   * @param minimumVersion the oldest protocol version to send the packets to
+   * @param factory creates the packets for a protocol version
+   */
+  public static void sendPackets(Iterable<ConnectedPlayer> players,
+      ProtocolVersion minimumVersion,
+      Function<ProtocolVersion, List<? extends MinecraftPacket>> factory) {
+    Map<ProtocolVersion, List<ConnectedPlayer>> groups = new EnumMap<>(ProtocolVersion.class);
+    for (ConnectedPlayer player : players) {
+      ProtocolVersion version = player.getProtocolVersion();
+      if (version.noLessThan(minimumVersion)) {
+        groups.computeIfAbsent(version, k -> new ArrayList<>()).add(player);
+      }
+    }
+
+    for (Map.Entry<ProtocolVersion, List<ConnectedPlayer>> group : groups.entrySet()) {
+      List<? extends MinecraftPacket> packets = factory.apply(group.getKey());
+      if (!packets.isEmpty()) {
+        send(group.getValue(), group.getKey(), packets);
+      }
+    }
+  }
+
+  private static void send(List<ConnectedPlayer> players, ProtocolVersion version,
+      List<? extends MinecraftPacket> packets) {
+    ByteBuf[] encoded = encode(version, packets);
+    try {
+      for (ConnectedPlayer player : players) {
+        ByteBuf[] duplicates = new ByteBuf[encoded.length];
+        for (int i = 0; i < encoded.length; i++) {
+          duplicates[i] = encoded[i].retainedDuplicate();
+        }
+        player.getConnection().writeEncoded(StateRegistry.PLAY, version, packets, duplicates);
+      }
+    } finally {
+      for (ByteBuf buf : encoded) {
+        buf.release();
+      }
+    }
+  }
+
+  private static List<Component> translate(List<Component> components, Locale locale) {
+    List<Component> translated = new ArrayList<>(components.size());
+    for (Component component : components) {
+      translated.add(GlobalTranslator.render(component, locale));
+    }
+    return translated;
+  }
+
+  private static ByteBuf[] encode(ProtocolVersion version,
+      List<? extends MinecraftPacket> packets) {
+    StateRegistry.PacketRegistry.ProtocolRegistry registry = StateRegistry.PLAY
+        .getProtocolRegistry(ProtocolUtils.Direction.CLIENTBOUND, version);
+    ByteBuf[] encoded = new ByteBuf[packets.size()];
+    for (int i = 0; i < encoded.length; i++) {
+      MinecraftPacket packet = packets.get(i);
+      ByteBuf buf = Unpooled.buffer();
+      ProtocolUtils.writeVarInt(buf, registry.getPacketId(packet));
+      packet.encode(buf, ProtocolUtils.Direction.CLIENTBOUND, version);
+      encoded[i] = buf;
+    }
+    return encoded;
+  }
+
+  @FunctionalInterface
+  private interface PacketFactory {
+
+    List<MinecraftPacket> create(ConnectedPlayer template, List<Component> translated);
+  }
+}
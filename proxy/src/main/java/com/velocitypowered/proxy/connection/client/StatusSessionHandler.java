@@ -21,6 +21,7 @@ import com.velocitypowered.api.event.proxy.ProxyPingEvent;
 import com.velocitypowered.proxy.VelocityServer;
 import com.velocitypowered.proxy.connection.MinecraftConnection;
 import com.velocitypowered.proxy.connection.MinecraftSessionHandler;
+import com.velocitypowered.proxy.connection.util.ServerListPingHandler;
 import com.velocitypowered.proxy.connection.util.VelocityInboundConnection;
 import com.velocitypowered.proxy.protocol.packet.LegacyDisconnect;
 import com.velocitypowered.proxy.protocol.packet.LegacyPingPacket;
@@ -95,15 +96,23 @@ public class StatusSessionHandler implements MinecraftSessionHandler {
     }
     this.pingReceived = true;
 
-    this.server.getServerListPingHandler().getInitialPing(inbound)
+    ServerListPingHandler pingHandler = this.server.getServerListPingHandler();
+    if (!server.getEventManager().hasSubscribers(ProxyPingEvent.class)) {
+      // Nobody can change the ping, so skip the event and send the pre-encoded local response.
+      StatusResponsePacket response = pingHandler.getLocalStatusResponse(inbound);
+      if (response != null) {
+        connection.write(response);
+        return true;
+      }
+    }
+
+    pingHandler.getInitialPing(inbound)
         .thenCompose(ping -> server.getEventManager().fire(new ProxyPingEvent(inbound, ping)))
         .thenAcceptAsync(
             (event) -> {
               if (event.getResult().isAllowed()) {
-                final StringBuilder json = new StringBuilder();
-                VelocityServer.getPingGsonInstance(connection.getProtocolVersion())
-                        .toJson(event.getPing(), json);
-                connection.write(new StatusResponsePacket(json));
+                connection.write(pingHandler.createStatusResponse(event.getPing(),
+                    connection.getProtocolVersion()));
               } else {
                 connection.close();
               }
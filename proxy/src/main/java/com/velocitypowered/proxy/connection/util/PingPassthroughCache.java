@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.util;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.api.proxy.server.ServerPing;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Caches the results of pinging backend servers for ping passthrough. Results are cached per
+ * server, protocol version and virtual host. Concurrent requests for the same key share a single
+ * backend ping, and once a result is older than the TTL it is still served for a grace period
+ * while a fresh ping happens in the background, so a slow backend never delays the server list.
+ */
+final class PingPassthroughCache {
+
+  @VisibleForTesting
+  static final int MAXIMUM_ENTRIES = 1024;
+
+  private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+  private final Ticker ticker;
+
+  PingPassthroughCache() {
+    this(Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  PingPassthroughCache(Ticker ticker) {
+    this.ticker = Preconditions.checkNotNull(ticker, "ticker");
+  }
+
+  /**
+   * Returns the cached ping for the {@code key}, pinging the server with {@code pinger} if there
+   * is no usable result.
+   *
+   * @param key the server, protocol version and virtual host being pinged
+   * @param pinger pings the backend server
+   * @param ttlMillis how long a result is considered fresh
+   * @param staleMillis how long after expiring a result may still be served while it is refreshed
+   * @return the ping result
+   */
+  CompletableFuture<ServerPing> ping(Key key, Supplier<CompletableFuture<ServerPing>> pinger,
+      long ttlMillis, long staleMillis) {
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      if (entries.size() >= MAXIMUM_ENTRIES && !evictExpired(ttlMillis, staleMillis)) {
+        // Virtual hosts are client controlled, so don't let a scanner grow the cache without bound.
+        return pinger.get();
+      }
+      entry = entries.computeIfAbsent(key, k -> new Entry());
+    }
+
+    ServerPing cached = entry.value;
+    if (cached != null) {
+      long age = ticker.read() - entry.fetchedAt;
+      if (age < ttlMillis * 1_000_000L) {
+        return CompletableFuture.completedFuture(cached);
+      }
+      if (age < (ttlMillis + staleMillis) * 1_000_000L) {
+        entry.refresh(pinger, ticker);
+        return CompletableFuture.completedFuture(cached);
+      }
+    }
+    return entry.refresh(pinger, ticker);
+  }
+
+  /**
+   * Discards all cached results.
+   */
+  void invalidateAll() {
+    entries.clear();
+  }
+
+  @VisibleForTesting
+  int size() {
+    return entries.size();
+  }
+
+  private boolean evictExpired(long ttlMillis, long staleMillis) {
+    long now = ticker.read();
+    long maxAge = (ttlMillis + staleMillis) * 1_000_000L;
+    entries.values().removeIf(entry -> entry.isExpired(now, maxAge));
+    return entries.size() < MAXIMUM_ENTRIES;
+  }
+
+  /**
+   * Identifies a cached ping result.
+   *
+   * @param server the server being pinged
+   * @param version the protocol version reported to the server
+   * @param virtualHost the virtual host reported to the server
+   */
+  record Key(RegisteredServer server, ProtocolVersion version, String virtualHost) {
+
+  }
+
+  private static final class Entry {
+
+    private volatile @Nullable ServerPing value;
+    private volatile long fetchedAt;
+    private @Nullable CompletableFuture<ServerPing> inFlight;
+
+    synchronized CompletableFuture<ServerPing> refresh(
+        Supplier<CompletableFuture<ServerPing>> pinger, Ticker ticker) {
+      if (inFlight != null) {
+        return inFlight;
+      }
+
+      CompletableFuture<ServerPing> future = pinger.get();
+      inFlight = future;
+      future.whenComplete((ping, throwable) -> {
+        synchronized (this) {
+          // A failed ping leaves the last good result in place. It stops being served once it is
+          // past the grace period, so an outage is not hidden forever.
+          if (throwable == null) {
+            fetchedAt = ticker.read();
+            value = ping;
+          }
+          inFlight = null;
+        }
+      });
+      return future;
+    }
+
+    synchronized boolean isExpired(long now, long maxAge) {
+      return inFlight == null && (value == null || now - fetchedAt >= maxAge);
+    }
+  }
+}
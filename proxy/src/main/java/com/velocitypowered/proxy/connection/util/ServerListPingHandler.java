@@ -27,7 +27,11 @@ import com.velocitypowered.api.util.ModInfo;
 import com.velocitypowered.proxy.VelocityServer;
 import com.velocitypowered.proxy.config.PingPassthroughMode;
 import com.velocitypowered.proxy.config.VelocityConfiguration;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.packet.StatusResponsePacket;
 import com.velocitypowered.proxy.server.VelocityRegisteredServer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -35,8 +39,11 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.stream.Collectors;
 import net.kyori.adventure.text.Component;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Common utilities for handling server list ping results.
@@ -44,11 +51,87 @@ import net.kyori.adventure.text.Component;
 public class ServerListPingHandler {
 
   private final VelocityServer server;
+  private final PingPassthroughCache passthroughCache = new PingPassthroughCache();
+  private final AtomicLong localPingGeneration = new AtomicLong();
+  private final AtomicReferenceArray<LocalPing> localPings =
+      new AtomicReferenceArray<>(ProtocolVersion.values().length);
 
   public ServerListPingHandler(VelocityServer server) {
     this.server = server;
   }
 
+  /**
+   * Returns the local ping for a client using {@code clientVersion}, along with its encoded
+   * status response. Both are built once and reused until {@link #invalidateLocalPing()} is
+   * called.
+   */
+  private LocalPing localPing(ProtocolVersion clientVersion) {
+    long generation = localPingGeneration.get();
+    LocalPing cached = localPings.get(clientVersion.ordinal());
+    if (cached != null && cached.generation() == generation) {
+      return cached;
+    }
+
+    ProtocolVersion shownVersion = clientVersion.isSupported()
+        ? clientVersion : ProtocolVersion.MAXIMUM_VERSION;
+    ServerPing ping = constructLocalPing(shownVersion);
+    LocalPing created = new LocalPing(generation, ping, encodeStatus(ping, clientVersion));
+    if (!server.getConfiguration().getSamplePlayersInPing()) {
+      // The player sample is shuffled on every ping, so it can't be reused.
+      localPings.set(clientVersion.ordinal(), created);
+    }
+    return created;
+  }
+
+  private static ByteBuf encodeStatus(ServerPing ping, ProtocolVersion clientVersion) {
+    ByteBuf encoded = Unpooled.buffer();
+    ProtocolUtils.writeString(encoded,
+        VelocityServer.getPingGsonInstance(clientVersion).toJson(ping));
+    return Unpooled.unreleasableBuffer(encoded);
+  }
+
+  /**
+   * Discards the cached local ping, for instance because the player count or configuration has
+   * changed.
+   */
+  public void invalidateLocalPing() {
+    localPingGeneration.incrementAndGet();
+  }
+
+  /**
+   * Returns the status response for the "default" server ping if it can be sent without
+   * contacting any backend server, which is the case when ping passthrough is disabled.
+   *
+   * @param connection the connection
+   * @return the status response, or {@code null} if the ping has to be passed through
+   */
+  public @Nullable StatusResponsePacket getLocalStatusResponse(
+      VelocityInboundConnection connection) {
+    if (server.getConfiguration().getPingPassthrough() != PingPassthroughMode.DISABLED) {
+      return null;
+    }
+    return new StatusResponsePacket(localPing(connection.getProtocolVersion()).encoded());
+  }
+
+  /**
+   * Creates the status response for {@code ping}. If the ping is the cached local ping, its
+   * already encoded form is used.
+   *
+   * @param ping the ping to send
+   * @param clientVersion the protocol version of the client
+   * @return the status response
+   */
+  public StatusResponsePacket createStatusResponse(ServerPing ping,
+      ProtocolVersion clientVersion) {
+    LocalPing cached = localPings.get(clientVersion.ordinal());
+    if (cached != null && cached.ping() == ping) {
+      return new StatusResponsePacket(cached.encoded());
+    }
+    final StringBuilder json = new StringBuilder();
+    VelocityServer.getPingGsonInstance(clientVersion).toJson(ping, json);
+    return new StatusResponsePacket(json);
+  }
+
   private ServerPing constructLocalPing(ProtocolVersion version) {
     if (version == ProtocolVersion.UNKNOWN) {
       version = ProtocolVersion.MAXIMUM_VERSION;
@@ -83,16 +166,15 @@ public class ServerListPingHandler {
 
   private CompletableFuture<ServerPing> attemptPingPassthrough(VelocityInboundConnection connection,
       PingPassthroughMode mode, List<String> servers, ProtocolVersion responseProtocolVersion, String virtualHostStr) {
-    ServerPing fallback = constructLocalPing(connection.getProtocolVersion());
+    ServerPing fallback = localPing(connection.getProtocolVersion()).ping();
     List<CompletableFuture<ServerPing>> pings = new ArrayList<>();
     for (String s : servers) {
       Optional<RegisteredServer> rs = server.getServer(s);
       if (rs.isEmpty()) {
         continue;
       }
-      VelocityRegisteredServer vrs = (VelocityRegisteredServer) rs.get();
-      pings.add(vrs.ping(connection.getConnection().eventLoop(), PingOptions.builder()
-              .version(responseProtocolVersion).virtualHost(virtualHostStr).build()));
+      pings.add(pingBackend((VelocityRegisteredServer) rs.get(), connection,
+          responseProtocolVersion, virtualHostStr));
     }
     if (pings.isEmpty()) {
       return CompletableFuture.completedFuture(fallback);
@@ -156,6 +238,25 @@ public class ServerListPingHandler {
     };
   }
 
+  private CompletableFuture<ServerPing> pingBackend(VelocityRegisteredServer target,
+      VelocityInboundConnection connection, ProtocolVersion version, String virtualHostStr) {
+    VelocityConfiguration configuration = server.getConfiguration();
+    return passthroughCache.ping(
+        new PingPassthroughCache.Key(target, version, virtualHostStr),
+        () -> target.ping(connection.getConnection().eventLoop(), PingOptions.builder()
+            .version(version).virtualHost(virtualHostStr).build()),
+        configuration.getPingPassthroughCacheTtl(),
+        configuration.getPingPassthroughStaleTtl());
+  }
+
+  /**
+   * Discards all cached ping passthrough results, for instance because the servers they were
+   * fetched from have changed.
+   */
+  public void invalidatePassthroughCache() {
+    passthroughCache.invalidateAll();
+  }
+
   /**
    * Fetches the "default" server ping for a player.
    *
@@ -169,7 +270,7 @@ public class ServerListPingHandler {
     PingPassthroughMode passthroughMode = configuration.getPingPassthrough();
 
     if (passthroughMode == PingPassthroughMode.DISABLED) {
-      return CompletableFuture.completedFuture(constructLocalPing(shownVersion));
+      return CompletableFuture.completedFuture(localPing(connection.getProtocolVersion()).ping());
     } else {
       String virtualHostStr = connection.getVirtualHost().map(InetSocketAddress::getHostString)
           .map(str -> str.toLowerCase(Locale.ROOT))
@@ -179,4 +280,8 @@ public class ServerListPingHandler {
       return attemptPingPassthrough(connection, passthroughMode, serversToTry, shownVersion, virtualHostStr);
     }
   }
+
+  private record LocalPing(long generation, ServerPing ping, ByteBuf encoded) {
+
+  }
 }
@@ -55,8 +55,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -83,6 +84,12 @@ public class VelocityEventManager implements EventManager {
       .build();
   private static final Logger logger = LogManager.getLogger(VelocityEventManager.class);
 
+  // Runs handlers the executor of their plugin rejected, as skipping them could let an action
+  // through that the plugin would have denied. Virtual threads keep this cheap even when a
+  // plugin stays saturated.
+  private static final Executor FALLBACK_EXECUTOR = Executors.newThreadPerTaskExecutor(
+      Thread.ofVirtual().name("Velocity Event Fallback #", 0).factory());
+
   private static final MethodHandles.Lookup methodHandlesLookup = MethodHandles.lookup();
   private static final LambdaType<EventTaskHandler> untargetedEventTaskHandlerType =
       LambdaType.of(EventTaskHandler.class);
@@ -96,15 +103,23 @@ public class VelocityEventManager implements EventManager {
 
   private final PluginManager pluginManager;
 
+  /**
+   * All registered handlers, guarded by {@link #lock}.
+   */
   private final ListMultimap<Class<?>, HandlerRegistration> handlersByType =
       ArrayListMultimap.create();
-  private final LoadingCache<Class<?>, HandlersCache> handlersCache =
-      Caffeine.newBuilder().build(this::bakeHandlers);
+
+  /**
+   * The baked handlers of every event type that was fired so far. The map is never modified once
+   * it is published, registering or unregistering handlers and baking a new event type replace it
+   * under {@link #lock}, so looking up the handlers of an event is a single volatile read.
+   */
+  private volatile Map<Class<?>, HandlersCache> handlerTable = Map.of();
 
   private final LoadingCache<Method, UntargetedEventHandler> untargetedMethodHandlers =
       Caffeine.newBuilder().weakValues().build(this::buildUntargetedMethodHandler);
 
-  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Object lock = new Object();
 
   private final List<CustomHandlerAdapter<?>> handlerAdapters = new ArrayList<>();
   private final EventTypeTracker eventTypeTracker = new EventTypeTracker();
@@ -178,42 +193,78 @@ public class VelocityEventManager implements EventManager {
 
   static final class HandlersCache {
 
+    static final HandlersCache EMPTY = new HandlersCache(AsyncType.NEVER,
+        new HandlerRegistration[0]);
+
     final AsyncType asyncType;
     final HandlerRegistration[] handlers;
 
+    /**
+     * Whether the first handler runs on the thread firing the event. If so, the handlers are run
+     * inline until one of them returns an {@link EventTask}.
+     */
+    final boolean startsInline;
+
     HandlersCache(AsyncType asyncType, final HandlerRegistration[] handlers) {
       this.asyncType = asyncType;
       this.handlers = handlers;
+      this.startsInline = handlers.length > 0 && handlers[0].asyncType != AsyncType.ALWAYS;
     }
   }
 
-  private @Nullable HandlersCache bakeHandlers(final Class<?> eventType) {
-    final List<HandlerRegistration> baked = new ArrayList<>();
-    final Collection<Class<?>> types = eventTypeTracker.getFriendsOf(eventType);
+  private HandlersCache getHandlers(final Class<?> eventType) {
+    final HandlersCache handlers = handlerTable.get(eventType);
+    return handlers != null ? handlers : bakeHandlers(eventType);
+  }
 
-    lock.readLock().lock();
-    try {
-      for (final Class<?> type : types) {
-        baked.addAll(handlersByType.get(type));
+  private HandlersCache bakeHandlers(final Class<?> eventType) {
+    synchronized (lock) {
+      // Another thread may have baked the handlers while we were waiting for the lock.
+      final HandlersCache existing = handlerTable.get(eventType);
+      if (existing != null) {
+        return existing;
       }
-    } finally {
-      lock.readLock().unlock();
-    }
 
-    if (baked.isEmpty()) {
-      return null;
-    }
+      final List<HandlerRegistration> baked = new ArrayList<>();
+      for (final Class<?> type : eventTypeTracker.getFriendsOf(eventType)) {
+        baked.addAll(handlersByType.get(type));
+      }
 
-    baked.sort(handlerComparator);
+      final HandlersCache handlers;
+      if (baked.isEmpty()) {
+        handlers = HandlersCache.EMPTY;
+      } else {
+        baked.sort(handlerComparator);
 
-    AsyncType asyncType = AsyncType.NEVER;
-    for (HandlerRegistration registration : baked) {
-      if (registration.asyncType.compareTo(asyncType) > 0) {
-        asyncType = registration.asyncType;
+        AsyncType asyncType = AsyncType.NEVER;
+        for (HandlerRegistration registration : baked) {
+          if (registration.asyncType.compareTo(asyncType) > 0) {
+            asyncType = registration.asyncType;
+          }
+        }
+        handlers = new HandlersCache(asyncType, baked.toArray(new HandlerRegistration[0]));
       }
+
+      final Map<Class<?>, HandlersCache> table = new HashMap<>(handlerTable);
+      table.put(eventType, handlers);
+      handlerTable = table;
+      return handlers;
     }
+  }
 
-    return new HandlersCache(asyncType, baked.toArray(new HandlerRegistration[0]));
+  /**
+   * Drops the baked handlers of all event types affected by the given registrations, so they are
+   * baked again the next time they are fired. Must be called while holding {@link #lock}.
+   */
+  private void invalidateHandlers(final Collection<HandlerRegistration> registrations) {
+    if (registrations.isEmpty()) {
+      return;
+    }
+    final Map<Class<?>, HandlersCache> table = new HashMap<>(handlerTable);
+    for (final HandlerRegistration registration : registrations) {
+      table.keySet().removeAll(eventTypeTracker.getFriendsOf(registration.eventType));
+    }
+    handlerTable = table;
   }
 
   /**
@@ -368,19 +419,13 @@ public class VelocityEventManager implements EventManager {
   }
 
   private void register(final List<HandlerRegistration> registrations) {
-    lock.writeLock().lock();
-    try {
+    synchronized (lock) {
       for (final HandlerRegistration registration : registrations) {
         handlersByType.put(registration.eventType, registration);
       }
-    } finally {
-      lock.writeLock().unlock();
+      // Invalidate all the affected event subtypes
+      invalidateHandlers(registrations);
     }
-    // Invalidate all the affected event subtypes
-    handlersCache.invalidateAll(registrations.stream()
-        .flatMap(registration -> eventTypeTracker.getFriendsOf(registration.eventType).stream())
-        .distinct()
-        .collect(Collectors.toList()));
   }
 
   @Override
@@ -476,8 +521,7 @@ public class VelocityEventManager implements EventManager {
 
   private void unregisterIf(final Predicate<HandlerRegistration> predicate) {
     final List<HandlerRegistration> removed = new ArrayList<>();
-    lock.writeLock().lock();
-    try {
+    synchronized (lock) {
       final Iterator<HandlerRegistration> it = handlersByType.values().iterator();
       while (it.hasNext()) {
         final HandlerRegistration registration = it.next();
@@ -486,15 +530,9 @@ public class VelocityEventManager implements EventManager {
           removed.add(registration);
         }
       }
-    } finally {
-      lock.writeLock().unlock();
+      // Invalidate all the affected event subtypes
+      invalidateHandlers(removed);
     }
-
-    // Invalidate all the affected event subtypes
-    handlersCache.invalidateAll(removed.stream()
-        .flatMap(registration -> eventTypeTracker.getFriendsOf(registration.eventType).stream())
-        .distinct()
-        .collect(Collectors.toList()));
   }
 
   /**
@@ -506,43 +544,121 @@ public class VelocityEventManager implements EventManager {
    */
   public boolean hasSubscribers(final Class<?> eventClass) {
     requireNonNull(eventClass, "eventClass");
-    final HandlersCache handlersCache = this.handlersCache.get(eventClass);
-    return handlersCache != null && handlersCache.handlers.length > 0;
+    return getHandlers(eventClass).handlers.length > 0;
   }
 
   @Override
   public void fireAndForget(final Object event) {
     requireNonNull(event, "event");
-    final HandlersCache handlersCache = this.handlersCache.get(event.getClass());
-    if (handlersCache == null || handlersCache.handlers.length == 0) {
+    final HandlersCache handlersCache = getHandlers(event.getClass());
+    if (handlersCache.handlers.length == 0) {
       // Optimization: nobody's listening.
       return;
     }
-    fire(null, event, handlersCache);
+    if (handlersCache.startsInline) {
+      runInline(event, handlersCache.handlers);
+    } else {
+      fireAsync(null, event, handlersCache.handlers);
+    }
   }
 
   @Override
   public <E> CompletableFuture<E> fire(final E event) {
     requireNonNull(event, "event");
-    final HandlersCache handlersCache = this.handlersCache.get(event.getClass());
-    if (handlersCache == null || handlersCache.handlers.length == 0) {
+    final HandlersCache handlersCache = getHandlers(event.getClass());
+    if (handlersCache.handlers.length == 0) {
       // Optimization: nobody's listening.
       return CompletableFuture.completedFuture(event);
     }
+    if (handlersCache.startsInline) {
+      final CompletableFuture<E> future = runInline(event, handlersCache.handlers);
+      return future != null ? future : CompletableFuture.completedFuture(event);
+    }
     final CompletableFuture<E> future = new CompletableFuture<>();
-    fire(future, event, handlersCache);
+    fireAsync(future, event, handlersCache.handlers);
     return future;
   }
 
-  private <E> void fire(final @Nullable CompletableFuture<E> future,
-      final E event, final HandlersCache handlersCache) {
-    final HandlerRegistration registration = handlersCache.handlers[0];
-    if (registration.asyncType == AsyncType.ALWAYS) {
-      registration.plugin.getExecutorService().execute(
-          () -> fire(future, event, 0, true, handlersCache.handlers));
-    } else {
-      fire(future, event, 0, false, handlersCache.handlers);
+  /**
+   * Fires the specified event like {@link #fire(Object)}, but reports whether all handlers have
+   * already completed instead of always returning a future. Packet handlers can use this to carry
+   * on in the same event loop turn when no handler went async, rather than hopping through the
+   * event loop's task queue with {@code thenAcceptAsync}.
+   *
+   * @param event the event to fire
+   * @param <E> the event type
+   * @return {@code null} if every handler has completed by the time this method returns, in which
+   *     case the event may be used right away, else a future that is completed with the event once
+   *     the remaining handlers have run
+   */
+  public <E> @Nullable CompletableFuture<E> fireInline(final E event) {
+    requireNonNull(event, "event");
+    final HandlersCache handlersCache = getHandlers(event.getClass());
+    if (handlersCache.handlers.length == 0) {
+      return null;
+    }
+    if (handlersCache.startsInline) {
+      return runInline(event, handlersCache.handlers);
+    }
+    final CompletableFuture<E> future = new CompletableFuture<>();
+    fireAsync(future, event, handlersCache.handlers);
+    return future;
+  }
+
+  private <E> void fireAsync(final @Nullable CompletableFuture<E> future, final E event,
+      final HandlerRegistration[] registrations) {
+    executeHandler(registrations[0], () -> fire(future, event, 0, true, registrations));
+  }
+
+  private static void executeHandler(final HandlerRegistration registration,
+      final Runnable task) {
+    try {
+      registration.plugin.getExecutorService().execute(task);
+    } catch (final RejectedExecutionException e) {
+      logger.warn("The executor of plugin {} rejected its {} handler, running it on a fallback "
+              + "thread instead", registration.plugin.getDescription().getId(),
+          registration.eventType.getSimpleName());
+      FALLBACK_EXECUTOR.execute(task);
+    }
+  }
+
+  /**
+   * Runs the handlers on the calling thread for as long as they complete synchronously. No future
+   * is allocated unless a handler returns an {@link EventTask}.
+   *
+   * @param event the event to fire
+   * @param registrations the handlers to run
+   * @return {@code null} if every handler completed on the calling thread, else a future that is
+   *     completed once the remaining handlers have run
+   */
+  private <E> @Nullable CompletableFuture<E> runInline(final E event,
+      final HandlerRegistration[] registrations) {
+    for (int i = 0; i < registrations.length; i++) {
+      final HandlerRegistration registration = registrations[i];
+      final EventTask eventTask;
+      try {
+        eventTask = registration.handler.executeAsync(event);
+      } catch (final Throwable t) {
+        logHandlerException(registration, t);
+        continue;
+      }
+      if (eventTask == null) {
+        continue;
+      }
+      final CompletableFuture<E> future = new CompletableFuture<>();
+      final ContinuationTask<E> continuationTask = new ContinuationTask<>(eventTask,
+          registrations, future, event, i, false);
+      if (eventTask.requiresAsync()) {
+        executeHandler(registration, continuationTask);
+        return future;
+      }
+      if (continuationTask.execute()) {
+        continue;
+      }
+      // The last handler completes the future itself if it resumed before returning.
+      return future.isDone() ? null : future;
     }
+    return null;
   }
 
   private <E> void fire(final @Nullable CompletableFuture<E> future, final E event,
@@ -561,7 +677,7 @@ public class VelocityEventManager implements EventManager {
             continue;
           }
         } else {
-          registration.plugin.getExecutorService().execute(continuationTask);
+          executeHandler(registration, continuationTask);
         }
         // fire will continue in another thread once the async task is
         // executed and the continuation is resumed
@@ -687,8 +803,7 @@ public class VelocityEventManager implements EventManager {
         if (currentThread == firedOnThread && next.asyncType != AsyncType.ALWAYS) {
           fire(future, event, index + 1, currentlyAsync, registrations);
         } else {
-          next.plugin.getExecutorService().execute(() ->
-              fire(future, event, index + 1, true, registrations));
+          executeHandler(next, () -> fire(future, event, index + 1, true, registrations));
         }
       }
     }
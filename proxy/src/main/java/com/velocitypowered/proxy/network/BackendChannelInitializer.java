@@ -61,5 +61,6 @@ public class BackendChannelInitializer extends ChannelInitializer<Channel> {
         .addLast(FLOW_HANDLER, new AutoReadHolderHandler())
         .addLast(MINECRAFT_ENCODER,
             new MinecraftEncoder(ProtocolUtils.Direction.SERVERBOUND));
+    server.getTrafficMetrics().install(ch.pipeline());
   }
 }
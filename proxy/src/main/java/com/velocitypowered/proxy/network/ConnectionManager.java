@@ -67,6 +67,7 @@ public final class ConnectionManager {
   public final BackendChannelInitializerHolder backendChannelInitializer;
 
   private final SeparatePoolInetNameResolver resolver;
+  private final SessionServerClient sessionServerClient;
 
   /**
    * Initializes the {@code ConnectionManager}.
@@ -83,6 +84,14 @@ public final class ConnectionManager {
     this.backendChannelInitializer = new BackendChannelInitializerHolder(
         new BackendChannelInitializer(this.server));
     this.resolver = new SeparatePoolInetNameResolver(GlobalEventExecutor.INSTANCE);
+    this.sessionServerClient = new SessionServerClient(
+        HttpClient.newBuilder()
+            .executor(this.workerGroup)
+            .version(HttpClient.Version.HTTP_2)
+            .build(),
+        () -> this.server.getConfiguration().getSessionServerMaxConcurrentRequests(),
+        () -> this.server.getConfiguration().getSessionServerMaxQueuedRequests(),
+        () -> this.server.getConfiguration().getSessionServerTimeout());
   }
 
   public void logChannelInformation() {
@@ -265,21 +274,23 @@ public final class ConnectionManager {
     this.closeEndpoints(true);
 
     this.resolver.shutdown();
+    this.sessionServerClient.shutdown();
   }
 
   public EventLoopGroup getBossGroup() {
     return bossGroup;
   }
 
+  public EventLoopGroup getWorkerGroup() {
+    return workerGroup;
+  }
+
   public ServerChannelInitializerHolder getServerChannelInitializer() {
     return this.serverChannelInitializer;
   }
 
-  @SuppressWarnings("checkstyle:MissingJavadocMethod")
-  public HttpClient createHttpClient() {
-    return HttpClient.newBuilder()
-            .executor(this.workerGroup)
-            .build();
+  public SessionServerClient getSessionServerClient() {
+    return this.sessionServerClient;
   }
 
   public BackendChannelInitializerHolder getBackendChannelInitializer() {
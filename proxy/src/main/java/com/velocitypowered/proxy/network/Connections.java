@@ -37,6 +37,8 @@ public class Connections {
   public static final String READ_TIMEOUT = "read-timeout";
   public static final String PLAY_PACKET_QUEUE_OUTBOUND = "play-packet-queue-outbound";
   public static final String PLAY_PACKET_QUEUE_INBOUND = "play-packet-queue-inbound";
+  public static final String PACKET_TRAFFIC = "packet-traffic";
+  public static final String WIRE_TRAFFIC = "wire-traffic";
 
   private Connections() {
     throw new AssertionError();
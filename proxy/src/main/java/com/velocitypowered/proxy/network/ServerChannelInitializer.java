@@ -34,6 +34,7 @@ import com.velocitypowered.proxy.protocol.netty.LegacyPingDecoder;
 import com.velocitypowered.proxy.protocol.netty.LegacyPingEncoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftDecoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftEncoder;
+import com.velocitypowered.proxy.protocol.netty.MinecraftFusedInboundDecoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftVarintFrameDecoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftVarintLengthEncoder;
 import io.netty.channel.Channel;
@@ -56,9 +57,17 @@ public class ServerChannelInitializer extends ChannelInitializer<Channel> {
 
   @Override
   protected void initChannel(final Channel ch) {
+    if (this.server.getConfiguration().isSeparateHandshakeAllocator()) {
+      this.server.getConnectionAllocators().useHandshakeAllocator(ch);
+    }
+
+    final MinecraftVarintFrameDecoder frameDecoder =
+        this.server.getConfiguration().isFusedInboundDecoding()
+            ? new MinecraftFusedInboundDecoder(ProtocolUtils.Direction.SERVERBOUND)
+            : new MinecraftVarintFrameDecoder(ProtocolUtils.Direction.SERVERBOUND);
     ch.pipeline()
         .addLast(LEGACY_PING_DECODER, new LegacyPingDecoder())
-        .addLast(FRAME_DECODER, new MinecraftVarintFrameDecoder(ProtocolUtils.Direction.SERVERBOUND))
+        .addLast(FRAME_DECODER, frameDecoder)
         .addLast(READ_TIMEOUT,
             new ReadTimeoutHandler(this.server.getConfiguration().getReadTimeout(),
                 TimeUnit.MILLISECONDS))
@@ -66,6 +75,7 @@ public class ServerChannelInitializer extends ChannelInitializer<Channel> {
         .addLast(FRAME_ENCODER, MinecraftVarintLengthEncoder.INSTANCE)
         .addLast(MINECRAFT_DECODER, new MinecraftDecoder(ProtocolUtils.Direction.SERVERBOUND))
         .addLast(MINECRAFT_ENCODER, new MinecraftEncoder(ProtocolUtils.Direction.CLIENTBOUND));
+    this.server.getTrafficMetrics().install(ch.pipeline());
 
     final MinecraftConnection connection = new MinecraftConnection(ch, this.server);
     connection.setActiveSessionHandler(StateRegistry.HANDSHAKE,
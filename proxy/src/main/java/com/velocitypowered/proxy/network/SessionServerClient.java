@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.network;
+
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntSupplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Sends requests to the Mojang session server. A single {@link HttpClient} is shared by every
+ * request, so connections (and their TLS sessions) are kept alive and reused between logins
+ * instead of being set up again for each player. At most a configurable number of requests are
+ * in flight at any time, the rest wait in a queue so that a burst of logins does not open an
+ * unbounded number of connections. The queue is bounded as well, and the request timeout starts
+ * once a request is queued, so logins fail in time while the session server is slow instead of
+ * piling up.
+ */
+public final class SessionServerClient {
+
+  private static final Logger logger = LogManager.getLogger(SessionServerClient.class);
+
+  private final HttpClient client;
+  private final IntSupplier maxConcurrentRequests;
+  private final IntSupplier maxQueuedRequests;
+  private final IntSupplier timeoutMillis;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  // Each entry sends its request, or returns false if the request timed out while queued.
+  private final Queue<BooleanSupplier> queued = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger queuedCount = new AtomicInteger();
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder totalLatencyNanos = new LongAdder();
+  private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+  /**
+   * Creates a new session server client.
+   *
+   * @param client the HTTP client to send requests with
+   * @param maxConcurrentRequests the maximum number of requests in flight, read for every request
+   * @param maxQueuedRequests the maximum number of requests waiting for a free slot, read for
+   *                          every request
+   * @param timeoutMillis the request timeout in milliseconds, read for every request
+   */
+  public SessionServerClient(HttpClient client, IntSupplier maxConcurrentRequests,
+      IntSupplier maxQueuedRequests, IntSupplier timeoutMillis) {
+    this.client = Preconditions.checkNotNull(client, "client");
+    this.maxConcurrentRequests = Preconditions.checkNotNull(maxConcurrentRequests,
+        "maxConcurrentRequests");
+    this.maxQueuedRequests = Preconditions.checkNotNull(maxQueuedRequests, "maxQueuedRequests");
+    this.timeoutMillis = Preconditions.checkNotNull(timeoutMillis, "timeoutMillis");
+  }
+
+  /**
+   * Sends the {@code request} once fewer than the maximum number of requests are in flight. The
+   * configured timeout is applied unless the request specifies its own, and includes the time
+   * the request waits for a free slot. If too many requests are waiting already, the returned
+   * future fails right away.
+   *
+   * @param request the request to send
+   * @param bodyHandler the handler for the response body
+   * @param <T> the type of the response body
+   * @return a future completed with the response
+   */
+  public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request,
+      HttpResponse.BodyHandler<T> bodyHandler) {
+    Duration timeout = request.timeout()
+        .orElseGet(() -> Duration.ofMillis(timeoutMillis.getAsInt()));
+    CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+    if (tryAcquire()) {
+      send(request, timeout, bodyHandler, result);
+      return result;
+    }
+
+    if (queuedCount.incrementAndGet() > maxQueuedRequests.getAsInt()) {
+      queuedCount.decrementAndGet();
+      rejected.increment();
+      result.completeExceptionally(
+          new IOException("Too many session server requests are queued"));
+      return result;
+    }
+    long deadline = System.nanoTime() + timeout.toNanos();
+    BooleanSupplier send = () -> {
+      if (result.isDone()) {
+        // Timed out just before it was taken from the queue
+        rejected.increment();
+        return false;
+      }
+      send(request, Duration.ofNanos(Math.max(1, deadline - System.nanoTime())), bodyHandler,
+          result);
+      return true;
+    };
+    queued.add(send);
+    CompletableFuture<HttpResponse<T>> timedResult = result
+        .orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS)
+        .whenComplete((response, e) -> {
+          // Don't let requests that timed out take up room in the queue.
+          if (e instanceof TimeoutException && queued.remove(send)) {
+            queuedCount.decrementAndGet();
+            rejected.increment();
+          }
+        });
+    // A request may have finished between the failed acquire and queueing this one.
+    drainQueue();
+    return timedResult;
+  }
+
+  private <T> void send(HttpRequest request, Duration timeout,
+      HttpResponse.BodyHandler<T> bodyHandler, CompletableFuture<HttpResponse<T>> result) {
+    HttpRequest timedRequest = HttpRequest.newBuilder(request, (name, value) -> true)
+        .timeout(timeout)
+        .build();
+    long start = System.nanoTime();
+    CompletableFuture<HttpResponse<T>> future;
+    try {
+      future = client.sendAsync(timedRequest, bodyHandler);
+    } catch (RuntimeException e) {
+      future = CompletableFuture.failedFuture(e);
+    }
+    future.whenComplete((response, throwable) -> {
+      record(request, System.nanoTime() - start, throwable);
+      inFlight.decrementAndGet();
+      drainQueue();
+      if (throwable != null) {
+        result.completeExceptionally(throwable);
+      } else {
+        result.complete(response);
+      }
+    });
+  }
+
+  private boolean tryAcquire() {
+    int limit = Math.max(1, maxConcurrentRequests.getAsInt());
+    while (true) {
+      int current = inFlight.get();
+      if (current >= limit) {
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  private void drainQueue() {
+    while (!queued.isEmpty() && tryAcquire()) {
+      BooleanSupplier next = queued.poll();
+      if (next == null) {
+        inFlight.decrementAndGet();
+        continue;
+      }
+      queuedCount.decrementAndGet();
+      if (!next.getAsBoolean()) {
+        inFlight.decrementAndGet();
+      }
+    }
+  }
+
+  private void record(HttpRequest request, long latencyNanos, Throwable throwable) {
+    requests.increment();
+    totalLatencyNanos.add(latencyNanos);
+    maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+    if (throwable != null) {
+      failures.increment();
+    }
+    if (logger.isDebugEnabled()) {
+      logger.debug("Session server request to {} took {}ms", request.uri().getHost(),
+          latencyNanos / 1_000_000L);
+    }
+  }
+
+  /**
+   * Returns a snapshot of the request metrics collected so far.
+   *
+   * @return the metrics
+   */
+  public Metrics getMetrics() {
+    long count = requests.sum();
+    return new Metrics(count, failures.sum(), rejected.sum(), inFlight.get(), queuedCount.get(),
+        count == 0 ? 0 : totalLatencyNanos.sum() / count / 1_000_000.0,
+        maxLatencyNanos.get() / 1_000_000.0);
+  }
+
+  /**
+   * Aborts any requests in flight and releases the resources of the underlying client.
+   */
+  public void shutdown() {
+    client.shutdownNow();
+  }
+
+  /**
+   * A snapshot of the session server request metrics.
+   *
+   * @param requests the number of requests that have completed
+   * @param failures the number of requests that failed without a response
+   * @param rejected the number of requests that were not sent because too many requests were
+   *                 queued or they timed out while queued
+   * @param inFlight the number of requests currently being sent
+   * @param queued the number of requests waiting for a free slot
+   * @param averageLatencyMillis the average request latency in milliseconds
+   * @param maxLatencyMillis the highest request latency in milliseconds
+   */
+  public record Metrics(long requests, long failures, long rejected, int inFlight, int queued,
+      double averageLatencyMillis, double maxLatencyMillis) {
+
+  }
+}
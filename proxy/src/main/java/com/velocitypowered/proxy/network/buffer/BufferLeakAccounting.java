@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.network.buffer;
+
+import com.velocitypowered.proxy.connection.MinecraftSessionHandler;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCounted;
+import io.netty.util.ResourceLeakDetector;
+import io.netty.util.ResourceLeakDetectorFactory;
+import io.netty.util.ResourceLeakHint;
+import io.netty.util.concurrent.FastThreadLocal;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Attributes leaked buffers to the {@link MinecraftSessionHandler} responsible for them.
+ *
+ * <p>When installed, Netty's leak detector tracks one in every {@code samplingInterval} buffers.
+ * A tracked buffer is tagged with the session handler that was running when it was allocated, and
+ * again with any session handler that keeps a reference to a packet after handling it. When a
+ * tracked buffer is garbage collected without having been released, the leak is counted against
+ * the handler that tagged it last, and Netty logs it as usual.</p>
+ *
+ * <p>Netty creates its leak detector when the first buffer is allocated, so this is enabled with
+ * the {@value #PROPERTY} system property rather than in {@code velocity.toml}.</p>
+ */
+public final class BufferLeakAccounting {
+
+  public static final String PROPERTY = "velocity.buffer-leak-accounting";
+
+  private static final String HINT_PREFIX = "velocity-session-handler=";
+  private static final String UNATTRIBUTED = "(none)";
+  private static final FastThreadLocal<String> CURRENT_HANDLER = new FastThreadLocal<>();
+  private static final AtomicLong SEQUENCE = new AtomicLong();
+  private static final Map<String, LongAdder> sampled = new ConcurrentHashMap<>();
+  private static final Map<String, LongAdder> leaked = new ConcurrentHashMap<>();
+  private static volatile boolean enabled;
+
+  private BufferLeakAccounting() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Makes Netty track one in every {@code samplingInterval} buffers and attribute the ones that
+   * leak. This must be called before the first buffer is allocated.
+   *
+   * @param samplingInterval how many buffers to allocate for each tracked one
+   */
+  public static void install(int samplingInterval) {
+    ResourceLeakDetectorFactory.setResourceLeakDetectorFactory(
+        new Factory(ResourceLeakDetectorFactory.instance(), samplingInterval));
+    // Only the advanced level records the handler that retained a buffer.
+    if (ResourceLeakDetector.getLevel().ordinal() < ResourceLeakDetector.Level.ADVANCED.ordinal()) {
+      ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.ADVANCED);
+    }
+    enabled = true;
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Passes {@code msg} to {@code dispatch}, attributing the buffers allocated meanwhile to
+   * {@code handler}. If the handler kept a reference to {@code msg}, it is attributed to the
+   * handler as well.
+   *
+   * @param handler the session handler handling the message
+   * @param msg the message
+   * @param dispatch passes the message to the handler
+   */
+  public static void handle(MinecraftSessionHandler handler, Object msg,
+      Consumer<Object> dispatch) {
+    String name = handler.getClass().getSimpleName();
+    String previous = CURRENT_HANDLER.get();
+    CURRENT_HANDLER.set(name);
+    try {
+      dispatch.accept(msg);
+    } finally {
+      CURRENT_HANDLER.set(previous);
+      // The caller releases its own reference afterwards, anything past that is the handler's.
+      if (msg instanceof ReferenceCounted counted && counted.refCnt() > 1) {
+        counted.touch(new Hint(name));
+      }
+    }
+  }
+
+  /**
+   * Returns the number of tracked buffers allocated by each session handler.
+   *
+   * @return the number of tracked buffers, by session handler
+   */
+  public static Map<String, Long> getSampled() {
+    return snapshot(sampled);
+  }
+
+  /**
+   * Returns the number of tracked buffers each session handler leaked.
+   *
+   * @return the number of leaked buffers, by session handler
+   */
+  public static Map<String, Long> getLeaked() {
+    return snapshot(leaked);
+  }
+
+  private static Map<String, Long> snapshot(Map<String, LongAdder> counters) {
+    Map<String, Long> snapshot = new TreeMap<>();
+    counters.forEach((handler, count) -> snapshot.put(handler, count.sum()));
+    return snapshot;
+  }
+
+  private static String attribute(String records) {
+    // Netty lists the most recent record first.
+    int start = records.indexOf(HINT_PREFIX);
+    if (start == -1) {
+      return UNATTRIBUTED;
+    }
+    start += HINT_PREFIX.length();
+    int end = records.indexOf('#', start);
+    return end == -1 ? UNATTRIBUTED : records.substring(start, end);
+  }
+
+  private record Hint(String handler) implements ResourceLeakHint {
+
+    @Override
+    public String toHintString() {
+      // Netty reports identical leaks only once, so make every hint unique to count them all.
+      return HINT_PREFIX + handler + '#' + SEQUENCE.incrementAndGet();
+    }
+  }
+
+  private static final class Detector<T> extends ResourceLeakDetector<T> {
+
+    Detector(Class<T> resourceType, int samplingInterval) {
+      super(resourceType, samplingInterval);
+    }
+
+    @Override
+    protected @Nullable Object getInitialHint(String resourceType) {
+      String handler = CURRENT_HANDLER.get();
+      sampled.computeIfAbsent(handler == null ? UNATTRIBUTED : handler, k -> new LongAdder())
+          .increment();
+      return new Hint(handler == null ? UNATTRIBUTED : handler);
+    }
+
+    @Override
+    protected void reportTracedLeak(String resourceType, String records) {
+      leaked.computeIfAbsent(attribute(records), k -> new LongAdder()).increment();
+      super.reportTracedLeak(resourceType, records);
+    }
+
+    @Override
+    protected void reportUntracedLeak(String resourceType) {
+      leaked.computeIfAbsent(UNATTRIBUTED, k -> new LongAdder()).increment();
+      super.reportUntracedLeak(resourceType);
+    }
+  }
+
+  private static final class Factory extends ResourceLeakDetectorFactory {
+
+    private final ResourceLeakDetectorFactory fallback;
+    private final int samplingInterval;
+
+    Factory(ResourceLeakDetectorFactory fallback, int samplingInterval) {
+      this.fallback = fallback;
+      this.samplingInterval = samplingInterval;
+    }
+
+    @Override
+    public <T> ResourceLeakDetector<T> newResourceLeakDetector(Class<T> resource,
+        int samplingInterval) {
+      if (resource == ByteBuf.class) {
+        return new Detector<>(resource, this.samplingInterval);
+      }
+      return fallback.newResourceLeakDetector(resource, samplingInterval);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public <T> ResourceLeakDetector<T> newResourceLeakDetector(Class<T> resource,
+        int samplingInterval, long maxActive) {
+      return newResourceLeakDetector(resource, samplingInterval);
+    }
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.network.buffer;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufAllocatorMetric;
+import io.netty.buffer.ByteBufAllocatorMetricProvider;
+import io.netty.buffer.PoolArenaMetric;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.util.NettyRuntime;
+import io.netty.util.internal.PlatformDependent;
+import java.util.List;
+
+/**
+ * Holds the buffer allocators connections use, depending on how far along they are.
+ *
+ * <p>Most connections to a public proxy never get past the handshake: server list pings and
+ * scanners vastly outnumber players. When enabled, those connections allocate from a small pool
+ * of their own, with small chunks and no thread caches, so a flood of them can't grow the arenas
+ * players allocate from. A connection is moved to the shared allocator once it enters the
+ * configuration or play state.</p>
+ */
+public final class ConnectionAllocators {
+
+  // 8 KiB pages, 2^5 pages per chunk: 256 KiB chunks instead of the default 4 MiB.
+  private static final int HANDSHAKE_PAGE_SIZE = 8192;
+  private static final int HANDSHAKE_MAX_ORDER = 5;
+
+  private final PooledByteBufAllocator handshake;
+  private final ByteBufAllocator play;
+
+  /**
+   * Creates the allocators.
+   */
+  public ConnectionAllocators() {
+    int arenas = Math.max(1, Math.min(4, NettyRuntime.availableProcessors() / 2));
+    this.handshake = new PooledByteBufAllocator(PlatformDependent.directBufferPreferred(),
+        arenas, arenas, HANDSHAKE_PAGE_SIZE, HANDSHAKE_MAX_ORDER, 0, 0, false);
+    this.play = ByteBufAllocator.DEFAULT;
+  }
+
+  /**
+   * Makes a newly accepted connection allocate from the pool for connections that have not
+   * logged in yet.
+   *
+   * @param channel the channel of the connection
+   */
+  public void useHandshakeAllocator(Channel channel) {
+    channel.config().setAllocator(handshake);
+  }
+
+  /**
+   * Moves a connection to the shared allocator if it is still using the one for connections that
+   * have not logged in yet. Buffers already allocated are returned to the pool they came from.
+   *
+   * @param channel the channel of the connection
+   */
+  public void promote(Channel channel) {
+    if (channel.config().getAllocator() == handshake) {
+      channel.config().setAllocator(play);
+    }
+  }
+
+  /**
+   * Returns how much memory each allocator is using.
+   *
+   * @return the usage of the handshake and the shared allocator
+   */
+  public List<AllocatorUsage> getUsage() {
+    return List.of(usage("handshake", handshake), usage("shared", play));
+  }
+
+  /**
+   * Returns how much direct memory Netty has reserved, or {@code -1} if Netty does not keep track
+   * of it.
+   *
+   * @return the direct memory in use
+   */
+  public static long getUsedDirectMemory() {
+    return PlatformDependent.usedDirectMemory();
+  }
+
+  /**
+   * Returns how much direct memory Netty may reserve.
+   *
+   * @return the maximum direct memory
+   */
+  public static long getMaxDirectMemory() {
+    return PlatformDependent.maxDirectMemory();
+  }
+
+  private static AllocatorUsage usage(String name, ByteBufAllocator allocator) {
+    if (allocator instanceof PooledByteBufAllocator pooled) {
+      long active = 0;
+      for (PoolArenaMetric arena : pooled.metric().directArenas()) {
+        active += arena.numActiveAllocations();
+      }
+      for (PoolArenaMetric arena : pooled.metric().heapArenas()) {
+        active += arena.numActiveAllocations();
+      }
+      return new AllocatorUsage(name, pooled.metric().usedHeapMemory(),
+          pooled.metric().usedDirectMemory(), pooled.metric().numDirectArenas(),
+          pooled.metric().chunkSize(), active);
+    }
+    if (allocator instanceof ByteBufAllocatorMetricProvider provider) {
+      ByteBufAllocatorMetric metric = provider.metric();
+      return new AllocatorUsage(name, metric.usedHeapMemory(), metric.usedDirectMemory(),
+          -1, -1, -1);
+    }
+    return new AllocatorUsage(name, -1, -1, -1, -1, -1);
+  }
+
+  /**
+   * The memory used by an allocator. Values the allocator does not report are {@code -1}.
+   *
+   * @param name the name of the allocator
+   * @param usedHeapMemory the heap memory held by the allocator
+   * @param usedDirectMemory the direct memory held by the allocator
+   * @param directArenas the number of direct arenas
+   * @param chunkSize the size of the chunks the arenas allocate
+   * @param activeAllocations the number of buffers allocated and not yet released
+   */
+  public record AllocatorUsage(String name, long usedHeapMemory, long usedDirectMemory,
+      int directArenas, long chunkSize, long activeAllocations) {
+
+  }
+}
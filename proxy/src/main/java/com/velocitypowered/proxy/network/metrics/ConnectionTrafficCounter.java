@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.network.metrics;
+
+import com.velocitypowered.api.network.ConnectionTraffic;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The traffic counters of a single connection. Like {@link TrafficStripe}, these are only updated
+ * by the event loop of the connection.
+ */
+final class ConnectionTrafficCounter {
+
+  private static final int PACKETS_RECEIVED = 0;
+  private static final int BYTES_RECEIVED = 1;
+  private static final int WIRE_BYTES_RECEIVED = 2;
+  private static final int PACKETS_SENT = 3;
+  private static final int BYTES_SENT = 4;
+  private static final int WIRE_BYTES_SENT = 5;
+  private static final int FLUSHES = 6;
+
+  private final AtomicLongArray counters = new AtomicLongArray(7);
+
+  void packetReceived(int bytes) {
+    add(PACKETS_RECEIVED, 1);
+    add(BYTES_RECEIVED, bytes);
+  }
+
+  void packetSent(int bytes) {
+    add(PACKETS_SENT, 1);
+    add(BYTES_SENT, bytes);
+  }
+
+  void wireReceived(int bytes) {
+    add(WIRE_BYTES_RECEIVED, bytes);
+  }
+
+  void wireSent(int bytes) {
+    add(WIRE_BYTES_SENT, bytes);
+  }
+
+  void flushed() {
+    add(FLUSHES, 1);
+  }
+
+  ConnectionTraffic snapshot() {
+    return new ConnectionTraffic(counters.get(PACKETS_RECEIVED), counters.get(BYTES_RECEIVED),
+        counters.get(WIRE_BYTES_RECEIVED), counters.get(PACKETS_SENT), counters.get(BYTES_SENT),
+        counters.get(WIRE_BYTES_SENT), counters.get(FLUSHES));
+  }
+
+  private void add(int index, long delta) {
+    counters.setRelease(index, counters.getPlain(index) + delta);
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.network.metrics;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.netty.CompressedFrame;
+import com.velocitypowered.proxy.protocol.netty.MinecraftDecoder;
+import com.velocitypowered.proxy.protocol.netty.MinecraftEncoder;
+import com.velocitypowered.proxy.protocol.packet.PluginMessagePacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.DecoderException;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+
+/**
+ * Sits right in front of the {@link MinecraftDecoder} and {@link MinecraftEncoder} and counts
+ * every packet going in and out of the connection by packet ID, including the ones the proxy
+ * relays without decoding. It also hands the event loop's {@link TrafficStripe} to the decoder
+ * and encoder, so they can count the time they spend on each packet.
+ *
+ * <p>Plugin messages are also counted by channel, unless they arrive as a
+ * {@link CompressedFrame}, whose channel can't be read without inflating it.</p>
+ */
+final class PacketTrafficHandler extends ChannelDuplexHandler {
+
+  private final VelocityTrafficMetrics metrics;
+  private final ConnectionTrafficCounter counter;
+  private @MonotonicNonNull TrafficStripe stripe;
+  private @MonotonicNonNull MinecraftDecoder decoder;
+  private @MonotonicNonNull MinecraftEncoder encoder;
+
+  PacketTrafficHandler(VelocityTrafficMetrics metrics, ConnectionTrafficCounter counter) {
+    this.metrics = metrics;
+    this.counter = counter;
+  }
+
+  @Override
+  public void handlerAdded(ChannelHandlerContext ctx) {
+    this.stripe = metrics.stripe(ctx.channel().eventLoop());
+    this.decoder = ctx.pipeline().get(MinecraftDecoder.class);
+    this.encoder = ctx.pipeline().get(MinecraftEncoder.class);
+    if (decoder == null || encoder == null) {
+      throw new IllegalStateException("The Minecraft decoder and encoder must be added first");
+    }
+    decoder.setTrafficStripe(stripe);
+    encoder.setTrafficStripe(stripe);
+  }
+
+  @Override
+  public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+    if (msg instanceof ByteBuf buf) {
+      if (buf.isReadable()) {
+        StateRegistry state = decoder.getState();
+        ProtocolVersion version = decoder.getProtocolVersion();
+        ProtocolUtils.Direction direction = decoder.getDirection();
+        int packetId = peekPacketId(buf);
+        stripe.received(version, state, direction, packetId, buf.readableBytes());
+        counter.packetReceived(buf.readableBytes());
+        if (isPluginMessage(state, version, direction, packetId)) {
+          countPluginMessage(direction, buf);
+        }
+      }
+    } else if (msg instanceof CompressedFrame frame) {
+      stripe.received(decoder.getProtocolVersion(), decoder.getState(), decoder.getDirection(),
+          frame.getPacketId(), frame.getUncompressedSize());
+      counter.packetReceived(frame.getUncompressedSize());
+    }
+    ctx.fireChannelRead(msg);
+  }
+
+  @Override
+  public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise)
+      throws Exception {
+    if (msg instanceof ByteBuf buf) {
+      if (buf.isReadable()) {
+        stripe.sent(encoder.getProtocolVersion(), encoder.getState(), encoder.getDirection(),
+            peekPacketId(buf), buf.readableBytes());
+        counter.packetSent(buf.readableBytes());
+      }
+    } else if (msg instanceof CompressedFrame frame) {
+      stripe.sent(encoder.getProtocolVersion(), encoder.getState(), encoder.getDirection(),
+          frame.getPacketId(), frame.getUncompressedSize());
+      counter.packetSent(frame.getUncompressedSize());
+    }
+    ctx.write(msg, promise);
+  }
+
+  private static boolean isPluginMessage(StateRegistry state, ProtocolVersion version,
+      ProtocolUtils.Direction direction, int packetId) {
+    if (state != StateRegistry.PLAY && state != StateRegistry.CONFIG) {
+      return false;
+    }
+    Class<? extends MinecraftPacket> packetClass = state.getProtocolRegistry(direction, version)
+        .getPacketClass(packetId);
+    return packetClass == PluginMessagePacket.class;
+  }
+
+  private void countPluginMessage(ProtocolUtils.Direction direction, ByteBuf buf) {
+    int readerIndex = buf.readerIndex();
+    int bytes = buf.readableBytes();
+    try {
+      ProtocolUtils.readVarInt(buf);
+      stripe.channelReceived(direction, ProtocolUtils.readString(buf), bytes);
+    } catch (DecoderException e) {
+      // The decoder is going to reject the packet, leave it to report the problem.
+    } finally {
+      buf.readerIndex(readerIndex);
+    }
+  }
+
+  private static int peekPacketId(ByteBuf buf) {
+    int readerIndex = buf.readerIndex();
+    try {
+      return ProtocolUtils.readVarInt(buf);
+    } catch (DecoderException e) {
+      return -1;
+    } finally {
+      buf.readerIndex(readerIndex);
+    }
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.network.metrics;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The packet and plugin message counters of the connections of one event loop.
+ *
+ * <p>Only the event loop owning the stripe ever updates it, so counters are bumped with a plain
+ * read and a release store instead of an atomic read-modify-write, and other threads only ever
+ * read them. Resetting the stripe from another thread drops the tables wholesale; an update
+ * racing with the reset may be lost, which is fine for statistics.</p>
+ */
+public final class TrafficStripe {
+
+  static final int PACKETS_RECEIVED = 0;
+  static final int BYTES_RECEIVED = 1;
+  static final int PACKETS_SENT = 2;
+  static final int BYTES_SENT = 3;
+  static final int PACKETS_DECODED = 4;
+  static final int DECODE_NANOS = 5;
+  static final int PACKETS_ENCODED = 6;
+  static final int ENCODE_NANOS = 7;
+  static final int FIELDS = 8;
+
+  /**
+   * Packet IDs at or above this are counted together in the last slot of a table. No version of
+   * the game comes close to it, so in practice this only catches malformed packets.
+   */
+  static final int MAXIMUM_PACKET_ID = 256;
+  static final int SLOTS = MAXIMUM_PACKET_ID + 1;
+
+  static final int MAXIMUM_CHANNELS = 128;
+  static final String OTHER_CHANNELS = "(other)";
+
+  private static final ProtocolVersion[] VERSIONS = ProtocolVersion.values();
+  private static final StateRegistry[] STATES = StateRegistry.values();
+  private static final ProtocolUtils.Direction[] DIRECTIONS = ProtocolUtils.Direction.values();
+
+  private final AtomicReferenceArray<AtomicLongArray> tables =
+      new AtomicReferenceArray<>(VERSIONS.length * STATES.length * DIRECTIONS.length);
+  private final ConcurrentHashMap<String, AtomicLongArray> serverboundChannels =
+      new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, AtomicLongArray> clientboundChannels =
+      new ConcurrentHashMap<>();
+
+  TrafficStripe() {
+  }
+
+  /**
+   * Counts a packet read from a connection.
+   *
+   * @param version the protocol version of the connection
+   * @param state the state of the connection
+   * @param direction the direction of the packet
+   * @param packetId the packet ID
+   * @param bytes the uncompressed size of the packet
+   */
+  public void received(ProtocolVersion version, StateRegistry state,
+      ProtocolUtils.Direction direction, int packetId, int bytes) {
+    AtomicLongArray table = table(version, state, direction);
+    int base = slot(packetId) * FIELDS;
+    add(table, base + PACKETS_RECEIVED, 1);
+    add(table, base + BYTES_RECEIVED, bytes);
+  }
+
+  /**
+   * Counts a packet written to a connection.
+   *
+   * @param version the protocol version of the connection
+   * @param state the state of the connection
+   * @param direction the direction of the packet
+   * @param packetId the packet ID
+   * @param bytes the uncompressed size of the packet
+   */
+  public void sent(ProtocolVersion version, StateRegistry state,
+      ProtocolUtils.Direction direction, int packetId, int bytes) {
+    AtomicLongArray table = table(version, state, direction);
+    int base = slot(packetId) * FIELDS;
+    add(table, base + PACKETS_SENT, 1);
+    add(table, base + BYTES_SENT, bytes);
+  }
+
+  /**
+   * Counts the time taken to decode a packet.
+   *
+   * @param version the protocol version of the connection
+   * @param state the state of the connection
+   * @param direction the direction of the packet
+   * @param packetId the packet ID
+   * @param nanos the time taken to decode the packet
+   */
+  public void decoded(ProtocolVersion version, StateRegistry state,
+      ProtocolUtils.Direction direction, int packetId, long nanos) {
+    AtomicLongArray table = table(version, state, direction);
+    int base = slot(packetId) * FIELDS;
+    add(table, base + PACKETS_DECODED, 1);
+    add(table, base + DECODE_NANOS, nanos);
+  }
+
+  /**
+   * Counts the time taken to encode a packet.
+   *
+   * @param version the protocol version of the connection
+   * @param state the state of the connection
+   * @param direction the direction of the packet
+   * @param packetId the packet ID
+   * @param nanos the time taken to encode the packet
+   */
+  public void encoded(ProtocolVersion version, StateRegistry state,
+      ProtocolUtils.Direction direction, int packetId, long nanos) {
+    AtomicLongArray table = table(version, state, direction);
+    int base = slot(packetId) * FIELDS;
+    add(table, base + PACKETS_ENCODED, 1);
+    add(table, base + ENCODE_NANOS, nanos);
+  }
+
+  /**
+   * Counts a plugin message read from a connection.
+   *
+   * @param direction the direction of the plugin message
+   * @param channel the channel of the plugin message
+   * @param bytes the uncompressed size of the plugin message packet
+   */
+  public void channelReceived(ProtocolUtils.Direction direction, String channel, int bytes) {
+    ConcurrentHashMap<String, AtomicLongArray> channels = channels(direction);
+    AtomicLongArray counters = channels.get(channel);
+    if (counters == null) {
+      // Channel names are chosen by whoever is on the other end, so don't let them grow the map
+      // without bound.
+      String key = channels.size() < MAXIMUM_CHANNELS ? channel : OTHER_CHANNELS;
+      counters = channels.computeIfAbsent(key, k -> new AtomicLongArray(2));
+    }
+    add(counters, 0, 1);
+    add(counters, 1, bytes);
+  }
+
+  void reset() {
+    for (int i = 0; i < tables.length(); i++) {
+      tables.set(i, null);
+    }
+    serverboundChannels.clear();
+    clientboundChannels.clear();
+  }
+
+  int tableCount() {
+    return tables.length();
+  }
+
+  AtomicLongArray tableAt(int index) {
+    return tables.get(index);
+  }
+
+  ConcurrentHashMap<String, AtomicLongArray> channels(ProtocolUtils.Direction direction) {
+    return direction == ProtocolUtils.Direction.SERVERBOUND ? serverboundChannels
+        : clientboundChannels;
+  }
+
+  static int tableIndex(ProtocolVersion version, StateRegistry state,
+      ProtocolUtils.Direction direction) {
+    return (version.ordinal() * STATES.length + state.ordinal()) * DIRECTIONS.length
+        + direction.ordinal();
+  }
+
+  static ProtocolVersion versionOf(int tableIndex) {
+    return VERSIONS[tableIndex / DIRECTIONS.length / STATES.length];
+  }
+
+  static StateRegistry stateOf(int tableIndex) {
+    return STATES[tableIndex / DIRECTIONS.length % STATES.length];
+  }
+
+  static ProtocolUtils.Direction directionOf(int tableIndex) {
+    return DIRECTIONS[tableIndex % DIRECTIONS.length];
+  }
+
+  private AtomicLongArray table(ProtocolVersion version, StateRegistry state,
+      ProtocolUtils.Direction direction) {
+    int index = tableIndex(version, state, direction);
+    AtomicLongArray table = tables.get(index);
+    if (table == null) {
+      table = new AtomicLongArray(SLOTS * FIELDS);
+      tables.set(index, table);
+    }
+    return table;
+  }
+
+  private static int slot(int packetId) {
+    return packetId >= 0 && packetId < MAXIMUM_PACKET_ID ? packetId : MAXIMUM_PACKET_ID;
+  }
+
+  private static void add(AtomicLongArray counters, int index, long delta) {
+    counters.setRelease(index, counters.getPlain(index) + delta);
+  }
+}
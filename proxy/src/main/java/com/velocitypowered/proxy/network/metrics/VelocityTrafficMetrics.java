@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.network.metrics;
+
+import static com.velocitypowered.proxy.network.Connections.MINECRAFT_DECODER;
+import static com.velocitypowered.proxy.network.Connections.PACKET_TRAFFIC;
+import static com.velocitypowered.proxy.network.Connections.WIRE_TRAFFIC;
+
+import com.velocitypowered.api.network.ChannelTraffic;
+import com.velocitypowered.api.network.ConnectionTraffic;
+import com.velocitypowered.api.network.PacketDirection;
+import com.velocitypowered.api.network.PacketTraffic;
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.network.TrafficMetrics;
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.proxy.ServerConnection;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.api.proxy.server.ServerInfo;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.connection.MinecraftConnection;
+import com.velocitypowered.proxy.connection.backend.VelocityServerConnection;
+import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoop;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Counts the traffic of the proxy for {@link TrafficMetrics}. Packet and plugin message counters
+ * are striped per event loop, see {@link TrafficStripe}, and are only added up when they are
+ * read.
+ */
+public final class VelocityTrafficMetrics implements TrafficMetrics {
+
+  private final VelocityServer server;
+  private final ConcurrentHashMap<EventLoop, TrafficStripe> stripes = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<ServerInfo, ServerTraffic> servers = new ConcurrentHashMap<>();
+
+  public VelocityTrafficMetrics(VelocityServer server) {
+    this.server = server;
+  }
+
+  /**
+   * Adds the handlers counting traffic to the pipeline of a new connection, if traffic metrics
+   * are enabled. The Minecraft decoder and encoder must already be in the pipeline.
+   *
+   * @param pipeline the pipeline of the connection
+   */
+  public void install(ChannelPipeline pipeline) {
+    if (!isEnabled()) {
+      return;
+    }
+    ConnectionTrafficCounter counter = new ConnectionTrafficCounter();
+    pipeline.addFirst(WIRE_TRAFFIC, new WireTrafficHandler(counter));
+    pipeline.addBefore(MINECRAFT_DECODER, PACKET_TRAFFIC, new PacketTrafficHandler(this, counter));
+  }
+
+  /**
+   * Counts the traffic of a connection to a backend server towards that server, including after
+   * the connection is closed. Does nothing if the connection is not counted.
+   *
+   * @param server the backend server
+   * @param channel the channel of the connection
+   */
+  public void track(RegisteredServer server, Channel channel) {
+    WireTrafficHandler handler = channel.pipeline().get(WireTrafficHandler.class);
+    if (handler == null) {
+      return;
+    }
+    ConnectionTrafficCounter counter = handler.getCounter();
+    ServerTraffic traffic = servers.computeIfAbsent(server.getServerInfo(),
+        info -> new ServerTraffic());
+    traffic.open.add(counter);
+    channel.closeFuture().addListener(future -> {
+      traffic.closed.accumulateAndGet(counter.snapshot(), ConnectionTraffic::plus);
+      traffic.open.remove(counter);
+    });
+  }
+
+  TrafficStripe stripe(EventLoop eventLoop) {
+    return stripes.computeIfAbsent(eventLoop, loop -> new TrafficStripe());
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return server.getConfiguration().isTrafficMetrics();
+  }
+
+  @Override
+  public List<PacketTraffic> getPacketTraffic() {
+    Map<Integer, long[]> totals = new HashMap<>();
+    for (TrafficStripe stripe : stripes.values()) {
+      for (int index = 0; index < stripe.tableCount(); index++) {
+        AtomicLongArray table = stripe.tableAt(index);
+        if (table == null) {
+          continue;
+        }
+        for (int slot = 0; slot < TrafficStripe.SLOTS; slot++) {
+          int base = slot * TrafficStripe.FIELDS;
+          if (table.get(base + TrafficStripe.PACKETS_RECEIVED) == 0
+              && table.get(base + TrafficStripe.PACKETS_SENT) == 0) {
+            continue;
+          }
+          long[] total = totals.computeIfAbsent(index * TrafficStripe.SLOTS + slot,
+              k -> new long[TrafficStripe.FIELDS]);
+          for (int field = 0; field < TrafficStripe.FIELDS; field++) {
+            total[field] += table.get(base + field);
+          }
+        }
+      }
+    }
+
+    List<PacketTraffic> traffic = new ArrayList<>(totals.size());
+    for (Map.Entry<Integer, long[]> entry : totals.entrySet()) {
+      int index = entry.getKey() / TrafficStripe.SLOTS;
+      int packetId = entry.getKey() % TrafficStripe.SLOTS;
+      ProtocolVersion version = TrafficStripe.versionOf(index);
+      StateRegistry state = TrafficStripe.stateOf(index);
+      ProtocolUtils.Direction direction = TrafficStripe.directionOf(index);
+      long[] total = entry.getValue();
+      traffic.add(new PacketTraffic(version, state.toProtocolState(),
+          PacketDirection.valueOf(direction.name()),
+          packetId == TrafficStripe.MAXIMUM_PACKET_ID ? -1 : packetId,
+          packetName(version, state, direction, packetId),
+          total[TrafficStripe.PACKETS_RECEIVED], total[TrafficStripe.BYTES_RECEIVED],
+          total[TrafficStripe.PACKETS_SENT], total[TrafficStripe.BYTES_SENT],
+          total[TrafficStripe.PACKETS_DECODED], total[TrafficStripe.DECODE_NANOS],
+          total[TrafficStripe.PACKETS_ENCODED], total[TrafficStripe.ENCODE_NANOS]));
+    }
+    traffic.sort(Comparator.comparingLong(PacketTraffic::totalBytes).reversed());
+    return traffic;
+  }
+
+  private static @Nullable String packetName(ProtocolVersion version, StateRegistry state,
+      ProtocolUtils.Direction direction, int packetId) {
+    if (packetId == TrafficStripe.MAXIMUM_PACKET_ID || version.isUnknown()) {
+      return null;
+    }
+    Class<? extends MinecraftPacket> packetClass = state.getProtocolRegistry(direction, version)
+        .getPacketClass(packetId);
+    return packetClass == null ? null : packetClass.getSimpleName();
+  }
+
+  @Override
+  public List<ChannelTraffic> getChannelTraffic() {
+    List<ChannelTraffic> traffic = new ArrayList<>();
+    for (ProtocolUtils.Direction direction : ProtocolUtils.Direction.values()) {
+      Map<String, long[]> totals = new HashMap<>();
+      for (TrafficStripe stripe : stripes.values()) {
+        stripe.channels(direction).forEach((channel, counters) -> {
+          long[] total = totals.computeIfAbsent(channel, k -> new long[2]);
+          total[0] += counters.get(0);
+          total[1] += counters.get(1);
+        });
+      }
+      PacketDirection packetDirection = PacketDirection.valueOf(direction.name());
+      totals.forEach((channel, total) ->
+          traffic.add(new ChannelTraffic(channel, packetDirection, total[0], total[1])));
+    }
+    traffic.sort(Comparator.comparingLong(ChannelTraffic::bytes).reversed());
+    return traffic;
+  }
+
+  @Override
+  public Optional<ConnectionTraffic> getConnectionTraffic(Player player) {
+    return connectionTraffic(((ConnectedPlayer) player).getConnection());
+  }
+
+  @Override
+  public Optional<ConnectionTraffic> getConnectionTraffic(ServerConnection connection) {
+    return connectionTraffic(((VelocityServerConnection) connection).getConnection());
+  }
+
+  @Override
+  public ConnectionTraffic getConnectionTraffic(RegisteredServer server) {
+    ServerTraffic traffic = servers.get(server.getServerInfo());
+    if (traffic == null) {
+      return ConnectionTraffic.EMPTY;
+    }
+    ConnectionTraffic total = traffic.closed.get();
+    for (ConnectionTrafficCounter counter : traffic.open) {
+      total = total.plus(counter.snapshot());
+    }
+    return total;
+  }
+
+  private static Optional<ConnectionTraffic> connectionTraffic(
+      @Nullable MinecraftConnection connection) {
+    if (connection == null) {
+      return Optional.empty();
+    }
+    WireTrafficHandler handler = connection.getChannel().pipeline().get(WireTrafficHandler.class);
+    return handler == null ? Optional.empty() : Optional.of(handler.getCounter().snapshot());
+  }
+
+  @Override
+  public void reset() {
+    for (TrafficStripe stripe : stripes.values()) {
+      stripe.reset();
+    }
+  }
+
+  /**
+   * The traffic of the connections to a backend server. Closed connections are only added up
+   * once, when they close.
+   */
+  private static final class ServerTraffic {
+
+    private final Set<ConnectionTrafficCounter> open = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<ConnectionTraffic> closed =
+        new AtomicReference<>(ConnectionTraffic.EMPTY);
+  }
+}
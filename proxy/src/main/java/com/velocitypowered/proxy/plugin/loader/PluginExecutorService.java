@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.plugin.loader;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.velocitypowered.proxy.config.PluginExecutorMode;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The executor service of a plugin. It runs tasks according to a {@link PluginExecutorMode} and
+ * keeps track of how many tasks are queued and running, and how long they wait and run.
+ */
+public final class PluginExecutorService extends AbstractExecutorService {
+
+  private static final Logger logger = LogManager.getLogger(PluginExecutorService.class);
+  private static final long REJECTION_WARNING_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+  private final String name;
+  private final PluginExecutorMode mode;
+  private final ExecutorService delegate;
+  private final AtomicInteger queued = new AtomicInteger();
+  private final AtomicInteger active = new AtomicInteger();
+  private final LongAdder completed = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder totalWaitNanos = new LongAdder();
+  private final LongAdder totalRunNanos = new LongAdder();
+  private final AtomicLong maxWaitNanos = new AtomicLong();
+  private final AtomicLong lastRejectionWarning = new AtomicLong(
+      System.nanoTime() - REJECTION_WARNING_INTERVAL_NANOS);
+
+  @VisibleForTesting
+  PluginExecutorService(String name, PluginExecutorMode mode, ExecutorService delegate) {
+    this.name = Preconditions.checkNotNull(name, "name");
+    this.mode = Preconditions.checkNotNull(mode, "mode");
+    this.delegate = Preconditions.checkNotNull(delegate, "delegate");
+  }
+
+  /**
+   * Creates an executor service for a plugin.
+   *
+   * @param name the name of the plugin, used to name its threads
+   * @param mode how tasks are run
+   * @param boundedThreads the maximum number of threads in {@link PluginExecutorMode#BOUNDED} mode
+   * @param boundedQueueSize the maximum number of waiting tasks in
+   *                         {@link PluginExecutorMode#BOUNDED} mode
+   * @return the executor service
+   */
+  public static PluginExecutorService create(String name, PluginExecutorMode mode,
+      int boundedThreads, int boundedQueueSize) {
+    String threadName = name + " - Task Executor #";
+    ExecutorService delegate = switch (mode) {
+      case CACHED -> Executors.newCachedThreadPool(platformThreads(threadName));
+      case BOUNDED -> {
+        BlockingQueue<Runnable> queue = boundedQueueSize == 0 ? new SynchronousQueue<>()
+            : new ArrayBlockingQueue<>(boundedQueueSize);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(boundedThreads, boundedThreads,
+            60, TimeUnit.SECONDS, queue, platformThreads(threadName));
+        executor.allowCoreThreadTimeOut(true);
+        yield executor;
+      }
+      case VIRTUAL -> Executors.newThreadPerTaskExecutor(
+          Thread.ofVirtual().name(threadName, 0).factory());
+    };
+    return new PluginExecutorService(name, mode, delegate);
+  }
+
+  private static ThreadFactory platformThreads(String threadName) {
+    return new ThreadFactoryBuilder()
+        .setDaemon(true)
+        .setNameFormat(threadName + "%d")
+        .build();
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    Preconditions.checkNotNull(command, "command");
+    long submittedAt = System.nanoTime();
+    queued.incrementAndGet();
+    try {
+      delegate.execute(() -> run(command, submittedAt));
+    } catch (RejectedExecutionException e) {
+      queued.decrementAndGet();
+      if (!delegate.isShutdown()) {
+        rejected.increment();
+        warnRejected();
+      }
+      throw e;
+    }
+  }
+
+  private void run(Runnable command, long submittedAt) {
+    long startedAt = System.nanoTime();
+    long waited = startedAt - submittedAt;
+    queued.decrementAndGet();
+    active.incrementAndGet();
+    totalWaitNanos.add(waited);
+    maxWaitNanos.accumulateAndGet(waited, Math::max);
+    try {
+      command.run();
+    } finally {
+      active.decrementAndGet();
+      totalRunNanos.add(System.nanoTime() - startedAt);
+      completed.increment();
+    }
+  }
+
+  private void warnRejected() {
+    long now = System.nanoTime();
+    long last = lastRejectionWarning.get();
+    if (now - last >= REJECTION_WARNING_INTERVAL_NANOS
+        && lastRejectionWarning.compareAndSet(last, now)) {
+      logger.warn("The executor of plugin {} is saturated ({} tasks waiting, {} running). Tasks "
+          + "are being rejected; {} so far.", name, queued.get(), active.get(), rejected.sum());
+    }
+  }
+
+  /**
+   * Returns a snapshot of the metrics of this executor.
+   *
+   * @return the metrics
+   */
+  public Metrics getMetrics() {
+    long count = completed.sum();
+    return new Metrics(mode, queued.get(), active.get(), count, rejected.sum(),
+        count == 0 ? 0 : totalWaitNanos.sum() / count / 1_000_000.0,
+        maxWaitNanos.get() / 1_000_000.0,
+        count == 0 ? 0 : totalRunNanos.sum() / count / 1_000_000.0);
+  }
+
+  public PluginExecutorMode getMode() {
+    return mode;
+  }
+
+  @Override
+  public void shutdown() {
+    delegate.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    return delegate.shutdownNow();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return delegate.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return delegate.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return delegate.awaitTermination(timeout, unit);
+  }
+
+  @Override
+  public String toString() {
+    return "PluginExecutorService{"
+        + "name='" + name + '\''
+        + ", mode=" + mode
+        + '}';
+  }
+
+  /**
+   * A snapshot of the metrics of a plugin executor.
+   *
+   * @param mode how the executor runs tasks
+   * @param queued the number of tasks waiting to run
+   * @param active the number of tasks running
+   * @param completed the number of tasks that have finished
+   * @param rejected the number of tasks that were rejected because the executor was saturated
+   * @param averageWaitMillis the average time tasks waited before running, in milliseconds
+   * @param maxWaitMillis the longest time a task waited before running, in milliseconds
+   * @param averageRunMillis the average time tasks took to run, in milliseconds
+   */
+  public record Metrics(PluginExecutorMode mode, int queued, int active, long completed,
+      long rejected, double averageWaitMillis, double maxWaitMillis, double averageRunMillis) {
+
+  }
+}
@@ -17,12 +17,12 @@
 
 package com.velocitypowered.proxy.plugin.loader;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.velocitypowered.api.plugin.PluginContainer;
 import com.velocitypowered.api.plugin.PluginDescription;
+import com.velocitypowered.proxy.config.PluginExecutorMode;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.function.Function;
 
 /**
  * Implements {@link PluginContainer}.
@@ -30,11 +30,25 @@ import java.util.concurrent.Executors;
 public class VelocityPluginContainer implements PluginContainer {
 
   private final PluginDescription description;
+  private final Function<PluginDescription, PluginExecutorService> executorFactory;
   private Object instance;
-  private volatile ExecutorService service;
+  private volatile PluginExecutorService service;
 
   public VelocityPluginContainer(PluginDescription description) {
+    this(description, desc -> PluginExecutorService.create(
+        desc.getName().orElse(desc.getId()), PluginExecutorMode.CACHED, 0, 0));
+  }
+
+  /**
+   * Creates a new plugin container.
+   *
+   * @param description the description of the plugin
+   * @param executorFactory creates the executor service of the plugin when it is first needed
+   */
+  public VelocityPluginContainer(PluginDescription description,
+      Function<PluginDescription, PluginExecutorService> executorFactory) {
     this.description = description;
+    this.executorFactory = executorFactory;
   }
 
   @Override
@@ -56,15 +70,7 @@ public class VelocityPluginContainer implements PluginContainer {
     if (this.service == null) {
       synchronized (this) {
         if (this.service == null) {
-          String name = this.description.getName().orElse(this.description.getId());
-          this.service = Executors.unconfigurableExecutorService(
-              Executors.newCachedThreadPool(
-                new ThreadFactoryBuilder().setDaemon(true)
-                    .setNameFormat(name + " - Task Executor #%d")
-                    .setDaemon(true)
-                    .build()
-              )
-          );
+          this.service = this.executorFactory.apply(this.description);
         }
       }
     }
@@ -75,4 +81,14 @@ public class VelocityPluginContainer implements PluginContainer {
   public boolean hasExecutorService() {
     return this.service != null;
   }
+
+  /**
+   * Returns the metrics of the executor service of this plugin, if it has been created.
+   *
+   * @return the metrics of the executor service
+   */
+  public Optional<PluginExecutorService.Metrics> getExecutorMetrics() {
+    PluginExecutorService service = this.service;
+    return service == null ? Optional.empty() : Optional.of(service.getMetrics());
+  }
 }
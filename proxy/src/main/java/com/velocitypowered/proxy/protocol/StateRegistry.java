@@ -121,15 +121,11 @@ import com.velocitypowered.proxy.protocol.packet.title.TitleSubtitlePacket;
 import com.velocitypowered.proxy.protocol.packet.title.TitleTextPacket;
 import com.velocitypowered.proxy.protocol.packet.title.TitleTimesPacket;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import io.netty.util.collection.IntObjectHashMap;
-import io.netty.util.collection.IntObjectMap;
-import it.unimi.dsi.fastutil.objects.Object2IntMap;
-import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
-import java.util.Collections;
-import java.util.EnumMap;
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -878,25 +874,25 @@ public enum StateRegistry {
 
     private final Direction direction;
     private final StateRegistry registry;
-    private final Map<ProtocolVersion, ProtocolRegistry> versions;
+    // Indexed by the ordinal of the protocol version, null for legacy and unknown versions
+    private final @Nullable ProtocolRegistry[] versions;
     private boolean fallback = true;
 
     PacketRegistry(Direction direction, StateRegistry registry) {
       this.direction = direction;
       this.registry = registry;
 
-      Map<ProtocolVersion, ProtocolRegistry> mutableVersions = new EnumMap<>(ProtocolVersion.class);
-      for (ProtocolVersion version : ProtocolVersion.values()) {
+      ProtocolVersion[] allVersions = ProtocolVersion.values();
+      this.versions = new ProtocolRegistry[allVersions.length];
+      for (ProtocolVersion version : allVersions) {
         if (!version.isLegacy() && !version.isUnknown()) {
-          mutableVersions.put(version, new ProtocolRegistry(version));
+          this.versions[version.ordinal()] = new ProtocolRegistry(version);
         }
       }
-
-      this.versions = Collections.unmodifiableMap(mutableVersions);
     }
 
     ProtocolRegistry getProtocolRegistry(final ProtocolVersion version) {
-      ProtocolRegistry registry = versions.get(version);
+      ProtocolRegistry registry = versions[version.ordinal()];
       if (registry == null) {
         if (fallback) {
           return getProtocolRegistry(MINIMUM_VERSION);
@@ -912,6 +908,7 @@ public enum StateRegistry {
         throw new IllegalArgumentException("At least one mapping must be provided.");
       }
 
+      final int slot = PacketSlots.assign(clazz);
       for (int i = 0; i < mappings.length; i++) {
         PacketMapping current = mappings[i];
         PacketMapping next = (i + 1 < mappings.length) ? mappings[i + 1] : current;
@@ -941,13 +938,13 @@ public enum StateRegistry {
           if (protocol == to && next != current) {
             break;
           }
-          ProtocolRegistry registry = this.versions.get(protocol);
+          ProtocolRegistry registry = this.versions[protocol.ordinal()];
           if (registry == null) {
             throw new IllegalArgumentException(
                 "Unknown protocol version " + current.protocolVersion);
           }
 
-          if (registry.packetIdToSupplier.containsKey(current.id)) {
+          if (registry.containsPacketId(current.id)) {
             throw new IllegalArgumentException(
                 "Can not register class "
                     + clazz.getSimpleName()
@@ -958,33 +955,61 @@ public enum StateRegistry {
                     + " because another packet is already registered");
           }
 
-          if (registry.packetClassToId.containsKey(clazz)) {
+          if (registry.idForSlot(slot) != Integer.MIN_VALUE) {
             throw new IllegalArgumentException(
                 clazz.getSimpleName() + " is already registered for version " + registry.version);
           }
 
           if (!current.encodeOnly) {
-            registry.packetIdToSupplier.put(current.id, packetSupplier);
+            registry.putSupplier(current.id, clazz, packetSupplier);
           }
-          registry.packetClassToId.put(clazz, current.id);
+          registry.putPacketId(slot, current.id);
         }
       }
     }
 
     /**
-     * Protocol registry.
+     * Protocol registry. Packet IDs are small and dense, so the suppliers are stored in an array
+     * indexed by packet ID, and the IDs in an array indexed by the {@link PacketSlots slot} of
+     * the packet class.
      */
     public class ProtocolRegistry {
 
+      private static final Supplier<?>[] NO_SUPPLIERS = new Supplier<?>[0];
+      private static final Class<?>[] NO_CLASSES = new Class<?>[0];
+      private static final int[] NO_IDS = new int[0];
+
       public final ProtocolVersion version;
-      final IntObjectMap<Supplier<? extends MinecraftPacket>> packetIdToSupplier =
-          new IntObjectHashMap<>(16, 0.5f);
-      final Object2IntMap<Class<? extends MinecraftPacket>> packetClassToId =
-          new Object2IntOpenHashMap<>(16, 0.5f);
+      private Supplier<?>[] suppliersById = NO_SUPPLIERS;
+      private Class<?>[] classesById = NO_CLASSES;
+      private int[] idsBySlot = NO_IDS;
 
       ProtocolRegistry(final ProtocolVersion version) {
         this.version = version;
-        this.packetClassToId.defaultReturnValue(Integer.MIN_VALUE);
+      }
+
+      void putSupplier(final int id, final Class<? extends MinecraftPacket> clazz,
+          final Supplier<? extends MinecraftPacket> supplier) {
+        if (id >= this.suppliersById.length) {
+          this.suppliersById = Arrays.copyOf(this.suppliersById, id + 1);
+          this.classesById = Arrays.copyOf(this.classesById, id + 1);
+        }
+        this.suppliersById[id] = supplier;
+        this.classesById[id] = clazz;
+      }
+
+      void putPacketId(final int slot, final int id) {
+        if (slot >= this.idsBySlot.length) {
+          int oldLength = this.idsBySlot.length;
+          this.idsBySlot = Arrays.copyOf(this.idsBySlot, slot + 1);
+          Arrays.fill(this.idsBySlot, oldLength, this.idsBySlot.length, Integer.MIN_VALUE);
+        }
+        this.idsBySlot[slot] = id;
+      }
+
+      int idForSlot(final int slot) {
+        final int[] ids = this.idsBySlot;
+        return slot >= 0 && slot < ids.length ? ids[slot] : Integer.MIN_VALUE;
       }
 
       /**
@@ -994,11 +1019,50 @@ public enum StateRegistry {
        * @return the packet instance, or {@code null} if the ID is not registered
        */
       public @Nullable MinecraftPacket createPacket(final int id) {
-        final Supplier<? extends MinecraftPacket> supplier = this.packetIdToSupplier.get(id);
+        final Supplier<?>[] suppliers = this.suppliersById;
+        if (id < 0 || id >= suppliers.length) {
+          return null;
+        }
+        final Supplier<?> supplier = suppliers[id];
         if (supplier == null) {
           return null;
         }
-        return supplier.get();
+        return (MinecraftPacket) supplier.get();
+      }
+
+      /**
+       * Checks if the registry contains a packet with the specified {@code id}.
+       *
+       * @param id the packet ID
+       * @return {@code true} if the ID is registered, {@code false} otherwise
+       */
+      public boolean containsPacketId(final int id) {
+        final Supplier<?>[] suppliers = this.suppliersById;
+        return id >= 0 && id < suppliers.length && suppliers[id] != null;
+      }
+
+      /**
+       * Returns the highest packet ID packets can be created for.
+       *
+       * @return the highest packet ID, or {@code -1} if no packets can be created
+       */
+      public int getMaximumPacketId() {
+        return this.suppliersById.length - 1;
+      }
+
+      /**
+       * Returns the class of the packets created for the specified {@code id}.
+       *
+       * @param id the packet ID
+       * @return the packet class, or {@code null} if the ID is not registered
+       */
+      @SuppressWarnings("unchecked")
+      public @Nullable Class<? extends MinecraftPacket> getPacketClass(final int id) {
+        final Class<?>[] classes = this.classesById;
+        if (id < 0 || id >= classes.length) {
+          return null;
+        }
+        return (Class<? extends MinecraftPacket>) classes[id];
       }
 
       /**
@@ -1009,7 +1073,7 @@ public enum StateRegistry {
        * @throws IllegalArgumentException if the packet ID is not found
        */
       public int getPacketId(final MinecraftPacket packet) {
-        final int id = this.packetClassToId.getInt(packet.getClass());
+        final int id = idForSlot(PacketSlots.of(packet.getClass()));
         if (id == Integer.MIN_VALUE) {
           throw new IllegalArgumentException(String.format(
               "Unable to find id for packet of type %s in %s protocol %s phase %s",
@@ -1027,11 +1091,48 @@ public enum StateRegistry {
        * @return {@code true} if the packet is registered, {@code false} otherwise
        */
       public boolean containsPacket(final MinecraftPacket packet) {
-        return this.packetClassToId.containsKey(packet.getClass());
+        return idForSlot(PacketSlots.of(packet.getClass())) != Integer.MIN_VALUE;
       }
     }
   }
 
+  /**
+   * Assigns every registered packet class a small, dense integer slot. The slot of a class is
+   * cached on the class itself through a {@link ClassValue}, so resolving a packet ID is a
+   * lookup in that cache followed by an array access, whatever the protocol version and state.
+   */
+  static final class PacketSlots {
+
+    private static final Map<Class<?>, Integer> ASSIGNED = new ConcurrentHashMap<>();
+    private static final ClassValue<Integer> SLOTS = new ClassValue<>() {
+      @Override
+      protected Integer computeValue(Class<?> type) {
+        return ASSIGNED.getOrDefault(type, -1);
+      }
+    };
+
+    private static int nextSlot;
+
+    private PacketSlots() {
+      throw new AssertionError();
+    }
+
+    static synchronized int assign(Class<? extends MinecraftPacket> clazz) {
+      // Packets are only registered while the states are initialized, before anything can look
+      // up a slot, so the ClassValue never caches a class as unregistered too early.
+      Integer slot = ASSIGNED.get(clazz);
+      if (slot == null) {
+        slot = nextSlot++;
+        ASSIGNED.put(clazz, slot);
+      }
+      return slot;
+    }
+
+    static int of(Class<?> clazz) {
+      return SLOTS.get(clazz);
+    }
+  }
+
   /**
    * Packet mapping.
    */
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.DefaultByteBufHolder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * A compressed packet that is passed on without being decompressed. The content is the zlib
+ * stream exactly as it was received, so it can be written to another connection with a
+ * compatible compression threshold without being inflated and deflated again.
+ */
+public final class CompressedFrame extends DefaultByteBufHolder {
+
+  private final int packetId;
+  private final int uncompressedSize;
+
+  /**
+   * Creates a compressed frame.
+   *
+   * @param packetId the ID of the compressed packet
+   * @param uncompressedSize the size of the packet once decompressed
+   * @param content the compressed packet
+   */
+  public CompressedFrame(int packetId, int uncompressedSize, ByteBuf content) {
+    super(content);
+    this.packetId = packetId;
+    this.uncompressedSize = uncompressedSize;
+  }
+
+  public int getPacketId() {
+    return packetId;
+  }
+
+  public int getUncompressedSize() {
+    return uncompressedSize;
+  }
+
+  /**
+   * Decompresses the packet, for connections that can no longer be sent it compressed.
+   *
+   * @param alloc the allocator to use for the decompressed packet
+   * @return the decompressed packet, including its packet ID
+   * @throws DataFormatException if the packet does not decompress to its uncompressed size
+   */
+  ByteBuf inflate(ByteBufAllocator alloc) throws DataFormatException {
+    ByteBuf uncompressed = alloc.heapBuffer(uncompressedSize, uncompressedSize);
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(content().nioBuffer());
+      int read = 0;
+      while (!inflater.finished() && read < uncompressedSize) {
+        int produced = inflater.inflate(uncompressed.array(), uncompressed.arrayOffset() + read,
+            uncompressedSize - read);
+        if (produced == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        read += produced;
+      }
+      if (!inflater.finished() || read != uncompressedSize) {
+        throw new DataFormatException("Compressed packet did not decompress to "
+            + uncompressedSize + " bytes");
+      }
+      uncompressed.writerIndex(read);
+      return uncompressed;
+    } catch (DataFormatException e) {
+      uncompressed.release();
+      throw e;
+    } finally {
+      inflater.end();
+    }
+  }
+
+  @Override
+  public CompressedFrame replace(ByteBuf content) {
+    return new CompressedFrame(packetId, uncompressedSize, content);
+  }
+
+  @Override
+  public CompressedFrame retain() {
+    super.retain();
+    return this;
+  }
+
+  @Override
+  public CompressedFrame retain(int increment) {
+    super.retain(increment);
+    return this;
+  }
+
+  @Override
+  public CompressedFrame touch() {
+    super.touch();
+    return this;
+  }
+
+  @Override
+  public CompressedFrame touch(Object hint) {
+    super.touch(hint);
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return "CompressedFrame{"
+        + "packetId=" + packetId
+        + ", uncompressedSize=" + uncompressedSize
+        + ", compressedSize=" + content().readableBytes()
+        + '}';
+  }
+}
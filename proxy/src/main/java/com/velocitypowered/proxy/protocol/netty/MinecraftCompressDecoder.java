@@ -27,6 +27,10 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToMessageDecoder;
 import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Decompresses a Minecraft packet.
@@ -43,6 +47,9 @@ public class MinecraftCompressDecoder extends MessageToMessageDecoder<ByteBuf> {
 
   private int threshold;
   private final VelocityCompressor compressor;
+  private @Nullable IntPredicate passthrough;
+  private @Nullable Inflater peekInflater;
+  private final byte[] peekedId = new byte[5];
 
   public MinecraftCompressDecoder(int threshold, VelocityCompressor compressor) {
     this.threshold = threshold;
@@ -69,6 +76,14 @@ public class MinecraftCompressDecoder extends MessageToMessageDecoder<ByteBuf> {
         "Uncompressed size %s exceeds hard threshold of %s", claimedUncompressedSize,
         UNCOMPRESSED_CAP);
 
+    if (passthrough != null) {
+      int packetId = peekPacketId(in);
+      if (packetId != -1 && passthrough.test(packetId)) {
+        out.add(new CompressedFrame(packetId, claimedUncompressedSize, in.retain()));
+        return;
+      }
+    }
+
     ByteBuf compatibleIn = ensureCompatible(ctx.alloc(), compressor, in);
     ByteBuf uncompressed = preferredBuffer(ctx.alloc(), compressor, claimedUncompressedSize);
     try {
@@ -82,9 +97,63 @@ public class MinecraftCompressDecoder extends MessageToMessageDecoder<ByteBuf> {
     }
   }
 
+  /**
+   * Inflates just enough of a compressed packet to read its ID.
+   *
+   * @param in the compressed packet
+   * @return the packet ID, or {@code -1} if it could not be read
+   */
+  private int peekPacketId(ByteBuf in) {
+    if (in.nioBufferCount() != 1) {
+      return -1;
+    }
+    if (peekInflater == null) {
+      peekInflater = new Inflater();
+    }
+    try {
+      peekInflater.setInput(in.nioBuffer());
+      int read = peekInflater.inflate(peekedId);
+      int packetId = 0;
+      for (int i = 0; i < read; i++) {
+        packetId |= (peekedId[i] & 0x7F) << (i * 7);
+        if ((peekedId[i] & 0x80) == 0) {
+          return packetId;
+        }
+      }
+      return -1;
+    } catch (DataFormatException e) {
+      // Decompress it as usual, which reports the error.
+      return -1;
+    } finally {
+      peekInflater.reset();
+    }
+  }
+
   @Override
   public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+    close();
+  }
+
+  void close() {
     compressor.close();
+    if (peekInflater != null) {
+      peekInflater.end();
+    }
+  }
+
+  /**
+   * Sets which compressed packets are passed on as a {@link CompressedFrame} instead of being
+   * decompressed. Only the ID of such packets is decompressed.
+   *
+   * @param passthrough tests the ID of each compressed packet, or {@code null} to decompress all
+   *     packets
+   */
+  public void setPassthrough(@Nullable IntPredicate passthrough) {
+    this.passthrough = passthrough;
+  }
+
+  public int getThreshold() {
+    return threshold;
   }
 
   public void setThreshold(int threshold) {
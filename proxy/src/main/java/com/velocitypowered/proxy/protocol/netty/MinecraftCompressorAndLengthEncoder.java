@@ -24,6 +24,7 @@ import com.velocitypowered.natives.util.MoreByteBufUtils;
 import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToByteEncoder;
 import java.util.zip.DataFormatException;
 
@@ -40,6 +41,58 @@ public class MinecraftCompressorAndLengthEncoder extends MessageToByteEncoder<By
     this.compressor = compressor;
   }
 
+  @Override
+  public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise)
+      throws Exception {
+    if (msg instanceof CompressedFrame frame) {
+      if (frame.getUncompressedSize() >= threshold) {
+        ctx.write(frameCompressed(ctx, frame), promise);
+      } else {
+        // The threshold was raised after the frame was passed through, and the client rejects
+        // compressed packets below it.
+        super.write(ctx, inflate(ctx, frame), promise);
+      }
+    } else {
+      super.write(ctx, msg, promise);
+    }
+  }
+
+  private ByteBuf inflate(ChannelHandlerContext ctx, CompressedFrame frame)
+      throws DataFormatException {
+    ByteBuf compatibleIn = MoreByteBufUtils.ensureCompatible(ctx.alloc(), compressor,
+        frame.content());
+    ByteBuf uncompressed = MoreByteBufUtils.preferredBuffer(ctx.alloc(), compressor,
+        frame.getUncompressedSize());
+    try {
+      compressor.inflate(compatibleIn, uncompressed, frame.getUncompressedSize());
+      return uncompressed;
+    } catch (Exception e) {
+      uncompressed.release();
+      throw e;
+    } finally {
+      compatibleIn.release();
+      frame.release();
+    }
+  }
+
+  private ByteBuf frameCompressed(ChannelHandlerContext ctx, CompressedFrame frame) {
+    try {
+      ByteBuf compressed = frame.content();
+      int dataLength = ProtocolUtils.varIntBytes(frame.getUncompressedSize())
+          + compressed.readableBytes();
+      int frameLength = ProtocolUtils.varIntBytes(dataLength) + dataLength;
+      ByteBuf out = IS_JAVA_CIPHER
+          ? ctx.alloc().heapBuffer(frameLength)
+          : ctx.alloc().directBuffer(frameLength);
+      ProtocolUtils.writeVarInt(out, dataLength);
+      ProtocolUtils.writeVarInt(out, frame.getUncompressedSize());
+      out.writeBytes(compressed, compressed.readerIndex(), compressed.readableBytes());
+      return out;
+    } finally {
+      frame.release();
+    }
+  }
+
   @Override
   protected void encode(ChannelHandlerContext ctx, ByteBuf msg, ByteBuf out) throws Exception {
     int uncompressed = msg.readableBytes();
@@ -19,6 +19,7 @@ package com.velocitypowered.proxy.protocol.netty;
 
 import com.google.common.base.Preconditions;
 import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.network.metrics.TrafficStripe;
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
 import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import com.velocitypowered.proxy.protocol.StateRegistry;
@@ -27,6 +28,8 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.codec.CorruptedFrameException;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Decodes Minecraft packets.
@@ -38,9 +41,14 @@ public class MinecraftDecoder extends ChannelInboundHandlerAdapter {
       new QuietRuntimeException("A packet did not decode successfully (invalid data). For more "
           + "information, launch Velocity with -Dvelocity.packet-decode-logging=true to see more.");
 
+  private static final boolean[] DECODE_ALL = new boolean[0];
+
   private final ProtocolUtils.Direction direction;
   private StateRegistry state;
   private StateRegistry.PacketRegistry.ProtocolRegistry registry;
+  private @Nullable Set<Class<? extends MinecraftPacket>> undecodedPackets;
+  private boolean[] undecodedIds = DECODE_ALL;
+  private @Nullable TrafficStripe traffic;
 
   /**
    * Creates a new {@code MinecraftDecoder} decoding packets from the specified {@code direction}.
@@ -71,7 +79,7 @@ public class MinecraftDecoder extends ChannelInboundHandlerAdapter {
 
     int originalReaderIndex = buf.readerIndex();
     int packetId = ProtocolUtils.readVarInt(buf);
-    MinecraftPacket packet = this.registry.createPacket(packetId);
+    MinecraftPacket packet = isUndecoded(packetId) ? null : this.registry.createPacket(packetId);
     if (packet == null) {
       buf.readerIndex(originalReaderIndex);
       ctx.fireChannelRead(buf);
@@ -79,11 +87,16 @@ public class MinecraftDecoder extends ChannelInboundHandlerAdapter {
       try {
         doLengthSanityChecks(buf, packet);
 
+        final TrafficStripe traffic = this.traffic;
+        final long start = traffic == null ? 0 : System.nanoTime();
         try {
           packet.decode(buf, direction, registry.version);
         } catch (Exception e) {
           throw handleDecodeFailure(e, packet, packetId);
         }
+        if (traffic != null) {
+          traffic.decoded(registry.version, state, direction, packetId, System.nanoTime() - start);
+        }
 
         if (buf.isReadable()) {
           throw handleOverflow(packet, buf.readerIndex(), buf.writerIndex());
@@ -138,8 +151,51 @@ public class MinecraftDecoder extends ChannelInboundHandlerAdapter {
         + " ID 0x" + Integer.toHexString(packetId);
   }
 
+  /**
+   * Returns whether packets with the specified ID are decoded, rather than passed on as they are.
+   *
+   * @param packetId the packet ID
+   * @return {@code true} if the packet is decoded
+   */
+  public boolean canDecode(int packetId) {
+    return registry.containsPacketId(packetId) && !isUndecoded(packetId);
+  }
+
+  private boolean isUndecoded(int packetId) {
+    final boolean[] ids = this.undecodedIds;
+    return packetId >= 0 && packetId < ids.length && ids[packetId];
+  }
+
+  /**
+   * Sets the play state packets that are passed on as they are instead of being decoded, because
+   * nothing is going to read them. They reach the session handler as unknown packets, so they
+   * can be forwarded without being encoded again.
+   *
+   * @param packets the packets to not decode, or {@code null} to decode all packets
+   */
+  public void setUndecodedPackets(@Nullable Set<Class<? extends MinecraftPacket>> packets) {
+    this.undecodedPackets = packets;
+    updateUndecodedIds();
+  }
+
+  private void updateUndecodedIds() {
+    Set<Class<? extends MinecraftPacket>> packets = this.undecodedPackets;
+    if (packets == null || packets.isEmpty() || state != StateRegistry.PLAY) {
+      this.undecodedIds = DECODE_ALL;
+      return;
+    }
+
+    boolean[] ids = new boolean[registry.getMaximumPacketId() + 1];
+    for (int id = 0; id < ids.length; id++) {
+      Class<? extends MinecraftPacket> packetClass = registry.getPacketClass(id);
+      ids[id] = packetClass != null && packets.contains(packetClass);
+    }
+    this.undecodedIds = ids;
+  }
+
   public void setProtocolVersion(ProtocolVersion protocolVersion) {
     this.registry = state.getProtocolRegistry(direction, protocolVersion);
+    updateUndecodedIds();
   }
 
   public void setState(StateRegistry state) {
@@ -147,6 +203,23 @@ public class MinecraftDecoder extends ChannelInboundHandlerAdapter {
     this.setProtocolVersion(registry.version);
   }
 
+  /**
+   * Sets where the time spent decoding packets is counted.
+   *
+   * @param traffic the counters to update, or {@code null} to not count decoding time
+   */
+  public void setTrafficStripe(@Nullable TrafficStripe traffic) {
+    this.traffic = traffic;
+  }
+
+  public StateRegistry getState() {
+    return state;
+  }
+
+  public ProtocolVersion getProtocolVersion() {
+    return registry.version;
+  }
+
   public ProtocolUtils.Direction getDirection() {
     return direction;
   }
@@ -19,12 +19,14 @@ package com.velocitypowered.proxy.protocol.netty;
 
 import com.google.common.base.Preconditions;
 import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.network.metrics.TrafficStripe;
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
 import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import com.velocitypowered.proxy.protocol.StateRegistry;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Encodes {@link MinecraftPacket} instances.
@@ -34,6 +36,7 @@ public class MinecraftEncoder extends MessageToByteEncoder<MinecraftPacket> {
   private final ProtocolUtils.Direction direction;
   private StateRegistry state;
   private StateRegistry.PacketRegistry.ProtocolRegistry registry;
+  private @Nullable TrafficStripe traffic;
 
   /**
    * Creates a new {@code MinecraftEncoder} encoding packets for the specified {@code direction}.
@@ -49,9 +52,14 @@ public class MinecraftEncoder extends MessageToByteEncoder<MinecraftPacket> {
 
   @Override
   protected void encode(ChannelHandlerContext ctx, MinecraftPacket msg, ByteBuf out) {
+    final TrafficStripe traffic = this.traffic;
+    final long start = traffic == null ? 0 : System.nanoTime();
     int packetId = this.registry.getPacketId(msg);
     ProtocolUtils.writeVarInt(out, packetId);
     msg.encode(out, direction, registry.version);
+    if (traffic != null) {
+      traffic.encoded(registry.version, state, direction, packetId, System.nanoTime() - start);
+    }
   }
 
   @Override
@@ -76,6 +84,23 @@ public class MinecraftEncoder extends MessageToByteEncoder<MinecraftPacket> {
     this.setProtocolVersion(registry.version);
   }
 
+  /**
+   * Sets where the time spent encoding packets is counted.
+   *
+   * @param traffic the counters to update, or {@code null} to not count encoding time
+   */
+  public void setTrafficStripe(@Nullable TrafficStripe traffic) {
+    this.traffic = traffic;
+  }
+
+  public StateRegistry getState() {
+    return state;
+  }
+
+  public ProtocolVersion getProtocolVersion() {
+    return registry.version;
+  }
+
   public ProtocolUtils.Direction getDirection() {
     return direction;
   }
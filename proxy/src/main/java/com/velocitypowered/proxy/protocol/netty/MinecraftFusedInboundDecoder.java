@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import static com.velocitypowered.natives.util.MoreByteBufUtils.ensureCompatible;
+
+import com.velocitypowered.natives.encryption.VelocityCipher;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import java.util.ArrayList;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A {@link MinecraftVarintFrameDecoder} that also does the work of {@link MinecraftCipherDecoder}
+ * and {@link MinecraftCompressDecoder}, so those handlers are not added to the pipeline.
+ *
+ * <p>Incoming data is decrypted in place as it arrives, before it is added to the cumulation
+ * buffer. Each frame is then inflated straight from a slice of that buffer, so a packet crosses
+ * one handler instead of three, and no intermediate buffer or message list is created for it.
+ * When the natives are available the cumulation buffer is direct, so neither the cipher nor the
+ * compressor has to copy it first.</p>
+ */
+public class MinecraftFusedInboundDecoder extends MinecraftVarintFrameDecoder {
+
+  private final List<Object> frames = new ArrayList<>(4);
+  private @Nullable VelocityCipher cipher;
+  private @Nullable MinecraftCompressDecoder compressDecoder;
+
+  public MinecraftFusedInboundDecoder(ProtocolUtils.Direction direction) {
+    super(direction);
+  }
+
+  @Override
+  public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+    if (cipher == null || !(msg instanceof ByteBuf buf)) {
+      super.channelRead(ctx, msg);
+      return;
+    }
+
+    ByteBuf compatible = ensureCompatible(ctx.alloc(), cipher, buf);
+    buf.release();
+    try {
+      cipher.process(compatible);
+    } catch (Exception e) {
+      compatible.release();
+      throw e;
+    }
+    super.channelRead(ctx, compatible);
+  }
+
+  @Override
+  protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out)
+      throws Exception {
+    MinecraftCompressDecoder compressDecoder = this.compressDecoder;
+    if (compressDecoder == null) {
+      super.decode(ctx, in, out);
+      return;
+    }
+
+    super.decode(ctx, in, frames);
+    try {
+      for (int i = 0; i < frames.size(); i++) {
+        compressDecoder.decode(ctx, (ByteBuf) frames.get(i), out);
+      }
+    } finally {
+      for (int i = 0; i < frames.size(); i++) {
+        ((ByteBuf) frames.get(i)).release();
+      }
+      frames.clear();
+    }
+  }
+
+  @Override
+  protected void handlerRemoved0(ChannelHandlerContext ctx) throws Exception {
+    if (cipher != null) {
+      cipher.close();
+    }
+    if (compressDecoder != null) {
+      compressDecoder.close();
+    }
+  }
+
+  /**
+   * Starts decrypting incoming data with the specified {@code cipher}.
+   *
+   * @param cipher the cipher to decrypt with
+   */
+  public void setCipher(VelocityCipher cipher) {
+    if (this.cipher != null) {
+      this.cipher.close();
+    }
+    this.cipher = cipher;
+  }
+
+  public @Nullable MinecraftCompressDecoder getCompressDecoder() {
+    return compressDecoder;
+  }
+
+  /**
+   * Sets the decoder used to decompress packets. The previous decoder, if any, is closed.
+   *
+   * @param compressDecoder the decoder to use, or {@code null} to stop decompressing packets
+   */
+  public void setCompressDecoder(@Nullable MinecraftCompressDecoder compressDecoder) {
+    if (this.compressDecoder != null && this.compressDecoder != compressDecoder) {
+      this.compressDecoder.close();
+    }
+    this.compressDecoder = compressDecoder;
+  }
+}
@@ -23,6 +23,7 @@ import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToMessageEncoder;
 import java.util.List;
 
@@ -39,6 +40,23 @@ public class MinecraftVarintLengthEncoder extends MessageToMessageEncoder<ByteBu
   private MinecraftVarintLengthEncoder() {
   }
 
+  @Override
+  public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise)
+      throws Exception {
+    if (msg instanceof CompressedFrame frame) {
+      // Compression was turned off after the frame was passed through.
+      ByteBuf uncompressed;
+      try {
+        uncompressed = frame.inflate(ctx.alloc());
+      } finally {
+        frame.release();
+      }
+      super.write(ctx, uncompressed, promise);
+    } else {
+      super.write(ctx, msg, promise);
+    }
+  }
+
   @Override
   protected void encode(ChannelHandlerContext ctx, ByteBuf buf,
       List<Object> list) throws Exception {
@@ -18,15 +18,27 @@
 package com.velocitypowered.proxy.protocol.netty;
 
 import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.config.PlayPacketQueueOverflowPolicy;
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
 import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.packet.HeaderAndFooterPacket;
+import com.velocitypowered.proxy.protocol.packet.title.TitleActionbarPacket;
+import com.velocitypowered.proxy.protocol.packet.title.TitleSubtitlePacket;
+import com.velocitypowered.proxy.protocol.packet.title.TitleTextPacket;
+import com.velocitypowered.proxy.protocol.packet.title.TitleTimesPacket;
+import com.velocitypowered.proxy.util.except.QuietRuntimeException;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
 import io.netty.util.ReferenceCountUtil;
 import java.util.ArrayDeque;
-import java.util.Queue;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -39,11 +51,33 @@ import org.jetbrains.annotations.NotNull;
  *
  * <p>This handler will queue up any packets that are sent to the client during this time, and send
  * them once the client has (re)entered the PLAY state.
+ *
+ * <p>The queue keeps track of how many bytes it holds, so a backend server streaming play packets
+ * during a server switch can't make it grow without bound. Once the configured limits are
+ * exceeded, the {@link PlayPacketQueueOverflowPolicy} decides what happens.
  */
 public class PlayPacketQueueOutboundHandler extends ChannelDuplexHandler {
 
+  // The queues of all connections combined
+  private static final Metrics METRICS = new Metrics();
+
+  // Packets that don't know their encoded size are counted as this many bytes
+  private static final int ESTIMATED_PACKET_SIZE = 64;
+  // Packets where only the most recent one queued matters
+  private static final Set<Class<? extends MinecraftPacket>> COALESCIBLE = Set.of(
+      HeaderAndFooterPacket.class, TitleTextPacket.class, TitleSubtitlePacket.class,
+      TitleActionbarPacket.class, TitleTimesPacket.class);
+
   private final StateRegistry.PacketRegistry.ProtocolRegistry registry;
-  private final Queue<MinecraftPacket> queue = new ArrayDeque<>();
+  private final StateRegistry.PacketRegistry.ProtocolRegistry playRegistry;
+  private final ProtocolUtils.Direction direction;
+  private final long maxBytes;
+  private final int maxPackets;
+  private final PlayPacketQueueOverflowPolicy overflowPolicy;
+  private final ArrayDeque<QueuedPacket> queue = new ArrayDeque<>();
+  private long queuedBytes;
+  private boolean spilling;
+  private boolean overflowed;
 
   /**
    * Provides registries for client &amp; server bound packets.
@@ -51,7 +85,26 @@ public class PlayPacketQueueOutboundHandler extends ChannelDuplexHandler {
    * @param version the protocol version
    */
   public PlayPacketQueueOutboundHandler(ProtocolVersion version, ProtocolUtils.Direction direction) {
+    this(version, direction, 0, 0, PlayPacketQueueOverflowPolicy.DISCONNECT);
+  }
+
+  /**
+   * Provides registries for client &amp; server bound packets, and limits the queue.
+   *
+   * @param version the protocol version
+   * @param direction the direction of the queued packets
+   * @param maxBytes how many bytes may be queued, or {@code 0} for no limit
+   * @param maxPackets how many packets may be queued, or {@code 0} for no limit
+   * @param overflowPolicy what to do once the limits are exceeded
+   */
+  public PlayPacketQueueOutboundHandler(ProtocolVersion version, ProtocolUtils.Direction direction,
+      long maxBytes, int maxPackets, PlayPacketQueueOverflowPolicy overflowPolicy) {
     this.registry = StateRegistry.CONFIG.getProtocolRegistry(direction, version);
+    this.playRegistry = StateRegistry.PLAY.getProtocolRegistry(direction, version);
+    this.direction = direction;
+    this.maxBytes = maxBytes;
+    this.maxPackets = maxPackets;
+    this.overflowPolicy = overflowPolicy;
   }
 
   @Override
@@ -68,8 +121,110 @@ public class PlayPacketQueueOutboundHandler extends ChannelDuplexHandler {
       return;
     }
 
+    if (this.overflowed) {
+      // The connection is being closed already
+      ReferenceCountUtil.release(packet);
+      return;
+    }
+
     // Otherwise, queue the packet
-    this.queue.offer(packet);
+    QueuedPacket queued = new QueuedPacket(packet, estimateSize(packet));
+    if (this.spilling) {
+      queued.spill(ctx, playRegistry, direction);
+    }
+    enqueue(queued);
+
+    if (exceedsLimits()) {
+      handleOverflow(ctx);
+    }
+  }
+
+  private int estimateSize(MinecraftPacket packet) {
+    if (packet instanceof ByteBufHolder holder) {
+      return holder.content().readableBytes();
+    }
+    int hint = packet.encodeSizeHint(direction, playRegistry.version);
+    return hint >= 0 ? hint : ESTIMATED_PACKET_SIZE;
+  }
+
+  private boolean exceedsLimits() {
+    return (this.maxBytes > 0 && this.queuedBytes > this.maxBytes)
+        || (this.maxPackets > 0 && this.queue.size() > this.maxPackets);
+  }
+
+  private void handleOverflow(ChannelHandlerContext ctx) {
+    METRICS.overflows.increment();
+    switch (this.overflowPolicy) {
+      case DROP_COALESCIBLE -> dropSuperseded();
+      case SPILL -> spill(ctx);
+      default -> {
+      }
+    }
+
+    if (exceedsLimits()) {
+      String message = "Queued " + this.queue.size() + " play packets (" + this.queuedBytes
+          + " bytes) during the configuration phase, exceeding the limits";
+      this.overflowed = true;
+      this.releaseQueue(ctx, false);
+      ctx.fireExceptionCaught(new QuietRuntimeException(message));
+    }
+  }
+
+  private void dropSuperseded() {
+    // Walk the queue from the newest packet to the oldest, so every coalescible packet except the
+    // most recent one of its kind is dropped.
+    Set<Class<?>> seen = new HashSet<>();
+    Iterator<QueuedPacket> it = this.queue.descendingIterator();
+    while (it.hasNext()) {
+      QueuedPacket queued = it.next();
+      if (!COALESCIBLE.contains(queued.type) || seen.add(queued.type)) {
+        continue;
+      }
+      it.remove();
+      account(-1, -queued.size);
+      METRICS.droppedPackets.increment();
+      ReferenceCountUtil.release(queued.msg);
+    }
+  }
+
+  private void spill(ChannelHandlerContext ctx) {
+    this.spilling = true;
+    for (QueuedPacket queued : this.queue) {
+      int oldSize = queued.size;
+      if (queued.spill(ctx, playRegistry, direction)) {
+        account(0, queued.size - oldSize);
+      }
+    }
+  }
+
+  private void enqueue(QueuedPacket queued) {
+    this.queue.offer(queued);
+    account(1, queued.size);
+  }
+
+  private void account(int packets, long bytes) {
+    this.queuedBytes += bytes;
+    METRICS.queuedPackets.add(packets);
+    METRICS.queuedBytes.add(bytes);
+  }
+
+  /**
+   * Returns how many packets are queued.
+   *
+   * @return the number of queued packets
+   */
+  public int getQueuedPackets() {
+    return this.queue.size();
+  }
+
+  /**
+   * Returns how many bytes the queued packets take up. Packets that have not been encoded yet are
+   * estimated.
+   *
+   * @return the number of queued bytes
+   */
+  public long getQueuedBytes() {
+    return this.queuedBytes;
   }
 
   @Override
@@ -86,12 +241,13 @@ public class PlayPacketQueueOutboundHandler extends ChannelDuplexHandler {
 
   private void releaseQueue(ChannelHandlerContext ctx, boolean active) {
     // Send out all the queued packets
-    MinecraftPacket packet;
-    while ((packet = this.queue.poll()) != null) {
+    QueuedPacket queued;
+    while ((queued = this.queue.poll()) != null) {
+      account(-1, -queued.size);
       if (active) {
-        ctx.write(packet, ctx.voidPromise());
+        ctx.write(queued.msg, ctx.voidPromise());
       } else {
-        ReferenceCountUtil.release(packet);
+        ReferenceCountUtil.release(queued.msg);
       }
     }
 
@@ -99,4 +255,113 @@ public class PlayPacketQueueOutboundHandler extends ChannelDuplexHandler {
       ctx.flush();
     }
   }
+
+  private static final class QueuedPacket {
+
+    private final Class<?> type;
+    private Object msg;
+    private int size;
+
+    QueuedPacket(MinecraftPacket packet, int size) {
+      this.type = packet.getClass();
+      this.msg = packet;
+      this.size = size;
+    }
+
+    /**
+     * Replaces the packet with its encoded form, which is written out as it is once the queue is
+     * released.
+     *
+     * @return {@code true} if the packet was encoded
+     */
+    boolean spill(ChannelHandlerContext ctx, StateRegistry.PacketRegistry.ProtocolRegistry registry,
+        ProtocolUtils.Direction direction) {
+      if (!(this.msg instanceof MinecraftPacket packet) || !registry.containsPacket(packet)) {
+        return false;
+      }
+
+      ByteBuf buf = ctx.alloc().buffer(this.size + 5);
+      try {
+        ProtocolUtils.writeVarInt(buf, registry.getPacketId(packet));
+        packet.encode(buf, direction, registry.version);
+      } catch (Exception e) {
+        buf.release();
+        return false;
+      }
+      ReferenceCountUtil.release(packet);
+      this.msg = buf;
+      this.size = buf.readableBytes();
+      METRICS.spilledPackets.increment();
+      return true;
+    }
+  }
+
+  /**
+   * Returns the metrics of the queues of all connections combined.
+   *
+   * @return the queue metrics
+   */
+  public static Metrics getMetrics() {
+    return METRICS;
+  }
+
+  /**
+   * Metrics about the play packet queues.
+   */
+  public static final class Metrics {
+
+    private final LongAdder queuedPackets = new LongAdder();
+    private final LongAdder queuedBytes = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+    private final LongAdder droppedPackets = new LongAdder();
+    private final LongAdder spilledPackets = new LongAdder();
+
+    private Metrics() {
+    }
+
+    /**
+     * Returns how many packets are queued right now.
+     *
+     * @return the number of queued packets
+     */
+    public long getQueuedPackets() {
+      return queuedPackets.sum();
+    }
+
+    /**
+     * Returns how many bytes are queued right now.
+     *
+     * @return the number of queued bytes
+     */
+    public long getQueuedBytes() {
+      return queuedBytes.sum();
+    }
+
+    /**
+     * Returns how many times a queue exceeded its limits.
+     *
+     * @return the number of overflows
+     */
+    public long getOverflows() {
+      return overflows.sum();
+    }
+
+    /**
+     * Returns how many packets were dropped because a newer packet replaced them.
+     *
+     * @return the number of dropped packets
+     */
+    public long getDroppedPackets() {
+      return droppedPackets.sum();
+    }
+
+    /**
+     * Returns how many queued packets were encoded to save memory.
+     *
+     * @return the number of spilled packets
+     */
+    public long getSpilledPackets() {
+      return spilledPackets.sum();
+    }
+  }
 }
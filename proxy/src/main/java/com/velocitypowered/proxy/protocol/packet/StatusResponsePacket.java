@@ -31,6 +31,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 public class StatusResponsePacket implements MinecraftPacket {
 
   private @Nullable CharSequence status;
+  private @Nullable ByteBuf encodedStatus;
 
   public StatusResponsePacket() {
   }
@@ -39,6 +40,17 @@ public class StatusResponsePacket implements MinecraftPacket {
     this.status = status;
   }
 
+  /**
+   * Creates a status response from a status that has already been encoded as a VarInt
+   * length-prefixed string. The buffer may be shared between many packets: it is only ever read
+   * from, and never released.
+   *
+   * @param encodedStatus the encoded status
+   */
+  public StatusResponsePacket(ByteBuf encodedStatus) {
+    this.encodedStatus = encodedStatus;
+  }
+
   /**
    * Gets the status message from the packet.
    *
@@ -47,6 +59,9 @@ public class StatusResponsePacket implements MinecraftPacket {
    */
   public String getStatus() {
     if (status == null) {
+      if (encodedStatus != null) {
+        return ProtocolUtils.readString(encodedStatus.duplicate(), Short.MAX_VALUE);
+      }
       throw new IllegalStateException("Status is not specified");
     }
     return status.toString();
@@ -55,7 +70,7 @@ public class StatusResponsePacket implements MinecraftPacket {
   @Override
   public String toString() {
     return "StatusResponse{"
-        + "status='" + status + '\''
+        + "status='" + (status == null && encodedStatus != null ? getStatus() : status) + '\''
         + '}';
   }
 
@@ -66,6 +81,10 @@ public class StatusResponsePacket implements MinecraftPacket {
 
   @Override
   public void encode(ByteBuf buf, ProtocolUtils.Direction direction, ProtocolVersion version) {
+    if (encodedStatus != null) {
+      buf.writeBytes(encodedStatus, encodedStatus.readerIndex(), encodedStatus.readableBytes());
+      return;
+    }
     if (status == null) {
       throw new IllegalStateException("Status is not specified");
     }
@@ -79,6 +98,9 @@ public class StatusResponsePacket implements MinecraftPacket {
 
   @Override
   public int encodeSizeHint(Direction direction, ProtocolVersion version) {
+    if (this.encodedStatus != null) {
+      return this.encodedStatus.readableBytes();
+    }
     return ProtocolUtils.stringSizeHint(this.status);
   }
 }
@@ -20,10 +20,15 @@ package com.velocitypowered.proxy.protocol.packet.chat;
 import com.velocitypowered.proxy.connection.MinecraftConnection;
 import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
-import io.netty.channel.ChannelFuture;
+import io.netty.channel.EventLoop;
+import io.netty.util.internal.PlatformDependent;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -31,13 +36,23 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 /**
  * A precisely ordered queue which allows for outside entries into the ordered queue through
  * piggybacking timestamps.
+ *
+ * <p>Entries are offered to a multi-producer, single-consumer queue and drained on the event
+ * loop of the player, which is also the event loop of their backend connection. Each drain
+ * applies the chat state updates in order and writes every packet that is ready, then flushes
+ * once. An entry whose packet is still being produced (for example while a chat event is being
+ * fired) holds back the entries after it until it completes.</p>
  */
 public class ChatQueue implements AutoCloseable {
 
-  private final Object internalLock = new Object();
   private final ConnectedPlayer player;
+  private final EventLoop eventLoop;
   private final ChatState chatState = new ChatState();
-  private CompletableFuture<Void> head = CompletableFuture.completedFuture(null);
+  private final Queue<Entry> entries = PlatformDependent.newMpscQueue();
+  private final AtomicBoolean drainScheduled = new AtomicBoolean();
+  // Only accessed on the event loop.
+  private @Nullable Entry blocked;
+  private @Nullable CompletableFuture<? extends MinecraftPacket> blockedPacket;
 
   private volatile boolean closed;
 
@@ -48,31 +63,78 @@ public class ChatQueue implements AutoCloseable {
    */
   public ChatQueue(ConnectedPlayer player) {
     this.player = player;
+    this.eventLoop = player.getConnection().eventLoop();
   }
 
   private void queueTask(Task task) {
-    synchronized (internalLock) {
-      if (closed) {
-        throw new IllegalStateException("ChatQueue has already been closed");
-      }
-      MinecraftConnection smc = player.ensureAndGetCurrentServer().ensureConnected();
-      head = head.thenCompose(v -> {
-        if (closed) {
-          return CompletableFuture.completedFuture(null);
+    if (closed) {
+      throw new IllegalStateException("ChatQueue has already been closed");
+    }
+    MinecraftConnection smc = player.ensureAndGetCurrentServer().ensureConnected();
+    entries.offer(new Entry(task, smc));
+    scheduleDrain();
+  }
+
+  private void scheduleDrain() {
+    if (drainScheduled.compareAndSet(false, true)) {
+      eventLoop.execute(this::drain);
+    }
+  }
+
+  private void drain() {
+    drainScheduled.set(false);
+    List<MinecraftConnection> written = new ArrayList<>(1);
+    while (!closed) {
+      Entry entry = blocked;
+      CompletableFuture<? extends MinecraftPacket> packet = blockedPacket;
+      if (entry == null) {
+        entry = entries.poll();
+        if (entry == null) {
+          break;
         }
         try {
-          return task.update(chatState, smc).exceptionally(ignored -> null);
+          packet = entry.task.update(chatState);
         } catch (Throwable ignored) {
-          return CompletableFuture.completedFuture(null);
+          continue;
+        }
+      } else {
+        blocked = null;
+        blockedPacket = null;
+      }
+
+      if (!packet.isDone()) {
+        // Everything after this entry has to wait for it, so pick up where we left off once it
+        // completes.
+        blocked = entry;
+        blockedPacket = packet;
+        packet.whenComplete((ignored, throwable) -> scheduleDrain());
+        break;
+      }
+      if (!packet.isCompletedExceptionally()) {
+        MinecraftPacket ready = packet.join();
+        if (ready != null && !entry.smc.isClosed()) {
+          entry.smc.delayedWrite(ready);
+          if (!written.contains(entry.smc)) {
+            written.add(entry.smc);
+          }
         }
-      });
+      }
+    }
+
+    if (closed) {
+      entries.clear();
+      blocked = null;
+      blockedPacket = null;
+    }
+    for (MinecraftConnection smc : written) {
+      smc.flush();
     }
   }
 
   /**
    * Queues a packet sent from the player - all packets must wait until this processes to send their
    * packets. This maintains order on the server-level for the client insertions of commands
-   * and messages. All entries are locked through an internal object lock.
+   * and messages.
    *
    * @param nextPacket       a function mapping {@link LastSeenMessages} state to a {@link CompletableFuture} that will
    *                         provide the next-processed packet. This should include the fixed {@link LastSeenMessages}.
@@ -81,9 +143,9 @@ public class ChatQueue implements AutoCloseable {
    */
   public void queuePacket(Function<LastSeenMessages, CompletableFuture<MinecraftPacket>> nextPacket, @Nullable Instant timestamp,
                           @Nullable LastSeenMessages lastSeenMessages) {
-    queueTask((chatState, smc) -> {
+    queueTask(chatState -> {
       LastSeenMessages newLastSeenMessages = chatState.updateFromMessage(timestamp, lastSeenMessages);
-      return nextPacket.apply(newLastSeenMessages).thenCompose(packet -> writePacket(packet, smc));
+      return nextPacket.apply(newLastSeenMessages);
     });
   }
 
@@ -95,10 +157,7 @@ public class ChatQueue implements AutoCloseable {
    * @param <T>            the type of packet to send.
    */
   public <T extends MinecraftPacket> void queuePacket(Function<ChatState, T> packetFunction) {
-    queueTask((chatState, smc) -> {
-      T packet = packetFunction.apply(chatState);
-      return writePacket(packet, smc);
-    });
+    queueTask(chatState -> CompletableFuture.completedFuture(packetFunction.apply(chatState)));
   }
 
   /**
@@ -108,33 +167,24 @@ public class ChatQueue implements AutoCloseable {
    * @param offset the offset representing the specific message or event being acknowledged
    */
   public void handleAcknowledgement(int offset) {
-    queueTask((chatState, smc) -> {
+    queueTask(chatState -> {
       int ackCountToForward = chatState.accumulateAckCount(offset);
-      if (ackCountToForward > 0) {
-        return writePacket(new ChatAcknowledgementPacket(ackCountToForward), smc);
-      }
-      return CompletableFuture.completedFuture(null);
+      return CompletableFuture.completedFuture(ackCountToForward > 0
+          ? new ChatAcknowledgementPacket(ackCountToForward) : null);
     });
   }
 
-  private <T extends MinecraftPacket> CompletableFuture<Void> writePacket(T packet, MinecraftConnection smc) {
-    return CompletableFuture.runAsync(() -> {
-      if (!closed && !smc.isClosed()) {
-        ChannelFuture future = smc.write(packet);
-        if (future != null) {
-          future.awaitUninterruptibly();
-        }
-      }
-    }, smc.eventLoop());
-  }
-
   @Override
   public void close() {
     closed = true;
   }
 
   private interface Task {
-    CompletableFuture<Void> update(ChatState chatState, MinecraftConnection smc);
+    CompletableFuture<? extends MinecraftPacket> update(ChatState chatState);
+  }
+
+  private record Entry(Task task, MinecraftConnection smc) {
+
   }
 
   /**
@@ -0,0 +1,339 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.scheduler;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A {@link SchedulerBackend} based on a hierarchical timing wheel.
+ *
+ * <p>Time is divided into ticks. The wheel has {@value #LEVELS} levels of {@value #SLOTS} slots,
+ * where a slot of the first level covers a single tick and a slot of every further level covers
+ * all the slots of the level below it. A task is linked into the slot covering its deadline, and
+ * whenever a higher level slot is reached its tasks are moved down to the level below, until they
+ * expire from the first level. Scheduling and cancelling a task are therefore O(1), no matter how
+ * many tasks are scheduled, at the cost of running tasks up to one tick late.</p>
+ *
+ * <p>The wheel itself is only accessed by the timer thread. Other threads hand new and cancelled
+ * tasks over through lock-free queues, which are drained on every tick.</p>
+ */
+final class TimingWheelSchedulerBackend implements SchedulerBackend {
+
+  private static final Logger logger = LogManager.getLogger(TimingWheelSchedulerBackend.class);
+
+  static final long DEFAULT_TICK_MILLIS = 10;
+
+  private static final int SLOT_BITS = 6;
+  private static final int SLOTS = 1 << SLOT_BITS;
+  private static final int SLOT_MASK = SLOTS - 1;
+  private static final int LEVELS = 4;
+  private static final long MAX_DELTA = 1L << (SLOT_BITS * LEVELS);
+
+  private final Ticker ticker;
+  private final long tickNanos;
+  private final long startNanos;
+  private final Timeout[][] wheel = new Timeout[LEVELS][SLOTS];
+  private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+  private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+  private final @Nullable Thread worker;
+  private volatile boolean shutdown;
+  private long currentTick;
+
+  /**
+   * Creates a timing wheel with the default tick and starts its timer thread.
+   */
+  TimingWheelSchedulerBackend() {
+    this(DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS, Ticker.systemTicker(), true);
+  }
+
+  /**
+   * Creates a timing wheel.
+   *
+   * @param tick the duration of a tick
+   * @param unit the unit of {@code tick}
+   * @param ticker the source of time
+   * @param startWorker whether to start a timer thread; if not, {@link #expireTimeouts()} has to
+   *     be called to run due tasks
+   */
+  @VisibleForTesting
+  TimingWheelSchedulerBackend(long tick, TimeUnit unit, Ticker ticker, boolean startWorker) {
+    checkArgument(tick > 0, "tick must be > 0");
+    this.tickNanos = unit.toNanos(tick);
+    this.ticker = checkNotNull(ticker, "ticker");
+    this.startNanos = ticker.read();
+    if (startWorker) {
+      this.worker = new ThreadFactoryBuilder()
+          .setDaemon(true)
+          .setNameFormat("Velocity Task Scheduler Timer")
+          .build()
+          .newThread(this::runWorker);
+      this.worker.start();
+    } else {
+      this.worker = null;
+    }
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+    checkNotNull(task, "task");
+    checkNotNull(unit, "unit");
+    return enqueue(task, unit.toNanos(delay), 0);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long initialDelay, long period,
+      TimeUnit unit) {
+    checkNotNull(task, "task");
+    checkNotNull(unit, "unit");
+    checkArgument(period > 0, "period must be > 0");
+    return enqueue(task, unit.toNanos(initialDelay), unit.toNanos(period));
+  }
+
+  @Override
+  public void shutdown() {
+    shutdown = true;
+    if (worker != null) {
+      LockSupport.unpark(worker);
+    } else {
+      cancelAll();
+    }
+  }
+
+  private Timeout enqueue(Runnable task, long delayNanos, long periodNanos) {
+    if (shutdown) {
+      throw new RejectedExecutionException("backend is shut down");
+    }
+    Timeout timeout = new Timeout(task, elapsedNanos() + Math.max(0, delayNanos), periodNanos);
+    pending.add(timeout);
+    return timeout;
+  }
+
+  private long elapsedNanos() {
+    return ticker.read() - startNanos;
+  }
+
+  private void runWorker() {
+    while (!shutdown) {
+      long untilNextTick = (currentTick + 1) * tickNanos - elapsedNanos();
+      if (untilNextTick > 0) {
+        LockSupport.parkNanos(this, untilNextTick);
+      } else {
+        expireTimeouts();
+      }
+    }
+    cancelAll();
+  }
+
+  /**
+   * Advances the wheel up to the current time and runs every task that is due. Must only be called
+   * by the timer thread, or by tests if there is none.
+   */
+  @VisibleForTesting
+  void expireTimeouts() {
+    Timeout timeout;
+    while ((timeout = cancelled.poll()) != null) {
+      unlink(timeout);
+    }
+    while ((timeout = pending.poll()) != null) {
+      if (!timeout.isDone()) {
+        link(timeout, currentTick + 1);
+      }
+    }
+
+    long targetTick = elapsedNanos() / tickNanos;
+    while (currentTick < targetTick) {
+      long tick = ++currentTick;
+      // Move the tasks of every higher level slot that starts at this tick to the lower levels.
+      // Higher levels go first, as their tasks may land in a slot of a level that is cascaded
+      // on this tick too.
+      for (int level = LEVELS - 1; level > 0; level--) {
+        if ((tick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+          cascade(level, (int) (tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        }
+      }
+      expire((int) tick & SLOT_MASK);
+    }
+  }
+
+  private void cascade(int level, int slot) {
+    Timeout timeout = wheel[level][slot];
+    wheel[level][slot] = null;
+    while (timeout != null) {
+      Timeout next = timeout.next;
+      timeout.prev = null;
+      timeout.next = null;
+      timeout.level = -1;
+      // The first level slot of the current tick is yet to expire, so tasks may still go there.
+      link(timeout, currentTick);
+      timeout = next;
+    }
+  }
+
+  private void expire(int slot) {
+    Timeout timeout = wheel[0][slot];
+    wheel[0][slot] = null;
+    while (timeout != null) {
+      Timeout next = timeout.next;
+      timeout.prev = null;
+      timeout.next = null;
+      timeout.level = -1;
+      timeout.run();
+      timeout = next;
+    }
+  }
+
+  private void link(Timeout timeout, long earliestTick) {
+    // A deadline before the earliest tick that is yet to expire has already been passed over,
+    // so the task runs on that tick instead.
+    long deadline = Math.max(Math.ceilDiv(timeout.deadlineNanos, tickNanos), earliestTick);
+    long delta = deadline - currentTick;
+    if (delta >= MAX_DELTA) {
+      // Too far in the future for the wheel, so park it in the last slot of the top level. It is
+      // linked again once that slot is cascaded.
+      deadline = currentTick + MAX_DELTA - 1;
+      delta = MAX_DELTA - 1;
+    }
+    int level = 0;
+    while (delta >= 1L << (SLOT_BITS * (level + 1))) {
+      level++;
+    }
+    int slot = (int) (deadline >>> (SLOT_BITS * level)) & SLOT_MASK;
+
+    Timeout head = wheel[level][slot];
+    timeout.next = head;
+    if (head != null) {
+      head.prev = timeout;
+    }
+    wheel[level][slot] = timeout;
+    timeout.level = level;
+    timeout.slot = slot;
+  }
+
+  private void unlink(Timeout timeout) {
+    if (timeout.level < 0) {
+      return;
+    }
+    if (timeout.prev != null) {
+      timeout.prev.next = timeout.next;
+    } else {
+      wheel[timeout.level][timeout.slot] = timeout.next;
+    }
+    if (timeout.next != null) {
+      timeout.next.prev = timeout.prev;
+    }
+    timeout.prev = null;
+    timeout.next = null;
+    timeout.level = -1;
+  }
+
+  private void cancelAll() {
+    Timeout timeout;
+    while ((timeout = pending.poll()) != null) {
+      timeout.cancel(false);
+    }
+    for (Timeout[] slots : wheel) {
+      for (int slot = 0; slot < SLOTS; slot++) {
+        timeout = slots[slot];
+        slots[slot] = null;
+        while (timeout != null) {
+          Timeout next = timeout.next;
+          timeout.prev = null;
+          timeout.next = null;
+          timeout.level = -1;
+          timeout.cancel(false);
+          timeout = next;
+        }
+      }
+    }
+    cancelled.clear();
+  }
+
+  /**
+   * A task linked into the wheel. The links are only accessed by the timer thread.
+   */
+  private final class Timeout extends CompletableFuture<Object> implements ScheduledFuture<Object> {
+
+    private final Runnable task;
+    private final long periodNanos;
+    private volatile long deadlineNanos;
+    private @Nullable Timeout prev;
+    private @Nullable Timeout next;
+    private int level = -1;
+    private int slot;
+
+    private Timeout(Runnable task, long deadlineNanos, long periodNanos) {
+      this.task = task;
+      this.deadlineNanos = deadlineNanos;
+      this.periodNanos = periodNanos;
+    }
+
+    void run() {
+      if (isDone()) {
+        return;
+      }
+      try {
+        task.run();
+      } catch (Throwable t) {
+        logger.error("Exception in scheduled task {}", task, t);
+      }
+      if (periodNanos == 0) {
+        complete(null);
+      } else if (!isDone() && !shutdown) {
+        // Fixed rate: the next run is based on the scheduled time, not the time it actually ran.
+        deadlineNanos += periodNanos;
+        link(this, currentTick + 1);
+      }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      boolean cancelled = super.cancel(mayInterruptIfRunning);
+      if (cancelled) {
+        // Unlink it on the next tick so it does not linger in the wheel until its deadline.
+        TimingWheelSchedulerBackend.this.cancelled.add(this);
+      }
+      return cancelled;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(deadlineNanos - elapsedNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+  }
+}
@@ -20,25 +20,25 @@ package com.velocitypowered.proxy.scheduler;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
 import com.velocitypowered.api.plugin.PluginContainer;
 import com.velocitypowered.api.plugin.PluginManager;
 import com.velocitypowered.api.scheduler.ScheduledTask;
 import com.velocitypowered.api.scheduler.Scheduler;
 import com.velocitypowered.api.scheduler.TaskStatus;
+import com.velocitypowered.proxy.config.SchedulerBackendType;
 import com.velocitypowered.proxy.plugin.loader.VelocityPluginContainer;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -59,8 +59,13 @@ public class VelocityScheduler implements Scheduler {
 
   private final PluginManager pluginManager;
   private final SchedulerBackend backend;
-  private final Multimap<Object, ScheduledTask> tasksByPlugin = Multimaps.synchronizedMultimap(
-      Multimaps.newSetMultimap(new IdentityHashMap<>(), HashSet::new));
+  /**
+   * The scheduled tasks of every plugin. Both the map and the sets only lock the bin being
+   * updated, so tasks of different plugins, or even of the same plugin, can be added and removed
+   * concurrently.
+   */
+  private final ConcurrentHashMap<PluginContainer, Set<ScheduledTask>> tasksByPlugin =
+      new ConcurrentHashMap<>();
 
   /**
    * Initializes the scheduler.
@@ -71,6 +76,19 @@ public class VelocityScheduler implements Scheduler {
     this(pluginManager, new ExecutorSchedulerBackend());
   }
 
+  /**
+   * Initializes the scheduler with the specified type of backend.
+   *
+   * @param pluginManager the Velocity plugin manager
+   * @param backendType the type of backend to keep track of due tasks with
+   */
+  public VelocityScheduler(PluginManager pluginManager, SchedulerBackendType backendType) {
+    this(pluginManager, switch (backendType) {
+      case EXECUTOR -> new ExecutorSchedulerBackend();
+      case TIMING_WHEEL -> new TimingWheelSchedulerBackend();
+    });
+  }
+
   @VisibleForTesting
   VelocityScheduler(PluginManager pluginManager, SchedulerBackend backend) {
     this.pluginManager = pluginManager;
@@ -98,11 +116,10 @@ public class VelocityScheduler implements Scheduler {
   @Override
   public @NonNull Collection<ScheduledTask> tasksByPlugin(@NonNull Object plugin) {
     checkNotNull(plugin, "plugin");
-    checkArgument(pluginManager.fromInstance(plugin).isPresent(), "plugin is not registered");
-    final Collection<ScheduledTask> tasks = tasksByPlugin.get(plugin);
-    synchronized (tasksByPlugin) {
-      return Set.copyOf(tasks);
-    }
+    final Optional<PluginContainer> container = pluginManager.fromInstance(plugin);
+    checkArgument(container.isPresent(), "plugin is not registered");
+    final Set<ScheduledTask> tasks = tasksByPlugin.get(container.get());
+    return tasks == null ? Set.of() : Set.copyOf(tasks);
   }
 
   /**
@@ -112,9 +129,9 @@ public class VelocityScheduler implements Scheduler {
    * @throws InterruptedException if the current thread was interrupted
    */
   public boolean shutdown() throws InterruptedException {
-    Collection<ScheduledTask> terminating;
-    synchronized (tasksByPlugin) {
-      terminating = ImmutableList.copyOf(tasksByPlugin.values());
+    final List<ScheduledTask> terminating = new ArrayList<>();
+    for (final Set<ScheduledTask> tasks : tasksByPlugin.values()) {
+      terminating.addAll(tasks);
     }
     for (ScheduledTask task : terminating) {
       task.cancel();
@@ -205,7 +222,7 @@ public class VelocityScheduler implements Scheduler {
     @Override
     public ScheduledTask schedule() {
       VelocityTask task = new VelocityTask(container, runnable, consumer, delay, repeat);
-      tasksByPlugin.put(container.getInstance().get(), task);
+      tasksByPlugin.computeIfAbsent(container, k -> ConcurrentHashMap.newKeySet()).add(task);
       task.schedule();
       return task;
     }
@@ -278,36 +295,57 @@ public class VelocityScheduler implements Scheduler {
 
     @Override
     public void run() {
-      container.getExecutorService().execute(() -> {
-        currentTaskThread = Thread.currentThread();
-        try {
-          if (runnable != null) {
-            runnable.run();
-          } else {
-            consumer.accept(this);
-          }
-        } catch (Throwable e) {
-          //noinspection ConstantConditions
-          if (e instanceof InterruptedException) {
-            Thread.currentThread().interrupt();
-          } else {
-            String friendlyPluginName = container.getDescription().getName()
-                .orElse(container.getDescription().getId());
-            Object unit = consumer == null ? runnable : consumer;
-            Log.logger.error("Exception in task {} by plugin {}", unit, friendlyPluginName,
-                e);
-          }
-        } finally {
+      ExecutorService executor = container.getExecutorService();
+      try {
+        executor.execute(this::runTask);
+      } catch (RejectedExecutionException e) {
+        if (executor.isShutdown()) {
+          // The plugin is going away, so its tasks don't run anymore.
           if (repeat == 0) {
             onFinish();
           }
-          currentTaskThread = null;
+          return;
+        }
+        // Skipping the run could silently stop whatever the task enforces.
+        Log.logger.warn("The executor of plugin {} rejected task {}, running it on a fallback "
+            + "thread instead", container.getDescription().getId(),
+            consumer == null ? runnable : consumer);
+        Log.FALLBACK_EXECUTOR.execute(this::runTask);
+      }
+    }
+
+    private void runTask() {
+      currentTaskThread = Thread.currentThread();
+      try {
+        if (runnable != null) {
+          runnable.run();
+        } else {
+          consumer.accept(this);
+        }
+      } catch (Throwable e) {
+        //noinspection ConstantConditions
+        if (e instanceof InterruptedException) {
+          Thread.currentThread().interrupt();
+        } else {
+          String friendlyPluginName = container.getDescription().getName()
+              .orElse(container.getDescription().getId());
+          Object unit = consumer == null ? runnable : consumer;
+          Log.logger.error("Exception in task {} by plugin {}", unit, friendlyPluginName,
+              e);
         }
-      });
+      } finally {
+        if (repeat == 0) {
+          onFinish();
+        }
+        currentTaskThread = null;
+      }
     }
 
     private void onFinish() {
-      tasksByPlugin.remove(plugin(), this);
+      final Set<ScheduledTask> tasks = tasksByPlugin.get(container);
+      if (tasks != null) {
+        tasks.remove(this);
+      }
     }
 
     public void awaitCompletion() {
@@ -324,5 +362,8 @@ public class VelocityScheduler implements Scheduler {
   private static class Log {
 
     private static final Logger logger = LogManager.getLogger(VelocityTask.class);
+    // Runs tasks the executor of their plugin rejected because it is saturated.
+    private static final Executor FALLBACK_EXECUTOR = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("Velocity Task Fallback #", 0).factory());
   }
 }
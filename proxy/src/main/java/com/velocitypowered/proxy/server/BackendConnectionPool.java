@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.server;
+
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.config.VelocityConfiguration;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.EventLoop;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Keeps connections to a backend server open ahead of time, so that sending a player to it does
+ * not have to wait for a TCP connection to be established first.
+ *
+ * <p>A backend connection uses the event loop of its player, so connections are kept per event
+ * loop. They are only connected, not logged in: the handshake carries the player's protocol
+ * version, virtual host and, depending on the forwarding mode, their address and profile, so it
+ * can't be sent before the player is known.</p>
+ */
+public final class BackendConnectionPool {
+
+  private final VelocityServer server;
+  private final VelocityRegisteredServer target;
+  private final Map<EventLoop, Slot> slots = new ConcurrentHashMap<>();
+
+  BackendConnectionPool(VelocityServer server, VelocityRegisteredServer target) {
+    this.server = server;
+    this.target = target;
+  }
+
+  /**
+   * Takes an open connection for the specified event loop out of the pool.
+   *
+   * @param loop the event loop of the player
+   * @return an open connection, or {@code null} if there is none
+   */
+  public @Nullable Channel poll(EventLoop loop) {
+    Slot slot = slots.get(loop);
+    if (slot == null) {
+      return null;
+    }
+    long maxAge = maxAgeNanos();
+    long now = System.nanoTime();
+    Warm warm;
+    while ((warm = slot.idle.pollFirst()) != null) {
+      if (warm.channel.isActive() && now - warm.openedAt < maxAge) {
+        return warm.channel;
+      }
+      warm.channel.close();
+    }
+    return null;
+  }
+
+  /**
+   * Closes the connections of the specified event loop that are too old, and opens new ones until
+   * {@code size} connections are open or opening. Nothing is opened if the event loop is not
+   * kept by the last call to {@link #retain(Collection)}, or the pool was closed since.
+   *
+   * @param loop the event loop to open connections on
+   * @param size the number of connections to keep
+   */
+  void fill(EventLoop loop, int size) {
+    Slot slot = slots.get(loop);
+    if (slot == null || slot.closed) {
+      return;
+    }
+    long maxAge = maxAgeNanos();
+    long now = System.nanoTime();
+    slot.idle.removeIf(warm -> {
+      if (warm.channel.isActive() && now - warm.openedAt < maxAge) {
+        return false;
+      }
+      warm.channel.close();
+      return true;
+    });
+    for (int missing = size - slot.idle.size() - slot.opening.get(); missing > 0; missing--) {
+      open(loop, slot);
+    }
+  }
+
+  private void open(EventLoop loop, Slot slot) {
+    slot.opening.incrementAndGet();
+    server.createBootstrap(loop)
+        .handler(server.getBackendChannelInitializer())
+        .connect(target.getServerInfo().getAddress())
+        .addListener((ChannelFutureListener) future -> {
+          slot.opening.decrementAndGet();
+          // If the server is down, there is nothing to do but try again next time.
+          if (future.isSuccess()) {
+            slot.add(new Warm(future.channel(), System.nanoTime()));
+          }
+        });
+  }
+
+  /**
+   * Keeps connections for the event loops in {@code loops}, and closes those of every other
+   * event loop.
+   *
+   * @param loops the event loops to keep connections for
+   */
+  void retain(Collection<EventLoop> loops) {
+    slots.entrySet().removeIf(entry -> {
+      if (loops.contains(entry.getKey())) {
+        return false;
+      }
+      entry.getValue().close();
+      return true;
+    });
+    for (EventLoop loop : loops) {
+      slots.computeIfAbsent(loop, l -> new Slot());
+    }
+  }
+
+  /**
+   * Closes all connections in the pool, including those still being opened.
+   */
+  void close() {
+    slots.values().forEach(Slot::close);
+    slots.clear();
+  }
+
+  int size() {
+    return slots.values().stream().mapToInt(slot -> slot.idle.size()).sum();
+  }
+
+  private long maxAgeNanos() {
+    VelocityConfiguration configuration = server.getConfiguration();
+    // Idle connections are closed by the read timeout, so hand them out well before that.
+    int maxAge = Math.min(configuration.getBackendPrewarmTtl(), configuration.getReadTimeout() / 2);
+    return TimeUnit.MILLISECONDS.toNanos(maxAge);
+  }
+
+  private record Warm(Channel channel, long openedAt) {
+
+  }
+
+  private static final class Slot {
+
+    private final Deque<Warm> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger opening = new AtomicInteger();
+    private volatile boolean closed;
+
+    void add(Warm warm) {
+      if (closed) {
+        warm.channel.close();
+        return;
+      }
+      idle.add(warm);
+      warm.channel.closeFuture().addListener(future -> idle.remove(warm));
+      // The slot may have been closed while the connection was being added.
+      if (closed && idle.remove(warm)) {
+        warm.channel.close();
+      }
+    }
+
+    void close() {
+      closed = true;
+      Warm warm;
+      while ((warm = idle.pollFirst()) != null) {
+        warm.channel.close();
+      }
+    }
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.server;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.config.VelocityConfiguration;
+import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Keeps the {@link BackendConnectionPool} of the servers players are most likely to be sent to
+ * topped up. Those are the servers in the try list and the forced hosts, and connections are kept
+ * on every event loop that has players on it. The pools are maintained from a thread of its own,
+ * which only runs while {@code backend-prewarm-connections} is enabled.
+ */
+public final class BackendPrewarmer implements Runnable {
+
+  private static final long PERIOD_MILLIS = 1000;
+
+  private final VelocityServer server;
+  private final EventLoopGroup workerGroup;
+  private final Set<VelocityRegisteredServer> warmed = new HashSet<>();
+  private @Nullable ScheduledExecutorService executor;
+  private @Nullable ScheduledFuture<?> task;
+
+  /**
+   * Creates a prewarmer for the specified proxy.
+   *
+   * @param server the proxy
+   * @param workerGroup the event loops players are handled on
+   */
+  public BackendPrewarmer(VelocityServer server, EventLoopGroup workerGroup) {
+    this.server = server;
+    this.workerGroup = workerGroup;
+  }
+
+  /**
+   * Starts or stops keeping connections open, depending on whether the configuration enables it.
+   * This is called on startup and again after the configuration is reloaded.
+   *
+   * @param configuration the current configuration
+   */
+  public synchronized void configure(VelocityConfiguration configuration) {
+    if (configuration.getBackendPrewarmConnections() <= 0) {
+      cancel();
+      return;
+    }
+    if (task != null) {
+      return;
+    }
+    if (executor == null) {
+      executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+          .setDaemon(true)
+          .setNameFormat("Velocity Backend Prewarmer")
+          .build());
+    }
+    task = executor.scheduleWithFixedDelay(this, PERIOD_MILLIS, PERIOD_MILLIS,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops keeping connections open, and closes the ones that are.
+   */
+  public synchronized void stop() {
+    cancel();
+    if (executor != null) {
+      executor.shutdown();
+      executor = null;
+    }
+  }
+
+  private void cancel() {
+    if (task != null) {
+      task.cancel(false);
+      task = null;
+    }
+    warmed.forEach(target -> target.getConnectionPool().close());
+    warmed.clear();
+  }
+
+  @Override
+  public synchronized void run() {
+    if (task == null) {
+      // Cancelled while this run was waiting for the lock.
+      return;
+    }
+    VelocityConfiguration configuration = server.getConfiguration();
+    int size = configuration.getBackendPrewarmConnections();
+    Set<VelocityRegisteredServer> targets = size > 0 ? targets(configuration) : Set.of();
+    Set<EventLoop> loops = targets.isEmpty() ? Set.of() : playerLoops();
+
+    for (VelocityRegisteredServer target : warmed) {
+      if (!targets.contains(target)) {
+        target.getConnectionPool().close();
+      }
+    }
+    warmed.retainAll(targets);
+    for (VelocityRegisteredServer target : targets) {
+      BackendConnectionPool pool = target.getConnectionPool();
+      pool.retain(loops);
+      for (EventLoop loop : loops) {
+        loop.execute(() -> pool.fill(loop, size));
+      }
+      warmed.add(target);
+    }
+  }
+
+  private Set<EventLoop> playerLoops() {
+    int workers = 0;
+    for (EventExecutor ignored : workerGroup) {
+      workers++;
+    }
+    Set<EventLoop> loops = new HashSet<>();
+    for (Player player : server.getAllPlayers()) {
+      loops.add(((ConnectedPlayer) player).getConnection().eventLoop());
+      if (loops.size() == workers) {
+        // Every event loop has players, no need to look at the rest.
+        break;
+      }
+    }
+    return loops;
+  }
+
+  /**
+   * Returns the servers to keep connections to: the try list followed by the forced hosts, in
+   * configuration order and without duplicates or servers that are not registered.
+   *
+   * @param configuration the configuration to read the servers from
+   * @return the servers to keep connections to
+   */
+  Set<VelocityRegisteredServer> targets(VelocityConfiguration configuration) {
+    Set<String> names = new LinkedHashSet<>(configuration.getAttemptConnectionOrder());
+    for (List<String> forced : configuration.getForcedHosts().values()) {
+      names.addAll(forced);
+    }
+
+    Set<VelocityRegisteredServer> targets = new LinkedHashSet<>();
+    for (String name : names) {
+      Optional<RegisteredServer> target = server.getServer(name);
+      if (target.isPresent() && target.get() instanceof VelocityRegisteredServer registered) {
+        targets.add(registered);
+      }
+    }
+    return targets;
+  }
+}
@@ -24,7 +24,9 @@ import com.velocitypowered.api.event.proxy.server.ServerUnregisteredEvent;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import com.velocitypowered.api.proxy.server.ServerInfo;
 import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.util.collect.PrefixIndex;
 import java.util.Collection;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
@@ -38,6 +40,7 @@ public class ServerMap {
 
   private final @Nullable VelocityServer server;
   private final Map<String, RegisteredServer> servers = new ConcurrentHashMap<>();
+  private final PrefixIndex<RegisteredServer> serverNames = new PrefixIndex<>();
 
   public ServerMap(@Nullable VelocityServer server) {
     this.server = server;
@@ -59,6 +62,17 @@ public class ServerMap {
     return ImmutableList.copyOf(servers.values());
   }
 
+  /**
+   * Returns the servers whose names start with {@code partialName}, ignoring case.
+   *
+   * @param partialName the start of the name
+   * @param limit the maximum number of servers to return
+   * @return the matching servers
+   */
+  public List<RegisteredServer> matchServer(String partialName, int limit) {
+    return serverNames.find(partialName, limit);
+  }
+
   /**
    * Creates a raw implementation of a {@link RegisteredServer} without tying it to the internal
    * server map.
@@ -86,6 +100,7 @@ public class ServerMap {
       throw new IllegalArgumentException(
           "Server with name " + serverInfo.getName() + " already registered");
     } else if (existing == null) {
+      serverNames.put(lowerName, rs);
       if (server != null) {
         server.getEventManager().fireAndForget(new ServerRegisteredEvent(rs));
       }
@@ -113,6 +128,7 @@ public class ServerMap {
         "Trying to remove server %s with differing information", serverInfo.getName());
     Preconditions.checkState(servers.remove(lowerName, rs),
         "Server with name %s replaced whilst unregistering", serverInfo.getName());
+    serverNames.remove(lowerName, rs);
 
     if (server != null) {
       server.getEventManager().fireAndForget(new ServerUnregisteredEvent(rs));
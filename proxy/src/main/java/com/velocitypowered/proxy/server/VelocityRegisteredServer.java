@@ -26,7 +26,7 @@ import static com.velocitypowered.proxy.network.Connections.READ_TIMEOUT;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableList;
+import com.velocitypowered.api.network.LatencyStatistics;
 import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.messages.ChannelIdentifier;
 import com.velocitypowered.api.proxy.messages.PluginMessageEncoder;
@@ -38,6 +38,7 @@ import com.velocitypowered.proxy.VelocityServer;
 import com.velocitypowered.proxy.connection.MinecraftConnection;
 import com.velocitypowered.proxy.connection.backend.VelocityServerConnection;
 import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import com.velocitypowered.proxy.connection.client.PlayerBroadcaster;
 import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import com.velocitypowered.proxy.protocol.StateRegistry;
 import com.velocitypowered.proxy.protocol.netty.MinecraftDecoder;
@@ -45,6 +46,8 @@ import com.velocitypowered.proxy.protocol.netty.MinecraftEncoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftVarintFrameDecoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftVarintLengthEncoder;
 import com.velocitypowered.proxy.protocol.util.ByteBufDataOutput;
+import com.velocitypowered.proxy.util.LatencyHistogram;
+import com.velocitypowered.proxy.util.collect.SnapshotMap;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
@@ -53,13 +56,15 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.EventLoop;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import java.util.Collection;
-import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.audience.ForwardingAudience;
+import net.kyori.adventure.audience.MessageType;
+import net.kyori.adventure.identity.Identity;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.title.Title;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.jetbrains.annotations.NotNull;
@@ -71,11 +76,15 @@ public class VelocityRegisteredServer implements RegisteredServer, ForwardingAud
 
   private final @Nullable VelocityServer server;
   private final ServerInfo serverInfo;
-  private final Map<UUID, ConnectedPlayer> players = new ConcurrentHashMap<>();
+  private final SnapshotMap<UUID, ConnectedPlayer> players = new SnapshotMap<>();
+  private final @Nullable BackendConnectionPool connectionPool;
+  private final LatencyHistogram pingHistogram = new LatencyHistogram();
+  private final LatencyHistogram keepAliveDelayHistogram = new LatencyHistogram();
 
   public VelocityRegisteredServer(@Nullable VelocityServer server, ServerInfo serverInfo) {
     this.server = server;
     this.serverInfo = Preconditions.checkNotNull(serverInfo, "serverInfo");
+    this.connectionPool = server == null ? null : new BackendConnectionPool(server, this);
   }
 
   @Override
@@ -84,8 +93,38 @@ public class VelocityRegisteredServer implements RegisteredServer, ForwardingAud
   }
 
   @Override
+  @SuppressWarnings("unchecked")
   public Collection<Player> getPlayersConnected() {
-    return ImmutableList.copyOf(players.values());
+    // The snapshot is immutable, so it can safely be viewed as a list of the supertype.
+    return (Collection<Player>) (Collection<? extends Player>) players.values();
+  }
+
+  @Override
+  public LatencyStatistics getPingStatistics() {
+    return pingHistogram.toStatistics();
+  }
+
+  @Override
+  public LatencyStatistics getKeepAliveDelayStatistics() {
+    return keepAliveDelayHistogram.toStatistics();
+  }
+
+  /**
+   * Records the round trip time of a keep-alive this server sent to one of its players.
+   *
+   * @param nanos the round trip time in nanoseconds
+   */
+  public void recordPing(long nanos) {
+    pingHistogram.recordNanos(nanos);
+  }
+
+  /**
+   * Records how late this server sent a keep-alive.
+   *
+   * @param nanos the delay in nanoseconds
+   */
+  public void recordKeepAliveDelay(long nanos) {
+    keepAliveDelayHistogram.recordNanos(nanos);
   }
 
   @Override
@@ -138,6 +177,18 @@ public class VelocityRegisteredServer implements RegisteredServer, ForwardingAud
     return pingFuture;
   }
 
+  /**
+   * Returns the connections to this server opened ahead of time.
+   *
+   * @return the connection pool
+   */
+  public BackendConnectionPool getConnectionPool() {
+    if (connectionPool == null) {
+      throw new IllegalStateException("No Velocity proxy instance available");
+    }
+    return connectionPool;
+  }
+
   public void addPlayer(ConnectedPlayer player) {
     players.put(player.getUniqueId(), player);
   }
@@ -201,4 +252,30 @@ public class VelocityRegisteredServer implements RegisteredServer, ForwardingAud
   public @NonNull Iterable<? extends Audience> audiences() {
     return this.getPlayersConnected();
   }
+
+  @Override
+  public void sendMessage(@NonNull Component message) {
+    this.sendMessage(Identity.nil(), message);
+  }
+
+  @Override
+  public void sendMessage(@NonNull Identity source, @NonNull Component message) {
+    PlayerBroadcaster.sendMessage(this.players.values(), source, message, null);
+  }
+
+  @Override
+  public void sendMessage(@NonNull Identity source, @NonNull Component message,
+                          @NonNull MessageType type) {
+    PlayerBroadcaster.sendMessage(this.players.values(), source, message, type);
+  }
+
+  @Override
+  public void sendActionBar(@NonNull Component message) {
+    PlayerBroadcaster.sendActionBar(this.players.values(), message);
+  }
+
+  @Override
+  public void showTitle(@NonNull Title title) {
+    PlayerBroadcaster.showTitle(this.players.values(), title);
+  }
 }
@@ -0,0 +1,343 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.tablist;
+
+import com.google.common.base.Preconditions;
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.proxy.player.SharedTabList;
+import com.velocitypowered.api.proxy.player.SharedTabListEntry;
+import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import com.velocitypowered.proxy.connection.client.PlayerBroadcaster;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import com.velocitypowered.proxy.protocol.packet.LegacyPlayerListItemPacket;
+import com.velocitypowered.proxy.protocol.packet.RemovePlayerInfoPacket;
+import com.velocitypowered.proxy.protocol.packet.UpsertPlayerInfoPacket;
+import com.velocitypowered.proxy.protocol.packet.chat.ComponentHolder;
+import com.velocitypowered.proxy.util.collect.SnapshotMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Implements the {@link SharedTabList}.
+ *
+ * <p>Every change is turned into a {@link Delta} holding the entries before and after it, and
+ * the delta is turned into packets once per protocol version of the viewers: player info
+ * upserts and removals on 1.19.3 and above, and player list items below that. Changes are sent
+ * while holding the lock of the tab list, so every viewer sees them in the same order.</p>
+ */
+public final class VelocitySharedTabList implements SharedTabList {
+
+  private final Map<UUID, SharedTabListEntry> entries = new LinkedHashMap<>();
+  private final SnapshotMap<UUID, ConnectedPlayer> viewers = new SnapshotMap<>();
+
+  @Override
+  public void putEntry(SharedTabListEntry entry) {
+    putEntries(List.of(entry));
+  }
+
+  @Override
+  public synchronized void putEntries(Collection<SharedTabListEntry> entries) {
+    Delta delta = new Delta();
+    for (SharedTabListEntry entry : entries) {
+      Preconditions.checkNotNull(entry, "entry");
+      SharedTabListEntry previous = this.entries.put(entry.id(), entry);
+      if (previous == null) {
+        delta.added.add(entry);
+      } else if (!previous.profile().equals(entry.profile())) {
+        // The profile can only be sent when adding the entry.
+        delta.removed.add(previous);
+        delta.added.add(entry);
+      } else if (!previous.equals(entry)) {
+        delta.updated.add(new Change(previous, entry));
+      }
+    }
+    send(viewers.values(), delta);
+  }
+
+  @Override
+  public synchronized Optional<SharedTabListEntry> removeEntry(UUID id) {
+    Preconditions.checkNotNull(id, "id");
+    SharedTabListEntry removed = entries.remove(id);
+    if (removed != null) {
+      Delta delta = new Delta();
+      delta.removed.add(removed);
+      send(viewers.values(), delta);
+    }
+    return Optional.ofNullable(removed);
+  }
+
+  @Override
+  public synchronized Optional<SharedTabListEntry> getEntry(UUID id) {
+    return Optional.ofNullable(entries.get(id));
+  }
+
+  @Override
+  public synchronized Collection<SharedTabListEntry> getEntries() {
+    return List.copyOf(entries.values());
+  }
+
+  @Override
+  public synchronized void addViewer(Player player) {
+    Preconditions.checkArgument(player instanceof ConnectedPlayer, "Not a Velocity player");
+    ConnectedPlayer viewer = (ConnectedPlayer) player;
+    if (viewers.putIfAbsent(viewer.getUniqueId(), viewer) == null) {
+      resend(viewer);
+    }
+  }
+
+  @Override
+  public synchronized boolean removeViewer(Player player) {
+    Preconditions.checkArgument(player instanceof ConnectedPlayer, "Not a Velocity player");
+    ConnectedPlayer viewer = (ConnectedPlayer) player;
+    if (!viewers.remove(viewer.getUniqueId(), viewer)) {
+      return false;
+    }
+    Delta delta = new Delta();
+    delta.removed.addAll(entries.values());
+    send(List.of(viewer), delta);
+    return true;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Collection<Player> getViewers() {
+    // The snapshot is immutable, so it can safely be viewed as a list of the supertype.
+    return (Collection<Player>) (Collection<? extends Player>) viewers.values();
+  }
+
+  /**
+   * Sends every entry to {@code player} again if they are a viewer, after their client cleared
+   * its tab list.
+   *
+   * @param player the player
+   */
+  public synchronized void resendIfViewing(ConnectedPlayer player) {
+    if (viewers.get(player.getUniqueId()) == player) {
+      resend(player);
+    }
+  }
+
+  /**
+   * Forgets a viewer that disconnected, without sending them anything.
+   *
+   * @param player the player that disconnected
+   */
+  public void disconnected(ConnectedPlayer player) {
+    viewers.remove(player.getUniqueId(), player);
+  }
+
+  private void resend(ConnectedPlayer viewer) {
+    Delta delta = new Delta();
+    delta.added.addAll(entries.values());
+    send(List.of(viewer), delta);
+  }
+
+  private static void send(Collection<ConnectedPlayer> viewers, Delta delta) {
+    if (!viewers.isEmpty() && !delta.isEmpty()) {
+      PlayerBroadcaster.sendPackets(viewers, ProtocolVersion.MINECRAFT_1_8, delta::packets);
+    }
+  }
+
+  record Change(SharedTabListEntry previous, SharedTabListEntry current) {
+
+  }
+
+  /**
+   * The entries a single change to the tab list added, updated and removed.
+   */
+  static final class Delta {
+
+    final List<SharedTabListEntry> added = new ArrayList<>();
+    final List<Change> updated = new ArrayList<>();
+    final List<SharedTabListEntry> removed = new ArrayList<>();
+
+    boolean isEmpty() {
+      return added.isEmpty() && updated.isEmpty() && removed.isEmpty();
+    }
+
+    List<MinecraftPacket> packets(ProtocolVersion version) {
+      return version.noLessThan(ProtocolVersion.MINECRAFT_1_19_3)
+          ? upsertPackets(version) : legacyPackets();
+    }
+
+    private List<MinecraftPacket> upsertPackets(ProtocolVersion version) {
+      List<MinecraftPacket> packets = new ArrayList<>(3);
+      if (!removed.isEmpty()) {
+        packets.add(new RemovePlayerInfoPacket(ids(removed)));
+      }
+
+      if (!added.isEmpty()) {
+        EnumSet<UpsertPlayerInfoPacket.Action> actions = EnumSet.of(
+            UpsertPlayerInfoPacket.Action.ADD_PLAYER,
+            UpsertPlayerInfoPacket.Action.UPDATE_GAME_MODE,
+            UpsertPlayerInfoPacket.Action.UPDATE_LISTED,
+            UpsertPlayerInfoPacket.Action.UPDATE_LATENCY,
+            UpsertPlayerInfoPacket.Action.UPDATE_DISPLAY_NAME);
+        addVersionedActions(actions, version);
+        List<UpsertPlayerInfoPacket.Entry> upserts = new ArrayList<>(added.size());
+        for (SharedTabListEntry entry : added) {
+          upserts.add(upsert(entry, version));
+        }
+        packets.add(new UpsertPlayerInfoPacket(actions, upserts));
+      }
+
+      if (!updated.isEmpty()) {
+        // All the entries of a packet share the same actions, so send what changed in any of
+        // them. Writing an unchanged value for the others is harmless.
+        EnumSet<UpsertPlayerInfoPacket.Action> actions =
+            EnumSet.noneOf(UpsertPlayerInfoPacket.Action.class);
+        List<UpsertPlayerInfoPacket.Entry> upserts = new ArrayList<>(updated.size());
+        for (Change change : updated) {
+          SharedTabListEntry previous = change.previous;
+          SharedTabListEntry current = change.current;
+          if (!Objects.equals(previous.displayName(), current.displayName())) {
+            actions.add(UpsertPlayerInfoPacket.Action.UPDATE_DISPLAY_NAME);
+          }
+          if (previous.latency() != current.latency()) {
+            actions.add(UpsertPlayerInfoPacket.Action.UPDATE_LATENCY);
+          }
+          if (previous.gameMode() != current.gameMode()) {
+            actions.add(UpsertPlayerInfoPacket.Action.UPDATE_GAME_MODE);
+          }
+          if (previous.listed() != current.listed()) {
+            actions.add(UpsertPlayerInfoPacket.Action.UPDATE_LISTED);
+          }
+          if (previous.listOrder() != current.listOrder()
+              && version.noLessThan(ProtocolVersion.MINECRAFT_1_21_2)) {
+            actions.add(UpsertPlayerInfoPacket.Action.UPDATE_LIST_ORDER);
+          }
+          if (previous.showHat() != current.showHat()
+              && version.noLessThan(ProtocolVersion.MINECRAFT_1_21_4)) {
+            actions.add(UpsertPlayerInfoPacket.Action.UPDATE_HAT);
+          }
+          upserts.add(upsert(current, version));
+        }
+        if (!actions.isEmpty()) {
+          packets.add(new UpsertPlayerInfoPacket(actions, upserts));
+        }
+      }
+      return packets;
+    }
+
+    private List<MinecraftPacket> legacyPackets() {
+      // Player list items can't hide an entry, so an unlisted entry is left out entirely.
+      List<LegacyPlayerListItemPacket.Item> removals = new ArrayList<>();
+      List<LegacyPlayerListItemPacket.Item> additions = new ArrayList<>();
+      List<LegacyPlayerListItemPacket.Item> gameModes = new ArrayList<>();
+      List<LegacyPlayerListItemPacket.Item> latencies = new ArrayList<>();
+      List<LegacyPlayerListItemPacket.Item> displayNames = new ArrayList<>();
+      for (SharedTabListEntry entry : removed) {
+        if (entry.listed()) {
+          removals.add(new LegacyPlayerListItemPacket.Item(entry.id()));
+        }
+      }
+      for (SharedTabListEntry entry : added) {
+        if (entry.listed()) {
+          additions.add(item(entry));
+        }
+      }
+      for (Change change : updated) {
+        SharedTabListEntry previous = change.previous;
+        SharedTabListEntry current = change.current;
+        if (previous.listed() != current.listed()) {
+          if (current.listed()) {
+            additions.add(item(current));
+          } else {
+            removals.add(new LegacyPlayerListItemPacket.Item(current.id()));
+          }
+          continue;
+        } else if (!current.listed()) {
+          continue;
+        }
+        if (previous.gameMode() != current.gameMode()) {
+          gameModes.add(item(current));
+        }
+        if (previous.latency() != current.latency()) {
+          latencies.add(item(current));
+        }
+        if (!Objects.equals(previous.displayName(), current.displayName())) {
+          displayNames.add(item(current));
+        }
+      }
+
+      List<MinecraftPacket> packets = new ArrayList<>(5);
+      addLegacy(packets, LegacyPlayerListItemPacket.REMOVE_PLAYER, removals);
+      addLegacy(packets, LegacyPlayerListItemPacket.ADD_PLAYER, additions);
+      addLegacy(packets, LegacyPlayerListItemPacket.UPDATE_GAMEMODE, gameModes);
+      addLegacy(packets, LegacyPlayerListItemPacket.UPDATE_LATENCY, latencies);
+      addLegacy(packets, LegacyPlayerListItemPacket.UPDATE_DISPLAY_NAME, displayNames);
+      return packets;
+    }
+
+    private static void addVersionedActions(EnumSet<UpsertPlayerInfoPacket.Action> actions,
+        ProtocolVersion version) {
+      if (version.noLessThan(ProtocolVersion.MINECRAFT_1_21_2)) {
+        actions.add(UpsertPlayerInfoPacket.Action.UPDATE_LIST_ORDER);
+      }
+      if (version.noLessThan(ProtocolVersion.MINECRAFT_1_21_4)) {
+        actions.add(UpsertPlayerInfoPacket.Action.UPDATE_HAT);
+      }
+    }
+
+    private static UpsertPlayerInfoPacket.Entry upsert(SharedTabListEntry entry,
+        ProtocolVersion version) {
+      UpsertPlayerInfoPacket.Entry upsert = new UpsertPlayerInfoPacket.Entry(entry.id());
+      upsert.setProfile(entry.profile());
+      upsert.setDisplayName(entry.displayName() == null
+          ? null : new ComponentHolder(version, entry.displayName()));
+      upsert.setLatency(entry.latency());
+      upsert.setGameMode(entry.gameMode());
+      upsert.setListed(entry.listed());
+      upsert.setListOrder(entry.listOrder());
+      upsert.setShowHat(entry.showHat());
+      return upsert;
+    }
+
+    private static LegacyPlayerListItemPacket.Item item(SharedTabListEntry entry) {
+      return new LegacyPlayerListItemPacket.Item(entry.id())
+          .setName(entry.profile().getName())
+          .setProperties(entry.profile().getProperties())
+          .setGameMode(entry.gameMode())
+          .setLatency(entry.latency())
+          .setDisplayName(entry.displayName());
+    }
+
+    private static void addLegacy(List<MinecraftPacket> packets, int action,
+        List<LegacyPlayerListItemPacket.Item> items) {
+      if (!items.isEmpty()) {
+        packets.add(new LegacyPlayerListItemPacket(action, items));
+      }
+    }
+
+    private static List<UUID> ids(List<SharedTabListEntry> entries) {
+      List<UUID> ids = new ArrayList<>(entries.size());
+      for (SharedTabListEntry entry : entries) {
+        ids.add(entry.id());
+      }
+      return ids;
+    }
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util;
+
+import com.velocitypowered.api.network.LatencyStatistics;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size histogram of latencies in microseconds, laid out like an HDR histogram: values
+ * below {@link #SUB_BUCKETS} get a bucket each, and every power of two above that is split into
+ * {@link #SUB_BUCKETS} equal buckets, so a bucket is never more than about 12% wide. Values of
+ * {@link #MAXIMUM_MICROS} and above share the last bucket. Recording is lock-free and can happen
+ * from any thread.
+ */
+public final class LatencyHistogram {
+
+  static final int SUB_BUCKET_BITS = 3;
+  static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  static final int MAXIMUM_MAGNITUDE = 24;
+  static final long MAXIMUM_MICROS = 1L << MAXIMUM_MAGNITUDE;
+  private static final int BUCKETS = SUB_BUCKETS * (MAXIMUM_MAGNITUDE - SUB_BUCKET_BITS + 1);
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final AtomicLong samples = new AtomicLong();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Records a latency.
+   *
+   * @param nanos the latency in nanoseconds
+   */
+  public void recordNanos(long nanos) {
+    long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+    counts.incrementAndGet(bucketOf(micros));
+    samples.incrementAndGet();
+    max.accumulateAndGet(micros, Math::max);
+  }
+
+  /**
+   * Returns the number of recorded latencies.
+   *
+   * @return the number of samples
+   */
+  public long getSamples() {
+    return samples.get();
+  }
+
+  /**
+   * Returns the latency below which the given percentage of samples fall, rounded up to the
+   * highest value of its bucket.
+   *
+   * @param percentile the percentile, between 0 and 100
+   * @return the latency in microseconds, or 0 if nothing was recorded
+   */
+  public long getPercentile(double percentile) {
+    long total = 0;
+    long[] snapshot = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return Math.min(highestValueOf(i), max.get());
+      }
+    }
+    return max.get();
+  }
+
+  /**
+   * Summarizes the recorded latencies.
+   *
+   * @return the statistics
+   */
+  public LatencyStatistics toStatistics() {
+    long count = samples.get();
+    if (count == 0) {
+      return LatencyStatistics.EMPTY;
+    }
+    return new LatencyStatistics(count, getPercentile(50), getPercentile(99), max.get());
+  }
+
+  static int bucketOf(long micros) {
+    if (micros < SUB_BUCKETS) {
+      return (int) micros;
+    }
+    if (micros >= MAXIMUM_MICROS) {
+      return BUCKETS - 1;
+    }
+    int magnitude = 63 - Long.numberOfLeadingZeros(micros);
+    int shift = magnitude - SUB_BUCKET_BITS;
+    // The top bit is always set, so only the bits below it pick the sub-bucket.
+    int subBucket = (int) (micros >>> shift) - SUB_BUCKETS;
+    return SUB_BUCKETS * (shift + 1) + subBucket;
+  }
+
+  static long highestValueOf(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int shift = bucket / SUB_BUCKETS - 1;
+    long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+}
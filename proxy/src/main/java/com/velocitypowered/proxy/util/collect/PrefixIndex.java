@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util.collect;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A case-insensitive index of values by name that finds every value whose name starts with a
+ * prefix in {@code O(log n + results)}.
+ *
+ * <p>The names are kept in a sorted array that is copied on every change, so lookups never lock.
+ * It is meant for names that are looked up far more often than they change, such as the names
+ * tab completion suggests.</p>
+ *
+ * @param <V> the type of values
+ */
+public final class PrefixIndex<V> {
+
+  private volatile Entries entries = new Entries(new String[0], new Object[0]);
+
+  /**
+   * Associates {@code value} with {@code name}, replacing any value the name already had.
+   *
+   * @param name the name
+   * @param value the value
+   */
+  public synchronized void put(String name, V value) {
+    Preconditions.checkNotNull(value, "value");
+    Entries current = entries;
+    String key = name.toLowerCase(Locale.US);
+    int index = Arrays.binarySearch(current.names, key);
+    if (index >= 0) {
+      Object[] values = current.values.clone();
+      values[index] = value;
+      entries = new Entries(current.names, values);
+      return;
+    }
+
+    int insertion = -index - 1;
+    int size = current.names.length;
+    String[] names = new String[size + 1];
+    Object[] values = new Object[size + 1];
+    System.arraycopy(current.names, 0, names, 0, insertion);
+    System.arraycopy(current.values, 0, values, 0, insertion);
+    names[insertion] = key;
+    values[insertion] = value;
+    System.arraycopy(current.names, insertion, names, insertion + 1, size - insertion);
+    System.arraycopy(current.values, insertion, values, insertion + 1, size - insertion);
+    entries = new Entries(names, values);
+  }
+
+  /**
+   * Removes {@code name} if it is associated with {@code value}.
+   *
+   * @param name the name
+   * @param value the value
+   * @return whether the name was removed
+   */
+  public synchronized boolean remove(String name, V value) {
+    Entries current = entries;
+    int index = Arrays.binarySearch(current.names, name.toLowerCase(Locale.US));
+    if (index < 0 || current.values[index] != value) {
+      return false;
+    }
+
+    int size = current.names.length;
+    String[] names = new String[size - 1];
+    Object[] values = new Object[size - 1];
+    System.arraycopy(current.names, 0, names, 0, index);
+    System.arraycopy(current.values, 0, values, 0, index);
+    System.arraycopy(current.names, index + 1, names, index, size - index - 1);
+    System.arraycopy(current.values, index + 1, values, index, size - index - 1);
+    entries = new Entries(names, values);
+    return true;
+  }
+
+  /**
+   * Returns the values whose names start with {@code prefix}, ignoring case, ordered by name.
+   *
+   * @param prefix the prefix to look for
+   * @param limit the maximum number of values to return
+   * @return the matching values
+   */
+  @SuppressWarnings("unchecked")
+  public List<V> find(String prefix, int limit) {
+    Preconditions.checkArgument(limit >= 0, "limit must not be negative");
+    Entries current = entries;
+    String key = prefix.toLowerCase(Locale.US);
+    int index = Arrays.binarySearch(current.names, key);
+    if (index < 0) {
+      index = -index - 1;
+    }
+
+    List<V> matches = new ArrayList<>(Math.min(limit, current.names.length - index));
+    for (; index < current.names.length && matches.size() < limit; index++) {
+      if (!current.names[index].startsWith(key)) {
+        break;
+      }
+      matches.add((V) current.values[index]);
+    }
+    return matches;
+  }
+
+  public int size() {
+    return entries.names.length;
+  }
+
+  private record Entries(String[] names, Object[] values) {
+
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util.collect;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A concurrent map that keeps an immutable snapshot of its values, for maps that are read in
+ * full far more often than they change.
+ *
+ * <p>Every change bumps the version of the map. The snapshot is only rebuilt when it is requested
+ * and the map has changed since it was last built, so reading the values of an unchanged map does
+ * not allocate.</p>
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+public final class SnapshotMap<K, V> {
+
+  private final Map<K, V> map = new ConcurrentHashMap<>();
+  private final AtomicLong version = new AtomicLong();
+  private final AtomicReference<Snapshot<V>> snapshot =
+      new AtomicReference<>(new Snapshot<>(0, ImmutableList.of()));
+
+  public @Nullable V get(K key) {
+    return map.get(key);
+  }
+
+  public boolean containsKey(K key) {
+    return map.containsKey(key);
+  }
+
+  public int size() {
+    return map.size();
+  }
+
+  /**
+   * Associates {@code value} with {@code key}.
+   *
+   * @param key the key
+   * @param value the value
+   * @return the value previously associated with {@code key}, if any
+   */
+  public @Nullable V put(K key, V value) {
+    V previous = map.put(key, value);
+    version.incrementAndGet();
+    return previous;
+  }
+
+  /**
+   * Associates {@code value} with {@code key} if it is not associated with a value yet.
+   *
+   * @param key the key
+   * @param value the value
+   * @return the value already associated with {@code key}, or {@code null} if the value was added
+   */
+  public @Nullable V putIfAbsent(K key, V value) {
+    V existing = map.putIfAbsent(key, value);
+    if (existing == null) {
+      version.incrementAndGet();
+    }
+    return existing;
+  }
+
+  /**
+   * Removes {@code key} if it is associated with {@code value}.
+   *
+   * @param key the key
+   * @param value the value
+   * @return whether the entry was removed
+   */
+  public boolean remove(K key, V value) {
+    if (map.remove(key, value)) {
+      version.incrementAndGet();
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Returns the version of the map, which changes every time the map does.
+   *
+   * @return the version of the map
+   */
+  public long getVersion() {
+    return version.get();
+  }
+
+  /**
+   * Returns an immutable snapshot of the values in the map.
+   *
+   * @return the values in the map
+   */
+  public ImmutableList<V> values() {
+    Snapshot<V> current = snapshot.get();
+    long latest = version.get();
+    if (current.version == latest) {
+      return current.values;
+    }
+
+    // Changes bump the version after they are made, so the copy has at least every change up to
+    // the version read above.
+    Snapshot<V> rebuilt = new Snapshot<>(latest, ImmutableList.copyOf(map.values()));
+    while (current.version < latest && !snapshot.compareAndSet(current, rebuilt)) {
+      current = snapshot.get();
+    }
+    return rebuilt.values;
+  }
+
+  private record Snapshot<V>(long version, ImmutableList<V> values) {
+
+  }
+}
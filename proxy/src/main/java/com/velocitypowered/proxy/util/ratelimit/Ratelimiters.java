@@ -28,9 +28,22 @@ public final class Ratelimiters {
     throw new AssertionError();
   }
 
-  @SuppressWarnings("unchecked")
   public static <T> Ratelimiter<T> createWithMilliseconds(long ms) {
-    return ms <= 0 ? (Ratelimiter<T>) NoopCacheRatelimiter.INSTANCE : new CaffeineCacheRatelimiter(ms,
-        TimeUnit.MILLISECONDS);
+    return createWithMilliseconds(ms, 1);
+  }
+
+  /**
+   * Creates a rate limiter that allows {@code burst} attempts at once, and one more attempt every
+   * {@code ms} milliseconds.
+   *
+   * @param ms the refill interval in milliseconds, or 0 to disable rate limiting
+   * @param burst the number of attempts that may be made at once
+   * @param <T> the type of the keys
+   * @return the rate limiter
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> Ratelimiter<T> createWithMilliseconds(long ms, int burst) {
+    return ms <= 0 ? (Ratelimiter<T>) NoopCacheRatelimiter.INSTANCE
+        : new TokenBucketRatelimiter<>(ms, TimeUnit.MILLISECONDS, burst);
   }
 }
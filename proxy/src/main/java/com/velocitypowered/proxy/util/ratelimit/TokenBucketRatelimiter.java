@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import java.net.InetAddress;
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A lock-free token bucket rate-limiter. Each key may make {@code burst} attempts at once, and
+ * regains one attempt every refill interval.
+ *
+ * <p>The buckets live in a fixed-size table of {@code long}s, so memory use does not depend on
+ * how many distinct keys are seen, and an attempt never takes a lock. Each bucket
+ * is stored as a single {@code long} holding a fingerprint of its key and the time at which the
+ * bucket will be full again (the "theoretical arrival time" of the generic cell rate algorithm,
+ * which is equivalent to a token bucket). A key may live in one of two slots. When both slots are
+ * taken by other keys, the slot closest to being full is reclaimed, so a flood of spoofed keys
+ * can at worst hand a fresh bucket to a key whose bucket was evicted, but never rate-limits a key
+ * that it does not collide with.</p>
+ *
+ * <p>Keys are hashed with SipHash under a random key chosen for each rate-limiter, over the bytes
+ * of an {@link InetAddress} or the bits of a {@link UUID}. An attacker can't predict which keys
+ * collide, so they can't pick addresses (say, from an IPv6 /64 they own) that share the bucket of
+ * another player and lock them out. Other keys fall back to their {@code hashCode()}.</p>
+ */
+public final class TokenBucketRatelimiter<T> implements Ratelimiter<T> {
+
+  @VisibleForTesting
+  static final int DEFAULT_CAPACITY = 1 << 16;
+
+  private static final int TIME_BITS = 40;
+  private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+  private static final long EMPTY = 0;
+
+  private final AtomicLongArray slots;
+  private final int mask;
+  private final long refillMillis;
+  private final long toleranceMillis;
+  private final Ticker ticker;
+  private final long epochNanos;
+  private final HashFunction hashFunction;
+
+  TokenBucketRatelimiter(long refillInterval, TimeUnit unit, int burst) {
+    this(refillInterval, unit, burst, DEFAULT_CAPACITY, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  TokenBucketRatelimiter(long refillInterval, TimeUnit unit, int burst, int capacity,
+      Ticker ticker) {
+    Preconditions.checkNotNull(unit, "unit");
+    Preconditions.checkArgument(refillInterval > 0, "refillInterval must be positive");
+    Preconditions.checkArgument(burst > 0, "burst must be positive");
+    Preconditions.checkArgument(capacity >= 2 && Integer.bitCount(capacity) == 1,
+        "capacity must be a power of two");
+    this.ticker = Preconditions.checkNotNull(ticker, "ticker");
+    this.slots = new AtomicLongArray(capacity);
+    this.mask = capacity - 1;
+    this.refillMillis = Math.max(1, unit.toMillis(refillInterval));
+    this.toleranceMillis = this.refillMillis * (burst - 1);
+    // Start the clock at 1 so that a bucket never encodes to EMPTY.
+    this.epochNanos = ticker.read() - TimeUnit.MILLISECONDS.toNanos(1);
+    SecureRandom random = new SecureRandom();
+    this.hashFunction = Hashing.sipHash24(random.nextLong(), random.nextLong());
+  }
+
+  /**
+   * Attempts to rate-limit the object.
+   *
+   * @param key the object to rate limit
+   * @return true if we should allow the object, false if we should rate-limit
+   */
+  @Override
+  public boolean attempt(@NotNull T key) {
+    long hash = hash(key);
+    // The fingerprint is never 0, which distinguishes an occupied slot from an empty one.
+    long fingerprint = (hash >>> TIME_BITS) | 1;
+    int first = (int) hash & mask;
+    // XOR with an odd number, so the second slot always differs from the first.
+    int second = (first ^ ((int) (hash >>> 20) | 1)) & mask;
+    long now = (ticker.read() - epochNanos) / 1_000_000L;
+
+    while (true) {
+      long firstValue = slots.get(first);
+      long secondValue = slots.get(second);
+      int index;
+      long current;
+      if (fingerprint(firstValue) == fingerprint) {
+        index = first;
+        current = firstValue;
+      } else if (fingerprint(secondValue) == fingerprint) {
+        index = second;
+        current = secondValue;
+      } else if (arrival(firstValue) <= arrival(secondValue)) {
+        // Claim the slot that is closer to being full, or was never used.
+        index = first;
+        current = firstValue;
+      } else {
+        index = second;
+        current = secondValue;
+      }
+
+      long arrival = fingerprint(current) == fingerprint ? Math.max(arrival(current), now) : now;
+      if (arrival - now > toleranceMillis) {
+        return false;
+      }
+      long updated = (fingerprint << TIME_BITS) | ((arrival + refillMillis) & TIME_MASK);
+      if (slots.compareAndSet(index, current, updated)) {
+        return true;
+      }
+    }
+  }
+
+  private static long fingerprint(long slot) {
+    return slot >>> TIME_BITS;
+  }
+
+  private static long arrival(long slot) {
+    return slot == EMPTY ? Long.MIN_VALUE : slot & TIME_MASK;
+  }
+
+  private long hash(T key) {
+    if (key instanceof InetAddress address) {
+      return hashFunction.hashBytes(address.getAddress()).asLong();
+    }
+    if (key instanceof UUID uuid) {
+      return hashFunction.newHasher(Long.BYTES * 2)
+          .putLong(uuid.getMostSignificantBits())
+          .putLong(uuid.getLeastSignificantBits())
+          .hash()
+          .asLong();
+    }
+    return hashFunction.hashInt(key.hashCode()).asLong();
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.auth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.velocitypowered.api.util.GameProfile;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class CachingSessionAuthenticatorTest {
+
+  private final AtomicLong time = new AtomicLong();
+  private final List<CompletableFuture<SessionAuthenticator.Result>> requests = new ArrayList<>();
+  private final CachingSessionAuthenticator authenticator = new CachingSessionAuthenticator(
+      (username, serverId, ip) -> {
+        CompletableFuture<SessionAuthenticator.Result> future = new CompletableFuture<>();
+        requests.add(future);
+        return future;
+      }, Duration.ofSeconds(10), time::get);
+
+  private static SessionAuthenticator.Result authenticated(String username) {
+    return new SessionAuthenticator.Result(200, GameProfile.forOfflinePlayer(username));
+  }
+
+  @Test
+  void coalescesConcurrentLookups() {
+    CompletableFuture<SessionAuthenticator.Result> first =
+        authenticator.hasJoined("Notch", "abc", "127.0.0.1");
+    CompletableFuture<SessionAuthenticator.Result> second =
+        authenticator.hasJoined("Notch", "abc", "127.0.0.1");
+    assertEquals(1, requests.size());
+
+    SessionAuthenticator.Result result = authenticated("Notch");
+    requests.get(0).complete(result);
+    assertSame(result, first.join());
+    assertSame(result, second.join());
+  }
+
+  @Test
+  void cachesSuccessfulLookupsUntilExpired() {
+    authenticator.hasJoined("Notch", "abc", null);
+    requests.get(0).complete(authenticated("Notch"));
+
+    authenticator.hasJoined("Notch", "abc", null);
+    assertEquals(1, requests.size());
+
+    time.addAndGet(Duration.ofSeconds(11).toNanos());
+    authenticator.hasJoined("Notch", "abc", null);
+    assertEquals(2, requests.size());
+  }
+
+  @Test
+  void distinguishesKeys() {
+    authenticator.hasJoined("Notch", "abc", null);
+    authenticator.hasJoined("Notch", "def", null);
+    authenticator.hasJoined("Notch", "abc", "127.0.0.1");
+    authenticator.hasJoined("jeb_", "abc", null);
+    assertEquals(4, requests.size());
+  }
+
+  @Test
+  void doesNotCacheFailures() {
+    CompletableFuture<SessionAuthenticator.Result> rejected =
+        authenticator.hasJoined("Notch", "abc", null);
+    requests.get(0).complete(new SessionAuthenticator.Result(204, null));
+    assertFalse(rejected.join().isAuthenticated());
+    authenticator.hasJoined("Notch", "abc", null);
+    assertEquals(2, requests.size());
+
+    requests.get(1).completeExceptionally(new IllegalStateException("down"));
+    authenticator.hasJoined("Notch", "abc", null);
+    assertEquals(3, requests.size());
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.velocitypowered.proxy.connection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveFlusherTest {
+
+  private final EmbeddedChannel channel = new EmbeddedChannel();
+
+  @AfterEach
+  void tearDown() {
+    channel.finishAndReleaseAll();
+  }
+
+  private void writePackets(AdaptiveFlusher flusher, int count, int size) {
+    for (int i = 0; i < count; i++) {
+      flusher.write(Unpooled.wrappedBuffer(new byte[size]));
+    }
+  }
+
+  private int flushedPackets() {
+    return channel.outboundMessages().size();
+  }
+
+  @Test
+  void testImmediateFlushOnReadCompleted() {
+    AdaptiveFlusher flusher = new AdaptiveFlusher(channel, -1, TimeUnit.MILLISECONDS, 0);
+    writePackets(flusher, 3, 16);
+    assertEquals(0, flushedPackets());
+
+    flusher.readCompleted();
+    assertEquals(3, flushedPackets());
+    assertEquals(1, flusher.getStats().flushes());
+  }
+
+  @Test
+  void testFlushDeferredToEndOfIteration() {
+    AdaptiveFlusher flusher = new AdaptiveFlusher(channel, 0, TimeUnit.MILLISECONDS, 0);
+    writePackets(flusher, 2, 16);
+    flusher.readCompleted();
+    writePackets(flusher, 2, 16);
+    flusher.readCompleted();
+    assertEquals(0, flushedPackets());
+
+    channel.runPendingTasks();
+    assertEquals(4, flushedPackets());
+    AdaptiveFlusher.Stats stats = flusher.getStats();
+    assertEquals(1, stats.flushes());
+    assertEquals(4, stats.packets());
+  }
+
+  @Test
+  void testFlushAfterDelay() throws InterruptedException {
+    AdaptiveFlusher flusher = new AdaptiveFlusher(channel, 20, TimeUnit.MILLISECONDS, 0);
+    writePackets(flusher, 2, 16);
+    flusher.readCompleted();
+    channel.runPendingTasks();
+    assertEquals(0, flushedPackets());
+
+    Thread.sleep(40);
+    channel.runPendingTasks();
+    assertEquals(2, flushedPackets());
+    assertEquals(1, flusher.getStats().flushes());
+  }
+
+  @Test
+  void testPacketLimitFlushesEarly() {
+    AdaptiveFlusher flusher = new AdaptiveFlusher(channel, 0, TimeUnit.MILLISECONDS, 0, 4);
+    writePackets(flusher, 5, 16);
+    assertEquals(4, flushedPackets());
+    assertEquals(1, flusher.getStats().packetLimitFlushes());
+  }
+
+  @Test
+  void testByteLimitFlushesEarly() {
+    AdaptiveFlusher flusher = new AdaptiveFlusher(channel, 0, TimeUnit.MILLISECONDS, 1024);
+    writePackets(flusher, 3, 256);
+    assertEquals(0, flushedPackets());
+
+    writePackets(flusher, 1, 512);
+    assertEquals(4, flushedPackets());
+    assertEquals(1, flusher.getStats().byteLimitFlushes());
+
+    // Nothing is pending anymore, so there is nothing left to flush.
+    flusher.readCompleted();
+    channel.runPendingTasks();
+    assertEquals(1, flusher.getStats().flushes());
+  }
+
+  @Test
+  void testByteLimitOnlyCountsRelayedBytes() {
+    AdaptiveFlusher flusher = new AdaptiveFlusher(channel, 0, TimeUnit.MILLISECONDS, 1024);
+    channel.write(Unpooled.wrappedBuffer(new byte[2048]));
+    writePackets(flusher, 1, 16);
+    assertEquals(0, flushedPackets());
+    assertEquals(0, flusher.getStats().byteLimitFlushes());
+  }
+
+  @Test
+  void testOtherFlushResetsPendingPackets() {
+    AdaptiveFlusher flusher = new AdaptiveFlusher(channel, 0, TimeUnit.MILLISECONDS, 0, 4);
+    writePackets(flusher, 3, 16);
+    channel.flush();
+    flusher.flushed();
+    assertEquals(3, flushedPackets());
+
+    // The packets that went out with the other flush no longer count towards the limit.
+    writePackets(flusher, 3, 16);
+    assertEquals(3, flushedPackets());
+    assertEquals(0, flusher.getStats().packetLimitFlushes());
+
+    flusher.readCompleted();
+    channel.runPendingTasks();
+    assertEquals(6, flushedPackets());
+    AdaptiveFlusher.Stats stats = flusher.getStats();
+    assertEquals(1, stats.flushes());
+    assertEquals(3, stats.packets());
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection;
+
+import static com.velocitypowered.proxy.network.Connections.MINECRAFT_DECODER;
+import static com.velocitypowered.proxy.network.Connections.MINECRAFT_ENCODER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.config.VelocityConfiguration;
+import com.velocitypowered.proxy.network.buffer.ConnectionAllocators;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.netty.MinecraftDecoder;
+import com.velocitypowered.proxy.protocol.netty.MinecraftEncoder;
+import com.velocitypowered.proxy.protocol.packet.KeepAlivePacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MinecraftConnectionTest {
+
+  private static final ProtocolVersion VERSION = ProtocolVersion.MINECRAFT_1_21;
+
+  private EmbeddedChannel channel;
+  private MinecraftConnection connection;
+
+  @BeforeEach
+  void setUp() {
+    VelocityServer server = mock(VelocityServer.class);
+    when(server.getConnectionAllocators()).thenReturn(mock(ConnectionAllocators.class));
+    when(server.getConfiguration()).thenReturn(mock(VelocityConfiguration.class));
+    channel = new EmbeddedChannel();
+    connection = new MinecraftConnection(channel, server);
+    channel.pipeline()
+        .addLast(MINECRAFT_DECODER, new MinecraftDecoder(ProtocolUtils.Direction.SERVERBOUND))
+        .addLast(MINECRAFT_ENCODER, new MinecraftEncoder(ProtocolUtils.Direction.CLIENTBOUND))
+        .addLast(connection);
+    connection.setProtocolVersion(VERSION);
+    connection.setState(StateRegistry.PLAY);
+  }
+
+  @AfterEach
+  void tearDown() {
+    channel.finishAndReleaseAll();
+  }
+
+  private static KeepAlivePacket keepAlive(long id) {
+    KeepAlivePacket packet = new KeepAlivePacket();
+    packet.setRandomId(id);
+    return packet;
+  }
+
+  private static ByteBuf encode(StateRegistry state, ProtocolVersion version,
+      MinecraftPacket packet) {
+    ByteBuf buf = Unpooled.buffer();
+    ProtocolUtils.writeVarInt(buf, state.getProtocolRegistry(
+        ProtocolUtils.Direction.CLIENTBOUND, version).getPacketId(packet));
+    packet.encode(buf, ProtocolUtils.Direction.CLIENTBOUND, version);
+    return buf;
+  }
+
+  private void assertFallback(ByteBuf encoded) {
+    assertEquals(0, encoded.refCnt());
+    ByteBuf expected = encode(StateRegistry.PLAY, VERSION, keepAlive(1));
+    ByteBuf actual = channel.readOutbound();
+    try {
+      assertEquals(ByteBufUtil.hexDump(expected), ByteBufUtil.hexDump(actual));
+    } finally {
+      expected.release();
+      actual.release();
+    }
+    assertNull(channel.readOutbound());
+  }
+
+  @Test
+  void writesEncodedPacketsWhenStateAndVersionMatch() {
+    KeepAlivePacket packet = keepAlive(1);
+    ByteBuf encoded = encode(StateRegistry.PLAY, VERSION, packet);
+    connection.writeEncoded(StateRegistry.PLAY, VERSION, List.of(packet),
+        new ByteBuf[] {encoded});
+
+    ByteBuf written = channel.readOutbound();
+    assertSame(encoded, written);
+    written.release();
+    assertNull(channel.readOutbound());
+  }
+
+  @Test
+  void writesPacketsWhenStateChanged() {
+    KeepAlivePacket packet = keepAlive(1);
+    ByteBuf encoded = encode(StateRegistry.CONFIG, VERSION, packet);
+    connection.writeEncoded(StateRegistry.CONFIG, VERSION, List.of(packet),
+        new ByteBuf[] {encoded});
+
+    assertFallback(encoded);
+  }
+
+  @Test
+  void writesPacketsWhenProtocolVersionChanged() {
+    KeepAlivePacket packet = keepAlive(1);
+    ByteBuf encoded = encode(StateRegistry.PLAY, ProtocolVersion.MINECRAFT_1_8, packet);
+    connection.writeEncoded(StateRegistry.PLAY, ProtocolVersion.MINECRAFT_1_8, List.of(packet),
+        new ByteBuf[] {encoded});
+
+    assertFallback(encoded);
+  }
+
+  @Test
+  void writesPacketsWhenConfigurationSwitchIsPending() {
+    // What ConnectedPlayer.switchToConfigState does before the client acknowledges the switch
+    connection.pendingConfigurationSwitch = true;
+    channel.pipeline().get(MinecraftEncoder.class).setState(StateRegistry.CONFIG);
+    connection.addPlayPacketQueueHandler();
+
+    KeepAlivePacket packet = keepAlive(1);
+    ByteBuf encoded = encode(StateRegistry.PLAY, VERSION, packet);
+    connection.writeEncoded(StateRegistry.PLAY, VERSION, List.of(packet),
+        new ByteBuf[] {encoded});
+
+    assertEquals(0, encoded.refCnt());
+    // The keep-alive exists in CONFIG as well, so it is encoded for CONFIG instead of queued.
+    ByteBuf expected = encode(StateRegistry.CONFIG, VERSION, keepAlive(1));
+    ByteBuf actual = channel.readOutbound();
+    try {
+      assertEquals(ByteBufUtil.hexDump(expected), ByteBufUtil.hexDump(actual));
+    } finally {
+      expected.release();
+      actual.release();
+    }
+    assertNull(channel.readOutbound());
+  }
+
+  @Test
+  void releasesEncodedPacketsWhenClosed() {
+    channel.close();
+    KeepAlivePacket packet = keepAlive(1);
+    ByteBuf first = encode(StateRegistry.PLAY, VERSION, packet);
+    ByteBuf second = encode(StateRegistry.PLAY, VERSION, packet);
+    connection.writeEncoded(StateRegistry.PLAY, VERSION, List.of(packet, packet),
+        new ByteBuf[] {first, second});
+
+    assertEquals(0, first.refCnt());
+    assertEquals(0, second.refCnt());
+    assertNull(channel.readOutbound());
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.backend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class PendingKeepAlivesTest {
+
+  @Test
+  void answeringAKeepAliveDropsOlderOnes() {
+    PendingKeepAlives pending = new PendingKeepAlives();
+    pending.add(1, 100);
+    pending.add(2, 200);
+    pending.add(3, 300);
+
+    assertEquals(200, pending.remove(2));
+    assertEquals(1, pending.size());
+    assertEquals(PendingKeepAlives.NOT_PENDING, pending.remove(1));
+    assertEquals(300, pending.remove(3));
+    assertEquals(0, pending.size());
+  }
+
+  @Test
+  void fullRingOverwritesTheOldestKeepAlive() {
+    PendingKeepAlives pending = new PendingKeepAlives();
+    for (int id = 0; id <= PendingKeepAlives.CAPACITY; id++) {
+      pending.add(id, id * 10L);
+    }
+    assertEquals(PendingKeepAlives.CAPACITY, pending.size());
+    assertEquals(PendingKeepAlives.NOT_PENDING, pending.remove(0));
+    assertEquals(10, pending.remove(1));
+  }
+
+  @Test
+  void delayIsMeasuredAgainstTheShortestInterval() {
+    PendingKeepAlives pending = new PendingKeepAlives();
+    assertEquals(-1, pending.add(1, 1_000));
+    assertEquals(0, pending.add(2, 16_000));
+    assertEquals(0, pending.add(3, 31_000));
+    assertEquals(4_000, pending.add(4, 50_000));
+  }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.client;
+
+import static com.velocitypowered.proxy.network.Connections.MINECRAFT_DECODER;
+import static com.velocitypowered.proxy.network.Connections.MINECRAFT_ENCODER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.config.VelocityConfiguration;
+import com.velocitypowered.proxy.connection.MinecraftConnection;
+import com.velocitypowered.proxy.network.buffer.ConnectionAllocators;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.netty.MinecraftDecoder;
+import com.velocitypowered.proxy.protocol.netty.MinecraftEncoder;
+import com.velocitypowered.proxy.protocol.packet.chat.ChatType;
+import com.velocitypowered.proxy.protocol.packet.chat.ComponentHolder;
+import com.velocitypowered.proxy.protocol.packet.chat.SystemChatPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import net.kyori.adventure.identity.Identity;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.translation.GlobalTranslator;
+import net.kyori.adventure.translation.TranslationStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PlayerBroadcasterTest {
+
+  private final List<EmbeddedChannel> channels = new ArrayList<>();
+  private VelocityServer server;
+
+  @BeforeEach
+  void setUp() {
+    server = mock(VelocityServer.class);
+    when(server.getConnectionAllocators()).thenReturn(mock(ConnectionAllocators.class));
+    when(server.getConfiguration()).thenReturn(mock(VelocityConfiguration.class));
+  }
+
+  @AfterEach
+  void tearDown() {
+    for (EmbeddedChannel channel : channels) {
+      channel.finishAndReleaseAll();
+    }
+  }
+
+  private ConnectedPlayer player(ProtocolVersion version, Locale locale, StateRegistry state) {
+    EmbeddedChannel channel = new EmbeddedChannel();
+    channels.add(channel);
+    MinecraftConnection connection = new MinecraftConnection(channel, server);
+    channel.pipeline()
+        .addLast(MINECRAFT_DECODER, new MinecraftDecoder(ProtocolUtils.Direction.SERVERBOUND))
+        .addLast(MINECRAFT_ENCODER, new MinecraftEncoder(ProtocolUtils.Direction.CLIENTBOUND))
+        .addLast(connection);
+    connection.setProtocolVersion(version);
+    connection.setState(state);
+
+    ConnectedPlayer player = mock(ConnectedPlayer.class);
+    when(player.getProtocolVersion()).thenReturn(version);
+    when(player.getTranslationLocale()).thenReturn(locale);
+    when(player.getConnection()).thenReturn(connection);
+    when(player.createMessagePacket(any(), any(), any())).thenAnswer(invocation ->
+        new SystemChatPacket(new ComponentHolder(version, invocation.getArgument(1)),
+            ChatType.SYSTEM));
+    return player;
+  }
+
+  private static ByteBuf written(ConnectedPlayer player) {
+    EmbeddedChannel channel = (EmbeddedChannel) player.getConnection().getChannel();
+    ByteBuf buf = channel.readOutbound();
+    assertNull(channel.readOutbound());
+    return buf;
+  }
+
+  private static int packetsCreated(ConnectedPlayer... players) {
+    int created = 0;
+    for (ConnectedPlayer player : players) {
+      created += (int) mockingDetails(player).getInvocations().stream()
+          .filter(invocation -> invocation.getMethod().getName().equals("createMessagePacket"))
+          .count();
+    }
+    return created;
+  }
+
+  @Test
+  void encodesOncePerProtocolVersion() {
+    ConnectedPlayer first = player(ProtocolVersion.MINECRAFT_1_21, Locale.US, StateRegistry.PLAY);
+    ConnectedPlayer second = player(ProtocolVersion.MINECRAFT_1_21, Locale.US, StateRegistry.PLAY);
+    ConnectedPlayer older = player(ProtocolVersion.MINECRAFT_1_20_5, Locale.US,
+        StateRegistry.PLAY);
+
+    PlayerBroadcaster.sendMessage(List.of(first, second, older), Identity.nil(),
+        Component.text("Hello"), null);
+
+    ByteBuf firstBuf = written(first);
+    ByteBuf secondBuf = written(second);
+    ByteBuf olderBuf = written(older);
+    try {
+      assertSame(firstBuf.unwrap(), secondBuf.unwrap());
+      assertNotSame(firstBuf.unwrap(), olderBuf.unwrap());
+      assertEquals(2, packetsCreated(first, second, older));
+    } finally {
+      firstBuf.release();
+      secondBuf.release();
+      olderBuf.release();
+    }
+  }
+
+  @Test
+  void encodesOncePerTranslation() {
+    TranslationStore.StringBased<MessageFormat> store = TranslationStore.messageFormat(
+        Key.key("velocity", "broadcaster_test"));
+    store.register("velocity.test.greeting", Locale.US, new MessageFormat("Hello", Locale.US));
+    store.register("velocity.test.greeting", Locale.UK, new MessageFormat("Hello", Locale.UK));
+    store.register("velocity.test.greeting", Locale.GERMANY,
+        new MessageFormat("Hallo", Locale.GERMANY));
+    GlobalTranslator.translator().addSource(store);
+    try {
+      ConnectedPlayer american = player(ProtocolVersion.MINECRAFT_1_21, Locale.US,
+          StateRegistry.PLAY);
+      ConnectedPlayer british = player(ProtocolVersion.MINECRAFT_1_21, Locale.UK,
+          StateRegistry.PLAY);
+      ConnectedPlayer german = player(ProtocolVersion.MINECRAFT_1_21, Locale.GERMANY,
+          StateRegistry.PLAY);
+
+      PlayerBroadcaster.sendMessage(List.of(american, british, german), Identity.nil(),
+          Component.translatable("velocity.test.greeting"), null);
+
+      ByteBuf americanBuf = written(american);
+      ByteBuf britishBuf = written(british);
+      ByteBuf germanBuf = written(german);
+      try {
+        // Both English locales render the same text, so they share the encoded packet.
+        assertSame(americanBuf.unwrap(), britishBuf.unwrap());
+        assertNotSame(americanBuf.unwrap(), germanBuf.unwrap());
+        assertTrue(americanBuf.toString(StandardCharsets.UTF_8).contains("Hello"));
+        assertTrue(germanBuf.toString(StandardCharsets.UTF_8).contains("Hallo"));
+        assertEquals(2, packetsCreated(american, british, german));
+      } finally {
+        americanBuf.release();
+        britishBuf.release();
+        germanBuf.release();
+      }
+    } finally {
+      GlobalTranslator.translator().removeSource(store);
+    }
+  }
+
+  @Test
+  void releasesEncodedPacketsForPlayersNotInPlay() {
+    ConnectedPlayer playing = player(ProtocolVersion.MINECRAFT_1_21, Locale.US,
+        StateRegistry.PLAY);
+    ConnectedPlayer configuring = player(ProtocolVersion.MINECRAFT_1_21, Locale.US,
+        StateRegistry.CONFIG);
+
+    PlayerBroadcaster.sendMessage(List.of(playing, configuring), Identity.nil(),
+        Component.text("Hello"), null);
+
+    // The player being configured gets the packet queued until it is back in PLAY instead.
+    assertNull(((EmbeddedChannel) configuring.getConnection().getChannel()).readOutbound());
+    ByteBuf buf = written(playing);
+    ByteBuf encoded = buf.unwrap();
+    buf.release();
+    assertEquals(0, encoded.refCnt());
+  }
+
+  @Test
+  void releasesEncodedPacketsForClosedPlayers() {
+    ConnectedPlayer closed = player(ProtocolVersion.MINECRAFT_1_21, Locale.US,
+        StateRegistry.PLAY);
+    ConnectedPlayer open = player(ProtocolVersion.MINECRAFT_1_21, Locale.US, StateRegistry.PLAY);
+    closed.getConnection().getChannel().close();
+
+    PlayerBroadcaster.sendMessage(List.of(closed, open), Identity.nil(),
+        Component.text("Hello"), null);
+
+    ByteBuf buf = written(open);
+    ByteBuf encoded = buf.unwrap();
+    buf.release();
+    assertEquals(0, encoded.refCnt());
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.proxy.server.ServerInfo;
+import com.velocitypowered.api.proxy.server.ServerPing;
+import com.velocitypowered.proxy.server.VelocityRegisteredServer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PingPassthroughCacheTest {
+
+  private static final long TTL = 1000;
+  private static final long STALE = 5000;
+  private static final PingPassthroughCache.Key KEY = new PingPassthroughCache.Key(
+      new VelocityRegisteredServer(null, new ServerInfo("lobby",
+          new InetSocketAddress(InetAddress.getLoopbackAddress(), 25565))),
+      ProtocolVersion.MAXIMUM_VERSION, "");
+
+  private final AtomicLong time = new AtomicLong();
+  private final List<CompletableFuture<ServerPing>> pings = new ArrayList<>();
+  private final Supplier<CompletableFuture<ServerPing>> pinger = () -> {
+    CompletableFuture<ServerPing> future = new CompletableFuture<>();
+    pings.add(future);
+    return future;
+  };
+  private PingPassthroughCache cache;
+
+  @BeforeEach
+  void setUp() {
+    cache = new PingPassthroughCache(time::get);
+  }
+
+  @Test
+  void coalescesConcurrentPings() {
+    CompletableFuture<ServerPing> first = cache.ping(KEY, pinger, TTL, STALE);
+    CompletableFuture<ServerPing> second = cache.ping(KEY, pinger, TTL, STALE);
+    assertEquals(1, pings.size());
+
+    ServerPing response = ping("hello");
+    pings.get(0).complete(response);
+    assertSame(response, first.join());
+    assertSame(response, second.join());
+  }
+
+  @Test
+  void servesFreshResultWithoutPinging() {
+    ServerPing response = ping("hello");
+    cache.ping(KEY, pinger, TTL, STALE);
+    pings.get(0).complete(response);
+
+    advance(TTL - 1);
+    assertSame(response, cache.ping(KEY, pinger, TTL, STALE).join());
+    assertEquals(1, pings.size());
+  }
+
+  @Test
+  void servesStaleResultWhileRevalidating() {
+    ServerPing old = ping("old");
+    cache.ping(KEY, pinger, TTL, STALE);
+    pings.get(0).complete(old);
+
+    advance(TTL + 1);
+    CompletableFuture<ServerPing> stale = cache.ping(KEY, pinger, TTL, STALE);
+    assertTrue(stale.isDone());
+    assertSame(old, stale.join());
+    assertEquals(2, pings.size());
+
+    // Further requests during the refresh don't start another ping
+    assertSame(old, cache.ping(KEY, pinger, TTL, STALE).join());
+    assertEquals(2, pings.size());
+
+    ServerPing fresh = ping("fresh");
+    pings.get(1).complete(fresh);
+    assertSame(fresh, cache.ping(KEY, pinger, TTL, STALE).join());
+  }
+
+  @Test
+  void waitsForPingOnceResultIsTooOld() {
+    cache.ping(KEY, pinger, TTL, STALE);
+    pings.get(0).complete(ping("old"));
+
+    advance(TTL + STALE);
+    CompletableFuture<ServerPing> result = cache.ping(KEY, pinger, TTL, STALE);
+    assertFalse(result.isDone());
+    assertEquals(2, pings.size());
+  }
+
+  @Test
+  void failedPingIsNotCached() {
+    CompletableFuture<ServerPing> failed = cache.ping(KEY, pinger, TTL, STALE);
+    pings.get(0).completeExceptionally(new RuntimeException("Connection refused"));
+    assertTrue(failed.isCompletedExceptionally());
+
+    cache.ping(KEY, pinger, TTL, STALE);
+    assertEquals(2, pings.size());
+  }
+
+  @Test
+  void boundsNumberOfEntries() {
+    for (int i = 0; i < PingPassthroughCache.MAXIMUM_ENTRIES + 10; i++) {
+      cache.ping(new PingPassthroughCache.Key(KEY.server(), KEY.version(), "host" + i), pinger,
+          TTL, STALE);
+    }
+    assertEquals(PingPassthroughCache.MAXIMUM_ENTRIES, cache.size());
+  }
+
+  private void advance(long millis) {
+    time.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+  }
+
+  private static ServerPing ping(String description) {
+    return new ServerPing(new ServerPing.Version(ProtocolVersion.MAXIMUM_VERSION.getProtocol(),
+        "test"), null, Component.text(description), null);
+  }
+}
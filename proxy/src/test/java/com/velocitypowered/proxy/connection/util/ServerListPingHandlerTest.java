@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.proxy.server.ServerPing;
+import com.velocitypowered.api.util.Favicon;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.config.PingPassthroughMode;
+import com.velocitypowered.proxy.config.VelocityConfiguration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ServerListPingHandlerTest {
+
+  private final AtomicInteger playerCount = new AtomicInteger();
+  private VelocityServer server;
+  private VelocityConfiguration configuration;
+  private ServerListPingHandler handler;
+
+  @BeforeEach
+  void setUp() {
+    configuration = configuration(Optional.empty());
+    server = mock(VelocityServer.class);
+    when(server.getConfiguration()).thenAnswer(invocation -> configuration);
+    when(server.getPlayerCount()).thenAnswer(invocation -> playerCount.get());
+    handler = new ServerListPingHandler(server);
+  }
+
+  private static VelocityConfiguration configuration(Optional<Favicon> favicon) {
+    VelocityConfiguration configuration = mock(VelocityConfiguration.class);
+    when(configuration.getPingPassthrough()).thenReturn(PingPassthroughMode.DISABLED);
+    when(configuration.getMotd()).thenReturn(Component.text("A Velocity Server"));
+    when(configuration.getShowMaxPlayers()).thenReturn(500);
+    when(configuration.getFavicon()).thenReturn(favicon);
+    return configuration;
+  }
+
+  private ServerPing ping(ProtocolVersion version) {
+    VelocityInboundConnection connection = mock(VelocityInboundConnection.class);
+    when(connection.getProtocolVersion()).thenReturn(version);
+    return handler.getInitialPing(connection).join();
+  }
+
+  private String status(ProtocolVersion version) {
+    VelocityInboundConnection connection = mock(VelocityInboundConnection.class);
+    when(connection.getProtocolVersion()).thenReturn(version);
+    return handler.getLocalStatusResponse(connection).getStatus();
+  }
+
+  @Test
+  void reusesPingForSameProtocolVersion() {
+    ServerPing ping = ping(ProtocolVersion.MINECRAFT_1_21);
+    assertSame(ping, ping(ProtocolVersion.MINECRAFT_1_21));
+    assertEquals(status(ProtocolVersion.MINECRAFT_1_21), status(ProtocolVersion.MINECRAFT_1_21));
+  }
+
+  @Test
+  void keysPingByProtocolVersion() {
+    ServerPing modern = ping(ProtocolVersion.MINECRAFT_1_21);
+    ServerPing older = ping(ProtocolVersion.MINECRAFT_1_20_5);
+    assertNotSame(modern, older);
+    assertEquals(ProtocolVersion.MINECRAFT_1_21.getProtocol(), modern.getVersion().getProtocol());
+    assertEquals(ProtocolVersion.MINECRAFT_1_20_5.getProtocol(),
+        older.getVersion().getProtocol());
+  }
+
+  @Test
+  void invalidatesOnPlayerCountChange() {
+    playerCount.set(5);
+    assertEquals(5, ping(ProtocolVersion.MINECRAFT_1_21).getPlayers().orElseThrow().getOnline());
+
+    playerCount.set(6);
+    assertEquals(5, ping(ProtocolVersion.MINECRAFT_1_21).getPlayers().orElseThrow().getOnline());
+    handler.invalidateLocalPing();
+    assertEquals(6, ping(ProtocolVersion.MINECRAFT_1_21).getPlayers().orElseThrow().getOnline());
+  }
+
+  @Test
+  void invalidatesOnReload() {
+    ServerPing before = ping(ProtocolVersion.MINECRAFT_1_21);
+    assertEquals(Optional.empty(), before.getFavicon());
+
+    Favicon favicon = new Favicon("data:image/png;base64,AAAA");
+    configuration = configuration(Optional.of(favicon));
+    handler.invalidateLocalPing();
+    ServerPing after = ping(ProtocolVersion.MINECRAFT_1_21);
+    assertEquals(Optional.of(favicon), after.getFavicon());
+    assertTrue(status(ProtocolVersion.MINECRAFT_1_21).contains("AAAA"));
+  }
+
+  @Test
+  void createsStatusResponseFromCachedEncoding() {
+    ServerPing cached = ping(ProtocolVersion.MINECRAFT_1_21);
+    assertEquals(status(ProtocolVersion.MINECRAFT_1_21),
+        handler.createStatusResponse(cached, ProtocolVersion.MINECRAFT_1_21).getStatus());
+
+    ServerPing modified = cached.asBuilder().onlinePlayers(42).build();
+    String json = handler.createStatusResponse(modified, ProtocolVersion.MINECRAFT_1_21)
+        .getStatus();
+    assertEquals(VelocityServer.getPingGsonInstance(ProtocolVersion.MINECRAFT_1_21)
+        .toJson(modified), json);
+  }
+
+  @Test
+  void doesNotCachePingWithPlayerSample() {
+    when(configuration.getSamplePlayersInPing()).thenReturn(true);
+    assertNotSame(ping(ProtocolVersion.MINECRAFT_1_21), ping(ProtocolVersion.MINECRAFT_1_21));
+  }
+
+  @Test
+  void passesThroughWhenEnabled() {
+    when(configuration.getPingPassthrough()).thenReturn(PingPassthroughMode.MODS);
+    VelocityInboundConnection connection = mock(VelocityInboundConnection.class);
+    when(connection.getProtocolVersion()).thenReturn(ProtocolVersion.MINECRAFT_1_21);
+    assertNull(handler.getLocalStatusResponse(connection));
+  }
+}
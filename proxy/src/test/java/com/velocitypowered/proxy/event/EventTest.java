@@ -18,6 +18,9 @@
 package com.velocitypowered.proxy.event;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.google.common.reflect.TypeToken;
@@ -27,6 +30,8 @@ import com.velocitypowered.api.event.EventTask;
 import com.velocitypowered.api.event.PostOrder;
 import com.velocitypowered.api.event.Subscribe;
 import com.velocitypowered.proxy.testutil.FakePluginManager;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
@@ -140,6 +145,57 @@ public class EventTest {
     assertEquals(1, listener.result);
   }
 
+  @Test
+  void testSyncHandlersCompleteInline() {
+    final AlwaysSyncListener listener = new AlwaysSyncListener();
+    eventManager.register(FakePluginManager.PLUGIN_A, listener);
+    try {
+      assertTrue(eventManager.fire(new TestEvent()).isDone());
+      assertEquals(1, listener.result);
+    } finally {
+      eventManager.unregisterListeners(FakePluginManager.PLUGIN_A);
+    }
+
+    // The baked handlers must be dropped once the listener is gone.
+    assertTrue(eventManager.fire(new TestEvent()).isDone());
+    assertEquals(1, listener.result);
+    assertFalse(eventManager.hasSubscribers(TestEvent.class));
+  }
+
+  @Test
+  void testFireInline() throws Exception {
+    assertNull(eventManager.fireInline(new TestEvent()));
+
+    final AlwaysSyncListener listener = new AlwaysSyncListener();
+    eventManager.register(FakePluginManager.PLUGIN_A, listener);
+    try {
+      assertNull(eventManager.fireInline(new TestEvent()));
+      assertEquals(1, listener.result);
+    } finally {
+      eventManager.unregisterListeners(FakePluginManager.PLUGIN_A);
+    }
+
+    final ResumeContinuationImmediatelyListener immediately =
+        new ResumeContinuationImmediatelyListener();
+    eventManager.register(FakePluginManager.PLUGIN_A, immediately);
+    try {
+      assertNull(eventManager.fireInline(new TestEvent()));
+    } finally {
+      eventManager.unregisterListeners(FakePluginManager.PLUGIN_A);
+    }
+
+    final AlwaysAsyncListener async = new AlwaysAsyncListener();
+    eventManager.register(FakePluginManager.PLUGIN_A, async);
+    try {
+      final CompletableFuture<TestEvent> future = eventManager.fireInline(new TestEvent());
+      assertNotNull(future);
+      future.get();
+      assertAsyncThread(async.threadA);
+    } finally {
+      eventManager.unregisterListeners(FakePluginManager.PLUGIN_A);
+    }
+  }
+
   static final class AlwaysSyncListener {
 
     @MonotonicNonNull Thread thread;
@@ -188,6 +244,26 @@ public class EventTest {
     }
   }
 
+  @Test
+  void testRejectedHandlersRunOnFallbackThread() throws Exception {
+    final AlwaysAsyncListener listener = new AlwaysAsyncListener();
+    eventManager.register(FakePluginManager.PLUGIN_SATURATED, listener);
+    try {
+      eventManager.fire(new TestEvent()).get(5, TimeUnit.SECONDS);
+    } finally {
+      eventManager.unregisterListeners(FakePluginManager.PLUGIN_SATURATED);
+    }
+    assertFallbackThread(listener.threadA);
+    assertFallbackThread(listener.threadB);
+    assertFallbackThread(listener.threadC);
+    assertEquals(3, listener.result);
+  }
+
+  static void assertFallbackThread(final Thread thread) {
+    assertNotNull(thread);
+    assertTrue(thread.getName().startsWith("Velocity Event Fallback #"));
+  }
+
   @Test
   void testSometimesAsync() throws Exception {
     final SometimesAsyncListener listener = new SometimesAsyncListener();
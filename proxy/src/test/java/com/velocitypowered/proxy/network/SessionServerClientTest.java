@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.network;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Test;
+
+class SessionServerClientTest {
+
+  private static final HttpRequest REQUEST = HttpRequest.newBuilder(
+      URI.create("https://sessionserver.example.com/hasJoined")).build();
+
+  private final List<HttpRequest> sent = new ArrayList<>();
+  private final List<CompletableFuture<HttpResponse<String>>> pending = new ArrayList<>();
+
+  private SessionServerClient createClient(int maxConcurrentRequests) {
+    return createClient(maxConcurrentRequests, 1024);
+  }
+
+  @SuppressWarnings("unchecked")
+  private SessionServerClient createClient(int maxConcurrentRequests, int maxQueuedRequests) {
+    HttpClient httpClient = mock(HttpClient.class);
+    when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+        .thenAnswer(invocation -> {
+          sent.add(invocation.getArgument(0));
+          CompletableFuture<HttpResponse<String>> future = new CompletableFuture<>();
+          pending.add(future);
+          return future;
+        });
+    return new SessionServerClient(httpClient, () -> maxConcurrentRequests,
+        () -> maxQueuedRequests, () -> 5000);
+  }
+
+  @Test
+  void limitsConcurrentRequests() {
+    SessionServerClient client = createClient(2);
+    client.sendAsync(REQUEST, HttpResponse.BodyHandlers.ofString());
+    client.sendAsync(REQUEST, HttpResponse.BodyHandlers.ofString());
+    CompletableFuture<HttpResponse<String>> third =
+        client.sendAsync(REQUEST, HttpResponse.BodyHandlers.ofString());
+
+    assertEquals(2, sent.size());
+    assertEquals(2, client.getMetrics().inFlight());
+    assertEquals(1, client.getMetrics().queued());
+
+    HttpResponse<String> response = mock();
+    pending.get(0).complete(response);
+    assertEquals(3, sent.size());
+    assertEquals(0, client.getMetrics().queued());
+
+    pending.get(2).complete(response);
+    assertSame(response, third.join());
+  }
+
+  @Test
+  void appliesTimeout() {
+    SessionServerClient client = createClient(1);
+    client.sendAsync(REQUEST, HttpResponse.BodyHandlers.ofString());
+    assertEquals(Duration.ofMillis(5000), sent.get(0).timeout().orElseThrow());
+
+    HttpRequest withTimeout = HttpRequest.newBuilder(REQUEST.uri())
+        .timeout(Duration.ofSeconds(1))
+        .build();
+    pending.get(0).complete(mock());
+    client.sendAsync(withTimeout, HttpResponse.BodyHandlers.ofString());
+    assertEquals(Duration.ofSeconds(1), sent.get(1).timeout().orElseThrow());
+  }
+
+  @Test
+  void rejectsRequestsBeyondQueueLimit() {
+    SessionServerClient client = createClient(1, 1);
+    client.sendAsync(REQUEST, HttpResponse.BodyHandlers.ofString());
+    CompletableFuture<HttpResponse<String>> queued =
+        client.sendAsync(REQUEST, HttpResponse.BodyHandlers.ofString());
+    CompletableFuture<HttpResponse<String>> rejected =
+        client.sendAsync(REQUEST, HttpResponse.BodyHandlers.ofString());
+
+    ExecutionException e = assertThrows(ExecutionException.class, rejected::get);
+    assertInstanceOf(IOException.class, e.getCause());
+    assertFalse(queued.isDone());
+    assertEquals(1, sent.size());
+    assertEquals(1, client.getMetrics().queued());
+    assertEquals(1, client.getMetrics().rejected());
+  }
+
+  @Test
+  void appliesTimeoutFromEnqueue() throws InterruptedException {
+    SessionServerClient client = createClient(1);
+    client.sendAsync(REQUEST, HttpResponse.BodyHandlers.ofString());
+    client.sendAsync(REQUEST, HttpResponse.BodyHandlers.ofString());
+    Thread.sleep(20);
+
+    pending.get(0).complete(mock());
+    Duration timeout = sent.get(1).timeout().orElseThrow();
+    assertTrue(timeout.compareTo(Duration.ofMillis(4980)) <= 0, timeout::toString);
+  }
+
+  @Test
+  void failsRequestsTimingOutWhileQueued() {
+    SessionServerClient client = createClient(1);
+    client.sendAsync(REQUEST, HttpResponse.BodyHandlers.ofString());
+    HttpRequest withTimeout = HttpRequest.newBuilder(REQUEST.uri())
+        .timeout(Duration.ofMillis(10))
+        .build();
+    CompletableFuture<HttpResponse<String>> queued =
+        client.sendAsync(withTimeout, HttpResponse.BodyHandlers.ofString());
+
+    ExecutionException e = assertThrows(ExecutionException.class, queued::get);
+    assertInstanceOf(TimeoutException.class, e.getCause());
+    assertEquals(0, client.getMetrics().queued());
+    assertEquals(1, client.getMetrics().rejected());
+
+    // The request that timed out is never sent.
+    pending.get(0).complete(mock());
+    assertEquals(1, sent.size());
+    assertEquals(0, client.getMetrics().inFlight());
+  }
+
+  @Test
+  void recordsMetrics() {
+    SessionServerClient client = createClient(4);
+    CompletableFuture<HttpResponse<String>> ok =
+        client.sendAsync(REQUEST, HttpResponse.BodyHandlers.ofString());
+    CompletableFuture<HttpResponse<String>> failed =
+        client.sendAsync(REQUEST, HttpResponse.BodyHandlers.ofString());
+    pending.get(0).complete(mock());
+    pending.get(1).completeExceptionally(new IOException("refused"));
+
+    assertTrue(ok.isDone());
+    assertTrue(failed.isCompletedExceptionally());
+    SessionServerClient.Metrics metrics = client.getMetrics();
+    assertEquals(2, metrics.requests());
+    assertEquals(1, metrics.failures());
+    assertEquals(0, metrics.inFlight());
+    assertTrue(metrics.maxLatencyMillis() >= metrics.averageLatencyMillis());
+  }
+}
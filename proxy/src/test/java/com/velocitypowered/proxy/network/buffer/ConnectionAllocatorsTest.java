@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.network.buffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.velocitypowered.proxy.network.buffer.ConnectionAllocators.AllocatorUsage;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+class ConnectionAllocatorsTest {
+
+  @Test
+  void promoteMovesHandshakeConnectionsToSharedAllocator() {
+    ConnectionAllocators allocators = new ConnectionAllocators();
+    EmbeddedChannel channel = new EmbeddedChannel();
+    allocators.useHandshakeAllocator(channel);
+    ByteBufAllocator handshake = channel.alloc();
+    assertNotSame(ByteBufAllocator.DEFAULT, handshake);
+
+    ByteBuf buf = handshake.directBuffer(256);
+    assertEquals(1, usage(allocators, "handshake").activeAllocations());
+
+    allocators.promote(channel);
+    assertSame(ByteBufAllocator.DEFAULT, channel.alloc());
+
+    // Buffers allocated before the move still go back to the pool they came from
+    buf.release();
+    assertEquals(0, usage(allocators, "handshake").activeAllocations());
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  void promoteLeavesOtherAllocatorsAlone() {
+    ConnectionAllocators allocators = new ConnectionAllocators();
+    EmbeddedChannel channel = new EmbeddedChannel();
+    ByteBufAllocator original = channel.alloc();
+
+    allocators.promote(channel);
+    assertSame(original, channel.alloc());
+    channel.finishAndReleaseAll();
+  }
+
+  private static AllocatorUsage usage(ConnectionAllocators allocators, String name) {
+    return allocators.getUsage().stream()
+        .filter(usage -> usage.name().equals(name))
+        .findFirst()
+        .orElseThrow();
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.network.metrics;
+
+import static com.velocitypowered.proxy.network.Connections.MINECRAFT_DECODER;
+import static com.velocitypowered.proxy.network.Connections.MINECRAFT_ENCODER;
+import static com.velocitypowered.proxy.network.Connections.PACKET_TRAFFIC;
+import static com.velocitypowered.proxy.network.Connections.WIRE_TRAFFIC;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.network.ChannelTraffic;
+import com.velocitypowered.api.network.ConnectionTraffic;
+import com.velocitypowered.api.network.PacketDirection;
+import com.velocitypowered.api.network.PacketTraffic;
+import com.velocitypowered.api.network.ProtocolState;
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.api.proxy.server.ServerInfo;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.netty.MinecraftDecoder;
+import com.velocitypowered.proxy.protocol.netty.MinecraftEncoder;
+import com.velocitypowered.proxy.protocol.packet.KeepAlivePacket;
+import com.velocitypowered.proxy.protocol.packet.PluginMessagePacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import java.net.InetSocketAddress;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PacketTrafficHandlerTest {
+
+  private static final ProtocolVersion VERSION = ProtocolVersion.MAXIMUM_VERSION;
+
+  private static ByteBuf encode(MinecraftPacket packet) {
+    ByteBuf buf = Unpooled.buffer();
+    StateRegistry.PacketRegistry.ProtocolRegistry registry = StateRegistry.PLAY
+        .getProtocolRegistry(ProtocolUtils.Direction.CLIENTBOUND, VERSION);
+    ProtocolUtils.writeVarInt(buf, registry.getPacketId(packet));
+    packet.encode(buf, ProtocolUtils.Direction.CLIENTBOUND, VERSION);
+    return buf;
+  }
+
+  private static EmbeddedChannel channel(VelocityTrafficMetrics metrics) {
+    MinecraftDecoder decoder = new MinecraftDecoder(ProtocolUtils.Direction.CLIENTBOUND);
+    decoder.setState(StateRegistry.PLAY);
+    decoder.setProtocolVersion(VERSION);
+    MinecraftEncoder encoder = new MinecraftEncoder(ProtocolUtils.Direction.SERVERBOUND);
+    encoder.setState(StateRegistry.PLAY);
+    encoder.setProtocolVersion(VERSION);
+
+    ConnectionTrafficCounter counter = new ConnectionTrafficCounter();
+    EmbeddedChannel channel = new EmbeddedChannel();
+    channel.pipeline()
+        .addLast(WIRE_TRAFFIC, new WireTrafficHandler(counter))
+        .addLast(MINECRAFT_DECODER, decoder)
+        .addLast(MINECRAFT_ENCODER, encoder)
+        .addBefore(MINECRAFT_DECODER, PACKET_TRAFFIC, new PacketTrafficHandler(metrics, counter));
+    return channel;
+  }
+
+  private static void drain(EmbeddedChannel channel) {
+    Object msg;
+    while ((msg = channel.readInbound()) != null) {
+      ReferenceCountUtil.release(msg);
+    }
+    while ((msg = channel.readOutbound()) != null) {
+      ReferenceCountUtil.release(msg);
+    }
+  }
+
+  private static PacketTraffic find(List<PacketTraffic> traffic, String packetName) {
+    return traffic.stream()
+        .filter(entry -> packetName.equals(entry.packetName()))
+        .findFirst()
+        .orElseThrow();
+  }
+
+  @Test
+  void testPacketsAreCountedByType() {
+    VelocityTrafficMetrics metrics = new VelocityTrafficMetrics(mock(VelocityServer.class));
+    EmbeddedChannel channel = channel(metrics);
+
+    KeepAlivePacket keepAlive = new KeepAlivePacket();
+    keepAlive.setRandomId(42);
+    ByteBuf inbound = encode(keepAlive);
+    int size = inbound.readableBytes();
+    channel.writeInbound(inbound);
+    channel.writeOutbound(keepAlive);
+    drain(channel);
+
+    PacketTraffic clientbound = metrics.getPacketTraffic().stream()
+        .filter(entry -> entry.direction() == PacketDirection.CLIENTBOUND)
+        .findFirst()
+        .orElseThrow();
+    assertEquals("KeepAlivePacket", clientbound.packetName());
+    assertEquals(ProtocolState.PLAY, clientbound.state());
+    assertEquals(1, clientbound.packetsReceived());
+    assertEquals(size, clientbound.bytesReceived());
+    assertEquals(1, clientbound.packetsDecoded());
+
+    PacketTraffic serverbound = metrics.getPacketTraffic().stream()
+        .filter(entry -> entry.direction() == PacketDirection.SERVERBOUND)
+        .findFirst()
+        .orElseThrow();
+    assertEquals(1, serverbound.packetsSent());
+    assertEquals(1, serverbound.packetsEncoded());
+    assertTrue(serverbound.bytesSent() > 0);
+  }
+
+  @Test
+  void testConnectionTrafficIsCounted() {
+    VelocityTrafficMetrics metrics = new VelocityTrafficMetrics(mock(VelocityServer.class));
+    EmbeddedChannel channel = channel(metrics);
+
+    ByteBuf unknown = Unpooled.buffer();
+    ProtocolUtils.writeVarInt(unknown, 0xF0);
+    unknown.writeZero(98);
+    channel.writeInbound(unknown);
+    channel.writeOutbound(Unpooled.wrappedBuffer(new byte[] {0x7F, 1, 2, 3}));
+    channel.flushOutbound();
+    drain(channel);
+
+    ConnectionTraffic traffic = channel.pipeline().get(WireTrafficHandler.class).getCounter()
+        .snapshot();
+    assertEquals(1, traffic.packetsReceived());
+    assertEquals(100, traffic.bytesReceived());
+    assertEquals(100, traffic.wireBytesReceived());
+    assertEquals(1, traffic.packetsSent());
+    assertEquals(4, traffic.bytesSent());
+    assertEquals(4, traffic.wireBytesSent());
+    assertTrue(traffic.flushes() > 0);
+  }
+
+  @Test
+  void testServerTrafficIncludesClosedConnections() {
+    VelocityTrafficMetrics metrics = new VelocityTrafficMetrics(mock(VelocityServer.class));
+    RegisteredServer server = mock(RegisteredServer.class);
+    when(server.getServerInfo()).thenReturn(new ServerInfo("lobby",
+        InetSocketAddress.createUnresolved("localhost", 25566)));
+
+    EmbeddedChannel first = channel(metrics);
+    metrics.track(server, first);
+    first.writeOutbound(Unpooled.wrappedBuffer(new byte[] {0x7F, 1, 2, 3}));
+    drain(first);
+    first.close();
+
+    EmbeddedChannel second = channel(metrics);
+    metrics.track(server, second);
+    second.writeOutbound(Unpooled.wrappedBuffer(new byte[] {0x7F, 1}));
+    drain(second);
+
+    ConnectionTraffic traffic = metrics.getConnectionTraffic(server);
+    assertEquals(2, traffic.packetsSent());
+    assertEquals(6, traffic.bytesSent());
+    second.finishAndReleaseAll();
+  }
+
+  @Test
+  void testPluginMessagesAreCountedByChannel() {
+    VelocityTrafficMetrics metrics = new VelocityTrafficMetrics(mock(VelocityServer.class));
+    EmbeddedChannel channel = channel(metrics);
+
+    ByteBuf message = encode(new PluginMessagePacket("example:channel",
+        Unpooled.wrappedBuffer(new byte[16])));
+    int size = message.readableBytes();
+    channel.writeInbound(message);
+    drain(channel);
+
+    assertEquals(List.of(new ChannelTraffic("example:channel", PacketDirection.CLIENTBOUND, 1,
+        size)), metrics.getChannelTraffic());
+    assertEquals(1, find(metrics.getPacketTraffic(), "PluginMessagePacket").packetsDecoded());
+
+    metrics.reset();
+    assertTrue(metrics.getChannelTraffic().isEmpty());
+    assertTrue(metrics.getPacketTraffic().isEmpty());
+  }
+}
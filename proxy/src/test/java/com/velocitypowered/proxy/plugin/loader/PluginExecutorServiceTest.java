@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.plugin.loader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.velocitypowered.proxy.config.PluginExecutorMode;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class PluginExecutorServiceTest {
+
+  private final CountDownLatch release = new CountDownLatch(1);
+  private PluginExecutorService executor;
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    release.countDown();
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+  }
+
+  private void block(CountDownLatch started) {
+    executor.execute(() -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+  }
+
+  @Test
+  void boundedRejectsWhenSaturated() throws InterruptedException {
+    executor = PluginExecutorService.create("test", PluginExecutorMode.BOUNDED, 2, 1);
+    CountDownLatch started = new CountDownLatch(2);
+    block(started);
+    block(started);
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    executor.execute(() -> { });
+    assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+
+    PluginExecutorService.Metrics metrics = executor.getMetrics();
+    assertEquals(PluginExecutorMode.BOUNDED, metrics.mode());
+    assertEquals(2, metrics.active());
+    assertEquals(1, metrics.queued());
+    assertEquals(1, metrics.rejected());
+  }
+
+  @Test
+  void recordsCompletedTasks() throws InterruptedException {
+    executor = PluginExecutorService.create("test", PluginExecutorMode.CACHED, 0, 0);
+    CountDownLatch done = new CountDownLatch(3);
+    for (int i = 0; i < 3; i++) {
+      executor.execute(done::countDown);
+    }
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+    PluginExecutorService.Metrics metrics = executor.getMetrics();
+    assertEquals(3, metrics.completed());
+    assertEquals(0, metrics.queued());
+    assertEquals(0, metrics.active());
+  }
+
+  @Test
+  void virtualThreads() throws InterruptedException {
+    executor = PluginExecutorService.create("test", PluginExecutorMode.VIRTUAL, 0, 0);
+    CountDownLatch ran = new CountDownLatch(1);
+    boolean[] virtual = new boolean[1];
+    executor.execute(() -> {
+      virtual[0] = Thread.currentThread().isVirtual();
+      ran.countDown();
+    });
+    assertTrue(ran.await(5, TimeUnit.SECONDS));
+    assertTrue(virtual[0]);
+  }
+}
@@ -31,9 +31,11 @@ import static com.velocitypowered.api.network.ProtocolVersion.MINECRAFT_1_16_2;
 import static com.velocitypowered.api.network.ProtocolVersion.MINECRAFT_1_8;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.velocitypowered.api.network.ProtocolVersion;
 import com.velocitypowered.proxy.protocol.packet.HandshakePacket;
@@ -156,4 +158,19 @@ class PacketRegistryTest {
     assertEquals(HandshakePacket.class,
         registry.getProtocolRegistry(MINECRAFT_1_14_2).createPacket(0x02).getClass());
   }
-}
\ No newline at end of file
+
+  @Test
+  void unknownIdsAndPacketsAreNotFound() {
+    StateRegistry.PacketRegistry.ProtocolRegistry registry =
+        setupRegistry().getProtocolRegistry(MINECRAFT_1_12);
+    assertNull(registry.createPacket(-1));
+    assertNull(registry.createPacket(0x7F));
+    assertFalse(registry.containsPacketId(0x7F));
+    assertTrue(registry.containsPacketId(0x00));
+
+    MinecraftPacket unregistered = new StatusPingPacket();
+    assertFalse(registry.containsPacket(unregistered));
+    assertThrows(IllegalArgumentException.class, () -> registry.getPacketId(unregistered));
+    assertTrue(registry.containsPacket(new HandshakePacket()));
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.velocitypowered.natives.compression.JavaVelocityCompressor;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class CompressedFramePassthroughTest {
+
+  private static final int THRESHOLD = 256;
+  private static final int PACKET_ID = 0x27;
+
+  private static ByteBuf packet(int size) {
+    ByteBuf packet = Unpooled.buffer();
+    ProtocolUtils.writeVarInt(packet, PACKET_ID);
+    Random random = new Random(size);
+    while (packet.readableBytes() < size) {
+      // Runs of the same byte, so the packet actually compresses.
+      int value = random.nextInt(8);
+      for (int i = random.nextInt(32); i >= 0; i--) {
+        packet.writeByte(value);
+      }
+    }
+    return packet;
+  }
+
+  private static EmbeddedChannel encoder() {
+    return new EmbeddedChannel(new MinecraftCompressorAndLengthEncoder(THRESHOLD,
+        JavaVelocityCompressor.FACTORY.create(6)));
+  }
+
+  private static EmbeddedChannel decoder(boolean passthrough) {
+    MinecraftCompressDecoder decoder = new MinecraftCompressDecoder(THRESHOLD,
+        JavaVelocityCompressor.FACTORY.create(6));
+    if (passthrough) {
+      decoder.setPassthrough(packetId -> packetId == PACKET_ID);
+    }
+    return new EmbeddedChannel(new MinecraftVarintFrameDecoder(
+        ProtocolUtils.Direction.CLIENTBOUND), decoder);
+  }
+
+  @Test
+  void forwardsCompressedFrameVerbatim() {
+    ByteBuf packet = packet(4096);
+    EmbeddedChannel backend = encoder();
+    assertTrue(backend.writeOutbound(packet.retainedDuplicate()));
+    ByteBuf wire = backend.readOutbound();
+
+    EmbeddedChannel proxy = decoder(true);
+    assertTrue(proxy.writeInbound(wire.retainedDuplicate()));
+    CompressedFrame frame = assertInstanceOf(CompressedFrame.class, proxy.readInbound());
+    assertEquals(PACKET_ID, frame.getPacketId());
+    assertEquals(packet.readableBytes(), frame.getUncompressedSize());
+
+    EmbeddedChannel client = encoder();
+    assertTrue(client.writeOutbound(frame));
+    ByteBuf forwarded = client.readOutbound();
+    assertTrue(ByteBufUtil.equals(wire, forwarded));
+
+    // The client can still decompress what it was sent.
+    EmbeddedChannel clientDecoder = decoder(false);
+    assertTrue(clientDecoder.writeInbound(forwarded));
+    ByteBuf decompressed = clientDecoder.readInbound();
+    assertTrue(ByteBufUtil.equals(packet, decompressed));
+
+    packet.release();
+    wire.release();
+    decompressed.release();
+  }
+
+  private static CompressedFrame frame(ByteBuf packet) {
+    EmbeddedChannel backend = encoder();
+    assertTrue(backend.writeOutbound(packet.retainedDuplicate()));
+    EmbeddedChannel proxy = decoder(true);
+    assertTrue(proxy.writeInbound((ByteBuf) backend.readOutbound()));
+    return assertInstanceOf(CompressedFrame.class, proxy.readInbound());
+  }
+
+  @Test
+  void decompressesFrameWhenThresholdWasRaised() {
+    ByteBuf packet = packet(4096);
+    CompressedFrame frame = frame(packet);
+
+    MinecraftCompressorAndLengthEncoder encoder = new MinecraftCompressorAndLengthEncoder(
+        THRESHOLD, JavaVelocityCompressor.FACTORY.create(6));
+    encoder.setThreshold(8192);
+    EmbeddedChannel client = new EmbeddedChannel(encoder);
+    assertTrue(client.writeOutbound(frame));
+    assertEquals(0, frame.refCnt());
+
+    // The packet is sent uncompressed, as the client now expects.
+    ByteBuf forwarded = client.readOutbound();
+    assertEquals(packet.readableBytes() + 1, ProtocolUtils.readVarInt(forwarded));
+    assertEquals(0, ProtocolUtils.readVarInt(forwarded));
+    assertTrue(ByteBufUtil.equals(packet, forwarded));
+
+    packet.release();
+    forwarded.release();
+  }
+
+  @Test
+  void decompressesFrameWhenCompressionWasDisabled() {
+    ByteBuf packet = packet(4096);
+    CompressedFrame frame = frame(packet);
+
+    EmbeddedChannel client = new EmbeddedChannel(MinecraftVarintLengthEncoder.INSTANCE);
+    assertTrue(client.writeOutbound(frame));
+    assertEquals(0, frame.refCnt());
+
+    ByteBuf length = client.readOutbound();
+    assertEquals(packet.readableBytes(), ProtocolUtils.readVarInt(length));
+    ByteBuf forwarded = client.readOutbound();
+    assertTrue(ByteBufUtil.equals(packet, forwarded));
+
+    packet.release();
+    length.release();
+    forwarded.release();
+  }
+
+  @Test
+  void decompressesOtherPackets() {
+    ByteBuf packet = packet(4096);
+    EmbeddedChannel backend = encoder();
+    assertTrue(backend.writeOutbound(packet.retainedDuplicate()));
+
+    EmbeddedChannel proxy = decoder(false);
+    assertTrue(proxy.writeInbound((ByteBuf) backend.readOutbound()));
+    ByteBuf decompressed = proxy.readInbound();
+    assertTrue(ByteBufUtil.equals(packet, decompressed));
+
+    packet.release();
+    decompressed.release();
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.packet.KeepAlivePacket;
+import com.velocitypowered.proxy.protocol.packet.title.TitleClearPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class MinecraftDecoderTest {
+
+  private static final ProtocolVersion VERSION = ProtocolVersion.MAXIMUM_VERSION;
+
+  private static ByteBuf encode(MinecraftPacket packet) {
+    ByteBuf buf = Unpooled.buffer();
+    StateRegistry.PacketRegistry.ProtocolRegistry registry = StateRegistry.PLAY
+        .getProtocolRegistry(ProtocolUtils.Direction.CLIENTBOUND, VERSION);
+    ProtocolUtils.writeVarInt(buf, registry.getPacketId(packet));
+    packet.encode(buf, ProtocolUtils.Direction.CLIENTBOUND, VERSION);
+    return buf;
+  }
+
+  private static MinecraftDecoder decoder() {
+    MinecraftDecoder decoder = new MinecraftDecoder(ProtocolUtils.Direction.CLIENTBOUND);
+    decoder.setState(StateRegistry.PLAY);
+    decoder.setProtocolVersion(VERSION);
+    return decoder;
+  }
+
+  @Test
+  void testUndecodedPacketsArePassedOnAsTheyAre() {
+    MinecraftDecoder decoder = decoder();
+    decoder.setUndecodedPackets(Set.of(TitleClearPacket.class));
+    EmbeddedChannel channel = new EmbeddedChannel(decoder);
+
+    ByteBuf title = encode(new TitleClearPacket());
+    ByteBuf expected = title.copy();
+    assertTrue(channel.writeInbound(title));
+    ByteBuf passed = channel.readInbound();
+    assertEquals(expected, passed);
+    passed.release();
+    expected.release();
+
+    KeepAlivePacket keepAlive = new KeepAlivePacket();
+    keepAlive.setRandomId(42);
+    assertTrue(channel.writeInbound(encode(keepAlive)));
+    KeepAlivePacket decoded = assertInstanceOf(KeepAlivePacket.class, channel.readInbound());
+    assertEquals(42, decoded.getRandomId());
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  void testUndecodedPacketsOnlyApplyToPlayState() {
+    MinecraftDecoder decoder = decoder();
+    decoder.setUndecodedPackets(Set.of(TitleClearPacket.class));
+    int id = StateRegistry.PLAY.getProtocolRegistry(ProtocolUtils.Direction.CLIENTBOUND, VERSION)
+        .getPacketId(new TitleClearPacket());
+    assertFalse(decoder.canDecode(id));
+
+    decoder.setState(StateRegistry.CONFIG);
+    decoder.setState(StateRegistry.PLAY);
+    assertFalse(decoder.canDecode(id));
+
+    decoder.setUndecodedPackets(null);
+    assertTrue(decoder.canDecode(id));
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.velocitypowered.natives.compression.JavaVelocityCompressor;
+import com.velocitypowered.natives.encryption.JavaVelocityCipher;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.Test;
+
+class MinecraftFusedInboundDecoderTest {
+
+  private static final int THRESHOLD = 256;
+  private static final SecretKey KEY = new SecretKeySpec(new byte[16], "AES");
+
+  private static List<ByteBuf> packets() {
+    List<ByteBuf> packets = new ArrayList<>();
+    Random random = new Random(0);
+    for (int size : new int[] {3, 40, 255, 256, 1000, 70000, 12}) {
+      ByteBuf packet = Unpooled.buffer();
+      ProtocolUtils.writeVarInt(packet, random.nextInt(0x80));
+      while (packet.readableBytes() < size) {
+        packet.writeByte(random.nextInt(4));
+      }
+      packets.add(packet);
+    }
+    return packets;
+  }
+
+  private static ByteBuf send(List<ByteBuf> packets, ChannelHandler... encoders) {
+    EmbeddedChannel client = new EmbeddedChannel(encoders);
+    for (ByteBuf packet : packets) {
+      assertTrue(client.writeOutbound(packet.retainedDuplicate()));
+    }
+    ByteBuf wire = Unpooled.buffer();
+    ByteBuf chunk;
+    while ((chunk = client.readOutbound()) != null) {
+      wire.writeBytes(chunk);
+      chunk.release();
+    }
+    return wire;
+  }
+
+  private static void assertReceived(List<ByteBuf> packets, MinecraftFusedInboundDecoder decoder,
+      ByteBuf wire) {
+    decoder.setState(StateRegistry.PLAY);
+    EmbeddedChannel proxy = new EmbeddedChannel(decoder);
+    // Feed the data in awkward pieces, so frames and VarInts are split across reads.
+    while (wire.isReadable()) {
+      proxy.writeInbound(wire.readRetainedSlice(Math.min(7, wire.readableBytes())));
+    }
+    wire.release();
+
+    for (ByteBuf packet : packets) {
+      ByteBuf received = proxy.readInbound();
+      assertTrue(ByteBufUtil.equals(packet, received));
+      received.release();
+      packet.release();
+    }
+    assertNull(proxy.readInbound());
+    proxy.finishAndReleaseAll();
+  }
+
+  @Test
+  void testDecryptsAndDecompresses() throws GeneralSecurityException {
+    List<ByteBuf> packets = packets();
+    ByteBuf wire = send(packets,
+        new MinecraftCipherEncoder(JavaVelocityCipher.FACTORY.forEncryption(KEY)),
+        new MinecraftCompressorAndLengthEncoder(THRESHOLD,
+            JavaVelocityCompressor.FACTORY.create(6)));
+
+    MinecraftFusedInboundDecoder decoder =
+        new MinecraftFusedInboundDecoder(ProtocolUtils.Direction.SERVERBOUND);
+    decoder.setCipher(JavaVelocityCipher.FACTORY.forDecryption(KEY));
+    decoder.setCompressDecoder(new MinecraftCompressDecoder(THRESHOLD,
+        JavaVelocityCompressor.FACTORY.create(6)));
+    assertReceived(packets, decoder, wire);
+  }
+
+  @Test
+  void testDecryptsWithoutCompression() throws GeneralSecurityException {
+    List<ByteBuf> packets = packets();
+    ByteBuf wire = send(packets,
+        new MinecraftCipherEncoder(JavaVelocityCipher.FACTORY.forEncryption(KEY)),
+        MinecraftVarintLengthEncoder.INSTANCE);
+
+    MinecraftFusedInboundDecoder decoder =
+        new MinecraftFusedInboundDecoder(ProtocolUtils.Direction.SERVERBOUND);
+    decoder.setCipher(JavaVelocityCipher.FACTORY.forDecryption(KEY));
+    assertReceived(packets, decoder, wire);
+  }
+
+  @Test
+  void testDecompressesWithoutEncryption() {
+    List<ByteBuf> packets = packets();
+    ByteBuf wire = send(packets, new MinecraftCompressorAndLengthEncoder(THRESHOLD,
+        JavaVelocityCompressor.FACTORY.create(6)));
+
+    MinecraftFusedInboundDecoder decoder =
+        new MinecraftFusedInboundDecoder(ProtocolUtils.Direction.SERVERBOUND);
+    decoder.setCompressDecoder(new MinecraftCompressDecoder(THRESHOLD,
+        JavaVelocityCompressor.FACTORY.create(6)));
+    assertReceived(packets, decoder, wire);
+  }
+}
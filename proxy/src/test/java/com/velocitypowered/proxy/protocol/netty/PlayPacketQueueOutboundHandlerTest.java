@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.config.PlayPacketQueueOverflowPolicy;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.packet.HeaderAndFooterPacket;
+import com.velocitypowered.proxy.protocol.packet.chat.ComponentHolder;
+import com.velocitypowered.proxy.protocol.packet.title.TitleClearPacket;
+import com.velocitypowered.proxy.util.except.QuietRuntimeException;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.Test;
+
+class PlayPacketQueueOutboundHandlerTest {
+
+  private static final ProtocolVersion VERSION = ProtocolVersion.MAXIMUM_VERSION;
+
+  private static PlayPacketQueueOutboundHandler queue(long maxBytes, int maxPackets,
+      PlayPacketQueueOverflowPolicy policy) {
+    return new PlayPacketQueueOutboundHandler(VERSION, ProtocolUtils.Direction.CLIENTBOUND,
+        maxBytes, maxPackets, policy);
+  }
+
+  private static HeaderAndFooterPacket headerAndFooter(String text) {
+    return new HeaderAndFooterPacket(new ComponentHolder(VERSION, Component.text(text)),
+        new ComponentHolder(VERSION, Component.empty()));
+  }
+
+  @Test
+  void testQueueIsAccounted() {
+    PlayPacketQueueOutboundHandler queue = queue(0, 0, PlayPacketQueueOverflowPolicy.DISCONNECT);
+    EmbeddedChannel channel = new EmbeddedChannel(queue);
+    channel.writeOutbound(new TitleClearPacket(), new TitleClearPacket());
+    assertEquals(2, queue.getQueuedPackets());
+    assertEquals(0, channel.outboundMessages().size());
+
+    channel.pipeline().remove(queue);
+    assertEquals(0, queue.getQueuedPackets());
+    assertEquals(0, queue.getQueuedBytes());
+    assertEquals(2, channel.outboundMessages().size());
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  void testDisconnectOnOverflow() {
+    PlayPacketQueueOutboundHandler queue = queue(0, 2, PlayPacketQueueOverflowPolicy.DISCONNECT);
+    EmbeddedChannel channel = new EmbeddedChannel(queue);
+    channel.writeOutbound(new TitleClearPacket(), new TitleClearPacket());
+    assertDoesNotThrow(channel::checkException);
+
+    channel.writeOutbound(new TitleClearPacket());
+    assertThrows(QuietRuntimeException.class, channel::checkException);
+    assertEquals(0, queue.getQueuedPackets());
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  void testDropCoalescibleOnOverflow() {
+    PlayPacketQueueOutboundHandler queue = queue(0, 2,
+        PlayPacketQueueOverflowPolicy.DROP_COALESCIBLE);
+    EmbeddedChannel channel = new EmbeddedChannel(queue);
+    channel.writeOutbound(headerAndFooter("a"), headerAndFooter("b"), headerAndFooter("c"));
+    assertDoesNotThrow(channel::checkException);
+    assertEquals(1, queue.getQueuedPackets());
+
+    channel.pipeline().remove(queue);
+    HeaderAndFooterPacket sent = assertInstanceOf(HeaderAndFooterPacket.class,
+        channel.readOutbound());
+    assertEquals(headerAndFooter("c").getHeader().getComponent(), sent.getHeader().getComponent());
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  void testSpillOnOverflow() {
+    PlayPacketQueueOutboundHandler queue = queue(100, 0, PlayPacketQueueOverflowPolicy.SPILL);
+    EmbeddedChannel channel = new EmbeddedChannel(queue);
+    channel.writeOutbound(new TitleClearPacket(), new TitleClearPacket());
+    assertDoesNotThrow(channel::checkException);
+    assertEquals(2, queue.getQueuedPackets());
+    // The packet ID and a boolean
+    assertEquals(4, queue.getQueuedBytes());
+
+    channel.pipeline().remove(queue);
+    ByteBuf spilled = assertInstanceOf(ByteBuf.class, channel.readOutbound());
+    assertEquals(2, spilled.readableBytes());
+    spilled.release();
+    channel.finishAndReleaseAll();
+  }
+}
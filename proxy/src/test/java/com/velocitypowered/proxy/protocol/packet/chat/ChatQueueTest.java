@@ -0,0 +1,219 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.packet.chat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.proxy.connection.MinecraftConnection;
+import com.velocitypowered.proxy.connection.backend.VelocityServerConnection;
+import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.EventLoop;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ChatQueueTest {
+
+  private static final Object FLUSH = "flush";
+
+  private final List<Object> written = Collections.synchronizedList(new ArrayList<>());
+  private final AtomicBoolean backendClosed = new AtomicBoolean();
+  private EventLoop loop;
+  private ChatQueue queue;
+
+  @BeforeEach
+  void setUp() {
+    loop = new DefaultEventLoop();
+    MinecraftConnection smc = mock(MinecraftConnection.class);
+    when(smc.isClosed()).thenAnswer(invocation -> backendClosed.get());
+    doAnswer(invocation -> written.add(invocation.getArgument(0))).when(smc).delayedWrite(any());
+    doAnswer(invocation -> written.add(FLUSH)).when(smc).flush();
+    VelocityServerConnection serverConnection = mock(VelocityServerConnection.class);
+    when(serverConnection.ensureConnected()).thenReturn(smc);
+
+    MinecraftConnection connection = mock(MinecraftConnection.class);
+    when(connection.eventLoop()).thenReturn(loop);
+    ConnectedPlayer player = mock(ConnectedPlayer.class);
+    when(player.getConnection()).thenReturn(connection);
+    when(player.ensureAndGetCurrentServer()).thenReturn(serverConnection);
+    queue = new ChatQueue(player);
+  }
+
+  @AfterEach
+  void tearDown() {
+    loop.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+  }
+
+  private void awaitDrain() throws InterruptedException {
+    // Drains are run on the event loop in the order they were scheduled.
+    loop.submit(() -> { }).sync();
+  }
+
+  private List<Integer> writtenOffsets() {
+    List<Integer> offsets = new ArrayList<>();
+    synchronized (written) {
+      for (Object message : written) {
+        if (message instanceof ChatAcknowledgementPacket packet) {
+          offsets.add(packet.offset());
+        }
+      }
+    }
+    return offsets;
+  }
+
+  @Test
+  void keepsTheOrderOfPacketsQueuedFromManyThreads() throws InterruptedException {
+    int threads = 8;
+    int perThread = 500;
+    Object order = new Object();
+    int[] next = {0};
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> producers = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      Thread producer = new Thread(() -> {
+        start.countDown();
+        for (int j = 0; j < perThread; j++) {
+          // The lock only assigns sequence numbers in the order the packets are queued.
+          synchronized (order) {
+            int sequence = next[0]++;
+            queue.queuePacket(chatState -> new ChatAcknowledgementPacket(sequence));
+          }
+        }
+      });
+      producer.start();
+      producers.add(producer);
+    }
+    start.countDown();
+    for (Thread producer : producers) {
+      producer.join();
+    }
+    awaitDrain();
+
+    List<Integer> offsets = writtenOffsets();
+    assertEquals(threads * perThread, offsets.size());
+    for (int i = 0; i < offsets.size(); i++) {
+      assertEquals(i, offsets.get(i));
+    }
+  }
+
+  @Test
+  void laterPacketsWaitForAPacketStillBeingProduced() throws InterruptedException {
+    CompletableFuture<MinecraftPacket> event = new CompletableFuture<>();
+    queue.queuePacket(lastSeen -> event, null, null);
+    queue.queuePacket(chatState -> new ChatAcknowledgementPacket(2));
+    awaitDrain();
+    assertEquals(List.of(), written);
+
+    event.complete(new ChatAcknowledgementPacket(1));
+    awaitDrain();
+    assertEquals(List.of(1, 2), writtenOffsets());
+  }
+
+  @Test
+  void flushesOncePerDrain() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    loop.execute(() -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    queue.queuePacket(chatState -> new ChatAcknowledgementPacket(1));
+    queue.queuePacket(chatState -> new ChatAcknowledgementPacket(2));
+    queue.handleAcknowledgement(LastSeenMessages.WINDOW_SIZE * 2);
+    release.countDown();
+    awaitDrain();
+
+    assertEquals(4, written.size());
+    assertEquals(List.of(1, 2, LastSeenMessages.WINDOW_SIZE), writtenOffsets());
+    assertSame(FLUSH, written.get(3));
+  }
+
+  @Test
+  void stopsWritingOnceTheBackendConnectionCloses() throws InterruptedException {
+    queue.queuePacket(chatState -> new ChatAcknowledgementPacket(1));
+    queue.queuePacket(chatState -> {
+      backendClosed.set(true);
+      return new ChatAcknowledgementPacket(2);
+    });
+    queue.queuePacket(chatState -> new ChatAcknowledgementPacket(3));
+    awaitDrain();
+
+    assertEquals(List.of(1), writtenOffsets());
+    // What was written before the connection closed is still flushed.
+    assertEquals(FLUSH, written.get(written.size() - 1));
+  }
+
+  @Test
+  void discardsEverythingOnceClosed() throws InterruptedException {
+    CompletableFuture<MinecraftPacket> event = new CompletableFuture<>();
+    queue.queuePacket(chatState -> new ChatAcknowledgementPacket(1));
+    queue.queuePacket(lastSeen -> event, null, null);
+    queue.queuePacket(chatState -> new ChatAcknowledgementPacket(3));
+    awaitDrain();
+    assertEquals(List.of(1), writtenOffsets());
+
+    queue.close();
+    event.complete(new ChatAcknowledgementPacket(2));
+    awaitDrain();
+    assertEquals(List.of(1), writtenOffsets());
+  }
+
+  @Test
+  void appliesTimestampsAndDelayedAcknowledgementsInOrder() throws InterruptedException {
+    Instant timestamp = Instant.ofEpochSecond(1_700_000_000L);
+    AtomicReference<LastSeenMessages> forwarded = new AtomicReference<>();
+    AtomicReference<Instant> spoofedTimestamp = new AtomicReference<>();
+
+    // Too few acknowledgements to forward, so they are held back...
+    queue.handleAcknowledgement(5);
+    // ...and added to the offset of the next message that carries a 'last seen' state.
+    queue.queuePacket(lastSeen -> {
+      forwarded.set(lastSeen);
+      return CompletableFuture.completedFuture(null);
+    }, timestamp, new LastSeenMessages(3, new BitSet(), (byte) 0));
+    queue.queuePacket(chatState -> {
+      spoofedTimestamp.set(chatState.lastTimestamp);
+      return new ChatAcknowledgementPacket(0);
+    });
+    awaitDrain();
+
+    assertEquals(8, forwarded.get().getOffset());
+    assertEquals(timestamp, spoofedTimestamp.get());
+    assertTrue(writtenOffsets().contains(0));
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TimingWheelSchedulerBackendTest {
+
+  private final AtomicLong nanos = new AtomicLong();
+  private final TimingWheelSchedulerBackend backend =
+      new TimingWheelSchedulerBackend(1, TimeUnit.MILLISECONDS, nanos::get, false);
+
+  private void advance(long millis) {
+    nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    backend.expireTimeouts();
+  }
+
+  @Test
+  void runsTaskOnceDue() {
+    AtomicInteger runs = new AtomicInteger();
+    ScheduledFuture<?> future = backend.schedule(runs::incrementAndGet, 100, TimeUnit.MILLISECONDS);
+
+    advance(99);
+    assertEquals(0, runs.get());
+    advance(1);
+    assertEquals(1, runs.get());
+    assertTrue(future.isDone());
+    advance(1000);
+    assertEquals(1, runs.get());
+  }
+
+  @Test
+  void runsTaskWithoutDelayOnNextTick() {
+    AtomicInteger runs = new AtomicInteger();
+    backend.schedule(runs::incrementAndGet, 0, TimeUnit.MILLISECONDS);
+
+    backend.expireTimeouts();
+    assertEquals(0, runs.get());
+    advance(1);
+    assertEquals(1, runs.get());
+  }
+
+  @Test
+  void cascadesDistantTasks() {
+    AtomicInteger runs = new AtomicInteger();
+    // Lands in the third level, and beyond the range of the wheel, respectively.
+    long[] delays = {64 * 64 + 5, 20_000_000};
+    for (long delay : delays) {
+      backend.schedule(runs::incrementAndGet, delay, TimeUnit.MILLISECONDS);
+    }
+
+    advance(64 * 64 + 4);
+    assertEquals(0, runs.get());
+    advance(1);
+    assertEquals(1, runs.get());
+
+    for (long elapsed = 64 * 64 + 5; elapsed < delays[1] - 1; elapsed += 1000) {
+      advance(Math.min(1000, delays[1] - 1 - elapsed));
+    }
+    assertEquals(1, runs.get());
+    advance(1);
+    assertEquals(2, runs.get());
+  }
+
+  @Test
+  void repeatsAtFixedRate() {
+    AtomicInteger runs = new AtomicInteger();
+    ScheduledFuture<?> future = backend.scheduleAtFixedRate(runs::incrementAndGet, 50, 100,
+        TimeUnit.MILLISECONDS);
+
+    advance(50);
+    assertEquals(1, runs.get());
+    advance(299);
+    assertEquals(3, runs.get());
+    advance(1);
+    assertEquals(4, runs.get());
+
+    future.cancel(false);
+    advance(1000);
+    assertEquals(4, runs.get());
+    assertTrue(future.isCancelled());
+  }
+
+  @Test
+  void cancelledTaskDoesNotRun() {
+    AtomicInteger runs = new AtomicInteger();
+    ScheduledFuture<?> linked = backend.schedule(runs::incrementAndGet, 100,
+        TimeUnit.MILLISECONDS);
+    advance(1);
+    ScheduledFuture<?> pending = backend.schedule(runs::incrementAndGet, 100,
+        TimeUnit.MILLISECONDS);
+
+    assertTrue(linked.cancel(false));
+    assertTrue(pending.cancel(false));
+    advance(1000);
+    assertEquals(0, runs.get());
+    assertThrows(CancellationException.class, linked::get);
+  }
+
+  @Test
+  void rejectsTasksAfterShutdown() {
+    ScheduledFuture<?> future = backend.schedule(() -> { }, 100, TimeUnit.MILLISECONDS);
+    backend.shutdown();
+
+    assertTrue(future.isCancelled());
+    assertThrows(RejectedExecutionException.class,
+        () -> backend.schedule(() -> { }, 100, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  void matchesDeterministicBackend() {
+    DeterministicSchedulerBackend reference = new DeterministicSchedulerBackend();
+    SplittableRandom random = new SplittableRandom(0x5EED);
+    int tasks = 2000;
+    int[] expected = new int[tasks];
+    int[] actual = new int[tasks];
+    ScheduledFuture<?>[] expectedFutures = new ScheduledFuture<?>[tasks];
+    ScheduledFuture<?>[] actualFutures = new ScheduledFuture<?>[tasks];
+
+    for (int i = 0; i < tasks; i++) {
+      int task = i;
+      long delay = 1 + random.nextLong(10_000);
+      if (random.nextInt(4) == 0) {
+        long period = 1 + random.nextLong(2_000);
+        expectedFutures[i] = reference.scheduleAtFixedRate(() -> expected[task]++, delay, period,
+            TimeUnit.MILLISECONDS);
+        actualFutures[i] = backend.scheduleAtFixedRate(() -> actual[task]++, delay, period,
+            TimeUnit.MILLISECONDS);
+      } else {
+        expectedFutures[i] = reference.schedule(() -> expected[task]++, delay,
+            TimeUnit.MILLISECONDS);
+        actualFutures[i] = backend.schedule(() -> actual[task]++, delay, TimeUnit.MILLISECONDS);
+      }
+    }
+
+    for (int elapsed = 0; elapsed < 20_000; ) {
+      int step = 1 + random.nextInt(250);
+      elapsed += step;
+      reference.advance(step, TimeUnit.MILLISECONDS);
+      advance(step);
+      assertArrayEquals(expected, actual, "after " + elapsed + "ms");
+
+      // Cancel a few tasks as time goes on.
+      int cancelled = random.nextInt(tasks);
+      expectedFutures[cancelled].cancel(false);
+      actualFutures[cancelled].cancel(false);
+    }
+  }
+}
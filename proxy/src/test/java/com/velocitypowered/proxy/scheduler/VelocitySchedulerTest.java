@@ -48,6 +48,26 @@ class VelocitySchedulerTest {
     assertEquals(TaskStatus.FINISHED, task.status());
   }
 
+  @Test
+  void rejectedTaskRunsOnFallbackThread() throws Exception {
+    DeterministicSchedulerBackend backend = new DeterministicSchedulerBackend();
+    VelocityScheduler scheduler = new VelocityScheduler(new FakePluginManager(), backend);
+
+    CountDownLatch latch = new CountDownLatch(1);
+    AtomicReference<Thread> thread = new AtomicReference<>();
+    ScheduledTask task = scheduler.buildTask(FakePluginManager.PLUGIN_SATURATED, () -> {
+      thread.set(Thread.currentThread());
+      latch.countDown();
+    }).schedule();
+
+    backend.runUntilIdle();
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    assertTrue(thread.get().getName().startsWith("Velocity Task Fallback #"));
+
+    ((VelocityTask) task).awaitCompletion();
+    assertEquals(TaskStatus.FINISHED, task.status());
+  }
+
   @Test
   void cancelWorks() {
     DeterministicSchedulerBackend backend = new DeterministicSchedulerBackend();
@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.proxy.server.ServerInfo;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.config.VelocityConfiguration;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BackendConnectionPoolTest {
+
+  private final Queue<Channel> accepted = new ConcurrentLinkedQueue<>();
+  private EventLoopGroup group;
+  private EventLoop loop;
+  private Channel backend;
+  private VelocityServer server;
+  private VelocityConfiguration configuration;
+  private BackendConnectionPool pool;
+
+  @BeforeEach
+  void setUp() throws InterruptedException {
+    group = new MultiThreadIoEventLoopGroup(2, NioIoHandler.newFactory());
+    loop = group.next();
+    backend = new ServerBootstrap()
+        .group(group)
+        .channel(NioServerSocketChannel.class)
+        .childHandler(new ChannelInitializer<>() {
+          @Override
+          protected void initChannel(Channel ch) {
+            accepted.add(ch);
+          }
+        })
+        .bind(InetAddress.getLoopbackAddress(), 0)
+        .sync()
+        .channel();
+
+    configuration = mock(VelocityConfiguration.class);
+    when(configuration.getBackendPrewarmTtl()).thenReturn(10_000);
+    when(configuration.getReadTimeout()).thenReturn(30_000);
+    server = mock(VelocityServer.class);
+    when(server.getConfiguration()).thenReturn(configuration);
+    when(server.createBootstrap(any())).thenAnswer(invocation -> new Bootstrap()
+        .group(invocation.<EventLoopGroup>getArgument(0))
+        .channel(NioSocketChannel.class));
+    when(server.getBackendChannelInitializer()).thenReturn(new ChannelInitializer<>() {
+      @Override
+      protected void initChannel(Channel ch) {
+      }
+    });
+
+    ServerInfo info = new ServerInfo("lobby", (InetSocketAddress) backend.localAddress());
+    pool = new BackendConnectionPool(server, new VelocityRegisteredServer(null, info));
+  }
+
+  @AfterEach
+  void tearDown() {
+    pool.close();
+    backend.close().syncUninterruptibly();
+    group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+  }
+
+  private static void await(BooleanSupplier condition, String message)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.getAsBoolean()) {
+      assertTrue(System.nanoTime() < deadline, message);
+      Thread.sleep(10);
+    }
+  }
+
+  @Test
+  void fillOpensConnectionsThatPollHandsOut() throws InterruptedException {
+    pool.retain(List.of(loop));
+    pool.fill(loop, 2);
+    await(() -> pool.size() == 2, "connections were not opened");
+
+    Channel channel = pool.poll(loop);
+    assertNotNull(channel);
+    assertTrue(channel.isActive());
+    assertSame(loop, channel.eventLoop());
+    assertEquals(1, pool.size());
+
+    // Only the missing connection is opened again.
+    pool.fill(loop, 2);
+    await(() -> pool.size() == 2, "the missing connection was not opened");
+    verify(server, times(3)).createBootstrap(loop);
+    channel.close();
+  }
+
+  @Test
+  void expiredConnectionsAreNotHandedOut() throws InterruptedException {
+    pool.retain(List.of(loop));
+    pool.fill(loop, 1);
+    await(() -> pool.size() == 1, "connection was not opened");
+
+    when(configuration.getBackendPrewarmTtl()).thenReturn(0);
+    assertNull(pool.poll(loop));
+    assertEquals(0, pool.size());
+    await(() -> accepted.stream().noneMatch(Channel::isActive), "expired connection is open");
+  }
+
+  @Test
+  void fillIgnoresLoopsThatAreNotRetained() {
+    pool.fill(loop, 2);
+    pool.retain(List.of(loop));
+    pool.retain(List.of());
+    pool.fill(loop, 2);
+
+    verify(server, never()).createBootstrap(any());
+    assertNull(pool.poll(loop));
+  }
+
+  @Test
+  void retainClosesConnectionsOfOtherLoops() throws InterruptedException {
+    EventLoop other = group.next();
+    pool.retain(List.of(loop, other));
+    pool.fill(loop, 1);
+    pool.fill(other, 1);
+    await(() -> pool.size() == 2 && accepted.size() == 2, "connections were not opened");
+
+    pool.retain(List.of(loop));
+    assertEquals(1, pool.size());
+    assertNull(pool.poll(other));
+    await(() -> accepted.stream().filter(Channel::isActive).count() == 1,
+        "connection of the dropped loop is open");
+  }
+
+  @Test
+  void closingDiscardsConnectionsStillBeingOpened() throws InterruptedException {
+    pool.retain(List.of(loop));
+    // Close the pool in the event loop task that starts the connects, so that they complete after
+    // the pool was closed unless the connect finishes immediately.
+    loop.submit(() -> {
+      pool.fill(loop, 2);
+      pool.close();
+    }).sync();
+
+    await(() -> accepted.size() == 2, "connections were not opened");
+    await(() -> accepted.stream().noneMatch(Channel::isActive),
+        "connection opened after close was kept");
+    assertEquals(0, pool.size());
+
+    pool.fill(loop, 2);
+    verify(server, times(2)).createBootstrap(loop);
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.api.proxy.server.ServerInfo;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.config.VelocityConfiguration;
+import io.netty.channel.EventLoopGroup;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class BackendPrewarmerTest {
+
+  private final VelocityServer server = mock(VelocityServer.class);
+  private final VelocityConfiguration configuration = mock(VelocityConfiguration.class);
+  private final BackendPrewarmer prewarmer =
+      new BackendPrewarmer(server, mock(EventLoopGroup.class));
+
+  private VelocityRegisteredServer register(String name) {
+    VelocityRegisteredServer registered = new VelocityRegisteredServer(null, new ServerInfo(name,
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), 25565)));
+    when(server.getServer(name)).thenReturn(Optional.of(registered));
+    return registered;
+  }
+
+  @Test
+  void targetsTheTryListFollowedByForcedHosts() {
+    when(server.getServer(anyString())).thenReturn(Optional.empty());
+    VelocityRegisteredServer lobby = register("lobby");
+    VelocityRegisteredServer hub = register("hub");
+    VelocityRegisteredServer event = register("event");
+    when(configuration.getAttemptConnectionOrder()).thenReturn(List.of("lobby", "missing", "hub"));
+    Map<String, List<String>> forcedHosts = new LinkedHashMap<>();
+    forcedHosts.put("event.example.com", List.of("hub", "event"));
+    forcedHosts.put("lobby.example.com", List.of("lobby"));
+    when(configuration.getForcedHosts()).thenReturn(forcedHosts);
+
+    assertEquals(List.<RegisteredServer>of(lobby, hub, event),
+        List.copyOf(prewarmer.targets(configuration)));
+  }
+
+  @Test
+  void doesNothingWhileDisabled() {
+    when(server.getConfiguration()).thenReturn(configuration);
+    when(configuration.getBackendPrewarmConnections()).thenReturn(0);
+
+    prewarmer.configure(configuration);
+    prewarmer.run();
+    prewarmer.stop();
+
+    verify(server, never()).getAllPlayers();
+    verify(configuration, never()).getAttemptConnectionOrder();
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.tablist;
+
+import static com.velocitypowered.proxy.network.Connections.MINECRAFT_DECODER;
+import static com.velocitypowered.proxy.network.Connections.MINECRAFT_ENCODER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.proxy.player.SharedTabListEntry;
+import com.velocitypowered.api.util.GameProfile;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.config.VelocityConfiguration;
+import com.velocitypowered.proxy.connection.MinecraftConnection;
+import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import com.velocitypowered.proxy.network.buffer.ConnectionAllocators;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.netty.MinecraftDecoder;
+import com.velocitypowered.proxy.protocol.netty.MinecraftEncoder;
+import com.velocitypowered.proxy.protocol.packet.LegacyPlayerListItemPacket;
+import com.velocitypowered.proxy.protocol.packet.RemovePlayerInfoPacket;
+import com.velocitypowered.proxy.protocol.packet.UpsertPlayerInfoPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class VelocitySharedTabListTest {
+
+  private final List<EmbeddedChannel> channels = new ArrayList<>();
+
+  @AfterEach
+  void tearDown() {
+    for (EmbeddedChannel channel : channels) {
+      channel.finishAndReleaseAll();
+    }
+  }
+
+  /**
+   * Creates a viewer on a 1.21 connection in PLAY that records everything written to it.
+   */
+  private ConnectedPlayer viewer(List<Object> written) {
+    VelocityServer server = mock(VelocityServer.class);
+    when(server.getConnectionAllocators()).thenReturn(mock(ConnectionAllocators.class));
+    when(server.getConfiguration()).thenReturn(mock(VelocityConfiguration.class));
+    EmbeddedChannel channel = new EmbeddedChannel();
+    channels.add(channel);
+    MinecraftConnection connection = new MinecraftConnection(channel, server);
+    channel.pipeline()
+        .addLast(MINECRAFT_DECODER, new MinecraftDecoder(ProtocolUtils.Direction.SERVERBOUND))
+        .addLast(MINECRAFT_ENCODER, new MinecraftEncoder(ProtocolUtils.Direction.CLIENTBOUND))
+        .addLast(connection)
+        .addLast(new ChannelOutboundHandlerAdapter() {
+          @Override
+          public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+            written.add(msg);
+            ctx.write(msg, promise);
+          }
+        });
+    connection.setProtocolVersion(ProtocolVersion.MINECRAFT_1_21);
+    connection.setState(StateRegistry.PLAY);
+
+    ConnectedPlayer player = mock(ConnectedPlayer.class);
+    when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+    when(player.getProtocolVersion()).thenReturn(ProtocolVersion.MINECRAFT_1_21);
+    when(player.getConnection()).thenReturn(connection);
+    return player;
+  }
+
+  private static SharedTabListEntry entry(String name) {
+    return SharedTabListEntry.of(new GameProfile(UUID.randomUUID(), name, List.of()));
+  }
+
+  @Test
+  void changesAreGroupedByKindForModernClients() {
+    SharedTabListEntry added = entry("added");
+    SharedTabListEntry updated = entry("updated");
+    SharedTabListEntry removed = entry("removed");
+    VelocitySharedTabList.Delta delta = new VelocitySharedTabList.Delta();
+    delta.added.add(added);
+    delta.updated.add(new VelocitySharedTabList.Change(updated, updated.withLatency(42)));
+    delta.removed.add(removed);
+
+    List<MinecraftPacket> packets = delta.packets(ProtocolVersion.MINECRAFT_1_20_2);
+    assertEquals(3, packets.size());
+    RemovePlayerInfoPacket removal = assertInstanceOf(RemovePlayerInfoPacket.class,
+        packets.get(0));
+    assertEquals(List.of(removed.id()), List.copyOf(removal.getProfilesToRemove()));
+    UpsertPlayerInfoPacket addition = assertInstanceOf(UpsertPlayerInfoPacket.class,
+        packets.get(1));
+    assertTrue(addition.containsAction(UpsertPlayerInfoPacket.Action.ADD_PLAYER));
+    UpsertPlayerInfoPacket update = assertInstanceOf(UpsertPlayerInfoPacket.class,
+        packets.get(2));
+    assertEquals(EnumSet.of(UpsertPlayerInfoPacket.Action.UPDATE_LATENCY), update.getActions());
+    assertEquals(42, update.getEntries().get(0).getLatency());
+  }
+
+  @Test
+  void unlistedEntriesAreLeftOutForLegacyClients() {
+    SharedTabListEntry hidden = entry("hidden").withListed(false);
+    SharedTabListEntry shown = entry("shown");
+    SharedTabListEntry revealed = entry("revealed");
+    VelocitySharedTabList.Delta delta = new VelocitySharedTabList.Delta();
+    delta.added.add(hidden);
+    delta.added.add(shown);
+    delta.updated.add(new VelocitySharedTabList.Change(revealed.withListed(false), revealed));
+
+    List<MinecraftPacket> packets = delta.packets(ProtocolVersion.MINECRAFT_1_8);
+    assertEquals(1, packets.size());
+    LegacyPlayerListItemPacket addition = assertInstanceOf(LegacyPlayerListItemPacket.class,
+        packets.get(0));
+    assertEquals(LegacyPlayerListItemPacket.ADD_PLAYER, addition.getAction());
+    assertEquals(2, addition.getItems().size());
+    assertEquals(shown.id(), addition.getItems().get(0).getUuid());
+    assertEquals(revealed.id(), addition.getItems().get(1).getUuid());
+  }
+
+  @Test
+  void unchangedEntriesSendNothing() {
+    VelocitySharedTabList tabList = new VelocitySharedTabList();
+    SharedTabListEntry entry = entry("steady");
+    tabList.putEntry(entry);
+    tabList.putEntry(entry);
+    assertEquals(List.of(entry), List.copyOf(tabList.getEntries()));
+    assertTrue(tabList.removeEntry(entry.id()).isPresent());
+    assertTrue(tabList.getEntries().isEmpty());
+  }
+
+  @Test
+  void viewersSwitchingServersGetPacketObjects() {
+    List<Object> playing = new ArrayList<>();
+    List<Object> switching = new ArrayList<>();
+    VelocitySharedTabList tabList = new VelocitySharedTabList();
+    tabList.addViewer(viewer(playing));
+    ConnectedPlayer switchingViewer = viewer(switching);
+    tabList.addViewer(switchingViewer);
+
+    // What ConnectedPlayer.switchToConfigState does before the client acknowledges the switch
+    MinecraftConnection connection = switchingViewer.getConnection();
+    connection.pendingConfigurationSwitch = true;
+    connection.getChannel().pipeline().get(MinecraftEncoder.class)
+        .setState(StateRegistry.CONFIG);
+    connection.addPlayPacketQueueHandler();
+
+    tabList.putEntry(entry("joined"));
+
+    assertEquals(1, playing.size());
+    assertInstanceOf(ByteBuf.class, playing.get(0));
+    // The packet must reach the play packet queue, which holds it back until the switch is over.
+    assertEquals(1, switching.size());
+    assertInstanceOf(UpsertPlayerInfoPacket.class, switching.get(0));
+  }
+}
@@ -25,10 +25,15 @@ import com.velocitypowered.api.plugin.PluginManager;
 import com.velocitypowered.proxy.plugin.virtual.VelocityVirtualPlugin;
 import java.nio.file.Path;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.AbstractExecutorService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * A fake plugin manager.
@@ -37,11 +42,14 @@ public class FakePluginManager implements PluginManager {
 
   public static final Object PLUGIN_A = new Object();
   public static final Object PLUGIN_B = new Object();
+  public static final Object PLUGIN_SATURATED = new Object();
 
   private final PluginContainer containerA = new FakePluginContainer("a", PLUGIN_A);
   private final PluginContainer containerB = new FakePluginContainer("b", PLUGIN_B);
   private final PluginContainer containerVelocity = new FakePluginContainer("velocity",
       VelocityVirtualPlugin.INSTANCE);
+  private final PluginContainer containerSaturated = new FakePluginContainer("saturated",
+      PLUGIN_SATURATED, new SaturatedExecutorService());
 
   private ExecutorService service = Executors.newCachedThreadPool(
       new ThreadFactoryBuilder().setNameFormat("Test Async Thread").setDaemon(true).build()
@@ -55,6 +63,8 @@ public class FakePluginManager implements PluginManager {
       return Optional.of(containerB);
     } else if (instance == VelocityVirtualPlugin.INSTANCE) {
       return Optional.of(containerVelocity);
+    } else if (instance == PLUGIN_SATURATED) {
+      return Optional.of(containerSaturated);
     } else {
       return Optional.empty();
     }
@@ -66,6 +76,7 @@ public class FakePluginManager implements PluginManager {
       case "a" -> Optional.of(containerA);
       case "b" -> Optional.of(containerB);
       case "velocity" -> Optional.of(containerVelocity);
+      case "saturated" -> Optional.of(containerSaturated);
       default -> Optional.empty();
     };
   }
@@ -93,10 +104,16 @@ public class FakePluginManager implements PluginManager {
 
     private final String id;
     private final Object instance;
+    private final @Nullable ExecutorService executor;
 
     private FakePluginContainer(String id, Object instance) {
+      this(id, instance, null);
+    }
+
+    private FakePluginContainer(String id, Object instance, @Nullable ExecutorService executor) {
       this.id = id;
       this.instance = instance;
+      this.executor = executor;
     }
 
     @Override
@@ -111,7 +128,42 @@ public class FakePluginManager implements PluginManager {
 
     @Override
     public ExecutorService getExecutorService() {
-      return service;
+      return executor == null ? service : executor;
+    }
+  }
+
+  /**
+   * An executor that rejects every task, like a bounded plugin executor that is saturated.
+   */
+  private static final class SaturatedExecutorService extends AbstractExecutorService {
+
+    @Override
+    public void execute(@NonNull Runnable command) {
+      throw new RejectedExecutionException("saturated");
+    }
+
+    @Override
+    public void shutdown() {
+    }
+
+    @Override
+    public @NonNull List<Runnable> shutdownNow() {
+      return List.of();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return false;
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return false;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, @NonNull TimeUnit unit) {
+      return false;
     }
   }
 }
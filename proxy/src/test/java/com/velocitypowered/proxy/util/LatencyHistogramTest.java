@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.velocitypowered.api.network.LatencyStatistics;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+  @Test
+  void bucketsAreContiguousAndNarrow() {
+    for (long micros = 0; micros < LatencyHistogram.MAXIMUM_MICROS; micros += 1 + micros / 97) {
+      int bucket = LatencyHistogram.bucketOf(micros);
+      long highest = LatencyHistogram.highestValueOf(bucket);
+      assertTrue(highest >= micros, "value " + micros + " is above its bucket");
+      if (highest + 1 < LatencyHistogram.MAXIMUM_MICROS) {
+        assertEquals(bucket + 1, LatencyHistogram.bucketOf(highest + 1),
+            "bucket " + bucket + " does not end at " + highest);
+      }
+      assertTrue(highest - micros <= Math.max(1, micros / LatencyHistogram.SUB_BUCKETS),
+          "bucket of " + micros + " is too wide");
+    }
+  }
+
+  @Test
+  void percentilesAreReadFromTheBuckets() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(LatencyStatistics.EMPTY, histogram.toStatistics());
+
+    for (int i = 0; i < 98; i++) {
+      histogram.recordNanos(TimeUnit.MILLISECONDS.toNanos(20));
+    }
+    histogram.recordNanos(TimeUnit.MILLISECONDS.toNanos(200));
+    histogram.recordNanos(TimeUnit.SECONDS.toNanos(120));
+
+    LatencyStatistics statistics = histogram.toStatistics();
+    assertEquals(100, statistics.samples());
+    assertEquals(20_000, statistics.p50Micros(), 20_000 / LatencyHistogram.SUB_BUCKETS);
+    assertEquals(200_000, statistics.p99Micros(), 200_000 / LatencyHistogram.SUB_BUCKETS);
+    assertEquals(TimeUnit.SECONDS.toMicros(120), statistics.maxMicros());
+  }
+}
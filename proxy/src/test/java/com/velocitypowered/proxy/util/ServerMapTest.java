@@ -25,6 +25,7 @@ import com.velocitypowered.api.proxy.server.ServerInfo;
 import com.velocitypowered.proxy.server.ServerMap;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 
@@ -61,4 +62,18 @@ class ServerMapTest {
     RegisteredServer connection = map.register(info);
     assertEquals(connection, map.register(info));
   }
-}
\ No newline at end of file
+
+  @Test
+  void matchesServersByPrefix() {
+    ServerMap map = new ServerMap(null);
+    RegisteredServer lobby = map.register(new ServerInfo("Lobby", TEST_ADDRESS));
+    RegisteredServer lobby2 = map.register(new ServerInfo("lobby2", TEST_ADDRESS));
+    map.register(new ServerInfo("survival", TEST_ADDRESS));
+
+    assertEquals(List.of(lobby, lobby2), map.matchServer("LOB", 10));
+    assertEquals(List.of(lobby), map.matchServer("lob", 1));
+
+    map.unregister(lobby.getServerInfo());
+    assertEquals(List.of(lobby2), map.matchServer("lob", 10));
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util.collect;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PrefixIndexTest {
+
+  @Test
+  void findsNamesByPrefixIgnoringCase() {
+    PrefixIndex<String> index = new PrefixIndex<>();
+    index.put("Notch", "notch");
+    index.put("jeb_", "jeb");
+    index.put("Dinnerbone", "dinnerbone");
+    index.put("notchy", "notchy");
+
+    assertEquals(List.of("notch", "notchy"), index.find("NOT", 10));
+    assertEquals(List.of("notch"), index.find("not", 1));
+    assertEquals(List.of("dinnerbone", "jeb", "notch", "notchy"), index.find("", 10));
+    assertTrue(index.find("x", 10).isEmpty());
+    assertTrue(index.find("notchyy", 10).isEmpty());
+  }
+
+  @Test
+  void removeOnlyRemovesMatchingValue() {
+    PrefixIndex<String> index = new PrefixIndex<>();
+    index.put("Notch", "first");
+    index.put("notch", "second");
+    assertEquals(1, index.size());
+
+    assertFalse(index.remove("Notch", "first"), "removed a value that had been replaced");
+    assertTrue(index.remove("NOTCH", "second"));
+    assertEquals(0, index.size());
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util.collect;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SnapshotMapTest {
+
+  @Test
+  void snapshotIsReusedUntilTheMapChanges() {
+    SnapshotMap<String, String> map = new SnapshotMap<>();
+    map.put("coffee", "espresso");
+    ImmutableList<String> first = map.values();
+    assertEquals(List.of("espresso"), first);
+    assertSame(first, map.values(), "snapshot was rebuilt although the map did not change");
+
+    map.put("tea", "earl grey");
+    ImmutableList<String> second = map.values();
+    assertEquals(2, second.size());
+    assertEquals(List.of("espresso"), first, "an earlier snapshot changed");
+    assertSame(second, map.values());
+  }
+
+  @Test
+  void versionOnlyChangesWithTheMap() {
+    SnapshotMap<String, String> map = new SnapshotMap<>();
+    long initial = map.getVersion();
+    assertNull(map.putIfAbsent("coffee", "espresso"));
+    long added = map.getVersion();
+    assertNotEquals(initial, added);
+
+    assertEquals("espresso", map.putIfAbsent("coffee", "latte"));
+    assertFalse(map.remove("coffee", "latte"));
+    assertEquals(added, map.getVersion(), "version changed although the map did not");
+
+    assertTrue(map.remove("coffee", "espresso"));
+    assertNotEquals(added, map.getVersion());
+    assertTrue(map.values().isEmpty());
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRatelimiterTest {
+
+  private final AtomicLong extra = new AtomicLong();
+  private final Ticker testTicker = () -> 1_000_000_000L + extra.get();
+
+  @Test
+  void attemptOne() {
+    Ratelimiter<InetAddress> ratelimiter = new TokenBucketRatelimiter<>(1000,
+        TimeUnit.MILLISECONDS, 1, 1024, testTicker);
+    assertTrue(ratelimiter.attempt(InetAddress.getLoopbackAddress()));
+    assertFalse(ratelimiter.attempt(InetAddress.getLoopbackAddress()));
+    extra.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+    assertFalse(ratelimiter.attempt(InetAddress.getLoopbackAddress()));
+    extra.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+    assertTrue(ratelimiter.attempt(InetAddress.getLoopbackAddress()));
+  }
+
+  @Test
+  void attemptBurst() {
+    Ratelimiter<InetAddress> ratelimiter = new TokenBucketRatelimiter<>(100,
+        TimeUnit.MILLISECONDS, 3, 1024, testTicker);
+    InetAddress address = InetAddress.getLoopbackAddress();
+    assertTrue(ratelimiter.attempt(address));
+    assertTrue(ratelimiter.attempt(address));
+    assertTrue(ratelimiter.attempt(address));
+    assertFalse(ratelimiter.attempt(address));
+
+    // One attempt is regained every refill interval.
+    extra.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+    assertTrue(ratelimiter.attempt(address));
+    assertFalse(ratelimiter.attempt(address));
+
+    // Idling refills the bucket, but never beyond the burst.
+    extra.addAndGet(TimeUnit.SECONDS.toNanos(10));
+    assertTrue(ratelimiter.attempt(address));
+    assertTrue(ratelimiter.attempt(address));
+    assertTrue(ratelimiter.attempt(address));
+    assertFalse(ratelimiter.attempt(address));
+  }
+
+  @Test
+  void keysAreIndependent() throws UnknownHostException {
+    Ratelimiter<InetAddress> ratelimiter = new TokenBucketRatelimiter<>(1000,
+        TimeUnit.MILLISECONDS, 1, 1024, testTicker);
+    assertTrue(ratelimiter.attempt(InetAddress.getByName("10.0.0.1")));
+    assertTrue(ratelimiter.attempt(InetAddress.getByName("10.0.0.2")));
+    assertFalse(ratelimiter.attempt(InetAddress.getByName("10.0.0.1")));
+    assertFalse(ratelimiter.attempt(InetAddress.getByName("10.0.0.2")));
+  }
+
+  @Test
+  void floodDoesNotLimitOtherKeys() throws UnknownHostException {
+    Ratelimiter<InetAddress> ratelimiter = new TokenBucketRatelimiter<>(1000,
+        TimeUnit.MILLISECONDS, 1, 64, testTicker);
+    int allowed = 0;
+    for (int i = 0; i < 100_000; i++) {
+      InetAddress spoofed = InetAddress.getByAddress(new byte[] {
+          10, (byte) (i >>> 16), (byte) (i >>> 8), (byte) i});
+      if (ratelimiter.attempt(spoofed)) {
+        allowed++;
+      }
+    }
+    // Only keys whose fingerprint collides with a key in the same slots are limited.
+    assertTrue(allowed > 99_000, "allowed " + allowed);
+    assertTrue(ratelimiter.attempt(InetAddress.getLoopbackAddress()));
+  }
+
+  @Test
+  void keysWithCollidingHashCodesAreIndependent() throws UnknownHostException {
+    // Inet6Address sums the words of the address, so reordering them keeps the hash code.
+    InetAddress victim = InetAddress.getByName("2001:db8::1");
+    InetAddress attacker = InetAddress.getByName("0:1:2001:db8::");
+    assertEquals(victim.hashCode(), attacker.hashCode());
+
+    Ratelimiter<InetAddress> ratelimiter = new TokenBucketRatelimiter<>(1000,
+        TimeUnit.MILLISECONDS, 1, 1024, testTicker);
+    assertTrue(ratelimiter.attempt(attacker));
+    assertFalse(ratelimiter.attempt(attacker));
+    assertTrue(ratelimiter.attempt(victim));
+  }
+}